@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Blocks the benchmark thread until an asynchronous operation completes.
+ */
+final class Await {
+
+  private static final long TIMEOUT = 30;
+
+  private Await() {
+  }
+
+  static <T> T result(Consumer<Handler<AsyncResult<T>>> operation) throws Exception {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    operation.accept(res -> {
+      if (res.succeeded()) {
+        future.complete(res.result());
+      } else {
+        future.completeExceptionally(res.cause());
+      }
+    });
+    return future.get(TIMEOUT, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.impl.hash.SaltedDigest;
+import io.vertx.ext.auth.jdbc.JDBCAuth;
+import io.vertx.ext.auth.jdbc.impl.JDBCAuthImpl;
+import io.vertx.ext.jdbc.JDBCClient;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing and authentication of {@link JDBCAuthImpl}, against an in-process HSQLDB database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JDBCAuthBenchmark {
+
+  private static final String URL = "jdbc:hsqldb:mem:benchmark?shutdown=true";
+  private static final String PASSWORD = "sausages";
+  private static final String SALT = "C59EB438D1E24CACA2B1A48BC129348589D49303858E493FBE906A9158B7D5DC";
+  private static final String HASH = JDBCAuthImpl.computeHash(PASSWORD, SALT, "SHA-512");
+
+  private Connection keepAlive;
+  private Vertx vertx;
+  private JDBCAuth authProvider;
+  private JsonObject authInfo;
+
+  @Setup
+  public void setup() throws Exception {
+    // the in memory database lives as long as one connection is open
+    keepAlive = DriverManager.getConnection(URL);
+    try (Statement statement = keepAlive.createStatement()) {
+      statement.execute("drop table if exists user;");
+      statement.execute("drop table if exists user_roles;");
+      statement.execute("drop table if exists roles_perms;");
+      statement.execute("create table user (username varchar(255), password varchar(255), password_salt varchar(255) );");
+      statement.execute("create table user_roles (username varchar(255), role varchar(255));");
+      statement.execute("create table roles_perms (role varchar(255), perm varchar(255));");
+      statement.execute("insert into user values ('tim', '" + HASH + "', '" + SALT + "');");
+      statement.execute("insert into user_roles values ('tim', 'dev');");
+      statement.execute("insert into roles_perms values ('dev', 'commit_code');");
+    }
+
+    vertx = Vertx.vertx();
+    JDBCClient client = JDBCClient.createNonShared(vertx, new JsonObject()
+      .put("url", URL)
+      .put("driver_class", "org.hsqldb.jdbcDriver"));
+    authProvider = JDBCAuth.create(client);
+    authInfo = new JsonObject().put("username", "tim").put("password", PASSWORD);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    vertx.close();
+    keepAlive.close();
+  }
+
+  @Benchmark
+  public String computeHash() {
+    return JDBCAuthImpl.computeHash(PASSWORD, SALT, "SHA-512");
+  }
+
+  /**
+   * How passwords used to be checked: hash to a hexadecimal string and compare, run with {@code -prof gc} to compare
+   * the allocation rate with {@link #verify()}
+   */
+  @Benchmark
+  public boolean computeHashAndEquals() {
+    return HASH.equals(JDBCAuthImpl.computeHash(PASSWORD, SALT, "SHA-512"));
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return SaltedDigest.verify(PASSWORD, SALT, HASH, "SHA-512");
+  }
+
+  @Benchmark
+  public User authenticate() throws Exception {
+    return Await.result(handler -> authProvider.authenticate(authInfo, handler));
+  }
+}
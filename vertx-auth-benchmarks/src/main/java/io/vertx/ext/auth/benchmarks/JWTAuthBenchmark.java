@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.jwt.JWTOptions;
+import io.vertx.ext.auth.jwt.impl.JWTAuthProviderImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication of a token by {@link JWTAuthProviderImpl}, including the claim checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTAuthBenchmark {
+
+  @Param({"HS256", "RS256", "ES256"})
+  public String algorithm;
+
+  private Vertx vertx;
+  private JWTAuthProviderImpl authProvider;
+  private JsonObject authInfo;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    authProvider = new JWTAuthProviderImpl(vertx, new JsonObject()
+      .put("keyStore", new JsonObject()
+        .put("path", JWTBenchmark.KEYSTORE)
+        .put("type", JWTBenchmark.KEYSTORE_TYPE)
+        .put("password", JWTBenchmark.KEYSTORE_PASSWORD)));
+
+    String token = authProvider.generateToken(
+      new JsonObject()
+        .put("sub", "paulo")
+        .put("permissions", new JsonArray().add("read").add("write")),
+      new JWTOptions()
+        .setAlgorithm(algorithm)
+        .setExpiresInMinutes(60L)
+        .addAudience("benchmarks"));
+
+    authInfo = new JsonObject()
+      .put("jwt", token)
+      .put("options", new JsonObject().put("audience", new JsonArray().add("benchmarks")));
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public User authenticate() throws Exception {
+    return Await.result(handler -> authProvider.authenticate(authInfo, handler));
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.jwt.impl.JWT;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and decoding of tokens with each algorithm supported by {@link JWT}.
+ *
+ * {@link #decodeLegacy()} repeats the string based decoding {@link JWT#decode(String)} used to perform (regex split,
+ * a string per segment and a copy of the signing input) as a baseline for the byte based decoder, and
+ * {@link #signLegacy()} the string based signing {@link JWT#sign(JsonObject, JsonObject)} used to perform (header
+ * built and encoded for every token, signing input assembled by string concatenation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTBenchmark {
+
+  static final String KEYSTORE = "benchmark-keystore.jceks";
+  static final String KEYSTORE_TYPE = "jceks";
+  static final String KEYSTORE_PASSWORD = "secret";
+
+  @Param({"HS256", "HS384", "HS512", "RS256", "RS384", "RS512", "ES256", "ES384", "ES512"})
+  public String algorithm;
+
+  private JWT jwt;
+  private JsonObject payload;
+  private JsonObject options;
+  private String token;
+  private byte[] tokenBytes;
+  private Mac mac;
+  private Signature signature;
+  private Certificate certificate;
+  private PrivateKey privateKey;
+
+  @Setup
+  public void setup() throws Exception {
+    jwt = new JWT(loadKeyStore(), KEYSTORE_PASSWORD.toCharArray());
+    payload = new JsonObject()
+      .put("sub", "paulo")
+      .put("permissions", new JsonObject().put("read", true).put("write", false));
+    options = new JsonObject()
+      .put("algorithm", algorithm)
+      .put("expiresInMinutes", 60);
+    token = jwt.sign(payload.copy(), options);
+    tokenBytes = token.getBytes(StandardCharsets.ISO_8859_1);
+
+    KeyStore keyStore = loadKeyStore();
+    if (algorithm.startsWith("HS")) {
+      Key key = keyStore.getKey(algorithm, KEYSTORE_PASSWORD.toCharArray());
+      mac = Mac.getInstance(key.getAlgorithm());
+      mac.init(key);
+    } else {
+      signature = Signature.getInstance("SHA" + algorithm.substring(2) + (algorithm.startsWith("RS") ? "withRSA" : "withECDSA"));
+      certificate = keyStore.getCertificate(algorithm);
+      privateKey = (PrivateKey) keyStore.getKey(algorithm, KEYSTORE_PASSWORD.toCharArray());
+    }
+  }
+
+  @Benchmark
+  public String sign() {
+    return jwt.sign(payload.copy(), options);
+  }
+
+  @Benchmark
+  public String signLegacy() throws Exception {
+    JsonObject claims = payload.copy();
+    long timestamp = System.currentTimeMillis() / 1000;
+    claims.put("iat", timestamp).put("exp", timestamp + 60 * 60);
+    JsonObject header = new JsonObject()
+      .mergeIn(new JsonObject())
+      .put("typ", "JWT")
+      .put("alg", algorithm);
+
+    Base64.Encoder encoder = Base64.getUrlEncoder();
+    String headerSegment = encoder.encodeToString(header.encode().getBytes(StandardCharsets.UTF_8));
+    String payloadSegment = encoder.encodeToString(claims.encode().getBytes(StandardCharsets.UTF_8));
+    String signingInput = headerSegment + "." + payloadSegment;
+    byte[] sig;
+    if (mac != null) {
+      sig = mac.doFinal(signingInput.getBytes(StandardCharsets.UTF_8));
+    } else {
+      signature.initSign(privateKey);
+      signature.update(signingInput.getBytes(StandardCharsets.UTF_8));
+      sig = signature.sign();
+    }
+    return headerSegment + "." + payloadSegment + "." + encoder.encodeToString(sig);
+  }
+
+  @Benchmark
+  public JsonObject decode() {
+    return jwt.decode(token);
+  }
+
+  @Benchmark
+  public JsonObject decodeBytes() {
+    return jwt.decode(tokenBytes, 0, tokenBytes.length);
+  }
+
+  @Benchmark
+  public JsonObject decodeLegacy() throws Exception {
+    String[] segments = token.split("\\.");
+    JsonObject header = new JsonObject(new String(Base64.getUrlDecoder().decode(segments[0].getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+    JsonObject payload = new JsonObject(new String(Base64.getUrlDecoder().decode(segments[1].getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+    if (!algorithm.equals(header.getString("alg"))) {
+      throw new IllegalStateException();
+    }
+    byte[] signingInput = (segments[0] + "." + segments[1]).getBytes(StandardCharsets.UTF_8);
+    byte[] sig = Base64.getUrlDecoder().decode(segments[2].getBytes(StandardCharsets.UTF_8));
+    boolean valid;
+    if (mac != null) {
+      valid = Arrays.equals(sig, mac.doFinal(signingInput));
+    } else {
+      signature.initVerify(certificate);
+      signature.update(signingInput);
+      valid = signature.verify(sig);
+    }
+    if (!valid) {
+      throw new IllegalStateException();
+    }
+    return payload;
+  }
+
+  static KeyStore loadKeyStore() throws Exception {
+    KeyStore keyStore = KeyStore.getInstance(KEYSTORE_TYPE);
+    try (InputStream in = JWTBenchmark.class.getClassLoader().getResourceAsStream(KEYSTORE)) {
+      keyStore.load(in, KEYSTORE_PASSWORD.toCharArray());
+    }
+    return keyStore;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.benchmarks;
+
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfigBuilder;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.mongo.MongoAuth;
+import io.vertx.ext.auth.mongo.impl.DefaultHashStrategy;
+import io.vertx.ext.auth.mongo.impl.MongoAuthImpl;
+import io.vertx.ext.auth.mongo.impl.MongoUser;
+import io.vertx.ext.mongo.MongoClient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing of {@link DefaultHashStrategy} and authentication of {@link MongoAuthImpl}, against an embedded
+ * MongoDB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MongoAuthBenchmark {
+
+  private static final int PORT = 27019;
+  private static final String PASSWORD = "sausages";
+
+  private MongodExecutable mongod;
+  private Vertx vertx;
+  private MongoClient mongoClient;
+  private MongoAuth authProvider;
+  private JsonObject authInfo;
+
+  private DefaultHashStrategy hashStrategy;
+  private MongoUser user;
+
+  @Setup
+  public void setup() throws Exception {
+    mongod = MongodStarter.getDefaultInstance().prepare(new MongodConfigBuilder()
+      .version(Version.Main.PRODUCTION)
+      .net(new Net(PORT, Network.localhostIsIPv6()))
+      .build());
+    mongod.start();
+
+    vertx = Vertx.vertx();
+    mongoClient = MongoClient.createNonShared(vertx, new JsonObject()
+      .put("connection_string", "mongodb://localhost:" + PORT)
+      .put("db_name", "benchmarks"));
+    authProvider = MongoAuth.create(mongoClient, new JsonObject());
+    Await.<String>result(handler -> authProvider.insertUser("tim", PASSWORD, Collections.singletonList("dev"),
+      Collections.singletonList("commit_code"), handler));
+    authInfo = new JsonObject().put("username", "tim").put("password", PASSWORD);
+
+    hashStrategy = new DefaultHashStrategy();
+    MongoAuthImpl offline = new MongoAuthImpl(null, new JsonObject());
+    user = new MongoUser(new JsonObject()
+      .put(offline.getUsernameField(), "tim")
+      .put(offline.getSaltField(), DefaultHashStrategy.generateSalt()), offline);
+  }
+
+  @TearDown
+  public void tearDown() {
+    mongoClient.close();
+    vertx.close();
+    mongod.stop();
+  }
+
+  @Benchmark
+  public String computeHash() {
+    return hashStrategy.computeHash(PASSWORD, user);
+  }
+
+  @Benchmark
+  public User authenticate() throws Exception {
+    return Await.result(handler -> authProvider.authenticate(authInfo, handler));
+  }
+}
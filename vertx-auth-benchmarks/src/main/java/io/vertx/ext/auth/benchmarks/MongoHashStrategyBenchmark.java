@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.mongo.impl.DefaultHashStrategy;
+import io.vertx.ext.auth.mongo.impl.MongoAuthImpl;
+import io.vertx.ext.auth.mongo.impl.MongoUser;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks of {@link DefaultHashStrategy} alone, without a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MongoHashStrategyBenchmark {
+
+  private static final String PASSWORD = "sausages";
+
+  private DefaultHashStrategy hashStrategy;
+  private MongoUser user;
+  private String stored;
+
+  @Setup
+  public void setup() {
+    hashStrategy = new DefaultHashStrategy();
+    MongoAuthImpl offline = new MongoAuthImpl(null, new JsonObject());
+    user = new MongoUser(new JsonObject()
+      .put(offline.getUsernameField(), "tim")
+      .put(offline.getSaltField(), DefaultHashStrategy.generateSalt()), offline);
+    stored = hashStrategy.computeHash(PASSWORD, user);
+    user.principal().put(offline.getPasswordField(), stored);
+  }
+
+  /**
+   * How passwords used to be checked: hash to a hexadecimal string and compare, run with {@code -prof gc} to compare
+   * the allocation rate with {@link #verify()}
+   */
+  @Benchmark
+  public boolean computeHashAndEquals() {
+    return MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+      hashStrategy.computeHash(PASSWORD, user).getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return hashStrategy.verify(PASSWORD, user);
+  }
+}
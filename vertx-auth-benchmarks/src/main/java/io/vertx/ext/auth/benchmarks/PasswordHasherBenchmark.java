@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.ext.auth.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing and verifying a password with each {@link PasswordHasher} algorithm and its default parameters, which is
+ * the time a login spends hashing. Compare with {@code JDBCAuthBenchmark.computeHash} for the legacy SHA-512 hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+  private static final String PASSWORD = "sausages";
+
+  @Param({"pbkdf2-sha256", "pbkdf2-sha512", "scrypt", "bcrypt", "argon2id"})
+  public String algorithm;
+
+  private PasswordHasher hasher;
+  private String hash;
+
+  @Setup
+  public void setup() {
+    hasher = PasswordHasher.create(algorithm);
+    hash = hasher.hash(PASSWORD);
+  }
+
+  @Benchmark
+  public String hash() {
+    return hasher.hash(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean verify() {
+    return hasher.verify(PASSWORD, hash);
+  }
+}
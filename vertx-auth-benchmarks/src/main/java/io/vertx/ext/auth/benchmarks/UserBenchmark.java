@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.benchmarks;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.PermissionCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The caching and serialization logic of {@link AbstractUser}, using a user whose authority checks complete
+ * immediately so only the overhead of the base class is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserBenchmark {
+
+  private static final int AUTHORITIES = 32;
+
+  private BenchmarkUser cachingUser;
+  private BenchmarkUser nonCachingUser;
+  private Buffer serialized;
+
+  @Setup
+  public void setup() throws Exception {
+    Set<String> granted = new HashSet<>();
+    for (int i = 0; i < AUTHORITIES; i++) {
+      granted.add("authority" + i);
+    }
+
+    cachingUser = new BenchmarkUser(granted);
+    for (String authority : granted) {
+      Await.<Boolean>result(handler -> cachingUser.isAuthorised(authority, handler));
+    }
+
+    // a cache that never keeps anything, so every check goes to doIsPermitted
+    nonCachingUser = new BenchmarkUser(granted);
+    nonCachingUser.setPermissionCache(PermissionCache.create(1, 0, 0));
+
+    serialized = Buffer.buffer();
+    cachingUser.writeToBuffer(serialized);
+  }
+
+  @Benchmark
+  public Boolean isAuthorisedCacheHit() throws Exception {
+    return Await.result(handler -> cachingUser.isAuthorised("authority7", handler));
+  }
+
+  @Benchmark
+  public Boolean isAuthorisedCacheMiss() throws Exception {
+    return Await.result(handler -> nonCachingUser.isAuthorised("authority7", handler));
+  }
+
+  @Benchmark
+  public Buffer writeToBuffer() {
+    Buffer buffer = Buffer.buffer();
+    cachingUser.writeToBuffer(buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public int readFromBuffer() {
+    return new BenchmarkUser(null).readFromBuffer(0, serialized);
+  }
+
+  static class BenchmarkUser extends AbstractUser {
+
+    private final Set<String> granted;
+
+    BenchmarkUser(Set<String> granted) {
+      this.granted = granted;
+    }
+
+    @Override
+    protected void doIsPermitted(String permission, Handler<AsyncResult<Boolean>> resultHandler) {
+      resultHandler.handle(Future.succeededFuture(granted.contains(permission)));
+    }
+
+    @Override
+    public JsonObject principal() {
+      return new JsonObject().put("username", "benchmark");
+    }
+
+    @Override
+    public void setAuthProvider(AuthProvider authProvider) {
+    }
+  }
+}
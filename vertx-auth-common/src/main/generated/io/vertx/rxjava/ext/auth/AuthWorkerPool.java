@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.rxjava.ext.auth;
+
+import java.util.Map;
+import io.vertx.lang.rxjava.InternalHelper;
+import rx.Observable;
+import io.vertx.rxjava.core.Vertx;
+
+/**
+ * A bounded pool of named threads running the CPU intensive work of the providers, e.g. password hashing, away from
+ * the event loop.
+ * <p>
+ * When all the threads are busy, tasks wait in a bounded queue. Once the queue is full new tasks fail straight away
+ * instead of piling up, so a burst of logins cannot grow the backlog without limit. Results are delivered on the
+ * context that submitted the task.
+ *
+ * <p/>
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.AuthWorkerPool original} non RX-ified interface using Vert.x codegen.
+ */
+
+public class AuthWorkerPool {
+
+  final io.vertx.ext.auth.AuthWorkerPool delegate;
+
+  public AuthWorkerPool(io.vertx.ext.auth.AuthWorkerPool delegate) {
+    this.delegate = delegate;
+  }
+
+  public Object getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Create a pool.
+   * @param name the name of the pool, used as prefix of the thread names
+   * @param poolSize the maximum number of threads
+   * @param maxQueueSize the maximum number of tasks waiting for a thread
+   * @return the pool
+   */
+  public static AuthWorkerPool create(String name, int poolSize, int maxQueueSize) { 
+    AuthWorkerPool ret= AuthWorkerPool.newInstance(io.vertx.ext.auth.AuthWorkerPool.create(name, poolSize, maxQueueSize));
+    return ret;
+  }
+
+  /**
+   * Get the pool of the given name shared by the providers of a Vert.x instance, creating it with the given sizes on
+   * first use. The sizes of an existing pool are kept, a warning is logged when they differ. Each call returns a
+   * reference to close, e.g. when the verticle using it stops, the threads are stopped once all of them are closed.
+   * Idle threads are released after a minute in any case.
+   * @param vertx the Vert.x instance
+   * @param name the name of the pool, used as prefix of the thread names
+   * @param poolSize the maximum number of threads
+   * @param maxQueueSize the maximum number of tasks waiting for a thread
+   * @return the pool
+   */
+  public static AuthWorkerPool createShared(Vertx vertx, String name, int poolSize, int maxQueueSize) { 
+    AuthWorkerPool ret= AuthWorkerPool.newInstance(io.vertx.ext.auth.AuthWorkerPool.createShared((io.vertx.core.Vertx) vertx.getDelegate(), name, poolSize, maxQueueSize));
+    return ret;
+  }
+
+  /**
+   * @return the number of tasks waiting for a thread
+   */
+  public int queueSize() { 
+    int ret = this.delegate.queueSize();
+    return ret;
+  }
+
+  /**
+   * @return the number of tasks failed because the pool was saturated
+   */
+  public long rejectedCount() { 
+    long ret = this.delegate.rejectedCount();
+    return ret;
+  }
+
+  /**
+   * Stop the threads of the pool, tasks already submitted are still run. Closing a shared pool only releases this
+   * reference to it.
+   */
+  public void close() { 
+    this.delegate.close();
+  }
+
+
+  public static AuthWorkerPool newInstance(io.vertx.ext.auth.AuthWorkerPool arg) {
+    return arg != null ? new AuthWorkerPool(arg) : null;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.rxjava.ext.auth;
+
+import java.util.Map;
+import io.vertx.lang.rxjava.InternalHelper;
+import rx.Observable;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * An {@link io.vertx.rxjava.ext.auth.AuthProvider} that remembers the users successfully authenticated by another provider, so repeated
+ * authentications with the same auth info do not hit the underlying backend.
+ * <p>
+ * The auth info is never kept: entries are looked up by a keyed hash of it, using a key that is randomly generated
+ * for each instance. Failed authentications are never cached.
+ * <p>
+ * A cache hit returns the very {@link io.vertx.rxjava.ext.auth.User} instance returned by the remembered authentication, so it is shared by
+ * everyone authenticating with the same auth info, along with the outcome of its previous authority checks. Callers
+ * must not change it, e.g. with {@link io.vertx.rxjava.ext.auth.User#setAuthProvider} or {@link io.vertx.rxjava.ext.auth.User#clearCache}, and should
+ * wrap a provider whose users they need to change in a new <code>CachingAuthProvider</code> of their own.
+ *
+ * <p/>
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.CachingAuthProvider original} non RX-ified interface using Vert.x codegen.
+ */
+
+public class CachingAuthProvider extends AuthProvider {
+
+  final io.vertx.ext.auth.CachingAuthProvider delegate;
+
+  public CachingAuthProvider(io.vertx.ext.auth.CachingAuthProvider delegate) {
+    super(delegate);
+    this.delegate = delegate;
+  }
+
+  public Object getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Create a caching auth provider
+   * @param authProvider the provider performing the actual authentication
+   * @return the auth provider
+   */
+  public static CachingAuthProvider create(AuthProvider authProvider) { 
+    CachingAuthProvider ret= CachingAuthProvider.newInstance(io.vertx.ext.auth.CachingAuthProvider.create((io.vertx.ext.auth.AuthProvider) authProvider.getDelegate()));
+    return ret;
+  }
+
+  /**
+   * Set how long a successfully authenticated user is remembered.
+   * @param ttl the time to live in milliseconds
+   * @return a reference to this for fluency
+   */
+  public CachingAuthProvider setTimeToLive(long ttl) { 
+    this.delegate.setTimeToLive(ttl);
+    return this;
+  }
+
+  /**
+   * Set the maximum number of users to remember, the least recently used ones are dropped first.
+   * @param maxSize the maximum number of cached users
+   * @return a reference to this for fluency
+   */
+  public CachingAuthProvider setMaxSize(int maxSize) { 
+    this.delegate.setMaxSize(maxSize);
+    return this;
+  }
+
+  /**
+   * Forget all the cached users with the given principal, e.g. after their password or permissions changed. The
+   * authentications in progress when it is called are not cached either.
+   * @param principal the principal, as returned by {@link io.vertx.rxjava.ext.auth.User#principal}
+   * @return a reference to this for fluency
+   */
+  public CachingAuthProvider invalidate(JsonObject principal) { 
+    this.delegate.invalidate(principal);
+    return this;
+  }
+
+  /**
+   * Forget all the cached users. The authentications in progress when it is called are not cached either.
+   * @return a reference to this for fluency
+   */
+  public CachingAuthProvider invalidateAll() { 
+    this.delegate.invalidateAll();
+    return this;
+  }
+
+
+  public static CachingAuthProvider newInstance(io.vertx.ext.auth.CachingAuthProvider arg) {
+    return arg != null ? new CachingAuthProvider(arg) : null;
+  }
+}
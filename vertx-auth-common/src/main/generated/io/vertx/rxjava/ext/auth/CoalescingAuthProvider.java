@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.rxjava.ext.auth;
+
+import java.util.Map;
+import io.vertx.lang.rxjava.InternalHelper;
+import rx.Observable;
+
+/**
+ * An {@link io.vertx.rxjava.ext.auth.AuthProvider} that coalesces identical concurrent authentications: while an authentication is in flight,
+ * further attempts with the same auth info wait for its result instead of hitting the underlying backend again.
+ * <p>
+ * Like {@link io.vertx.rxjava.ext.auth.CachingAuthProvider}, the auth info is only used through a keyed hash of it, and the coalesced
+ * attempts all get the same {@link io.vertx.rxjava.ext.auth.User} instance.
+ *
+ * <p/>
+ * NOTE: This class has been automatically generated from the {@link io.vertx.ext.auth.CoalescingAuthProvider original} non RX-ified interface using Vert.x codegen.
+ */
+
+public class CoalescingAuthProvider extends AuthProvider {
+
+  final io.vertx.ext.auth.CoalescingAuthProvider delegate;
+
+  public CoalescingAuthProvider(io.vertx.ext.auth.CoalescingAuthProvider delegate) {
+    super(delegate);
+    this.delegate = delegate;
+  }
+
+  public Object getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Create a coalescing auth provider
+   * @param authProvider the provider performing the actual authentication
+   * @return the auth provider
+   */
+  public static CoalescingAuthProvider create(AuthProvider authProvider) { 
+    CoalescingAuthProvider ret= CoalescingAuthProvider.newInstance(io.vertx.ext.auth.CoalescingAuthProvider.create((io.vertx.ext.auth.AuthProvider) authProvider.getDelegate()));
+    return ret;
+  }
+
+
+  public static CoalescingAuthProvider newInstance(io.vertx.ext.auth.CoalescingAuthProvider arg) {
+    return arg != null ? new CoalescingAuthProvider(arg) : null;
+  }
+}
@@ -19,6 +19,7 @@ package io.vertx.rxjava.ext.auth;
 import java.util.Map;
 import io.vertx.lang.rxjava.InternalHelper;
 import rx.Observable;
+import java.util.List;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
@@ -66,6 +67,74 @@ public class User {
     return resultHandler;
   }
 
+  /**
+   * Check several authorities at once. Implementations are encouraged to resolve all the authorities with a single
+   * call to the underlying provider, the default implementation simply calls {@link io.vertx.rxjava.ext.auth.User#isAuthorised} for each of them.
+   * @param authorities the authorities to check
+   * @param resultHandler handler that will be called with an {@link io.vertx.rxjava.core.AsyncResult} containing a JSON object where each of the authorities is mapped to `true` if the user has it or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  public User checkAuthorities(List<String> authorities, Handler<AsyncResult<JsonObject>> resultHandler) { 
+    this.delegate.checkAuthorities(authorities, resultHandler);
+    return this;
+  }
+
+  /**
+   * Check several authorities at once. Implementations are encouraged to resolve all the authorities with a single
+   * call to the underlying provider, the default implementation simply calls {@link io.vertx.ext.auth.User#isAuthorised} for each of them.
+   * @param authorities the authorities to check
+   * @return 
+   */
+  public Observable<JsonObject> checkAuthoritiesObservable(List<String> authorities) { 
+    io.vertx.rx.java.ObservableFuture<JsonObject> resultHandler = io.vertx.rx.java.RxHelper.observableFuture();
+    checkAuthorities(authorities, resultHandler.toHandler());
+    return resultHandler;
+  }
+
+  /**
+   * Is the user authorised to all of the given authorities.
+   * @param authorities the authorities to check
+   * @param resultHandler handler that will be called with an {@link io.vertx.rxjava.core.AsyncResult} containing the value `true` if the user has every one of the authorities or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  public User isAuthorisedAll(List<String> authorities, Handler<AsyncResult<Boolean>> resultHandler) { 
+    this.delegate.isAuthorisedAll(authorities, resultHandler);
+    return this;
+  }
+
+  /**
+   * Is the user authorised to all of the given authorities.
+   * @param authorities the authorities to check
+   * @return 
+   */
+  public Observable<Boolean> isAuthorisedAllObservable(List<String> authorities) { 
+    io.vertx.rx.java.ObservableFuture<Boolean> resultHandler = io.vertx.rx.java.RxHelper.observableFuture();
+    isAuthorisedAll(authorities, resultHandler.toHandler());
+    return resultHandler;
+  }
+
+  /**
+   * Is the user authorised to at least one of the given authorities.
+   * @param authorities the authorities to check
+   * @param resultHandler handler that will be called with an {@link io.vertx.rxjava.core.AsyncResult} containing the value `true` if the user has any of the authorities or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  public User isAuthorisedAny(List<String> authorities, Handler<AsyncResult<Boolean>> resultHandler) { 
+    this.delegate.isAuthorisedAny(authorities, resultHandler);
+    return this;
+  }
+
+  /**
+   * Is the user authorised to at least one of the given authorities.
+   * @param authorities the authorities to check
+   * @return 
+   */
+  public Observable<Boolean> isAuthorisedAnyObservable(List<String> authorities) { 
+    io.vertx.rx.java.ObservableFuture<Boolean> resultHandler = io.vertx.rx.java.RxHelper.observableFuture();
+    isAuthorisedAny(authorities, resultHandler.toHandler());
+    return resultHandler;
+  }
+
   /**
    * The User object will cache any authorities that it knows it has to avoid hitting the
    * underlying auth provider each time.  Use this method if you want to clear this cache.
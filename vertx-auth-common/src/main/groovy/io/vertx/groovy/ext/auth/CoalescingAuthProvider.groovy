@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.groovy.ext.auth;
+import groovy.transform.CompileStatic
+import io.vertx.lang.groovy.InternalHelper
+import io.vertx.core.json.JsonObject
+/**
+ * An {@link io.vertx.groovy.ext.auth.AuthProvider} that coalesces identical concurrent authentications: while an authentication is in flight,
+ * further attempts with the same auth info wait for its result instead of hitting the underlying backend again.
+ * <p>
+ * Like {@link io.vertx.groovy.ext.auth.CachingAuthProvider}, the auth info is only used through a keyed hash of it, and the coalesced
+ * attempts all get the same {@link io.vertx.groovy.ext.auth.User} instance.
+*/
+@CompileStatic
+public class CoalescingAuthProvider extends AuthProvider {
+  private final def io.vertx.ext.auth.CoalescingAuthProvider delegate;
+  public CoalescingAuthProvider(Object delegate) {
+    super((io.vertx.ext.auth.CoalescingAuthProvider) delegate);
+    this.delegate = (io.vertx.ext.auth.CoalescingAuthProvider) delegate;
+  }
+  public Object getDelegate() {
+    return delegate;
+  }
+  /**
+   * Create a coalescing auth provider
+   * @param authProvider the provider performing the actual authentication
+   * @return the auth provider
+   */
+  public static CoalescingAuthProvider create(AuthProvider authProvider) {
+    def ret= InternalHelper.safeCreate(io.vertx.ext.auth.CoalescingAuthProvider.create((io.vertx.ext.auth.AuthProvider)authProvider.getDelegate()), io.vertx.groovy.ext.auth.CoalescingAuthProvider.class);
+    return ret;
+  }
+}
@@ -18,6 +18,7 @@ package io.vertx.groovy.ext.auth;
 import groovy.transform.CompileStatic
 import io.vertx.lang.groovy.InternalHelper
 import io.vertx.core.json.JsonObject
+import java.util.List
 import io.vertx.core.json.JsonObject
 import io.vertx.core.AsyncResult
 import io.vertx.core.Handler
@@ -45,6 +46,47 @@ public class User {
     this.delegate.isAuthorised(authority, resultHandler);
     return this;
   }
+  /**
+   * Check several authorities at once. Implementations are encouraged to resolve all the authorities with a single
+   * call to the underlying provider, the default implementation simply calls {@link io.vertx.groovy.ext.auth.User#isAuthorised} for each of them.
+   * @param authorities the authorities to check
+   * @param resultHandler handler that will be called with an {@link io.vertx.groovy.core.AsyncResult} containing a JSON object where each of the authorities is mapped to `true` if the user has it or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  public User checkAuthorities(List<String> authorities, Handler<AsyncResult<Map<String, Object>>> resultHandler) {
+    this.delegate.checkAuthorities(authorities, new Handler<AsyncResult<io.vertx.core.json.JsonObject>>() {
+      public void handle(AsyncResult<io.vertx.core.json.JsonObject> event) {
+        AsyncResult<Map<String, Object>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<Map<String, Object>>result((Map<String, Object>)InternalHelper.wrapObject(event.result()))
+        } else {
+          f = InternalHelper.<Map<String, Object>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+    return this;
+  }
+  /**
+   * Is the user authorised to all of the given authorities.
+   * @param authorities the authorities to check
+   * @param resultHandler handler that will be called with an {@link io.vertx.groovy.core.AsyncResult} containing the value `true` if the user has every one of the authorities or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  public User isAuthorisedAll(List<String> authorities, Handler<AsyncResult<Boolean>> resultHandler) {
+    this.delegate.isAuthorisedAll(authorities, resultHandler);
+    return this;
+  }
+  /**
+   * Is the user authorised to at least one of the given authorities.
+   * @param authorities the authorities to check
+   * @param resultHandler handler that will be called with an {@link io.vertx.groovy.core.AsyncResult} containing the value `true` if the user has any of the authorities or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  public User isAuthorisedAny(List<String> authorities, Handler<AsyncResult<Boolean>> resultHandler) {
+    this.delegate.isAuthorisedAny(authorities, resultHandler);
+    return this;
+  }
   /**
    * The User object will cache any authorities that it knows it has to avoid hitting the
    * underlying auth provider each time.  Use this method if you want to clear this cache.
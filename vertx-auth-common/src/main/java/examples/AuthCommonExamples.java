@@ -18,6 +18,7 @@ package examples;
 
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.CachingAuthProvider;
 import io.vertx.ext.auth.User;
 
 /**
@@ -80,5 +81,21 @@ public class AuthCommonExamples {
     });
   }
 
+  public void example4(AuthProvider authProvider) {
+
+    AuthProvider cachingProvider = CachingAuthProvider.create(authProvider)
+      .setTimeToLive(60000)
+      .setMaxSize(1000);
+
+    JsonObject authInfo = new JsonObject().put("username", "tim").put("password", "mypassword");
+
+    cachingProvider.authenticate(authInfo, res -> {
+      if (res.succeeded()) {
+        User user = res.result();
+      } else {
+        res.cause().printStackTrace();
+      }
+    });
+  }
 
 }
@@ -20,16 +20,26 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.impl.ClusterSerializable;
+import io.vertx.ext.auth.impl.SingleFlight;
 
 import java.nio.charset.StandardCharsets;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * Useful base class for implementing a User object.
  * <p>
- * This class handles the caching logic so you can concentrate on the actual authorisation logic.
+ * This class handles the caching logic so you can concentrate on the actual authorisation logic. Both granted and
+ * denied authorities are cached, see {@link PermissionCache} for the details.
  * <p>
  * Just implement the abstract methods in your concrete sub-class.
  *
@@ -37,20 +47,69 @@ import java.util.Set;
  */
 public abstract class AbstractUser implements User, ClusterSerializable {
 
-  final Set<String> cachedPermissions = new HashSet<>();
+  private volatile PermissionCache cachedPermissions = PermissionCache.create();
+  // bumped when the cache is cleared or replaced, so the checks started before do not store their stale outcome
+  private final AtomicLong generation = new AtomicLong();
+  // stores hold the read lock, clearing or replacing the cache holds the write lock, so no store checked against the
+  // previous generation lands after a clear
+  private final StampedLock storeLock = new StampedLock();
+  private final SingleFlight<Boolean> inFlight = new SingleFlight<>();
 
   @Override
   public User isAuthorised(String authority, Handler<AsyncResult<Boolean>> resultHandler) {
-    if (cachedPermissions.contains(authority)) {
-      resultHandler.handle(Future.succeededFuture(true));
+    final long generation = this.generation.get();
+    final PermissionCache cache = cachedPermissions;
+    final AuthMetrics metrics = metrics();
+    final Handler<AsyncResult<Boolean>> handler = metrics.authorisation(resultHandler);
+    Boolean cached = cache.get(authority);
+    if (cached != null) {
+      metrics.cacheHit();
+      handler.handle(Future.succeededFuture(cached));
     } else {
-      doIsPermitted(authority, res -> {
+      metrics.cacheMiss();
+      // concurrent checks of the same authority share a single call to the provider
+      inFlight.execute(authority, h -> doIsPermitted(authority, res -> {
         if (res.succeeded()) {
-          if (res.result()) {
-            cachedPermissions.add(authority);
+          store(cache, generation, authority, res.result());
+        }
+        h.handle(res);
+      }), handler);
+    }
+    return this;
+  }
+
+  @Override
+  public User checkAuthorities(List<String> authorities, Handler<AsyncResult<JsonObject>> resultHandler) {
+    final long generation = this.generation.get();
+    final PermissionCache cache = cachedPermissions;
+    final AuthMetrics metrics = metrics();
+    final Handler<AsyncResult<JsonObject>> handler = metrics.authorisation(resultHandler);
+    final JsonObject results = new JsonObject();
+    final Set<String> missing = new LinkedHashSet<>();
+    for (String authority : authorities) {
+      Boolean cached = cache.get(authority);
+      if (cached != null) {
+        metrics.cacheHit();
+        results.put(authority, cached);
+      } else {
+        metrics.cacheMiss();
+        missing.add(authority);
+      }
+    }
+    if (missing.isEmpty()) {
+      handler.handle(Future.succeededFuture(results));
+    } else {
+      doIsPermitted(missing, res -> {
+        if (res.succeeded()) {
+          for (String authority : missing) {
+            boolean permitted = Boolean.TRUE.equals(res.result().get(authority));
+            store(cache, generation, authority, permitted);
+            results.put(authority, permitted);
           }
+          handler.handle(Future.succeededFuture(results));
+        } else {
+          handler.handle(Future.failedFuture(res.cause()));
         }
-        resultHandler.handle(res);
       });
     }
     return this;
@@ -58,13 +117,53 @@ public abstract class AbstractUser implements User, ClusterSerializable {
 
   @Override
   public User clearCache() {
-    cachedPermissions.clear();
+    long stamp = storeLock.writeLock();
+    try {
+      generation.incrementAndGet();
+      cachedPermissions.clear();
+    } finally {
+      storeLock.unlockWrite(stamp);
+    }
     return this;
   }
 
+  /**
+   * Replace the cache used to remember the outcome of authority checks, e.g. to tune its size or time to live.
+   *
+   * @param cache  the cache
+   * @return the User to enable fluent use
+   */
+  public AbstractUser setPermissionCache(PermissionCache cache) {
+    if (cache == null) {
+      throw new NullPointerException("cache");
+    }
+    long stamp = storeLock.writeLock();
+    try {
+      generation.incrementAndGet();
+      this.cachedPermissions = cache;
+    } finally {
+      storeLock.unlockWrite(stamp);
+    }
+    return this;
+  }
+
+  /**
+   * Store the outcome of a check unless the cache was cleared or replaced since it started.
+   */
+  private void store(PermissionCache cache, long generation, String authority, boolean permitted) {
+    long stamp = storeLock.readLock();
+    try {
+      if (this.generation.get() == generation && cachedPermissions == cache) {
+        cache.put(authority, permitted);
+      }
+    } finally {
+      storeLock.unlockRead(stamp);
+    }
+  }
+
   @Override
   public void writeToBuffer(Buffer buff) {
-    writeStringSet(buff, cachedPermissions);
+    writeStringSet(buff, cachedPermissions.permitted());
   }
 
   @Override
@@ -75,6 +174,42 @@ public abstract class AbstractUser implements User, ClusterSerializable {
 
   protected abstract void doIsPermitted(String permission, Handler<AsyncResult<Boolean>> resultHandler);
 
+  /**
+   * The metrics the authority checks of this user are reported to. Providers should return their own metrics, the
+   * default implementation reports to the {@code user} metrics.
+   *
+   * @return the metrics
+   */
+  protected AuthMetrics metrics() {
+    return AuthMetrics.metrics("user");
+  }
+
+  /**
+   * Check several authorities that are not in the cache yet. The default implementation calls
+   * {@link #doIsPermitted(String, Handler)} once per authority, providers that can answer for many authorities in a
+   * single call to their backend should override it.
+   *
+   * @param permissions  the authorities to check
+   * @param resultHandler  handler called with the result of each authority
+   */
+  protected void doIsPermitted(Set<String> permissions, Handler<AsyncResult<Map<String, Boolean>>> resultHandler) {
+    final Map<String, Boolean> results = new ConcurrentHashMap<>();
+    final AtomicInteger pending = new AtomicInteger(permissions.size());
+    final AtomicBoolean failed = new AtomicBoolean();
+    for (String permission : permissions) {
+      doIsPermitted(permission, res -> {
+        if (res.succeeded()) {
+          results.put(permission, res.result());
+          if (pending.decrementAndGet() == 0) {
+            resultHandler.handle(Future.succeededFuture(results));
+          }
+        } else if (failed.compareAndSet(false, true)) {
+          resultHandler.handle(Future.failedFuture(res.cause()));
+        }
+      });
+    }
+  }
+
   private void writeStringSet(Buffer buff, Set<String> set) {
     buff.appendInt(set == null ? 0 : set.size());
     if (set != null) {
@@ -85,7 +220,7 @@ public abstract class AbstractUser implements User, ClusterSerializable {
     }
   }
 
-  private int readStringSet(Buffer buffer, Set<String> set, int pos) {
+  private int readStringSet(Buffer buffer, PermissionCache cache, int pos) {
     int num = buffer.getInt(pos);
     pos += 4;
     for (int i = 0; i < num; i++) {
@@ -93,7 +228,7 @@ public abstract class AbstractUser implements User, ClusterSerializable {
       pos += 4;
       byte[] bytes = buffer.getBytes(pos, pos + len);
       pos += len;
-      set.add(new String(bytes, StandardCharsets.UTF_8));
+      cache.put(new String(bytes, StandardCharsets.UTF_8), true);
     }
     return pos;
   }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.impl.AuthMetricsRegistry;
+
+/**
+ * The measurements reported by an auth provider: latency and outcome of authentications and authority checks,
+ * permission cache hits and misses, errors of the backend, connections borrowed from it and time spent on event loop
+ * and worker threads.
+ * <p>
+ * There is one instance per provider name (e.g. {@code jdbc}, {@code mongo}), shared by all the instances of that
+ * provider. By default the measurements are kept in memory and can be read with {@link #snapshot()}, another
+ * implementation can be plugged with a {@link io.vertx.ext.auth.spi.AuthMetricsFactory}.
+ * <p>
+ * Implementations must be safe to use from several threads at once.
+ */
+public interface AuthMetrics {
+
+  /**
+   * Get the metrics of a provider.
+   *
+   * @param provider  the provider name
+   * @return the metrics, always the same instance for a given name
+   */
+  static AuthMetrics metrics(String provider) {
+    return AuthMetricsRegistry.metrics(provider);
+  }
+
+  /**
+   * @return the metrics of all the providers, keyed by provider name
+   */
+  static JsonObject snapshot() {
+    return AuthMetricsRegistry.snapshot();
+  }
+
+  /**
+   * Called when an authentication starts.
+   *
+   * @return a token to pass to {@link #authenticationEnd(long, boolean)}
+   */
+  long authenticationBegin();
+
+  /**
+   * Called when an authentication completes.
+   *
+   * @param begin  the value returned by {@link #authenticationBegin()}
+   * @param succeeded  whether the user was authenticated
+   */
+  void authenticationEnd(long begin, boolean succeeded);
+
+  /**
+   * Called when an authority check starts.
+   *
+   * @return a token to pass to {@link #authorisationEnd(long, boolean)}
+   */
+  long authorisationBegin();
+
+  /**
+   * Called when an authority check completes.
+   *
+   * @param begin  the value returned by {@link #authorisationBegin()}
+   * @param succeeded  whether the check completed, whatever its outcome, or failed
+   */
+  void authorisationEnd(long begin, boolean succeeded);
+
+  /**
+   * Called when an authority is found in the permission cache.
+   */
+  void cacheHit();
+
+  /**
+   * Called when an authority has to be checked against the provider.
+   */
+  void cacheMiss();
+
+  /**
+   * Called when the backend of the provider (database, directory, remote server...) fails, as opposed to the
+   * credentials being rejected.
+   *
+   * @param cause  the failure
+   */
+  void backendError(Throwable cause);
+
+  /**
+   * Report time spent by the provider on an event loop thread.
+   *
+   * @param nanos  the duration in nanoseconds
+   */
+  void eventLoopTime(long nanos);
+
+  /**
+   * Report time spent by the provider on a worker thread.
+   *
+   * @param nanos  the duration in nanoseconds
+   */
+  void workerTime(long nanos);
+
+  /**
+   * Called when the provider borrows a connection from the pool of its backend.
+   */
+  default void connectionAcquired() {
+  }
+
+  /**
+   * Called when the provider runs a query on a connection it already holds, instead of borrowing one from the pool.
+   */
+  default void connectionReused() {
+  }
+
+  /**
+   * @return the current values of the metrics
+   */
+  JsonObject toJson();
+
+  /**
+   * Report time spent by the provider on the current thread, as event loop or worker time depending on the thread.
+   *
+   * @param nanos  the duration in nanoseconds
+   */
+  default void executionTime(long nanos) {
+    if (Context.isOnEventLoopThread()) {
+      eventLoopTime(nanos);
+    } else {
+      workerTime(nanos);
+    }
+  }
+
+  /**
+   * Start measuring an authentication.
+   *
+   * @param resultHandler  the handler of the authentication
+   * @return a handler ending the measurement before calling {@code resultHandler}
+   */
+  default <T> Handler<AsyncResult<T>> authentication(Handler<AsyncResult<T>> resultHandler) {
+    final long begin = authenticationBegin();
+    return res -> {
+      authenticationEnd(begin, res.succeeded());
+      resultHandler.handle(res);
+    };
+  }
+
+  /**
+   * Start measuring an authority check.
+   *
+   * @param resultHandler  the handler of the check
+   * @return a handler ending the measurement before calling {@code resultHandler}
+   */
+  default <T> Handler<AsyncResult<T>> authorisation(Handler<AsyncResult<T>> resultHandler) {
+    final long begin = authorisationBegin();
+    return res -> {
+      authorisationEnd(begin, res.succeeded());
+      resultHandler.handle(res);
+    };
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.auth.impl.AuthWorkerPoolImpl;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A bounded pool of named threads running the CPU intensive work of the providers, e.g. password hashing, away from
+ * the event loop.
+ * <p>
+ * When all the threads are busy, tasks wait in a bounded queue. Once the queue is full new tasks fail straight away
+ * instead of piling up, so a burst of logins cannot grow the backlog without limit. Results are delivered on the
+ * context that submitted the task.
+ */
+@VertxGen
+public interface AuthWorkerPool {
+
+  /**
+   * The default maximum number of tasks waiting for a thread
+   */
+  int DEFAULT_MAX_QUEUE_SIZE = 1024;
+
+  /**
+   * Create a pool.
+   *
+   * @param name  the name of the pool, used as prefix of the thread names
+   * @param poolSize  the maximum number of threads
+   * @param maxQueueSize  the maximum number of tasks waiting for a thread
+   * @return the pool
+   */
+  static AuthWorkerPool create(String name, int poolSize, int maxQueueSize) {
+    return new AuthWorkerPoolImpl(name, poolSize, maxQueueSize);
+  }
+
+  /**
+   * Get the pool of the given name shared by the providers of a Vert.x instance, creating it with the given sizes on
+   * first use. The sizes of an existing pool are kept, a warning is logged when they differ. Each call returns a
+   * reference to close, e.g. when the verticle using it stops, the threads are stopped once all of them are closed.
+   * Idle threads are released after a minute in any case.
+   *
+   * @param vertx  the Vert.x instance
+   * @param name  the name of the pool, used as prefix of the thread names
+   * @param poolSize  the maximum number of threads
+   * @param maxQueueSize  the maximum number of tasks waiting for a thread
+   * @return the pool
+   */
+  static AuthWorkerPool createShared(Vertx vertx, String name, int poolSize, int maxQueueSize) {
+    return AuthWorkerPoolImpl.shared(vertx, name, poolSize, maxQueueSize);
+  }
+
+  /**
+   * Run a task on the pool. The handler is called on the context of the caller, or on the pool thread when the caller
+   * is not running on a Vert.x context. When the pool is saturated or closed the handler is failed immediately.
+   *
+   * @param task  the task
+   * @param resultHandler  the handler called with the result of the task
+   */
+  @GenIgnore
+  <T> void execute(Callable<T> task, Handler<AsyncResult<T>> resultHandler);
+
+  /**
+   * @return the number of tasks waiting for a thread
+   */
+  int queueSize();
+
+  /**
+   * @return the number of tasks failed because the pool was saturated
+   */
+  long rejectedCount();
+
+  /**
+   * Stop the threads of the pool, tasks already submitted are still run. Closing a shared pool only releases this
+   * reference to it.
+   */
+  void close();
+}
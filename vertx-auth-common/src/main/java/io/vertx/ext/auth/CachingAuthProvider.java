@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.impl.CachingAuthProviderImpl;
+
+/**
+ * An {@link AuthProvider} that remembers the users successfully authenticated by another provider, so repeated
+ * authentications with the same auth info do not hit the underlying backend.
+ * <p>
+ * The auth info is never kept: entries are looked up by a keyed hash of it, using a key that is randomly generated
+ * for each instance. Failed authentications are never cached.
+ * <p>
+ * A cache hit returns the very {@link User} instance returned by the remembered authentication, so it is shared by
+ * everyone authenticating with the same auth info, along with the outcome of its previous authority checks. Callers
+ * must not change it, e.g. with {@link User#setAuthProvider(AuthProvider)} or {@link User#clearCache()}, and should
+ * wrap a provider whose users they need to change in a new {@code CachingAuthProvider} of their own.
+ */
+@VertxGen
+public interface CachingAuthProvider extends AuthProvider {
+
+  /**
+   * The default time to live of a cached user, in milliseconds
+   */
+  long DEFAULT_TTL = 5 * 60 * 1000;
+
+  /**
+   * The default maximum number of cached users
+   */
+  int DEFAULT_MAX_SIZE = 10000;
+
+  /**
+   * Create a caching auth provider
+   *
+   * @param authProvider  the provider performing the actual authentication
+   * @return the auth provider
+   */
+  static CachingAuthProvider create(AuthProvider authProvider) {
+    return new CachingAuthProviderImpl(authProvider);
+  }
+
+  /**
+   * Set how long a successfully authenticated user is remembered.
+   *
+   * @param ttl  the time to live in milliseconds
+   * @return a reference to this for fluency
+   */
+  @Fluent
+  CachingAuthProvider setTimeToLive(long ttl);
+
+  /**
+   * Set the maximum number of users to remember, the least recently used ones are dropped first.
+   *
+   * @param maxSize  the maximum number of cached users
+   * @return a reference to this for fluency
+   */
+  @Fluent
+  CachingAuthProvider setMaxSize(int maxSize);
+
+  /**
+   * Forget all the cached users with the given principal, e.g. after their password or permissions changed. The
+   * authentications in progress when it is called are not cached either.
+   *
+   * @param principal  the principal, as returned by {@link User#principal()}
+   * @return a reference to this for fluency
+   */
+  @Fluent
+  CachingAuthProvider invalidate(JsonObject principal);
+
+  /**
+   * Forget all the cached users. The authentications in progress when it is called are not cached either.
+   *
+   * @return a reference to this for fluency
+   */
+  @Fluent
+  CachingAuthProvider invalidateAll();
+}
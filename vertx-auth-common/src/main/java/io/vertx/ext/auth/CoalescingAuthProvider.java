@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.ext.auth.impl.CoalescingAuthProviderImpl;
+
+/**
+ * An {@link AuthProvider} that coalesces identical concurrent authentications: while an authentication is in flight,
+ * further attempts with the same auth info wait for its result instead of hitting the underlying backend again.
+ * <p>
+ * Like {@link CachingAuthProvider}, the auth info is only used through a keyed hash of it, and the coalesced
+ * attempts all get the same {@link User} instance.
+ */
+@VertxGen
+public interface CoalescingAuthProvider extends AuthProvider {
+
+  /**
+   * Create a coalescing auth provider
+   *
+   * @param authProvider  the provider performing the actual authentication
+   * @return the auth provider
+   */
+  static CoalescingAuthProvider create(AuthProvider authProvider) {
+    return new CoalescingAuthProviderImpl(authProvider);
+  }
+}
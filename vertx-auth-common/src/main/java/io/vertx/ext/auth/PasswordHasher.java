@@ -0,0 +1,217 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth;
+
+import io.vertx.ext.auth.impl.hash.Argon2Hasher;
+import io.vertx.ext.auth.impl.hash.BCryptHasher;
+import io.vertx.ext.auth.impl.hash.Calibration;
+import io.vertx.ext.auth.impl.hash.CompositePasswordHasher;
+import io.vertx.ext.auth.impl.hash.PBKDF2Hasher;
+import io.vertx.ext.auth.impl.hash.ScryptHasher;
+
+import java.util.Arrays;
+
+/**
+ * Hashes passwords with a tunable work factor and verifies them later.
+ * <p>
+ * Hashes are self-describing strings holding the algorithm, its parameters, the salt and the hash, e.g.
+ * {@code $pbkdf2-sha512$i=210000$<salt>$<hash>} in the PHC string format, or the modular crypt format for bcrypt.
+ * A hash therefore stays verifiable after the parameters used for new hashes are changed.
+ * <p>
+ * Implementations must be safe to use from several threads at once.
+ */
+public interface PasswordHasher {
+
+  /**
+   * The default number of PBKDF2 iterations
+   */
+  int DEFAULT_PBKDF2_ITERATIONS = 210000;
+
+  /**
+   * The default scrypt CPU/memory cost, as a power of two
+   */
+  int DEFAULT_SCRYPT_LOG_N = 15;
+
+  /**
+   * The default bcrypt cost, as a power of two
+   */
+  int DEFAULT_BCRYPT_COST = 10;
+
+  /**
+   * The default Argon2id memory cost, in KiB
+   */
+  int DEFAULT_ARGON2_MEMORY = 19456;
+
+  /**
+   * The default number of Argon2id passes over the memory
+   */
+  int DEFAULT_ARGON2_ITERATIONS = 2;
+
+  /**
+   * The default memory budget of a calibrated hash, in KiB
+   */
+  int DEFAULT_CALIBRATION_MEMORY = 65536;
+
+  /**
+   * Create a hasher with the default parameters of an algorithm.
+   *
+   * @param algorithm  one of {@code pbkdf2-sha256}, {@code pbkdf2-sha512}, {@code scrypt}, {@code bcrypt} or
+   *                   {@code argon2id}
+   * @return the hasher
+   */
+  static PasswordHasher create(String algorithm) {
+    switch (algorithm) {
+      case PBKDF2Hasher.SHA256:
+        return pbkdf2("sha256", DEFAULT_PBKDF2_ITERATIONS);
+      case PBKDF2Hasher.SHA512:
+        return pbkdf2("sha512", DEFAULT_PBKDF2_ITERATIONS);
+      case ScryptHasher.ID:
+        return scrypt(DEFAULT_SCRYPT_LOG_N, 8, 1);
+      case BCryptHasher.ID:
+        return bcrypt(DEFAULT_BCRYPT_COST);
+      case Argon2Hasher.ID:
+        return argon2id(DEFAULT_ARGON2_MEMORY, DEFAULT_ARGON2_ITERATIONS, 1);
+      default:
+        throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+    }
+  }
+
+  /**
+   * Create a PBKDF2 hasher.
+   *
+   * @param digest  the HMAC digest, {@code sha256} or {@code sha512}
+   * @param iterations  the number of iterations
+   * @return the hasher
+   */
+  static PasswordHasher pbkdf2(String digest, int iterations) {
+    return new PBKDF2Hasher(digest, iterations);
+  }
+
+  /**
+   * Create a scrypt hasher.
+   *
+   * @param logN  the CPU/memory cost, as a power of two
+   * @param r  the block size
+   * @param p  the parallelization
+   * @return the hasher
+   */
+  static PasswordHasher scrypt(int logN, int r, int p) {
+    return new ScryptHasher(logN, r, p);
+  }
+
+  /**
+   * Create a bcrypt hasher. Only the first 72 bytes of a password are significant.
+   *
+   * @param cost  the cost, as a power of two
+   * @return the hasher
+   */
+  static PasswordHasher bcrypt(int cost) {
+    return new BCryptHasher(cost);
+  }
+
+  /**
+   * Create an Argon2id hasher.
+   *
+   * @param memory  the memory cost, in KiB
+   * @param iterations  the number of passes over the memory
+   * @param parallelism  the number of lanes
+   * @return the hasher
+   */
+  static PasswordHasher argon2id(int memory, int iterations, int parallelism) {
+    return new Argon2Hasher(memory, iterations, parallelism);
+  }
+
+  /**
+   * Like {@link #calibrate(String, long, int)} with a memory budget of {@link #DEFAULT_CALIBRATION_MEMORY}.
+   *
+   * @param algorithm  the algorithm, as in {@link #create(String)}
+   * @param maxMillis  the time budget of a hash, in milliseconds
+   * @return the hasher
+   */
+  static PasswordHasher calibrate(String algorithm, long maxMillis) {
+    return Calibration.calibrate(algorithm, maxMillis, DEFAULT_CALIBRATION_MEMORY);
+  }
+
+  /**
+   * Create a hasher for an algorithm with the highest cost that hashes a password in less than the given time on
+   * this machine. The cost is measured when calling this method, which therefore takes a few times {@code maxMillis}.
+   * The memory of a scrypt hash, growing with its cost, is kept within {@code maxMemory} and at most 1 GiB, and
+   * Argon2id uses its default memory cost unless it is over {@code maxMemory}. Every hash running at the same time
+   * needs that much memory, so mind the size of the hashing pool.
+   *
+   * @param algorithm  the algorithm, as in {@link #create(String)}
+   * @param maxMillis  the time budget of a hash, in milliseconds
+   * @param maxMemory  the memory budget of a hash, in KiB, at least 1024
+   * @return the hasher
+   */
+  static PasswordHasher calibrate(String algorithm, long maxMillis, int maxMemory) {
+    return Calibration.calibrate(algorithm, maxMillis, maxMemory);
+  }
+
+  /**
+   * Create a hasher hashing new passwords with {@code current}, while still verifying the hashes of the other ones.
+   * Hashes of the other algorithms, or of {@code current} with weaker parameters, need a rehash.
+   *
+   * @param current  the hasher of new passwords
+   * @param others  the hashers of existing passwords
+   * @return the hasher
+   */
+  static PasswordHasher composite(PasswordHasher current, PasswordHasher... others) {
+    return new CompositePasswordHasher(current, Arrays.asList(others));
+  }
+
+  /**
+   * @return the identifier of the algorithm, as found in its hashes
+   */
+  String id();
+
+  /**
+   * Hash a password with a new random salt.
+   *
+   * @param password  the password
+   * @return the self-describing hash
+   */
+  String hash(String password);
+
+  /**
+   * Check a password against a hash, in constant time with respect to the hash value.
+   *
+   * @param password  the password
+   * @param hash  a hash produced by this hasher, possibly with other parameters
+   * @return {@code true} when the password matches, {@code false} when it does not or the hash is malformed
+   */
+  boolean verify(String password, String hash);
+
+  /**
+   * Whether this hasher can verify a hash.
+   *
+   * @param hash  the hash
+   * @return {@code true} when the hash was produced by the algorithm of this hasher
+   */
+  default boolean matches(String hash) {
+    return hash != null && hash.startsWith("$" + id() + "$");
+  }
+
+  /**
+   * Whether a hash should be replaced by a new one, because it uses another algorithm or weaker parameters than
+   * this hasher.
+   *
+   * @param hash  the hash
+   * @return {@code true} when the password should be hashed again
+   */
+  boolean needsRehash(String hash);
+}
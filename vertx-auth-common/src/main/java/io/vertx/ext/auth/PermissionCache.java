@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth;
+
+import io.vertx.ext.auth.impl.PermissionCacheImpl;
+
+import java.util.Set;
+
+/**
+ * The cache used by {@link AbstractUser} to remember the outcome of previous authority checks.
+ * <p>
+ * Implementations must be safe to use from several threads at once, as the same user can be shared between
+ * event loops.
+ */
+public interface PermissionCache {
+
+  /**
+   * The default maximum number of authorities kept per user
+   */
+  int DEFAULT_MAX_SIZE = 1024;
+
+  /**
+   * The default time to live of a granted authority, in milliseconds
+   */
+  long DEFAULT_TTL = 10 * 60 * 1000;
+
+  /**
+   * The default time to live of a denied authority, in milliseconds
+   */
+  long DEFAULT_NEGATIVE_TTL = 30 * 1000;
+
+  /**
+   * Create a cache using the default size and time to live values.
+   *
+   * @return the cache
+   */
+  static PermissionCache create() {
+    return new PermissionCacheImpl(DEFAULT_MAX_SIZE, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * Create a cache.
+   *
+   * @param maxSize  the maximum number of authorities to keep
+   * @param ttl  how long a granted authority is remembered, in milliseconds, {@code 0} disables caching of grants
+   * @param negativeTtl  how long a denied authority is remembered, in milliseconds, {@code 0} disables caching of denials
+   * @return the cache
+   */
+  static PermissionCache create(int maxSize, long ttl, long negativeTtl) {
+    return new PermissionCacheImpl(maxSize, ttl, negativeTtl);
+  }
+
+  /**
+   * Lookup a previous result.
+   *
+   * @param authority  the authority
+   * @return {@code true} or {@code false} if the result is known, {@code null} if it is unknown or has expired
+   */
+  Boolean get(String authority);
+
+  /**
+   * Remember the result of an authority check.
+   *
+   * @param authority  the authority
+   * @param permitted  whether the authority was granted
+   */
+  void put(String authority, boolean permitted);
+
+  /**
+   * Forget all the results.
+   */
+  void clear();
+
+  /**
+   * @return a snapshot of the granted authorities that have not expired yet
+   */
+  Set<String> permitted();
+}
@@ -20,9 +20,16 @@ import io.vertx.codegen.annotations.CacheReturn;
 import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.json.JsonObject;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Represents an authenticates User and contains operations to authorise the user.
  * <p>
@@ -47,6 +54,89 @@ public interface User {
   @CacheReturn
   User isAuthorised(String authority, Handler<AsyncResult<Boolean>> resultHandler);
 
+  /**
+   * Check several authorities at once. Implementations are encouraged to resolve all the authorities with a single
+   * call to the underlying provider, the default implementation simply calls {@link #isAuthorised} for each of them.
+   *
+   * @param authorities  the authorities to check
+   * @param resultHandler  handler that will be called with an {@link io.vertx.core.AsyncResult} containing a JSON object
+   *                       where each of the authorities is mapped to `true` if the user has it or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  @Fluent
+  default User checkAuthorities(List<String> authorities, Handler<AsyncResult<JsonObject>> resultHandler) {
+    if (authorities.isEmpty()) {
+      resultHandler.handle(Future.succeededFuture(new JsonObject()));
+      return this;
+    }
+    final Map<String, Object> results = new ConcurrentHashMap<>();
+    final AtomicInteger pending = new AtomicInteger(authorities.size());
+    final AtomicBoolean failed = new AtomicBoolean();
+    for (String authority : authorities) {
+      isAuthorised(authority, res -> {
+        if (res.succeeded()) {
+          results.put(authority, res.result());
+          if (pending.decrementAndGet() == 0) {
+            resultHandler.handle(Future.succeededFuture(new JsonObject(results)));
+          }
+        } else if (failed.compareAndSet(false, true)) {
+          resultHandler.handle(Future.failedFuture(res.cause()));
+        }
+      });
+    }
+    return this;
+  }
+
+  /**
+   * Is the user authorised to all of the given authorities.
+   *
+   * @param authorities  the authorities to check
+   * @param resultHandler  handler that will be called with an {@link io.vertx.core.AsyncResult} containing the value
+   *                       `true` if the user has every one of the authorities or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  @Fluent
+  default User isAuthorisedAll(List<String> authorities, Handler<AsyncResult<Boolean>> resultHandler) {
+    return checkAuthorities(authorities, res -> {
+      if (res.succeeded()) {
+        for (String authority : authorities) {
+          if (!res.result().getBoolean(authority, false)) {
+            resultHandler.handle(Future.succeededFuture(false));
+            return;
+          }
+        }
+        resultHandler.handle(Future.succeededFuture(true));
+      } else {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      }
+    });
+  }
+
+  /**
+   * Is the user authorised to at least one of the given authorities.
+   *
+   * @param authorities  the authorities to check
+   * @param resultHandler  handler that will be called with an {@link io.vertx.core.AsyncResult} containing the value
+   *                       `true` if the user has any of the authorities or `false` otherwise.
+   * @return the User to enable fluent use
+   */
+  @Fluent
+  default User isAuthorisedAny(List<String> authorities, Handler<AsyncResult<Boolean>> resultHandler) {
+    return checkAuthorities(authorities, res -> {
+      if (res.succeeded()) {
+        for (String authority : authorities) {
+          if (res.result().getBoolean(authority, false)) {
+            resultHandler.handle(Future.succeededFuture(true));
+            return;
+          }
+        }
+        resultHandler.handle(Future.succeededFuture(false));
+      } else {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      }
+    });
+  }
+
   /**
    * The User object will cache any authorities that it knows it has to avoid hitting the
    * underlying auth provider each time.  Use this method if you want to clear this cache.
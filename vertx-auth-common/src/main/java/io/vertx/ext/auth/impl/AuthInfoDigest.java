@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.VertxException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Computes a keyed hash (HMAC-SHA256) of some auth info, so it can be used as a lookup key without keeping the
+ * credentials around. The key is random and only lives in memory.
+ */
+public final class AuthInfoDigest {
+
+  private static final String ALGORITHM = "HmacSHA256";
+
+  private final SecretKeySpec key;
+  private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+  public AuthInfoDigest() {
+    byte[] secret = new byte[32];
+    new SecureRandom().nextBytes(secret);
+    key = new SecretKeySpec(secret, ALGORITHM);
+  }
+
+  /**
+   * Digest the auth info with its fields sorted by name, so the same auth info built in another order gives the same
+   * digest.
+   */
+  public String digest(JsonObject authInfo) {
+    return digest(canonical(authInfo).encode());
+  }
+
+  public String digest(String value) {
+    byte[] hash = macs.get().doFinal(value.getBytes(StandardCharsets.UTF_8));
+    return Base64.getEncoder().encodeToString(hash);
+  }
+
+  private static JsonObject canonical(JsonObject json) {
+    JsonObject sorted = new JsonObject();
+    json.fieldNames().stream().sorted().forEach(name -> sorted.put(name, canonical(json.getValue(name))));
+    return sorted;
+  }
+
+  private static Object canonical(Object value) {
+    if (value instanceof JsonObject) {
+      return canonical((JsonObject) value);
+    }
+    if (value instanceof JsonArray) {
+      JsonArray array = new JsonArray();
+      for (Object element : (JsonArray) value) {
+        array.add(canonical(element));
+      }
+      return array;
+    }
+    return value;
+  }
+
+  private Mac newMac() {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new VertxException(e);
+    }
+  }
+}
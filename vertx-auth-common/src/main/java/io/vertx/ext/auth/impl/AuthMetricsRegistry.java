@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthMetrics;
+import io.vertx.ext.auth.spi.AuthMetricsFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link AuthMetrics} of each provider.
+ */
+public final class AuthMetricsRegistry {
+
+  private static final AuthMetricsFactory FACTORY = loadFactory();
+  private static final ConcurrentMap<String, AuthMetrics> METRICS = new ConcurrentHashMap<>();
+
+  private AuthMetricsRegistry() {
+  }
+
+  public static AuthMetrics metrics(String provider) {
+    AuthMetrics metrics = METRICS.get(provider);
+    if (metrics == null) {
+      metrics = METRICS.computeIfAbsent(provider, FACTORY::create);
+    }
+    return metrics;
+  }
+
+  public static JsonObject snapshot() {
+    JsonObject json = new JsonObject();
+    for (Map.Entry<String, AuthMetrics> entry : new TreeMap<>(METRICS).entrySet()) {
+      json.put(entry.getKey(), entry.getValue().toJson());
+    }
+    return json;
+  }
+
+  private static AuthMetricsFactory loadFactory() {
+    Iterator<AuthMetricsFactory> factories = ServiceLoader.load(AuthMetricsFactory.class).iterator();
+    if (factories.hasNext()) {
+      return factories.next();
+    }
+    return provider -> new InMemoryAuthMetrics();
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import io.vertx.ext.auth.AuthWorkerPool;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link AuthWorkerPool} backed by a fixed size {@link ThreadPoolExecutor} with a bounded queue. Idle threads
+ * are released after a minute.
+ */
+public class AuthWorkerPoolImpl implements AuthWorkerPool, Shareable {
+
+  private static final Logger log = LoggerFactory.getLogger(AuthWorkerPoolImpl.class);
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+  private static final String SHARED_POOLS = "__vertx.auth.workerPools";
+
+  private final String name;
+  private final int poolSize;
+  private final int maxQueueSize;
+  private final ThreadPoolExecutor executor;
+  private final LongAdder rejected = new LongAdder();
+  // the number of open references when shared, guarded by the map of the shared pools
+  private int refs;
+
+  public AuthWorkerPoolImpl(String name, int poolSize, int maxQueueSize) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("poolSize must be > 0");
+    }
+    if (maxQueueSize < 0) {
+      throw new IllegalArgumentException("maxQueueSize must be >= 0");
+    }
+    this.name = name;
+    this.poolSize = poolSize;
+    this.maxQueueSize = maxQueueSize;
+    BlockingQueue<Runnable> queue = maxQueueSize == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(maxQueueSize);
+    AtomicInteger threadCount = new AtomicInteger();
+    executor = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue, runnable -> {
+      Thread thread = new Thread(runnable, name + "-" + threadCount.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  @Override
+  public <T> void execute(Callable<T> task, Handler<AsyncResult<T>> resultHandler) {
+    final Context context = Vertx.currentContext();
+    try {
+      executor.execute(() -> {
+        AsyncResult<T> result;
+        try {
+          result = Future.succeededFuture(task.call());
+        } catch (Throwable t) {
+          result = Future.failedFuture(t);
+        }
+        final AsyncResult<T> res = result;
+        if (context != null) {
+          context.runOnContext(v -> resultHandler.handle(res));
+        } else {
+          resultHandler.handle(res);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      if (executor.isShutdown()) {
+        resultHandler.handle(Future.failedFuture(closed(name)));
+        return;
+      }
+      rejected.increment();
+      resultHandler.handle(Future.failedFuture(new VertxException("Worker pool " + name + " is saturated")));
+    }
+  }
+
+  private static VertxException closed(String name) {
+    return new VertxException("Worker pool " + name + " is closed");
+  }
+
+  @Override
+  public int queueSize() {
+    return executor.getQueue().size();
+  }
+
+  @Override
+  public long rejectedCount() {
+    return rejected.sum();
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  /**
+   * Get the pool of the given name shared by a Vert.x instance, creating it on first use. Each caller gets its own
+   * reference to close, the threads are stopped once every reference is closed. The sizes of an existing pool are
+   * kept, a warning is logged when they differ from the requested ones.
+   */
+  public static AuthWorkerPool shared(Vertx vertx, String name, int poolSize, int maxQueueSize) {
+    final LocalMap<String, AuthWorkerPoolImpl> pools = vertx.sharedData().getLocalMap(SHARED_POOLS);
+    final AuthWorkerPoolImpl pool;
+    synchronized (pools) {
+      AuthWorkerPoolImpl existing = pools.get(name);
+      if (existing == null) {
+        existing = new AuthWorkerPoolImpl(name, poolSize, maxQueueSize);
+        pools.put(name, existing);
+      } else if (existing.poolSize != poolSize || existing.maxQueueSize != maxQueueSize) {
+        log.warn("Worker pool " + name + " is already shared with " + existing.poolSize + " threads and a queue of "
+          + existing.maxQueueSize + " tasks, ignoring " + poolSize + " threads and a queue of " + maxQueueSize
+          + " tasks");
+      }
+      existing.refs++;
+      pool = existing;
+    }
+    return new Reference(pools, pool);
+  }
+
+  /**
+   * A reference to a shared pool, closing it more than once has no effect.
+   */
+  private static final class Reference implements AuthWorkerPool {
+
+    private final LocalMap<String, AuthWorkerPoolImpl> pools;
+    private final AuthWorkerPoolImpl pool;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    Reference(LocalMap<String, AuthWorkerPoolImpl> pools, AuthWorkerPoolImpl pool) {
+      this.pools = pools;
+      this.pool = pool;
+    }
+
+    @Override
+    public <T> void execute(Callable<T> task, Handler<AsyncResult<T>> resultHandler) {
+      if (closed.get()) {
+        // the pool may still be open for the other references
+        resultHandler.handle(Future.failedFuture(closed(pool.name)));
+        return;
+      }
+      pool.execute(task, resultHandler);
+    }
+
+    @Override
+    public int queueSize() {
+      return pool.queueSize();
+    }
+
+    @Override
+    public long rejectedCount() {
+      return pool.rejectedCount();
+    }
+
+    @Override
+    public void close() {
+      if (!closed.compareAndSet(false, true)) {
+        return;
+      }
+      synchronized (pools) {
+        if (--pool.refs == 0) {
+          pools.remove(pool.name);
+          pool.close();
+        }
+      }
+    }
+  }
+}
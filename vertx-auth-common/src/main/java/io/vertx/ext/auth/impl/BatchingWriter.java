@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes values in the background, in batches of a bounded size and at most one batch per interval, so a burst of
+ * submissions is spread over time instead of hitting the backend at once. Only the latest value per key is kept, and
+ * once too many values are pending new keys are dropped.
+ * <p>
+ * The writer is called on a Vert.x timer and must always call its completion handler.
+ */
+public class BatchingWriter<K, V> {
+
+  private final int batchSize;
+  private final long interval;
+  private final int maxPending;
+  private final BiConsumer<Map<K, V>, Handler<AsyncResult<Void>>> writer;
+  private final LinkedHashMap<K, V> pending = new LinkedHashMap<>();
+
+  private Vertx vertx;
+  private boolean scheduled;
+
+  public BatchingWriter(int batchSize, long interval, int maxPending,
+                        BiConsumer<Map<K, V>, Handler<AsyncResult<Void>>> writer) {
+    if (batchSize < 1 || interval < 1 || maxPending < 1) {
+      throw new IllegalArgumentException("batchSize, interval and maxPending must be > 0");
+    }
+    this.batchSize = batchSize;
+    this.interval = interval;
+    this.maxPending = maxPending;
+    this.writer = writer;
+  }
+
+  /**
+   * Schedule a write.
+   *
+   * @param vertx  the Vert.x instance providing the timer
+   * @param key  the key, replacing a pending value with the same key
+   * @param value  the value
+   * @return {@code false} when the value was dropped because too many are pending
+   */
+  public boolean submit(Vertx vertx, K key, V value) {
+    synchronized (this) {
+      if (pending.size() >= maxPending && !pending.containsKey(key)) {
+        return false;
+      }
+      pending.put(key, value);
+      if (scheduled) {
+        return true;
+      }
+      scheduled = true;
+      this.vertx = vertx;
+    }
+    vertx.setTimer(interval, id -> flush());
+    return true;
+  }
+
+  /**
+   * @return the number of values waiting to be written
+   */
+  public synchronized int pending() {
+    return pending.size();
+  }
+
+  private void flush() {
+    Map<K, V> batch = new LinkedHashMap<>();
+    synchronized (this) {
+      Iterator<Map.Entry<K, V>> it = pending.entrySet().iterator();
+      while (it.hasNext() && batch.size() < batchSize) {
+        Map.Entry<K, V> entry = it.next();
+        batch.put(entry.getKey(), entry.getValue());
+        it.remove();
+      }
+    }
+    writer.accept(batch, ar -> {
+      // a failed batch is not retried, the values will be submitted again on a later occasion
+      Vertx vertx;
+      synchronized (this) {
+        scheduled = !pending.isEmpty();
+        vertx = scheduled ? this.vertx : null;
+      }
+      if (vertx != null) {
+        vertx.setTimer(interval, id -> flush());
+      }
+    });
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe Bloom filter: answers whether a value might have been added, with no false negatives and a bounded
+ * rate of false positives. It takes {@code -n ln(p) / ln(2)^2} bits for {@code n} values at a false positive rate
+ * {@code p}, about 1.2 MB for a million values at 1%, whatever the size of the values.
+ * <p>
+ * Values are added and looked up by a 64 bit hash, see {@link #hash(CharSequence)}. Additions are lock free and can
+ * run concurrently with lookups. Values cannot be removed, build a new filter instead.
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray bits;
+  private final long bitSize;
+  private final int hashes;
+
+  /**
+   * @param expectedInsertions the number of values the filter is sized for
+   * @param fpp                the false positive probability once that many values were added
+   */
+  public BloomFilter(long expectedInsertions, double fpp) {
+    if (expectedInsertions < 1) {
+      throw new IllegalArgumentException("expectedInsertions must be > 0");
+    }
+    if (fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("fpp must be > 0 and < 1");
+    }
+    long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+    int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+    bits = new AtomicLongArray(words);
+    bitSize = (long) words * 64;
+    hashes = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * @return the memory taken by the bits of the filter
+   */
+  public long sizeInBytes() {
+    return bitSize / 8;
+  }
+
+  public void put(CharSequence value) {
+    put(hash(value));
+  }
+
+  public boolean mightContain(CharSequence value) {
+    return mightContain(hash(value));
+  }
+
+  public void put(long hash) {
+    final long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+    long combined = hash;
+    for (int i = 0; i < hashes; i++) {
+      final long index = (combined & Long.MAX_VALUE) % bitSize;
+      final int word = (int) (index >>> 6);
+      final long mask = 1L << index;
+      long current;
+      while (((current = bits.get(word)) & mask) == 0) {
+        if (bits.compareAndSet(word, current, current | mask)) {
+          break;
+        }
+      }
+      combined += h2;
+    }
+  }
+
+  public boolean mightContain(long hash) {
+    final long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+    long combined = hash;
+    for (int i = 0; i < hashes; i++) {
+      final long index = (combined & Long.MAX_VALUE) % bitSize;
+      if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+      combined += h2;
+    }
+    return true;
+  }
+
+  /**
+   * A well distributed 64 bit hash of a string (FNV-1a over the UTF-16 code units followed by the MurmurHash3
+   * finalizer). Not suitable where an adversary benefits from collisions.
+   */
+  public static long hash(CharSequence value) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      h ^= value.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.CachingAuthProvider;
+import io.vertx.ext.auth.User;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the successfully authenticated users in a LRU map keyed by a {@link AuthInfoDigest}, concurrent cache misses
+ * are coalesced with a {@link SingleFlight}.
+ */
+public class CachingAuthProviderImpl implements CachingAuthProvider {
+
+  private final AuthProvider authProvider;
+  private final AuthInfoDigest digest = new AuthInfoDigest();
+  private final SingleFlight<User> inFlight = new SingleFlight<>();
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+      if (size() > maxSize) {
+        unindex(eldest.getKey(), eldest.getValue());
+        return true;
+      }
+      return false;
+    }
+  };
+  // the keys of the entries of each principal, so a principal is invalidated without going through all the entries
+  private final Map<JsonObject, Set<String>> keysByPrincipal = new HashMap<>();
+  // bumped by every invalidation, guarded by entries. The principal of a miss is only known once it completes, so a
+  // miss started before any invalidation is not cached rather than risking to cache a user that was invalidated
+  private long epoch;
+
+  private volatile long ttl = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TTL);
+  private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+  public CachingAuthProviderImpl(AuthProvider authProvider) {
+    this.authProvider = authProvider;
+  }
+
+  @Override
+  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
+    final String key = digest.digest(authInfo);
+    final User cached = lookup(key);
+    if (cached != null) {
+      resultHandler.handle(Future.succeededFuture(cached));
+      return;
+    }
+    // concurrent misses for the same auth info share a single call to the provider
+    inFlight.execute(key, handler -> {
+      final long epoch = epoch();
+      authProvider.authenticate(authInfo, res -> {
+        if (res.succeeded()) {
+          store(key, res.result(), epoch);
+        }
+        handler.handle(res);
+      });
+    }, resultHandler);
+  }
+
+  @Override
+  public CachingAuthProvider setTimeToLive(long ttl) {
+    if (ttl < 0) {
+      throw new IllegalArgumentException("ttl must be >= 0");
+    }
+    this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+    return this;
+  }
+
+  @Override
+  public CachingAuthProvider setMaxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  @Override
+  public CachingAuthProvider invalidate(JsonObject principal) {
+    synchronized (entries) {
+      epoch++;
+      Set<String> keys = keysByPrincipal.remove(principal);
+      if (keys != null) {
+        keys.forEach(entries::remove);
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public CachingAuthProvider invalidateAll() {
+    synchronized (entries) {
+      epoch++;
+      entries.clear();
+      keysByPrincipal.clear();
+    }
+    return this;
+  }
+
+  private User lookup(String key) {
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (System.nanoTime() - entry.expiresAt >= 0) {
+        entries.remove(key);
+        unindex(key, entry);
+        return null;
+      }
+      return entry.user;
+    }
+  }
+
+  private long epoch() {
+    synchronized (entries) {
+      return epoch;
+    }
+  }
+
+  /**
+   * Cache an authenticated user, unless an invalidation happened since the authentication started.
+   */
+  private void store(String key, User user, long epoch) {
+    JsonObject principal = user.principal();
+    Entry entry = new Entry(user, principal == null ? null : principal.copy(), System.nanoTime() + ttl);
+    synchronized (entries) {
+      if (epoch != this.epoch) {
+        return;
+      }
+      Entry previous = entries.put(key, entry);
+      if (previous != null) {
+        unindex(key, previous);
+      }
+      if (entry.principal != null) {
+        keysByPrincipal.computeIfAbsent(entry.principal, k -> new HashSet<>()).add(key);
+      }
+    }
+  }
+
+  /**
+   * Drop the key of a removed entry from the principal index, called with the lock held.
+   */
+  private void unindex(String key, Entry entry) {
+    if (entry.principal != null) {
+      Set<String> keys = keysByPrincipal.get(entry.principal);
+      if (keys != null && keys.remove(key) && keys.isEmpty()) {
+        keysByPrincipal.remove(entry.principal);
+      }
+    }
+  }
+
+  private static final class Entry {
+    final User user;
+    // copied when cached, so later changes to the principal of the user do not break the index
+    final JsonObject principal;
+    final long expiresAt;
+
+    Entry(User user, JsonObject principal, long expiresAt) {
+      this.user = user;
+      this.principal = principal;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.CoalescingAuthProvider;
+import io.vertx.ext.auth.User;
+
+/**
+ * Shares a single call to the underlying provider between all the identical authentications in flight.
+ */
+public class CoalescingAuthProviderImpl implements CoalescingAuthProvider {
+
+  private final AuthProvider authProvider;
+  private final AuthInfoDigest digest = new AuthInfoDigest();
+  private final SingleFlight<User> inFlight = new SingleFlight<>();
+
+  public CoalescingAuthProviderImpl(AuthProvider authProvider) {
+    this.authProvider = authProvider;
+  }
+
+  @Override
+  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
+    inFlight.execute(digest.digest(authInfo), handler -> authProvider.authenticate(authInfo, handler), resultHandler);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of durations, with one bucket per power of two nanoseconds. Percentiles are reported as the
+ * upper bound of the bucket they fall in, so they are accurate within a factor of two.
+ */
+public final class Histogram {
+
+  private static final int BUCKETS = 64;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    // bucket i holds the durations in [2^(i-1), 2^i)
+    buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos));
+    count.increment();
+    sum.add(nanos);
+    max.accumulateAndGet(nanos, Math::max);
+  }
+
+  public JsonObject toJson() {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = buckets.get(i);
+      total += snapshot[i];
+    }
+    return new JsonObject()
+      .put("count", total)
+      .put("meanMicros", toMicros(sum.sum() / Math.max(1, count.sum())))
+      .put("maxMicros", toMicros(max.get()))
+      .put("p50Micros", toMicros(percentile(snapshot, total, 0.50)))
+      .put("p90Micros", toMicros(percentile(snapshot, total, 0.90)))
+      .put("p99Micros", toMicros(percentile(snapshot, total, 0.99)));
+  }
+
+  private long percentile(long[] snapshot, long total, double quantile) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(total * quantile);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1, max.get());
+      }
+    }
+    return max.get();
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
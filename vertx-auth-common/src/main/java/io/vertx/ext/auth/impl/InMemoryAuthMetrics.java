@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthMetrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default {@link AuthMetrics}, keeping counters and histograms in memory.
+ */
+public class InMemoryAuthMetrics implements AuthMetrics {
+
+  private final Operation authentication = new Operation();
+  private final Operation authorisation = new Operation();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder backendErrors = new LongAdder();
+  private final LongAdder connectionsAcquired = new LongAdder();
+  private final LongAdder connectionsReused = new LongAdder();
+  private final Histogram eventLoopTime = new Histogram();
+  private final Histogram workerTime = new Histogram();
+
+  @Override
+  public long authenticationBegin() {
+    return authentication.begin();
+  }
+
+  @Override
+  public void authenticationEnd(long begin, boolean succeeded) {
+    authentication.end(begin, succeeded);
+  }
+
+  @Override
+  public long authorisationBegin() {
+    return authorisation.begin();
+  }
+
+  @Override
+  public void authorisationEnd(long begin, boolean succeeded) {
+    authorisation.end(begin, succeeded);
+  }
+
+  @Override
+  public void cacheHit() {
+    cacheHits.increment();
+  }
+
+  @Override
+  public void cacheMiss() {
+    cacheMisses.increment();
+  }
+
+  @Override
+  public void backendError(Throwable cause) {
+    backendErrors.increment();
+  }
+
+  @Override
+  public void eventLoopTime(long nanos) {
+    eventLoopTime.record(nanos);
+  }
+
+  @Override
+  public void workerTime(long nanos) {
+    workerTime.record(nanos);
+  }
+
+  @Override
+  public void connectionAcquired() {
+    connectionsAcquired.increment();
+  }
+
+  @Override
+  public void connectionReused() {
+    connectionsReused.increment();
+  }
+
+  @Override
+  public JsonObject toJson() {
+    return new JsonObject()
+      .put("authentication", authentication.toJson())
+      .put("authorisation", authorisation.toJson())
+      .put("cache", new JsonObject()
+        .put("hits", cacheHits.sum())
+        .put("misses", cacheMisses.sum()))
+      .put("backendErrors", backendErrors.sum())
+      .put("connections", new JsonObject()
+        .put("acquired", connectionsAcquired.sum())
+        .put("reused", connectionsReused.sum()))
+      .put("eventLoopTime", eventLoopTime.toJson())
+      .put("workerTime", workerTime.toJson());
+  }
+
+  private static final class Operation {
+    final LongAdder inFlight = new LongAdder();
+    final LongAdder succeeded = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final Histogram latency = new Histogram();
+
+    long begin() {
+      inFlight.increment();
+      return System.nanoTime();
+    }
+
+    void end(long begin, boolean success) {
+      inFlight.decrement();
+      (success ? succeeded : failed).increment();
+      latency.record(System.nanoTime() - begin);
+    }
+
+    JsonObject toJson() {
+      return new JsonObject()
+        .put("inFlight", inFlight.sum())
+        .put("succeeded", succeeded.sum())
+        .put("failed", failed.sum())
+        .put("latency", latency.toJson());
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import io.vertx.ext.auth.PermissionCache;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded {@link PermissionCache} where each entry expires after a fixed time. Denied authorities usually get a
+ * shorter time to live than granted ones. Once full, the least recently used authority is evicted.
+ */
+public class PermissionCacheImpl implements PermissionCache {
+
+  private final LinkedHashMap<String, Entry> entries;
+
+  private final long ttl;
+  private final long negativeTtl;
+
+  public PermissionCacheImpl(int maxSize, long ttl, long negativeTtl) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    if (ttl < 0 || negativeTtl < 0) {
+      throw new IllegalArgumentException("ttl must be >= 0");
+    }
+    this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxSize;
+      }
+    };
+    this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+    this.negativeTtl = TimeUnit.MILLISECONDS.toNanos(negativeTtl);
+  }
+
+  @Override
+  public Boolean get(String authority) {
+    synchronized (entries) {
+      Entry entry = entries.get(authority);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.expired(System.nanoTime())) {
+        entries.remove(authority);
+        return null;
+      }
+      return entry.permitted;
+    }
+  }
+
+  @Override
+  public void put(String authority, boolean permitted) {
+    long timeToLive = permitted ? ttl : negativeTtl;
+    synchronized (entries) {
+      if (timeToLive == 0) {
+        entries.remove(authority);
+      } else {
+        entries.put(authority, new Entry(permitted, System.nanoTime() + timeToLive));
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  @Override
+  public Set<String> permitted() {
+    long now = System.nanoTime();
+    Set<String> permitted = new HashSet<>();
+    synchronized (entries) {
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        if (entry.getValue().permitted && !entry.getValue().expired(now)) {
+          permitted.add(entry.getKey());
+        }
+      }
+    }
+    return permitted;
+  }
+
+  private static final class Entry {
+    final boolean permitted;
+    final long expiresAt;
+
+    Entry(boolean permitted, long expiresAt) {
+      this.permitted = permitted;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean expired(long now) {
+      return now - expiresAt >= 0;
+    }
+  }
+}
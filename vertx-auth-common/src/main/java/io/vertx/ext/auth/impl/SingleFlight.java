@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces identical concurrent operations: while an operation for a given key is in flight, further requests for
+ * the same key do not start a new one but wait for the result of the first.
+ * <p>
+ * Each waiter gets the result on the context it was on when it joined.
+ */
+public final class SingleFlight<T> {
+
+  private final ConcurrentMap<String, List<Waiter<T>>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Run the operation unless one with the same key is already in flight.
+   *
+   * @param key  the key identifying the operation
+   * @param operation  the operation, it must call the handler it is given, only the first call counts
+   * @param resultHandler  the handler to call with the result
+   */
+  public void execute(String key, Consumer<Handler<AsyncResult<T>>> operation, Handler<AsyncResult<T>> resultHandler) {
+    final Waiter<T> waiter = new Waiter<>(Vertx.currentContext(), resultHandler);
+    final boolean[] leader = new boolean[1];
+    final List<Waiter<T>> flight = inFlight.compute(key, (k, waiters) -> {
+      if (waiters == null) {
+        waiters = new ArrayList<>(2);
+        leader[0] = true;
+      }
+      waiters.add(waiter);
+      return waiters;
+    });
+    if (leader[0]) {
+      // the operation may call its handler more than once, or throw after calling it
+      final AtomicBoolean completed = new AtomicBoolean();
+      try {
+        operation.accept(res -> {
+          if (completed.compareAndSet(false, true)) {
+            complete(key, flight, res);
+          }
+        });
+      } catch (RuntimeException e) {
+        if (completed.compareAndSet(false, true)) {
+          complete(key, flight, Future.failedFuture(e));
+        } else {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the number of operations currently in flight
+   */
+  public int size() {
+    return inFlight.size();
+  }
+
+  private void complete(String key, List<Waiter<T>> flight, AsyncResult<T> result) {
+    // only remove this flight, a later one may have started with the same key
+    if (inFlight.remove(key, flight)) {
+      for (Waiter<T> waiter : flight) {
+        waiter.deliver(result);
+      }
+    }
+  }
+
+  private static final class Waiter<T> {
+    final Context context;
+    final Handler<AsyncResult<T>> handler;
+
+    Waiter(Context context, Handler<AsyncResult<T>> handler) {
+      this.context = context;
+      this.handler = handler;
+    }
+
+    void deliver(AsyncResult<T> result) {
+      if (context != null && context != Vertx.currentContext()) {
+        context.runOnContext(v -> handler.handle(result));
+      } else {
+        handler.handle(result);
+      }
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl;
+
+import java.util.Locale;
+
+/**
+ * The usernames known to a provider, in a {@link BloomFilter}, so logins with a username that does not exist can be
+ * rejected without querying the backend. Until a first load completes every username might exist.
+ * <p>
+ * A load fills a new filter while the current one keeps answering. Usernames added in the meantime go to both, so a
+ * user created during a load is never rejected as long as it is added once it is stored.
+ * <p>
+ * Usernames are added and looked up in lower case, so a filter loaded with the stored usernames never rejects a
+ * username the backend would match with a case insensitive comparison.
+ */
+public final class UsernameFilter {
+
+  private final long expectedUsers;
+  private final double fpp;
+
+  private volatile BloomFilter filter;
+  // guarded by this
+  private BloomFilter loading;
+
+  /**
+   * @param expectedUsers the number of users the filter is sized for
+   * @param fpp           the rate of unknown usernames let through once that many users were added
+   */
+  public UsernameFilter(long expectedUsers, double fpp) {
+    if (expectedUsers < 1) {
+      throw new IllegalArgumentException("expectedUsers must be > 0");
+    }
+    if (fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("fpp must be > 0 and < 1");
+    }
+    this.expectedUsers = expectedUsers;
+    this.fpp = fpp;
+  }
+
+  /**
+   * Start loading the usernames, the filter returned is only used once passed to {@link #loaded(BloomFilter)}.
+   *
+   * @return the filter the stored usernames are added to
+   */
+  public synchronized BloomFilter load() {
+    loading = new BloomFilter(expectedUsers, fpp);
+    return loading;
+  }
+
+  /**
+   * Start using a filter returned by {@link #load()}, unless another load started since.
+   */
+  public synchronized void loaded(BloomFilter loaded) {
+    if (loading == loaded) {
+      filter = loaded;
+      loading = null;
+    }
+  }
+
+  /**
+   * Add a stored username to a filter returned by {@link #load()}.
+   */
+  public void put(BloomFilter loading, String username) {
+    loading.put(key(username));
+  }
+
+  /**
+   * Add the username of a user once it is stored.
+   */
+  public synchronized void add(String username) {
+    String key = key(username);
+    if (filter != null) {
+      filter.put(key);
+    }
+    if (loading != null) {
+      loading.put(key);
+    }
+  }
+
+  /**
+   * @return false if the user certainly does not exist
+   */
+  public boolean mightExist(String username) {
+    final BloomFilter filter = this.filter;
+    return filter == null || filter.mightContain(key(username));
+  }
+
+  /**
+   * @return the memory taken by the filter, 0 until loaded
+   */
+  public long sizeInBytes() {
+    final BloomFilter filter = this.filter;
+    return filter == null ? 0 : filter.sizeInBytes();
+  }
+
+  private static String key(String username) {
+    return username.toLowerCase(Locale.ROOT);
+  }
+}
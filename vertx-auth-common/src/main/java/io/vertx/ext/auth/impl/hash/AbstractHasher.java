@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.ext.auth.PasswordHasher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * Base class of the hashers, holding the salt generation and the constant time comparison.
+ */
+public abstract class AbstractHasher implements PasswordHasher {
+
+  static final int SALT_LENGTH = 16;
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  static byte[] salt() {
+    byte[] salt = new byte[SALT_LENGTH];
+    RANDOM.nextBytes(salt);
+    return salt;
+  }
+
+  static byte[] bytes(String password) {
+    return password.getBytes(StandardCharsets.UTF_8);
+  }
+
+  static boolean equal(byte[] a, byte[] b) {
+    return MessageDigest.isEqual(a, b);
+  }
+
+  @Override
+  public String toString() {
+    return id();
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import java.util.Arrays;
+
+/**
+ * Argon2id version 1.3 as defined in RFC 9106, as {@code $argon2id$v=19$m=memory,t=iterations,p=parallelism$salt$hash}.
+ * The lanes are filled one after the other on the calling thread.
+ */
+public class Argon2Hasher extends AbstractHasher {
+
+  public static final String ID = "argon2id";
+
+  private static final int VERSION = 0x13;
+  private static final int TYPE = 2;
+  private static final int LENGTH = 32;
+  private static final int BLOCK_WORDS = 128;
+  private static final int SYNC_POINTS = 4;
+
+  private final int memory;
+  private final int iterations;
+  private final int parallelism;
+
+  public Argon2Hasher(int memory, int iterations, int parallelism) {
+    if (parallelism < 1 || parallelism > 0xffffff) {
+      throw new IllegalArgumentException("parallelism must be between 1 and 2^24 - 1");
+    }
+    if (memory < 8 * parallelism) {
+      throw new IllegalArgumentException("memory must be at least 8 KiB per lane");
+    }
+    if (iterations < 1) {
+      throw new IllegalArgumentException("iterations must be > 0");
+    }
+    this.memory = memory;
+    this.iterations = iterations;
+    this.parallelism = parallelism;
+  }
+
+  public int iterations() {
+    return iterations;
+  }
+
+  @Override
+  public String id() {
+    return ID;
+  }
+
+  @Override
+  public String hash(String password) {
+    byte[] salt = salt();
+    return HashString.format(ID, "v=" + VERSION + "$m=" + memory + ",t=" + iterations + ",p=" + parallelism, salt,
+      argon2id(bytes(password), salt, memory, iterations, parallelism, LENGTH));
+  }
+
+  @Override
+  public boolean verify(String password, String hash) {
+    HashString parsed = HashString.parse(hash);
+    if (parsed == null || !ID.equals(parsed.id()) || parsed.intParam("v") != VERSION) {
+      return false;
+    }
+    int m = parsed.intParam("m");
+    int t = parsed.intParam("t");
+    int p = parsed.intParam("p");
+    if (t < 1 || p < 1 || p > 0xffffff || m < 8 * p || parsed.hash().length < 4 || parsed.salt().length < 8) {
+      return false;
+    }
+    return equal(parsed.hash(), argon2id(bytes(password), parsed.salt(), m, t, p, parsed.hash().length));
+  }
+
+  @Override
+  public boolean needsRehash(String hash) {
+    HashString parsed = HashString.parse(hash);
+    return parsed == null || !ID.equals(parsed.id()) || parsed.intParam("v") != VERSION
+      || parsed.intParam("m") < memory || parsed.intParam("t") < iterations || parsed.intParam("p") < parallelism;
+  }
+
+  static byte[] argon2id(byte[] password, byte[] salt, int memory, int iterations, int parallelism, int length) {
+    // no secret nor associated data
+    return argon2id(password, salt, new byte[0], new byte[0], memory, iterations, parallelism, length);
+  }
+
+  static byte[] argon2id(byte[] password, byte[] salt, byte[] secret, byte[] ad, int memory, int iterations,
+                         int parallelism, int length) {
+    byte[] h0 = new Blake2b(64)
+      .updateInt(parallelism).updateInt(length).updateInt(memory).updateInt(iterations).updateInt(VERSION)
+      .updateInt(TYPE)
+      .updateInt(password.length).update(password)
+      .updateInt(salt.length).update(salt)
+      .updateInt(secret.length).update(secret)
+      .updateInt(ad.length).update(ad)
+      .digest();
+
+    int segmentLength = memory / (SYNC_POINTS * parallelism);
+    int laneLength = segmentLength * SYNC_POINTS;
+    int blocks = laneLength * parallelism;
+    long[] mem = new long[blocks * BLOCK_WORDS];
+
+    byte[] seed = new byte[72];
+    System.arraycopy(h0, 0, seed, 0, 64);
+    for (int lane = 0; lane < parallelism; lane++) {
+      putInt(seed, 68, lane);
+      for (int i = 0; i < 2; i++) {
+        putInt(seed, 64, i);
+        byte[] block = hashLong(seed, BLOCK_WORDS * 8);
+        int offset = (lane * laneLength + i) * BLOCK_WORDS;
+        for (int w = 0; w < BLOCK_WORDS; w++) {
+          mem[offset + w] = long64(block, w * 8);
+        }
+      }
+    }
+
+    Filler filler = new Filler(mem, blocks, laneLength, segmentLength, parallelism, iterations);
+    for (int pass = 0; pass < iterations; pass++) {
+      for (int slice = 0; slice < SYNC_POINTS; slice++) {
+        for (int lane = 0; lane < parallelism; lane++) {
+          filler.fillSegment(pass, lane, slice);
+        }
+      }
+    }
+
+    long[] last = new long[BLOCK_WORDS];
+    for (int lane = 0; lane < parallelism; lane++) {
+      int offset = (lane * laneLength + laneLength - 1) * BLOCK_WORDS;
+      for (int w = 0; w < BLOCK_WORDS; w++) {
+        last[w] ^= mem[offset + w];
+      }
+    }
+    byte[] bytes = new byte[BLOCK_WORDS * 8];
+    for (int w = 0; w < BLOCK_WORDS; w++) {
+      putLong(bytes, w * 8, last[w]);
+    }
+    return hashLong(bytes, length);
+  }
+
+  /**
+   * The variable length hash function H'.
+   */
+  private static byte[] hashLong(byte[] input, int length) {
+    byte[] out = new byte[length];
+    if (length <= 64) {
+      byte[] v = new Blake2b(length).updateInt(length).update(input).digest();
+      System.arraycopy(v, 0, out, 0, length);
+      return out;
+    }
+    byte[] v = new Blake2b(64).updateInt(length).update(input).digest();
+    int r = (length + 31) / 32 - 2;
+    int pos = 0;
+    for (int i = 1; i < r; i++) {
+      System.arraycopy(v, 0, out, pos, 32);
+      pos += 32;
+      v = new Blake2b(64).update(v).digest();
+    }
+    System.arraycopy(v, 0, out, pos, 32);
+    pos += 32;
+    v = new Blake2b(length - pos).update(v).digest();
+    System.arraycopy(v, 0, out, pos, length - pos);
+    return out;
+  }
+
+  private static final class Filler {
+
+    private final long[] mem;
+    private final int blocks;
+    private final int laneLength;
+    private final int segmentLength;
+    private final int lanes;
+    private final int passes;
+    private final long[] r = new long[BLOCK_WORDS];
+    private final long[] tmp = new long[BLOCK_WORDS];
+    private final long[] zero = new long[BLOCK_WORDS];
+    private final long[] input = new long[BLOCK_WORDS];
+    private final long[] addresses = new long[BLOCK_WORDS];
+
+    Filler(long[] mem, int blocks, int laneLength, int segmentLength, int lanes, int passes) {
+      this.mem = mem;
+      this.blocks = blocks;
+      this.laneLength = laneLength;
+      this.segmentLength = segmentLength;
+      this.lanes = lanes;
+      this.passes = passes;
+    }
+
+    void fillSegment(int pass, int lane, int slice) {
+      // argon2id uses data independent addressing for the first half of the first pass
+      boolean independent = pass == 0 && slice < SYNC_POINTS / 2;
+      if (independent) {
+        Arrays.fill(input, 0);
+        input[0] = pass;
+        input[1] = lane;
+        input[2] = slice;
+        input[3] = blocks;
+        input[4] = passes;
+        input[5] = TYPE;
+      }
+      int start = 0;
+      if (pass == 0 && slice == 0) {
+        start = 2;
+        if (independent) {
+          nextAddresses();
+        }
+      }
+      int current = lane * laneLength + slice * segmentLength + start;
+      int previous = current % laneLength == 0 ? current + laneLength - 1 : current - 1;
+      for (int i = start; i < segmentLength; i++, current++, previous++) {
+        if (current % laneLength == 1) {
+          previous = current - 1;
+        }
+        long random;
+        if (independent) {
+          if (i % BLOCK_WORDS == 0) {
+            nextAddresses();
+          }
+          random = addresses[i % BLOCK_WORDS];
+        } else {
+          random = mem[previous * BLOCK_WORDS];
+        }
+        int refLane = pass == 0 && slice == 0 ? lane : (int) ((random >>> 32) % lanes);
+        int refIndex = index(pass, slice, i, random & 0xffffffffL, refLane == lane);
+        fill(mem, previous * BLOCK_WORDS, mem, (refLane * laneLength + refIndex) * BLOCK_WORDS, mem,
+          current * BLOCK_WORDS, pass > 0);
+      }
+    }
+
+    private int index(int pass, int slice, int i, long j1, boolean sameLane) {
+      long area;
+      if (pass == 0) {
+        if (slice == 0) {
+          area = i - 1;
+        } else if (sameLane) {
+          area = slice * segmentLength + i - 1;
+        } else {
+          area = slice * segmentLength + (i == 0 ? -1 : 0);
+        }
+      } else if (sameLane) {
+        area = laneLength - segmentLength + i - 1;
+      } else {
+        area = laneLength - segmentLength + (i == 0 ? -1 : 0);
+      }
+      long relative = j1 * j1 >>> 32;
+      relative = area - 1 - (area * relative >>> 32);
+      long start = pass != 0 && slice != SYNC_POINTS - 1 ? (slice + 1) * segmentLength : 0;
+      return (int) ((start + relative) % laneLength);
+    }
+
+    private void nextAddresses() {
+      input[6]++;
+      fill(zero, 0, input, 0, addresses, 0, false);
+      fill(zero, 0, addresses, 0, addresses, 0, false);
+    }
+
+    /**
+     * The compression function G, optionally xored with the previous content of the next block.
+     */
+    private void fill(long[] x, int xOff, long[] y, int yOff, long[] next, int nextOff, boolean xor) {
+      for (int w = 0; w < BLOCK_WORDS; w++) {
+        r[w] = x[xOff + w] ^ y[yOff + w];
+      }
+      System.arraycopy(r, 0, tmp, 0, BLOCK_WORDS);
+      if (xor) {
+        for (int w = 0; w < BLOCK_WORDS; w++) {
+          tmp[w] ^= next[nextOff + w];
+        }
+      }
+      for (int i = 0; i < 8; i++) {
+        int o = 16 * i;
+        permute(o, o + 1, o + 2, o + 3, o + 4, o + 5, o + 6, o + 7,
+          o + 8, o + 9, o + 10, o + 11, o + 12, o + 13, o + 14, o + 15);
+      }
+      for (int i = 0; i < 8; i++) {
+        int o = 2 * i;
+        permute(o, o + 1, o + 16, o + 17, o + 32, o + 33, o + 48, o + 49,
+          o + 64, o + 65, o + 80, o + 81, o + 96, o + 97, o + 112, o + 113);
+      }
+      for (int w = 0; w < BLOCK_WORDS; w++) {
+        next[nextOff + w] = tmp[w] ^ r[w];
+      }
+    }
+
+    private void permute(int v0, int v1, int v2, int v3, int v4, int v5, int v6, int v7,
+                         int v8, int v9, int v10, int v11, int v12, int v13, int v14, int v15) {
+      gb(v0, v4, v8, v12);
+      gb(v1, v5, v9, v13);
+      gb(v2, v6, v10, v14);
+      gb(v3, v7, v11, v15);
+      gb(v0, v5, v10, v15);
+      gb(v1, v6, v11, v12);
+      gb(v2, v7, v8, v13);
+      gb(v3, v4, v9, v14);
+    }
+
+    private void gb(int a, int b, int c, int d) {
+      r[a] = r[a] + r[b] + 2 * (r[a] & 0xffffffffL) * (r[b] & 0xffffffffL);
+      r[d] = Long.rotateRight(r[d] ^ r[a], 32);
+      r[c] = r[c] + r[d] + 2 * (r[c] & 0xffffffffL) * (r[d] & 0xffffffffL);
+      r[b] = Long.rotateRight(r[b] ^ r[c], 24);
+      r[a] = r[a] + r[b] + 2 * (r[a] & 0xffffffffL) * (r[b] & 0xffffffffL);
+      r[d] = Long.rotateRight(r[d] ^ r[a], 16);
+      r[c] = r[c] + r[d] + 2 * (r[c] & 0xffffffffL) * (r[d] & 0xffffffffL);
+      r[b] = Long.rotateRight(r[b] ^ r[c], 63);
+    }
+  }
+
+  static long long64(byte[] b, int off) {
+    long value = 0;
+    for (int i = 7; i >= 0; i--) {
+      value = value << 8 | b[off + i] & 0xff;
+    }
+    return value;
+  }
+
+  private static void putLong(byte[] b, int off, long value) {
+    for (int i = 0; i < 8; i++) {
+      b[off + i] = (byte) (value >>> (i * 8));
+    }
+  }
+
+  private static void putInt(byte[] b, int off, int value) {
+    for (int i = 0; i < 4; i++) {
+      b[off + i] = (byte) (value >>> (i * 8));
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.ext.auth.PasswordHasher;
+
+import java.util.function.IntFunction;
+
+/**
+ * Finds the highest cost of an algorithm hashing within a time and a memory budget on this machine.
+ */
+public final class Calibration {
+
+  private static final String PASSWORD = "calibration";
+
+  private Calibration() {
+  }
+
+  // the memory of scrypt with the lowest calibrated cost, 128 * r * 2^10 bytes
+  private static final int MIN_MEMORY = 1024;
+
+  /**
+   * @param maxMemory the memory budget of a hash, in KiB
+   */
+  public static PasswordHasher calibrate(String algorithm, long maxMillis, int maxMemory) {
+    if (maxMillis <= 0) {
+      throw new IllegalArgumentException("maxMillis must be > 0");
+    }
+    if (maxMemory < MIN_MEMORY) {
+      throw new IllegalArgumentException("maxMemory must be >= " + MIN_MEMORY);
+    }
+    long budget = maxMillis * 1000000;
+    switch (algorithm) {
+      case PBKDF2Hasher.SHA256:
+      case PBKDF2Hasher.SHA512: {
+        // the time is linear in the number of iterations
+        String digest = algorithm.substring(algorithm.indexOf('-') + 1);
+        int probe = 10000;
+        long elapsed = measure(new PBKDF2Hasher(digest, probe));
+        long iterations = budget * probe / Math.max(elapsed, 1) / 1000 * 1000;
+        return new PBKDF2Hasher(digest, (int) Math.max(probe, Math.min(iterations, Integer.MAX_VALUE)));
+      }
+      case ScryptHasher.ID: {
+        // 128 * 8 * 2^logN bytes, i.e. 2^logN KiB, at most 1 GiB for the array to be addressable
+        int maxLogN = Math.min(31 - Integer.numberOfLeadingZeros(maxMemory), 20);
+        return exponential(logN -> new ScryptHasher(logN, 8, 1), 10, maxLogN, budget);
+      }
+      case BCryptHasher.ID:
+        return exponential(BCryptHasher::new, 4, 31, budget);
+      case Argon2Hasher.ID: {
+        // the time is linear in the number of passes, with the default memory cost unless over the budget
+        int memory = Math.min(PasswordHasher.DEFAULT_ARGON2_MEMORY, maxMemory);
+        long elapsed = measure(new Argon2Hasher(memory, 1, 1));
+        long passes = budget / Math.max(elapsed, 1);
+        return new Argon2Hasher(memory, (int) Math.max(1, Math.min(passes, 64)), 1);
+      }
+      default:
+        throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+    }
+  }
+
+  /**
+   * Doubles the cost until the budget is exceeded, the time being linear in {@code 2^cost}.
+   */
+  private static PasswordHasher exponential(IntFunction<PasswordHasher> factory, int min, int max, long budget) {
+    int cost = min;
+    long elapsed = measure(factory.apply(cost));
+    while (cost < max && elapsed * 2 <= budget) {
+      cost++;
+      elapsed = measure(factory.apply(cost));
+    }
+    if (elapsed > budget && cost > min) {
+      cost--;
+    }
+    return factory.apply(cost);
+  }
+
+  /**
+   * @return the best of three hashing times, in nanoseconds, after a warm up
+   */
+  private static long measure(PasswordHasher hasher) {
+    hasher.hash(PASSWORD);
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < 3; i++) {
+      long start = System.nanoTime();
+      hasher.hash(PASSWORD);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best;
+  }
+}
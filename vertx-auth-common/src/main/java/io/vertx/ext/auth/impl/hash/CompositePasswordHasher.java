@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.ext.auth.PasswordHasher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashes with a current hasher, and verifies with whichever hasher recognizes a hash.
+ */
+public class CompositePasswordHasher implements PasswordHasher {
+
+  private final PasswordHasher current;
+  private final List<PasswordHasher> hashers = new ArrayList<>();
+
+  public CompositePasswordHasher(PasswordHasher current, List<PasswordHasher> others) {
+    this.current = current;
+    hashers.add(current);
+    hashers.addAll(others);
+  }
+
+  @Override
+  public String id() {
+    return current.id();
+  }
+
+  @Override
+  public String hash(String password) {
+    return current.hash(password);
+  }
+
+  @Override
+  public boolean verify(String password, String hash) {
+    PasswordHasher hasher = lookup(hash);
+    return hasher != null && hasher.verify(password, hash);
+  }
+
+  @Override
+  public boolean matches(String hash) {
+    return lookup(hash) != null;
+  }
+
+  @Override
+  public boolean needsRehash(String hash) {
+    return current.needsRehash(hash);
+  }
+
+  private PasswordHasher lookup(String hash) {
+    for (PasswordHasher hasher : hashers) {
+      if (hasher.matches(hash)) {
+        return hasher;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A hash in the PHC string format: {@code $id$v=version$param=value,...$salt$hash}, where the version and
+ * parameters are optional and the salt and hash are encoded in base64 without padding.
+ */
+public final class HashString {
+
+  private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+  private final String id;
+  private final Map<String, String> params;
+  private final byte[] salt;
+  private final byte[] hash;
+
+  private HashString(String id, Map<String, String> params, byte[] salt, byte[] hash) {
+    this.id = id;
+    this.params = params;
+    this.salt = salt;
+    this.hash = hash;
+  }
+
+  /**
+   * Parse a hash.
+   *
+   * @param value  the hash
+   * @return the parsed hash, or {@code null} when it is malformed
+   */
+  public static HashString parse(String value) {
+    if (value == null || !value.startsWith("$")) {
+      return null;
+    }
+    String[] parts = value.split("\\$", -1);
+    // the leading $ yields an empty first part
+    if (parts.length < 4 || parts.length > 6) {
+      return null;
+    }
+    Map<String, String> params = new HashMap<>();
+    try {
+      for (int i = 2; i < parts.length - 2; i++) {
+        for (String param : parts[i].split(",")) {
+          int eq = param.indexOf('=');
+          if (eq <= 0) {
+            return null;
+          }
+          params.put(param.substring(0, eq), param.substring(eq + 1));
+        }
+      }
+      return new HashString(parts[1], params, DECODER.decode(parts[parts.length - 2]),
+        DECODER.decode(parts[parts.length - 1]));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Format a hash.
+   *
+   * @param id  the algorithm
+   * @param params  the parameters, already formatted as {@code param=value} groups separated by {@code $}
+   * @param salt  the salt
+   * @param hash  the hash
+   * @return the hash string
+   */
+  public static String format(String id, String params, byte[] salt, byte[] hash) {
+    return "$" + id + "$" + params + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public byte[] salt() {
+    return salt;
+  }
+
+  public byte[] hash() {
+    return hash;
+  }
+
+  /**
+   * @param name  the parameter name
+   * @return the value of an integer parameter, or {@code -1} when it is missing or not a positive number
+   */
+  public int intParam(String name) {
+    String value = params.get(name);
+    if (value == null) {
+      return -1;
+    }
+    try {
+      int i = Integer.parseInt(value);
+      return i > 0 ? i : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
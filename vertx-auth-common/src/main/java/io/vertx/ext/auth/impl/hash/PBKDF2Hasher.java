@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.core.VertxException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+
+/**
+ * PBKDF2 with HMAC-SHA256 or HMAC-SHA512, as {@code $pbkdf2-sha512$i=iterations$salt$hash}.
+ */
+public class PBKDF2Hasher extends AbstractHasher {
+
+  public static final String SHA256 = "pbkdf2-sha256";
+  public static final String SHA512 = "pbkdf2-sha512";
+
+  private final String id;
+  private final String algorithm;
+  private final int length;
+  private final int iterations;
+
+  public PBKDF2Hasher(String digest, int iterations) {
+    switch (digest) {
+      case "sha256":
+        id = SHA256;
+        algorithm = "HmacSHA256";
+        length = 32;
+        break;
+      case "sha512":
+        id = SHA512;
+        algorithm = "HmacSHA512";
+        length = 64;
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported digest: " + digest);
+    }
+    if (iterations < 1) {
+      throw new IllegalArgumentException("iterations must be > 0");
+    }
+    this.iterations = iterations;
+  }
+
+  public int iterations() {
+    return iterations;
+  }
+
+  @Override
+  public String id() {
+    return id;
+  }
+
+  @Override
+  public String hash(String password) {
+    byte[] salt = salt();
+    return HashString.format(id, "i=" + iterations, salt, derive(algorithm, bytes(password), salt, iterations, length));
+  }
+
+  @Override
+  public boolean verify(String password, String hash) {
+    HashString parsed = HashString.parse(hash);
+    if (parsed == null || !id.equals(parsed.id())) {
+      return false;
+    }
+    int i = parsed.intParam("i");
+    if (i < 1 || parsed.hash().length == 0) {
+      return false;
+    }
+    return equal(parsed.hash(), derive(algorithm, bytes(password), parsed.salt(), i, parsed.hash().length));
+  }
+
+  @Override
+  public boolean needsRehash(String hash) {
+    HashString parsed = HashString.parse(hash);
+    return parsed == null || !id.equals(parsed.id()) || parsed.intParam("i") < iterations
+      || parsed.hash().length < length;
+  }
+
+  /**
+   * Derive a key as defined in RFC 8018.
+   *
+   * @param algorithm  the HMAC algorithm
+   * @param password  the password
+   * @param salt  the salt
+   * @param iterations  the number of iterations
+   * @param length  the key length in bytes
+   * @return the key
+   */
+  static byte[] derive(String algorithm, byte[] password, byte[] salt, int iterations, int length) {
+    try {
+      Mac mac = Mac.getInstance(algorithm);
+      // an HMAC key is padded with zeros, so an empty key is the same as a single zero byte, which SecretKeySpec
+      // accepts
+      mac.init(new SecretKeySpec(password.length == 0 ? new byte[1] : password, algorithm));
+      int hLen = mac.getMacLength();
+      byte[] key = new byte[length];
+      byte[] u = new byte[hLen];
+      byte[] t = new byte[hLen];
+      for (int block = 1, offset = 0; offset < length; block++, offset += hLen) {
+        mac.update(salt);
+        mac.update((byte) (block >>> 24));
+        mac.update((byte) (block >>> 16));
+        mac.update((byte) (block >>> 8));
+        mac.update((byte) block);
+        mac.doFinal(u, 0);
+        System.arraycopy(u, 0, t, 0, hLen);
+        for (int i = 1; i < iterations; i++) {
+          mac.update(u);
+          mac.doFinal(u, 0);
+          for (int j = 0; j < hLen; j++) {
+            t[j] ^= u[j];
+          }
+        }
+        System.arraycopy(t, 0, key, offset, Math.min(hLen, length - offset));
+      }
+      return key;
+    } catch (GeneralSecurityException e) {
+      throw new VertxException(e);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.core.VertxException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The hash used by the JDBC and MongoDB providers before {@link io.vertx.ext.auth.PasswordHasher}: the
+ * upper case hexadecimal digest of the salt followed by the password, the salt being stored separately.
+ */
+public final class SaltedDigest {
+
+  private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
+  private SaltedDigest() {
+  }
+
+  public static String bytesToHex(byte[] bytes) {
+    char[] chars = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++) {
+      int x = 0xFF & bytes[i];
+      chars[i * 2] = HEX_CHARS[x >>> 4];
+      chars[1 + i * 2] = HEX_CHARS[0x0F & x];
+    }
+    return new String(chars);
+  }
+
+  public static String computeHash(String password, String salt, String algo) {
+    try {
+      MessageDigest md = MessageDigest.getInstance(algo);
+      String concat = (salt == null ? "" : salt) + password;
+      byte[] bHash = md.digest(concat.getBytes(StandardCharsets.UTF_8));
+      return bytesToHex(bHash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new VertxException(e);
+    }
+  }
+
+  /**
+   * Check a password against a stored hash, in constant time with respect to the hash value. The digest and the
+   * buffers are reused per thread and the stored hexadecimal hash is compared in place, so no garbage is produced
+   * once the buffers are large enough.
+   *
+   * @param password  the password
+   * @param salt  the stored salt, may be {@code null}
+   * @param stored  the stored hash, may be {@code null}
+   * @param algo  the digest algorithm
+   * @return whether the password matches
+   */
+  public static boolean verify(String password, String salt, String stored, String algo) {
+    if (stored == null) {
+      return false;
+    }
+    Buffers buffers = BUFFERS.get();
+    MessageDigest md = buffers.digest(algo);
+    int length = md.getDigestLength();
+    if (stored.length() != length * 2) {
+      return false;
+    }
+    if (salt != null) {
+      buffers.update(md, salt);
+    }
+    buffers.update(md, password);
+    byte[] hash = buffers.hash;
+    try {
+      md.digest(hash, 0, length);
+    } catch (DigestException e) {
+      throw new VertxException(e);
+    }
+    int diff = 0;
+    for (int i = 0; i < length; i++) {
+      diff |= (hex(stored.charAt(i * 2)) << 4 | hex(stored.charAt(i * 2 + 1))) ^ (hash[i] & 0xFF);
+    }
+    return diff == 0;
+  }
+
+  /**
+   * Compare two strings in constant time with respect to their content.
+   *
+   * @param a  a string, may be {@code null}
+   * @param b  another string, may be {@code null}
+   * @return whether both are equal and not {@code null}
+   */
+  public static boolean equal(String a, String b) {
+    if (a == null || b == null || a.length() != b.length()) {
+      return false;
+    }
+    int diff = 0;
+    for (int i = 0; i < a.length(); i++) {
+      diff |= a.charAt(i) ^ b.charAt(i);
+    }
+    return diff == 0;
+  }
+
+  /**
+   * @return the value of an upper case hexadecimal digit, or a value out of the byte range that never matches
+   */
+  private static int hex(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    return 0x1000;
+  }
+
+  private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+  private static final class Buffers {
+
+    private final byte[] hash = new byte[64];
+    private byte[] utf8 = new byte[256];
+    private MessageDigest md;
+
+    MessageDigest digest(String algo) {
+      if (md == null || !md.getAlgorithm().equals(algo)) {
+        try {
+          md = MessageDigest.getInstance(algo);
+        } catch (NoSuchAlgorithmException e) {
+          throw new VertxException(e);
+        }
+        if (md.getDigestLength() > hash.length) {
+          throw new VertxException("Unsupported digest length: " + algo);
+        }
+      } else {
+        md.reset();
+      }
+      return md;
+    }
+
+    /**
+     * Feed the UTF-8 encoding of a string to the digest, without going through {@link String#getBytes}.
+     */
+    void update(MessageDigest md, String s) {
+      int len = s.length();
+      if (utf8.length < len * 3) {
+        utf8 = new byte[len * 3];
+      }
+      byte[] out = utf8;
+      int pos = 0;
+      for (int i = 0; i < len; i++) {
+        char c = s.charAt(i);
+        if (c < 0x80) {
+          out[pos++] = (byte) c;
+        } else if (c < 0x800) {
+          out[pos++] = (byte) (0xC0 | c >> 6);
+          out[pos++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+          int cp = Character.toCodePoint(c, s.charAt(++i));
+          out[pos++] = (byte) (0xF0 | cp >> 18);
+          out[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+          out[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+          out[pos++] = (byte) (0x80 | cp & 0x3F);
+        } else if (Character.isSurrogate(c)) {
+          // unpaired surrogates are replaced, as String#getBytes does
+          out[pos++] = '?';
+        } else {
+          out[pos++] = (byte) (0xE0 | c >> 12);
+          out[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+          out[pos++] = (byte) (0x80 | c & 0x3F);
+        }
+      }
+      md.update(out, 0, pos);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+/**
+ * scrypt as defined in RFC 7914, as {@code $scrypt$ln=logN,r=r,p=p$salt$hash}. Hashing needs {@code 128 * r * N}
+ * bytes of memory.
+ */
+public class ScryptHasher extends AbstractHasher {
+
+  public static final String ID = "scrypt";
+
+  private static final int LENGTH = 32;
+
+  private final int logN;
+  private final int r;
+  private final int p;
+
+  public ScryptHasher(int logN, int r, int p) {
+    if (logN < 1 || logN > 30) {
+      throw new IllegalArgumentException("logN must be between 1 and 30");
+    }
+    if (r < 1 || p < 1 || (long) r * p >= 1 << 30 || 128L * r << logN > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid scrypt parameters");
+    }
+    this.logN = logN;
+    this.r = r;
+    this.p = p;
+  }
+
+  public int logN() {
+    return logN;
+  }
+
+  @Override
+  public String id() {
+    return ID;
+  }
+
+  @Override
+  public String hash(String password) {
+    byte[] salt = salt();
+    return HashString.format(ID, "ln=" + logN + ",r=" + r + ",p=" + p, salt,
+      scrypt(bytes(password), salt, logN, r, p, LENGTH));
+  }
+
+  @Override
+  public boolean verify(String password, String hash) {
+    HashString parsed = HashString.parse(hash);
+    if (parsed == null || !ID.equals(parsed.id())) {
+      return false;
+    }
+    int ln = parsed.intParam("ln");
+    int pr = parsed.intParam("r");
+    int pp = parsed.intParam("p");
+    if (ln < 1 || ln > 30 || pr < 1 || pp < 1 || 128L * pr << ln > Integer.MAX_VALUE || parsed.hash().length == 0) {
+      return false;
+    }
+    return equal(parsed.hash(), scrypt(bytes(password), parsed.salt(), ln, pr, pp, parsed.hash().length));
+  }
+
+  @Override
+  public boolean needsRehash(String hash) {
+    HashString parsed = HashString.parse(hash);
+    return parsed == null || !ID.equals(parsed.id()) || parsed.intParam("ln") < logN || parsed.intParam("r") < r
+      || parsed.intParam("p") < p;
+  }
+
+  static byte[] scrypt(byte[] password, byte[] salt, int logN, int r, int p, int length) {
+    int n = 1 << logN;
+    int blockSize = 128 * r;
+    byte[] b = PBKDF2Hasher.derive("HmacSHA256", password, salt, 1, p * blockSize);
+    int[] x = new int[32 * r];
+    int[] v = new int[32 * r * n];
+    int[] y = new int[32 * r];
+    int[] t = new int[16];
+    for (int i = 0; i < p; i++) {
+      romix(b, i * blockSize, r, n, x, v, y, t);
+    }
+    return PBKDF2Hasher.derive("HmacSHA256", password, b, 1, length);
+  }
+
+  private static void romix(byte[] b, int offset, int r, int n, int[] x, int[] v, int[] y, int[] t) {
+    int words = 32 * r;
+    for (int i = 0; i < words; i++) {
+      int j = offset + i * 4;
+      x[i] = (b[j] & 0xff) | (b[j + 1] & 0xff) << 8 | (b[j + 2] & 0xff) << 16 | (b[j + 3] & 0xff) << 24;
+    }
+    for (int i = 0; i < n; i++) {
+      System.arraycopy(x, 0, v, i * words, words);
+      blockMix(x, y, t, r);
+    }
+    for (int i = 0; i < n; i++) {
+      // integerify: the first word of the last 64 bytes block, n is a power of two
+      int j = x[(2 * r - 1) * 16] & (n - 1);
+      for (int k = 0; k < words; k++) {
+        x[k] ^= v[j * words + k];
+      }
+      blockMix(x, y, t, r);
+    }
+    for (int i = 0; i < words; i++) {
+      int j = offset + i * 4;
+      b[j] = (byte) x[i];
+      b[j + 1] = (byte) (x[i] >>> 8);
+      b[j + 2] = (byte) (x[i] >>> 16);
+      b[j + 3] = (byte) (x[i] >>> 24);
+    }
+  }
+
+  private static void blockMix(int[] b, int[] y, int[] t, int r) {
+    System.arraycopy(b, (2 * r - 1) * 16, t, 0, 16);
+    for (int i = 0; i < 2 * r; i++) {
+      for (int k = 0; k < 16; k++) {
+        t[k] ^= b[i * 16 + k];
+      }
+      salsa208(t);
+      // even blocks go to the first half, odd ones to the second half
+      System.arraycopy(t, 0, y, ((i & 1) * r + (i >> 1)) * 16, 16);
+    }
+    System.arraycopy(y, 0, b, 0, 32 * r);
+  }
+
+  private static void salsa208(int[] b) {
+    int x0 = b[0], x1 = b[1], x2 = b[2], x3 = b[3], x4 = b[4], x5 = b[5], x6 = b[6], x7 = b[7];
+    int x8 = b[8], x9 = b[9], x10 = b[10], x11 = b[11], x12 = b[12], x13 = b[13], x14 = b[14], x15 = b[15];
+    for (int i = 0; i < 8; i += 2) {
+      x4 ^= Integer.rotateLeft(x0 + x12, 7);
+      x8 ^= Integer.rotateLeft(x4 + x0, 9);
+      x12 ^= Integer.rotateLeft(x8 + x4, 13);
+      x0 ^= Integer.rotateLeft(x12 + x8, 18);
+      x9 ^= Integer.rotateLeft(x5 + x1, 7);
+      x13 ^= Integer.rotateLeft(x9 + x5, 9);
+      x1 ^= Integer.rotateLeft(x13 + x9, 13);
+      x5 ^= Integer.rotateLeft(x1 + x13, 18);
+      x14 ^= Integer.rotateLeft(x10 + x6, 7);
+      x2 ^= Integer.rotateLeft(x14 + x10, 9);
+      x6 ^= Integer.rotateLeft(x2 + x14, 13);
+      x10 ^= Integer.rotateLeft(x6 + x2, 18);
+      x3 ^= Integer.rotateLeft(x15 + x11, 7);
+      x7 ^= Integer.rotateLeft(x3 + x15, 9);
+      x11 ^= Integer.rotateLeft(x7 + x3, 13);
+      x15 ^= Integer.rotateLeft(x11 + x7, 18);
+      x1 ^= Integer.rotateLeft(x0 + x3, 7);
+      x2 ^= Integer.rotateLeft(x1 + x0, 9);
+      x3 ^= Integer.rotateLeft(x2 + x1, 13);
+      x0 ^= Integer.rotateLeft(x3 + x2, 18);
+      x6 ^= Integer.rotateLeft(x5 + x4, 7);
+      x7 ^= Integer.rotateLeft(x6 + x5, 9);
+      x4 ^= Integer.rotateLeft(x7 + x6, 13);
+      x5 ^= Integer.rotateLeft(x4 + x7, 18);
+      x11 ^= Integer.rotateLeft(x10 + x9, 7);
+      x8 ^= Integer.rotateLeft(x11 + x10, 9);
+      x9 ^= Integer.rotateLeft(x8 + x11, 13);
+      x10 ^= Integer.rotateLeft(x9 + x8, 18);
+      x12 ^= Integer.rotateLeft(x15 + x14, 7);
+      x13 ^= Integer.rotateLeft(x12 + x15, 9);
+      x14 ^= Integer.rotateLeft(x13 + x12, 13);
+      x15 ^= Integer.rotateLeft(x14 + x13, 18);
+    }
+    b[0] += x0; b[1] += x1; b[2] += x2; b[3] += x3; b[4] += x4; b[5] += x5; b[6] += x6; b[7] += x7;
+    b[8] += x8; b[9] += x9; b[10] += x10; b[11] += x11; b[12] += x12; b[13] += x13; b[14] += x14; b[15] += x15;
+  }
+}
@@ -85,6 +85,30 @@
  * {@link examples.AuthCommonExamples#example1}
  * ----
  *
+ * === Caching authentication
+ *
+ * Authenticating often means a round trip to a database and hashing a password. When the same credentials are
+ * presented over and over, e.g. with basic authentication on every request, any provider can be wrapped with a
+ * {@link io.vertx.ext.auth.CachingAuthProvider} that remembers the users it successfully authenticated:
+ *
+ * [source,java]
+ * ----
+ * {@link examples.AuthCommonExamples#example4}
+ * ----
+ *
+ * Cached users expire after a configurable time to live and the least recently used ones are dropped when the cache
+ * is full. The credentials themselves are never stored, the cache is keyed by a keyed hash of the auth info. When a
+ * user's credentials or authorities change you can use {@link io.vertx.ext.auth.CachingAuthProvider#invalidate} to
+ * forget it.
+ *
+ * A cached user is the same instance for everyone authenticating with the same auth info, with the same cached
+ * authorities, so it must be treated as read only.
+ *
+ * Concurrent authentications with identical auth info, e.g. a client retrying or firing parallel requests, share a
+ * single call to the underlying provider. If you only want this behaviour, without caching the results, wrap your
+ * provider with a {@link io.vertx.ext.auth.CoalescingAuthProvider} instead. The same applies to authorisation: while
+ * an authority of a user is being checked, further checks of that authority wait for the same result.
+ *
  * == Authorisation
  *
  * Once you have an {@link io.vertx.ext.auth.User} instance you can call methods on it to authorise it.
@@ -102,13 +126,23 @@
  *
  * And another example of authorising in a roles based model which uses `role:` as a prefix.
  *
+ * When several authorities need to be checked at once, e.g. by a route guard, use
+ * {@link io.vertx.ext.auth.User#checkAuthorities} to get the result for each of them, or
+ * {@link io.vertx.ext.auth.User#isAuthorisedAll} and {@link io.vertx.ext.auth.User#isAuthorisedAny} to get a single
+ * verdict. Providers resolve all the authorities with a single call to their backend where they can.
+ *
  * Please note, as discussed above how the authority string is interpreted is completely determined by the underlying
  * implementation and Vert.x makes no assumptions here.
  *
  * === Caching authorities
  *
- * The user object will cache any authorities so subsequently calls to check if it has the same authorities will result
- * in the underlying provider being called.
+ * The user object will cache any authorities so subsequently calls to check if it has the same authorities will not
+ * result in the underlying provider being called. Denied authorities are cached too, but for a shorter time, so
+ * repeated checks for an authority the user does not have do not hit the provider either.
+ *
+ * The cache is bounded and its entries expire: by default up to 1024 authorities are kept, granted ones for 10 minutes
+ * and denied ones for 30 seconds. Users extending {@link io.vertx.ext.auth.AbstractUser} can be given a differently
+ * tuned cache with {@link io.vertx.ext.auth.AbstractUser#setPermissionCache(io.vertx.ext.auth.PermissionCache)}.
  *
  * In order to clear the internal cache you can use {@link io.vertx.ext.auth.User#clearCache()}.
  *
@@ -118,12 +152,60 @@
  *
  * What this returns depends on the underlying implementation.
  *
+ * == Metrics
+ *
+ * The providers report how long authentications and authority checks take, how many are in flight, how often the
+ * permission cache is hit, how many times their backend failed and how much time they spend on event loop and worker
+ * threads. The metrics are per provider type (`jdbc`, `mongo`, `jwt`, `oauth2`, `shiro`) and by default are kept in
+ * memory, {@link io.vertx.ext.auth.AuthMetrics#snapshot()} returns them as a JSON object:
+ *
+ * [source,java]
+ * ----
+ * JsonObject metrics = AuthMetrics.snapshot();
+ * long misses = metrics.getJsonObject("jdbc").getJsonObject("cache").getLong("misses");
+ * long p99 = metrics.getJsonObject("jdbc").getJsonObject("authentication").getJsonObject("latency").getLong("p99Micros");
+ * ----
+ *
+ * To send them somewhere else, implement {@link io.vertx.ext.auth.spi.AuthMetricsFactory} and declare it in
+ * `META-INF/services/io.vertx.ext.auth.spi.AuthMetricsFactory`.
+ *
+ * == Password hashing
+ *
+ * {@link io.vertx.ext.auth.PasswordHasher} hashes passwords with PBKDF2, scrypt, bcrypt or Argon2id. Hashes describe
+ * themselves, e.g. `$argon2id$v=19$m=19456,t=2,p=1$<salt>$<hash>`, so a stored hash stays verifiable after the
+ * algorithm or its parameters are changed, and {@link io.vertx.ext.auth.PasswordHasher#needsRehash(String)} tells when
+ * it was produced with weaker settings than the current ones.
+ *
+ * The cost of a hash is a trade-off between how long an attacker needs to guess a password and how long a login
+ * takes. Rather than guessing, let the hasher find the highest cost fitting a time budget on the machine at startup:
+ *
+ * [source,java]
+ * ----
+ * PasswordHasher current = PasswordHasher.calibrate("argon2id", 100);
+ * // still verify the hashes of the previous algorithm
+ * PasswordHasher hasher = PasswordHasher.composite(current, PasswordHasher.create("pbkdf2-sha512"));
+ * ----
+ *
+ * The memory of a scrypt hash grows with its cost as well, calibration keeps it within 64 MiB unless another budget is
+ * given to {@link io.vertx.ext.auth.PasswordHasher#calibrate(java.lang.String, long, int)}. Each hash running at the
+ * same time needs that memory.
+ *
+ * The JDK only provides PBKDF2, the other algorithms are implemented in this module rather than taken from a library
+ * such as Bouncy Castle, so that the auth modules keep depending on Vert.x core alone. They are checked against the test vectors of RFC 7914 (scrypt), RFC 9106
+ * (Argon2id), RFC 7693 (BLAKE2b) and OpenBSD (bcrypt), and their hashes are interchangeable with those of the
+ * reference implementations.
+ *
+ * The JDBC and MongoDB providers accept a hasher through their hash strategy. Hashing is expensive on purpose, so use
+ * it together with a hashing pool to keep it off the event loop.
+ *
  * == Creating your own auth implementation
  *
  * If you wish to create your own auth provider you should implement the {@link io.vertx.ext.auth.AuthProvider} interface.
  *
  * We provide an abstract implementation of user called {@link io.vertx.ext.auth.AbstractUser} which you can subclass
  * to make your user implementation. This contains the caching logic so you don't have to implement that yourself.
+ * Override {@link io.vertx.ext.auth.AbstractUser#metrics()} so the authority checks are reported with your provider's
+ * metrics.
  *
  * If you wish your user objects to be clusterable you should make sure they implement {@link io.vertx.core.shareddata.impl.ClusterSerializable}.
  *
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.spi;
+
+import io.vertx.ext.auth.AuthMetrics;
+
+/**
+ * Creates the {@link AuthMetrics} of the providers.
+ * <p>
+ * The factory is looked up once with {@link java.util.ServiceLoader}, when none is found the metrics are kept in
+ * memory.
+ */
+public interface AuthMetricsFactory {
+
+  /**
+   * Create the metrics of a provider, called once per provider name.
+   *
+   * @param provider  the provider name
+   * @return the metrics
+   */
+  AuthMetrics create(String provider);
+}
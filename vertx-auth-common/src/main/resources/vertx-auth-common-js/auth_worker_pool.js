@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+/** @module vertx-auth-common-js/auth_worker_pool */
+var utils = require('vertx-js/util/utils');
+var Vertx = require('vertx-js/vertx');
+
+var io = Packages.io;
+var JsonObject = io.vertx.core.json.JsonObject;
+var JAuthWorkerPool = io.vertx.ext.auth.AuthWorkerPool;
+
+/**
+ A bounded pool of named threads running the CPU intensive work of the providers, e.g. password hashing, away from
+ the event loop.
+ <p>
+ When all the threads are busy, tasks wait in a bounded queue. Once the queue is full new tasks fail straight away
+ instead of piling up, so a burst of logins cannot grow the backlog without limit. Results are delivered on the
+ context that submitted the task.
+
+ @class
+*/
+var AuthWorkerPool = function(j_val) {
+
+  var j_authWorkerPool = j_val;
+  var that = this;
+
+  /**
+
+   @public
+
+   @return {number} the number of tasks waiting for a thread
+   */
+  this.queueSize = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      return j_authWorkerPool["queueSize()"]();
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+
+   @public
+
+   @return {number} the number of tasks failed because the pool was saturated
+   */
+  this.rejectedCount = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      return j_authWorkerPool["rejectedCount()"]();
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Stop the threads of the pool, tasks already submitted are still run. Closing a shared pool only releases this
+   reference to it.
+
+   @public
+
+   */
+  this.close = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      j_authWorkerPool["close()"]();
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  // A reference to the underlying Java delegate
+  // NOTE! This is an internal API and must not be used in user code.
+  // If you rely on this property your code is likely to break if we change it / remove it without warning.
+  this._jdel = j_authWorkerPool;
+};
+
+/**
+ Create a pool.
+
+ @memberof module:vertx-auth-common-js/auth_worker_pool
+ @param name {string} the name of the pool, used as prefix of the thread names 
+ @param poolSize {number} the maximum number of threads 
+ @param maxQueueSize {number} the maximum number of tasks waiting for a thread 
+ @return {AuthWorkerPool} the pool
+ */
+AuthWorkerPool.create = function(name, poolSize, maxQueueSize) {
+  var __args = arguments;
+  if (__args.length === 3 && typeof __args[0] === 'string' && typeof __args[1] ==='number' && typeof __args[2] ==='number') {
+    return utils.convReturnVertxGen(JAuthWorkerPool["create(java.lang.String,int,int)"](name, poolSize, maxQueueSize), AuthWorkerPool);
+  } else throw new TypeError('function invoked with invalid arguments');
+};
+
+/**
+ Get the pool of the given name shared by the providers of a Vert.x instance, creating it with the given sizes on
+ first use. The sizes of an existing pool are kept, a warning is logged when they differ. Each call returns a
+ reference to close, e.g. when the verticle using it stops, the threads are stopped once all of them are closed.
+ Idle threads are released after a minute in any case.
+
+ @memberof module:vertx-auth-common-js/auth_worker_pool
+ @param vertx {Vertx} the Vert.x instance 
+ @param name {string} the name of the pool, used as prefix of the thread names 
+ @param poolSize {number} the maximum number of threads 
+ @param maxQueueSize {number} the maximum number of tasks waiting for a thread 
+ @return {AuthWorkerPool} the pool
+ */
+AuthWorkerPool.createShared = function(vertx, name, poolSize, maxQueueSize) {
+  var __args = arguments;
+  if (__args.length === 4 && typeof __args[0] === 'object' && __args[0]._jdel && typeof __args[1] === 'string' && typeof __args[2] ==='number' && typeof __args[3] ==='number') {
+    return utils.convReturnVertxGen(JAuthWorkerPool["createShared(io.vertx.core.Vertx,java.lang.String,int,int)"](vertx._jdel, name, poolSize, maxQueueSize), AuthWorkerPool);
+  } else throw new TypeError('function invoked with invalid arguments');
+};
+
+// We export the Constructor function
+module.exports = AuthWorkerPool;
\ No newline at end of file
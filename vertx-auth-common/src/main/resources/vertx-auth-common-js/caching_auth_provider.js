@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+/** @module vertx-auth-common-js/caching_auth_provider */
+var utils = require('vertx-js/util/utils');
+var AuthProvider = require('vertx-auth-common-js/auth_provider');
+
+var io = Packages.io;
+var JsonObject = io.vertx.core.json.JsonObject;
+var JCachingAuthProvider = io.vertx.ext.auth.CachingAuthProvider;
+
+/**
+
+ @class
+*/
+var CachingAuthProvider = function(j_val) {
+
+  var j_cachingAuthProvider = j_val;
+  var that = this;
+  AuthProvider.call(this, j_val);
+
+  /**
+   Set how long a successfully authenticated user is remembered.
+
+   @public
+   @param ttl {number} the time to live in milliseconds 
+   @return {CachingAuthProvider} a reference to this for fluency
+   */
+  this.setTimeToLive = function(ttl) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] ==='number') {
+      j_cachingAuthProvider["setTimeToLive(long)"](ttl);
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the maximum number of users to remember, the least recently used ones are dropped first.
+
+   @public
+   @param maxSize {number} the maximum number of cached users 
+   @return {CachingAuthProvider} a reference to this for fluency
+   */
+  this.setMaxSize = function(maxSize) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] ==='number') {
+      j_cachingAuthProvider["setMaxSize(int)"](maxSize);
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Forget all the cached users with the given principal, e.g. after their password or permissions changed. The
+   authentications in progress when it is called are not cached either.
+
+   @public
+   @param principal {Object} the principal, as returned by {@link User#principal} 
+   @return {CachingAuthProvider} a reference to this for fluency
+   */
+  this.invalidate = function(principal) {
+    var __args = arguments;
+    if (__args.length === 1 && (typeof __args[0] === 'object' && __args[0] != null)) {
+      j_cachingAuthProvider["invalidate(io.vertx.core.json.JsonObject)"](utils.convParamJsonObject(principal));
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Forget all the cached users. The authentications in progress when it is called are not cached either.
+
+   @public
+
+   @return {CachingAuthProvider} a reference to this for fluency
+   */
+  this.invalidateAll = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      j_cachingAuthProvider["invalidateAll()"]();
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  // A reference to the underlying Java delegate
+  // NOTE! This is an internal API and must not be used in user code.
+  // If you rely on this property your code is likely to break if we change it / remove it without warning.
+  this._jdel = j_cachingAuthProvider;
+};
+
+/**
+ Create a caching auth provider
+
+ @memberof module:vertx-auth-common-js/caching_auth_provider
+ @param authProvider {AuthProvider} the provider performing the actual authentication 
+ @return {CachingAuthProvider} the auth provider
+ */
+CachingAuthProvider.create = function(authProvider) {
+  var __args = arguments;
+  if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._jdel) {
+    return utils.convReturnVertxGen(JCachingAuthProvider["create(io.vertx.ext.auth.AuthProvider)"](authProvider._jdel), CachingAuthProvider);
+  } else throw new TypeError('function invoked with invalid arguments');
+};
+
+// We export the Constructor function
+module.exports = CachingAuthProvider;
\ No newline at end of file
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+/** @module vertx-auth-common-js/coalescing_auth_provider */
+var utils = require('vertx-js/util/utils');
+var AuthProvider = require('vertx-auth-common-js/auth_provider');
+
+var io = Packages.io;
+var JsonObject = io.vertx.core.json.JsonObject;
+var JCoalescingAuthProvider = io.vertx.ext.auth.CoalescingAuthProvider;
+
+/**
+
+ @class
+*/
+var CoalescingAuthProvider = function(j_val) {
+
+  var j_coalescingAuthProvider = j_val;
+  var that = this;
+  AuthProvider.call(this, j_val);
+
+  // A reference to the underlying Java delegate
+  // NOTE! This is an internal API and must not be used in user code.
+  // If you rely on this property your code is likely to break if we change it / remove it without warning.
+  this._jdel = j_coalescingAuthProvider;
+};
+
+/**
+ Create a coalescing auth provider
+
+ @memberof module:vertx-auth-common-js/coalescing_auth_provider
+ @param authProvider {AuthProvider} the provider performing the actual authentication 
+ @return {CoalescingAuthProvider} the auth provider
+ */
+CoalescingAuthProvider.create = function(authProvider) {
+  var __args = arguments;
+  if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._jdel) {
+    return utils.convReturnVertxGen(JCoalescingAuthProvider["create(io.vertx.ext.auth.AuthProvider)"](authProvider._jdel), CoalescingAuthProvider);
+  } else throw new TypeError('function invoked with invalid arguments');
+};
+
+// We export the Constructor function
+module.exports = CoalescingAuthProvider;
\ No newline at end of file
@@ -56,6 +56,73 @@ var User = function(j_val) {
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
+  /**
+   Check several authorities at once. Implementations are encouraged to resolve all the authorities with a single
+   call to the underlying provider, the default implementation simply calls {@link User#isAuthorised} for each of them.
+
+   @public
+   @param authorities {Array.<string>} the authorities to check 
+   @param resultHandler {function} handler that will be called with an {@link AsyncResult} containing a JSON object where each of the authorities is mapped to `true` if the user has it or `false` otherwise. 
+   @return {User} the User to enable fluent use
+   */
+  this.checkAuthorities = function(authorities, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'function') {
+      j_user["checkAuthorities(java.util.List,io.vertx.core.Handler)"](authorities, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convReturnJson(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Is the user authorised to all of the given authorities.
+
+   @public
+   @param authorities {Array.<string>} the authorities to check 
+   @param resultHandler {function} handler that will be called with an {@link AsyncResult} containing the value `true` if the user has every one of the authorities or `false` otherwise. 
+   @return {User} the User to enable fluent use
+   */
+  this.isAuthorisedAll = function(authorities, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'function') {
+      j_user["isAuthorisedAll(java.util.List,io.vertx.core.Handler)"](authorities, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(ar.result(), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Is the user authorised to at least one of the given authorities.
+
+   @public
+   @param authorities {Array.<string>} the authorities to check 
+   @param resultHandler {function} handler that will be called with an {@link AsyncResult} containing the value `true` if the user has any of the authorities or `false` otherwise. 
+   @return {User} the User to enable fluent use
+   */
+  this.isAuthorisedAny = function(authorities, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'function') {
+      j_user["isAuthorisedAny(java.util.List,io.vertx.core.Handler)"](authorities, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(ar.result(), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
   /**
    The User object will cache any authorities that it knows it has to avoid hitting the
    underlying auth provider each time.  Use this method if you want to clear this cache.
@@ -0,0 +1,72 @@
+require 'vertx/vertx'
+require 'vertx/util/utils.rb'
+# Generated from io.vertx.ext.auth.AuthWorkerPool
+module VertxAuthCommon
+  #  A bounded pool of named threads running the CPU intensive work of the providers, e.g. password hashing, away from
+  #  the event loop.
+  #  <p>
+  #  When all the threads are busy, tasks wait in a bounded queue. Once the queue is full new tasks fail straight away
+  #  instead of piling up, so a burst of logins cannot grow the backlog without limit. Results are delivered on the
+  #  context that submitted the task.
+  class AuthWorkerPool
+    # @private
+    # @param j_del [::VertxAuthCommon::AuthWorkerPool] the java delegate
+    def initialize(j_del)
+      @j_del = j_del
+    end
+    # @private
+    # @return [::VertxAuthCommon::AuthWorkerPool] the underlying java delegate
+    def j_del
+      @j_del
+    end
+    #  Create a pool.
+    # @param [String] name the name of the pool, used as prefix of the thread names
+    # @param [Fixnum] poolSize the maximum number of threads
+    # @param [Fixnum] maxQueueSize the maximum number of tasks waiting for a thread
+    # @return [::VertxAuthCommon::AuthWorkerPool] the pool
+    def self.create(name=nil,poolSize=nil,maxQueueSize=nil)
+      if name.class == String && poolSize.class == Fixnum && maxQueueSize.class == Fixnum && !block_given?
+        return ::Vertx::Util::Utils.safe_create(Java::IoVertxExtAuth::AuthWorkerPool.java_method(:create, [Java::java.lang.String.java_class,Java::int.java_class,Java::int.java_class]).call(name,poolSize,maxQueueSize),::VertxAuthCommon::AuthWorkerPool)
+      end
+      raise ArgumentError, "Invalid arguments when calling create(name,poolSize,maxQueueSize)"
+    end
+    #  Get the pool of the given name shared by the providers of a Vert.x instance, creating it with the given sizes on
+    #  first use. The sizes of an existing pool are kept, a warning is logged when they differ. Each call returns a
+    #  reference to close, e.g. when the verticle using it stops, the threads are stopped once all of them are closed.
+    #  Idle threads are released after a minute in any case.
+    # @param [::Vertx::Vertx] vertx the Vert.x instance
+    # @param [String] name the name of the pool, used as prefix of the thread names
+    # @param [Fixnum] poolSize the maximum number of threads
+    # @param [Fixnum] maxQueueSize the maximum number of tasks waiting for a thread
+    # @return [::VertxAuthCommon::AuthWorkerPool] the pool
+    def self.create_shared(vertx=nil,name=nil,poolSize=nil,maxQueueSize=nil)
+      if vertx.class.method_defined?(:j_del) && name.class == String && poolSize.class == Fixnum && maxQueueSize.class == Fixnum && !block_given?
+        return ::Vertx::Util::Utils.safe_create(Java::IoVertxExtAuth::AuthWorkerPool.java_method(:createShared, [Java::IoVertxCore::Vertx.java_class,Java::java.lang.String.java_class,Java::int.java_class,Java::int.java_class]).call(vertx.j_del,name,poolSize,maxQueueSize),::VertxAuthCommon::AuthWorkerPool)
+      end
+      raise ArgumentError, "Invalid arguments when calling create_shared(vertx,name,poolSize,maxQueueSize)"
+    end
+    # @return [Fixnum] the number of tasks waiting for a thread
+    def queue_size
+      if !block_given?
+        return @j_del.java_method(:queueSize, []).call()
+      end
+      raise ArgumentError, "Invalid arguments when calling queue_size()"
+    end
+    # @return [Fixnum] the number of tasks failed because the pool was saturated
+    def rejected_count
+      if !block_given?
+        return @j_del.java_method(:rejectedCount, []).call()
+      end
+      raise ArgumentError, "Invalid arguments when calling rejected_count()"
+    end
+    #  Stop the threads of the pool, tasks already submitted are still run. Closing a shared pool only releases this
+    #  reference to it.
+    # @return [void]
+    def close
+      if !block_given?
+        return @j_del.java_method(:close, []).call()
+      end
+      raise ArgumentError, "Invalid arguments when calling close()"
+    end
+  end
+end
@@ -0,0 +1,77 @@
+require 'vertx-auth-common/auth_provider'
+require 'vertx/util/utils.rb'
+# Generated from io.vertx.ext.auth.CachingAuthProvider
+module VertxAuthCommon
+  #  An {::VertxAuthCommon::AuthProvider} that remembers the users successfully authenticated by another provider, so repeated
+  #  authentications with the same auth info do not hit the underlying backend.
+  #  <p>
+  #  The auth info is never kept: entries are looked up by a keyed hash of it, using a key that is randomly generated
+  #  for each instance. Failed authentications are never cached.
+  #  <p>
+  #  A cache hit returns the very {::VertxAuthCommon::User} instance returned by the remembered authentication, so it is shared by
+  #  everyone authenticating with the same auth info, along with the outcome of its previous authority checks. Callers
+  #  must not change it, e.g. with {::VertxAuthCommon::User#set_auth_provider} or {::VertxAuthCommon::User#clear_cache}, and should
+  #  wrap a provider whose users they need to change in a new <code>CachingAuthProvider</code> of their own.
+  class CachingAuthProvider < ::VertxAuthCommon::AuthProvider
+    # @private
+    # @param j_del [::VertxAuthCommon::CachingAuthProvider] the java delegate
+    def initialize(j_del)
+      super(j_del)
+      @j_del = j_del
+    end
+    # @private
+    # @return [::VertxAuthCommon::CachingAuthProvider] the underlying java delegate
+    def j_del
+      @j_del
+    end
+    #  Create a caching auth provider
+    # @param [::VertxAuthCommon::AuthProvider] authProvider the provider performing the actual authentication
+    # @return [::VertxAuthCommon::CachingAuthProvider] the auth provider
+    def self.create(authProvider=nil)
+      if authProvider.class.method_defined?(:j_del) && !block_given?
+        return ::Vertx::Util::Utils.safe_create(Java::IoVertxExtAuth::CachingAuthProvider.java_method(:create, [Java::IoVertxExtAuth::AuthProvider.java_class]).call(authProvider.j_del),::VertxAuthCommon::CachingAuthProvider)
+      end
+      raise ArgumentError, "Invalid arguments when calling create(authProvider)"
+    end
+    #  Set how long a successfully authenticated user is remembered.
+    # @param [Fixnum] ttl the time to live in milliseconds
+    # @return [self]
+    def set_time_to_live(ttl=nil)
+      if ttl.class == Fixnum && !block_given?
+        @j_del.java_method(:setTimeToLive, [Java::long.java_class]).call(ttl)
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling set_time_to_live(ttl)"
+    end
+    #  Set the maximum number of users to remember, the least recently used ones are dropped first.
+    # @param [Fixnum] maxSize the maximum number of cached users
+    # @return [self]
+    def set_max_size(maxSize=nil)
+      if maxSize.class == Fixnum && !block_given?
+        @j_del.java_method(:setMaxSize, [Java::int.java_class]).call(maxSize)
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling set_max_size(maxSize)"
+    end
+    #  Forget all the cached users with the given principal, e.g. after their password or permissions changed. The
+    #  authentications in progress when it is called are not cached either.
+    # @param [Hash{String => Object}] principal the principal, as returned by {::VertxAuthCommon::User#principal}
+    # @return [self]
+    def invalidate(principal=nil)
+      if principal.class == Hash && !block_given?
+        @j_del.java_method(:invalidate, [Java::IoVertxCoreJson::JsonObject.java_class]).call(::Vertx::Util::Utils.to_json_object(principal))
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling invalidate(principal)"
+    end
+    #  Forget all the cached users. The authentications in progress when it is called are not cached either.
+    # @return [self]
+    def invalidate_all
+      if !block_given?
+        @j_del.java_method(:invalidateAll, []).call()
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling invalidate_all()"
+    end
+  end
+end
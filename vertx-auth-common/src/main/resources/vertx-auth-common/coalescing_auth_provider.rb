@@ -0,0 +1,32 @@
+require 'vertx-auth-common/auth_provider'
+require 'vertx/util/utils.rb'
+# Generated from io.vertx.ext.auth.CoalescingAuthProvider
+module VertxAuthCommon
+  #  An {::VertxAuthCommon::AuthProvider} that coalesces identical concurrent authentications: while an authentication is in flight,
+  #  further attempts with the same auth info wait for its result instead of hitting the underlying backend again.
+  #  <p>
+  #  Like {::VertxAuthCommon::CachingAuthProvider}, the auth info is only used through a keyed hash of it, and the coalesced
+  #  attempts all get the same {::VertxAuthCommon::User} instance.
+  class CoalescingAuthProvider < ::VertxAuthCommon::AuthProvider
+    # @private
+    # @param j_del [::VertxAuthCommon::CoalescingAuthProvider] the java delegate
+    def initialize(j_del)
+      super(j_del)
+      @j_del = j_del
+    end
+    # @private
+    # @return [::VertxAuthCommon::CoalescingAuthProvider] the underlying java delegate
+    def j_del
+      @j_del
+    end
+    #  Create a coalescing auth provider
+    # @param [::VertxAuthCommon::AuthProvider] authProvider the provider performing the actual authentication
+    # @return [::VertxAuthCommon::CoalescingAuthProvider] the auth provider
+    def self.create(authProvider=nil)
+      if authProvider.class.method_defined?(:j_del) && !block_given?
+        return ::Vertx::Util::Utils.safe_create(Java::IoVertxExtAuth::CoalescingAuthProvider.java_method(:create, [Java::IoVertxExtAuth::AuthProvider.java_class]).call(authProvider.j_del),::VertxAuthCommon::CoalescingAuthProvider)
+      end
+      raise ArgumentError, "Invalid arguments when calling create(authProvider)"
+    end
+  end
+end
@@ -27,6 +27,40 @@ module VertxAuthCommon
       end
       raise ArgumentError, "Invalid arguments when calling is_authorised(authority)"
     end
+    #  Check several authorities at once. Implementations are encouraged to resolve all the authorities with a single
+    #  call to the underlying provider, the default implementation simply calls {::VertxAuthCommon::User#is_authorised} for each of them.
+    # @param [Array<String>] authorities the authorities to check
+    # @yield handler that will be called with an {AsyncResult} containing a JSON object where each of the authorities is mapped to `true` if the user has it or `false` otherwise.
+    # @return [self]
+    def check_authorities(authorities=nil)
+      if authorities.class == Array && block_given?
+        @j_del.java_method(:checkAuthorities, [Java::JavaUtil::List.java_class,Java::IoVertxCore::Handler.java_class]).call(authorities.map { |element| element },(Proc.new { |ar| yield(ar.failed ? ar.cause : nil, ar.succeeded ? ar.result != nil ? JSON.parse(ar.result.encode) : nil : nil) }))
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling check_authorities(authorities)"
+    end
+    #  Is the user authorised to all of the given authorities.
+    # @param [Array<String>] authorities the authorities to check
+    # @yield handler that will be called with an {AsyncResult} containing the value `true` if the user has every one of the authorities or `false` otherwise.
+    # @return [self]
+    def is_authorised_all(authorities=nil)
+      if authorities.class == Array && block_given?
+        @j_del.java_method(:isAuthorisedAll, [Java::JavaUtil::List.java_class,Java::IoVertxCore::Handler.java_class]).call(authorities.map { |element| element },(Proc.new { |ar| yield(ar.failed ? ar.cause : nil, ar.succeeded ? ar.result : nil) }))
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling is_authorised_all(authorities)"
+    end
+    #  Is the user authorised to at least one of the given authorities.
+    # @param [Array<String>] authorities the authorities to check
+    # @yield handler that will be called with an {AsyncResult} containing the value `true` if the user has any of the authorities or `false` otherwise.
+    # @return [self]
+    def is_authorised_any(authorities=nil)
+      if authorities.class == Array && block_given?
+        @j_del.java_method(:isAuthorisedAny, [Java::JavaUtil::List.java_class,Java::IoVertxCore::Handler.java_class]).call(authorities.map { |element| element },(Proc.new { |ar| yield(ar.failed ? ar.cause : nil, ar.succeeded ? ar.result : nil) }))
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling is_authorised_any(authorities)"
+    end
     #  The User object will cache any authorities that it knows it has to avoid hitting the
     #  underlying auth provider each time.  Use this method if you want to clear this cache.
     # @return [self]
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import io.vertx.ext.auth.PasswordHasher;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CalibrationTest {
+
+  @Test
+  public void testScryptMemoryBudget() {
+    // whatever the time budget, the cost stays within 1 MiB
+    PasswordHasher hasher = PasswordHasher.calibrate("scrypt", Long.MAX_VALUE / 1000000, 1024);
+    assertEquals(10, ((ScryptHasher) hasher).logN());
+  }
+
+  @Test
+  public void testArgon2MemoryBudget() {
+    PasswordHasher hasher = PasswordHasher.calibrate("argon2id", 1, 1024);
+    assertEquals("argon2id", hasher.id());
+    assertTrue(hasher.hash("password").startsWith("$argon2id$v=19$m=1024,"));
+  }
+
+  @Test
+  public void testMemoryBudgetTooLow() {
+    try {
+      PasswordHasher.calibrate("scrypt", 100, 512);
+      fail("Should have failed");
+    } catch (IllegalArgumentException e) {
+      assertEquals("maxMemory must be >= 1024", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.impl.hash;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Known answer tests of the hashing primitives against the vectors published with their specifications.
+ */
+public class KnownAnswerTest {
+
+  @Test
+  public void testBlake2bRFC7693() {
+    // RFC 7693, Appendix A
+    assertEquals(
+      "ba80a53f981c4d0d6a2797b69f12f6e94c212f14685ac4b74b12bb6fdbffa2d1" +
+        "7d87c5392aab792dc252d5de4533cc9518d38aa8dbf1925ab92386edd4009923",
+      hex(new Blake2b(64).update(bytes("abc")).digest()));
+  }
+
+  @Test
+  public void testScryptRFC7914() {
+    // RFC 7914, section 12
+    assertEquals(
+      "77d6576238657b203b19ca42c18a0497f16b4844e3074ae8dfdffa3fede21442" +
+        "fcd0069ded0948f8326a753a0fc81f17e8d3e0fb2e0d3628cf35e20c38d18906",
+      hex(ScryptHasher.scrypt(new byte[0], new byte[0], 4, 1, 1, 64)));
+    assertEquals(
+      "fdbabe1c9d3472007856e7190d01e9fe7c6ad7cbc8237830e77376634b373162" +
+        "2eaf30d92e22a3886ff109279d9830dac727afb94a83ee6d8360cbdfa2cc0640",
+      hex(ScryptHasher.scrypt(bytes("password"), bytes("NaCl"), 10, 8, 16, 64)));
+  }
+
+  @Test
+  public void testArgon2idRFC9106() {
+    // RFC 9106, section 5.3
+    byte[] password = new byte[32];
+    byte[] salt = new byte[16];
+    byte[] secret = new byte[8];
+    byte[] ad = new byte[12];
+    Arrays.fill(password, (byte) 1);
+    Arrays.fill(salt, (byte) 2);
+    Arrays.fill(secret, (byte) 3);
+    Arrays.fill(ad, (byte) 4);
+    assertEquals(
+      "0d640df58d78766c08c037a34a8b53c9d01ef0452d75b65eb52520e96b01e659",
+      hex(Argon2Hasher.argon2id(password, salt, secret, ad, 32, 3, 4, 32)));
+  }
+
+  @Test
+  public void testArgon2idReference() {
+    // the reference implementation test vector, without secret nor associated data
+    assertEquals(
+      "09316115d5cf24ed5a15a31a3ba326e5cf32edc24702987c02b6566f61913cf7",
+      hex(Argon2Hasher.argon2id(bytes("password"), bytes("somesalt"), 65536, 2, 1, 32)));
+    assertTrue(new Argon2Hasher(65536, 2, 1).verify("password",
+      "$argon2id$v=19$m=65536,t=2,p=1$c29tZXNhbHQ$CTFhFdXPJO1aFaMaO6Mm5c8y7cJHAph8ArZWb2GRPPc"));
+  }
+
+  @Test
+  public void testBCrypt() {
+    // OpenBSD bcrypt vectors
+    BCryptHasher hasher = new BCryptHasher(6);
+    assertTrue(hasher.verify("", "$2a$06$DCq7YPn5Rq63x1Lad4cll.TV4S6ytwfsfvkgY8jIucDrjc8deX1s."));
+    assertTrue(hasher.verify("a", "$2a$06$m0CrhHm10qJ3lXRY.5zDGO3rS2KdeeWLuGmsfGlMfOxih58VYVfxe"));
+    assertTrue(hasher.verify("abc", "$2a$06$If6bvum7DFjUnE9p2uDeDu0YHzrHM6tf.iqN8.yx.jNN1ILEf7h0i"));
+    assertTrue(hasher.verify("abcdefghijklmnopqrstuvwxyz",
+      "$2a$06$.rCVZVOThsIa97pEDOxvGuRRgzG64bvtJ0938xuqzv18d3ZpQhstC"));
+    assertTrue(hasher.verify("~!@#$%^&*()      ~!@#$%^&*()PNBFRD",
+      "$2a$06$fPIsBO8qRqkjj273rfaOI.HtSV9jLDpTbZn782DC6/t7qT67P6FfO"));
+    assertFalse(hasher.verify("abd", "$2a$06$If6bvum7DFjUnE9p2uDeDu0YHzrHM6tf.iqN8.yx.jNN1ILEf7h0i"));
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String hex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder();
+    for (byte b : bytes) {
+      sb.append(String.format("%02x", b));
+    }
+    return sb.toString();
+  }
+}
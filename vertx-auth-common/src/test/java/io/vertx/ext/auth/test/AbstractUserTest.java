@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.PermissionCache;
+import io.vertx.ext.auth.impl.SingleFlight;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AbstractUserTest {
+
+  /**
+   * A user whose checks only complete when told to.
+   */
+  private static class PendingUser extends AbstractUser {
+
+    final List<Handler<AsyncResult<Boolean>>> pending = new ArrayList<>();
+
+    @Override
+    protected void doIsPermitted(String permission, Handler<AsyncResult<Boolean>> resultHandler) {
+      pending.add(resultHandler);
+    }
+
+    void completeAll(boolean permitted) {
+      List<Handler<AsyncResult<Boolean>>> handlers = new ArrayList<>(pending);
+      pending.clear();
+      handlers.forEach(h -> h.handle(Future.succeededFuture(permitted)));
+    }
+
+    @Override
+    public JsonObject principal() {
+      return new JsonObject();
+    }
+
+    @Override
+    public void setAuthProvider(AuthProvider authProvider) {
+    }
+  }
+
+  @Test
+  public void testClearCacheDuringCheck() {
+    PendingUser user = new PendingUser();
+    user.isAuthorised("commit_code", res -> {});
+    user.clearCache();
+    user.completeAll(true);
+    // the outcome obtained before the clear was not cached
+    user.isAuthorised("commit_code", res -> {});
+    assertEquals(1, user.pending.size());
+  }
+
+  @Test
+  public void testReplaceCacheDuringCheck() {
+    PendingUser user = new PendingUser();
+    user.isAuthorised("commit_code", res -> {});
+    PermissionCache cache = PermissionCache.create();
+    user.setPermissionCache(cache);
+    user.completeAll(true);
+    assertNull(cache.get("commit_code"));
+    user.isAuthorised("commit_code", res -> {});
+    user.completeAll(true);
+    assertEquals(Boolean.TRUE, cache.get("commit_code"));
+  }
+
+  @Test
+  public void testSingleFlightCompletesOnce() {
+    SingleFlight<Boolean> singleFlight = new SingleFlight<>();
+    AtomicInteger calls = new AtomicInteger();
+    try {
+      singleFlight.execute("key", h -> {
+        h.handle(Future.succeededFuture(true));
+        h.handle(Future.succeededFuture(false));
+        throw new IllegalStateException();
+      }, res -> {
+        assertTrue(res.result());
+        calls.incrementAndGet();
+      });
+      fail();
+    } catch (IllegalStateException expected) {
+      // thrown after the handler was called
+    }
+    assertEquals(1, calls.get());
+    assertEquals(0, singleFlight.size());
+  }
+
+  @Test
+  public void testSingleFlightLateCompletion() {
+    SingleFlight<Boolean> singleFlight = new SingleFlight<>();
+    List<Handler<AsyncResult<Boolean>>> first = new ArrayList<>();
+    singleFlight.execute("key", h -> {
+      first.add(h);
+      h.handle(Future.succeededFuture(true));
+    }, res -> {});
+    AtomicInteger calls = new AtomicInteger();
+    singleFlight.execute("key", h -> {}, res -> calls.incrementAndGet());
+    // a late call of the first handler does not complete the second flight
+    first.get(0).handle(Future.succeededFuture(false));
+    assertEquals(0, calls.get());
+    assertEquals(1, singleFlight.size());
+  }
+}
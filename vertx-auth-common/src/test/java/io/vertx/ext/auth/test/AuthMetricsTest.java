@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthMetrics;
+import io.vertx.ext.auth.User;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static io.vertx.ext.auth.test.CountingAuthProvider.authenticate;
+import static io.vertx.ext.auth.test.CountingAuthProvider.checkAuthorities;
+import static io.vertx.ext.auth.test.CountingAuthProvider.isAuthorised;
+import static org.junit.Assert.*;
+
+public class AuthMetricsTest {
+
+  @Test
+  public void testAuthorisation() {
+    CountingAuthProvider provider = new CountingAuthProvider().addUser("tim", "sausages", "commit_code");
+    JsonObject tim = new JsonObject().put("username", "tim").put("password", "sausages");
+    User user = authenticate(provider, tim).result();
+    JsonObject before = AuthMetrics.metrics("test").toJson();
+    isAuthorised(user, "commit_code");
+    isAuthorised(user, "commit_code");
+    checkAuthorities(user, Arrays.asList("commit_code", "eat_sandwich"));
+    JsonObject after = AuthMetrics.snapshot().getJsonObject("test");
+    assertEquals(3, delta(before, after, "authorisation", "succeeded"));
+    assertEquals(2, delta(before, after, "cache", "hits"));
+    assertEquals(2, delta(before, after, "cache", "misses"));
+    assertEquals(0L, (long) after.getJsonObject("authorisation").getLong("inFlight"));
+  }
+
+  @Test
+  public void testSameInstance() {
+    assertSame(AuthMetrics.metrics("test"), AuthMetrics.metrics("test"));
+    assertNotSame(AuthMetrics.metrics("test"), AuthMetrics.metrics("other"));
+  }
+
+  private static long delta(JsonObject before, JsonObject after, String group, String name) {
+    return after.getJsonObject(group).getLong(name) - before.getJsonObject(group).getLong(name);
+  }
+}
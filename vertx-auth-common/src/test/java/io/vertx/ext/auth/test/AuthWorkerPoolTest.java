@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.test;
+
+import io.vertx.ext.auth.AuthWorkerPool;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AuthWorkerPoolTest extends VertxTestBase {
+
+  @Test
+  public void testSharedPool() throws Exception {
+    AuthWorkerPool first = AuthWorkerPool.createShared(vertx, "test-shared", 1, 0);
+    AuthWorkerPool second = AuthWorkerPool.createShared(vertx, "test-shared", 1, 0);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+    first.execute(() -> release.await(10, TimeUnit.SECONDS), res -> done.countDown());
+    // the single thread is busy, whichever reference is used
+    second.execute(() -> true, res -> assertTrue(res.failed()));
+    assertEquals(1, first.rejectedCount());
+    release.countDown();
+    awaitLatch(done);
+
+    // still running while a reference is open
+    first.close();
+    first.close();
+    second.execute(() -> true, onSuccess(v -> testComplete()));
+    await();
+    second.close();
+
+    // a new pool once every reference was closed
+    AuthWorkerPool third = AuthWorkerPool.createShared(vertx, "test-shared", 1, 0);
+    assertEquals(0, third.rejectedCount());
+    third.close();
+  }
+
+  @Test
+  public void testSharedPoolSizes() {
+    AuthWorkerPool first = AuthWorkerPool.createShared(vertx, "test-sizes", 1, 0);
+    // the existing pool is returned as is, with a warning
+    AuthWorkerPool second = AuthWorkerPool.createShared(vertx, "test-sizes", 4, 16);
+    CountDownLatch release = new CountDownLatch(1);
+    first.execute(() -> release.await(10, TimeUnit.SECONDS), res -> {});
+    second.execute(() -> true, onFailure(err -> {
+      assertEquals("Worker pool test-sizes is saturated", err.getMessage());
+      release.countDown();
+      first.close();
+      second.close();
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testClosed() {
+    AuthWorkerPool pool = AuthWorkerPool.create("test-closed", 1, 0);
+    pool.close();
+    pool.execute(() -> true, onFailure(err -> {
+      assertEquals("Worker pool test-closed is closed", err.getMessage());
+      assertEquals(0, pool.rejectedCount());
+      AuthWorkerPool shared = AuthWorkerPool.createShared(vertx, "test-closed", 1, 0);
+      AuthWorkerPool other = AuthWorkerPool.createShared(vertx, "test-closed", 1, 0);
+      shared.close();
+      // the pool is still open for the other reference, not for the closed one
+      shared.execute(() -> true, onFailure(err2 -> {
+        assertEquals("Worker pool test-closed is closed", err2.getMessage());
+        other.execute(() -> true, onSuccess(res -> {
+          other.close();
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.CachingAuthProvider;
+import io.vertx.ext.auth.User;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.vertx.ext.auth.test.CountingAuthProvider.authenticate;
+import static org.junit.Assert.*;
+
+public class CachingAuthProviderTest {
+
+  private final CountingAuthProvider provider = new CountingAuthProvider()
+    .addUser("tim", "sausages", "commit_code")
+    .addUser("tom", "sausages");
+  private final CachingAuthProvider cachingProvider = CachingAuthProvider.create(provider);
+  private final JsonObject tim = new JsonObject().put("username", "tim").put("password", "sausages");
+  private final JsonObject tom = new JsonObject().put("username", "tom").put("password", "sausages");
+
+  @Test
+  public void testCache() {
+    User user = authenticate(cachingProvider, tim).result();
+    assertEquals(1, provider.authentications.get());
+    User cached = authenticate(cachingProvider, tim).result();
+    assertSame(user, cached);
+    assertEquals(1, provider.authentications.get());
+
+    // failures are not cached
+    JsonObject wrong = tim.copy().put("password", "eggs");
+    assertTrue(authenticate(cachingProvider, wrong).failed());
+    assertTrue(authenticate(cachingProvider, wrong).failed());
+    assertEquals(3, provider.authentications.get());
+
+    cachingProvider.invalidate(user.principal());
+    User fresh = authenticate(cachingProvider, tim).result();
+    assertNotSame(user, fresh);
+    assertEquals(4, provider.authentications.get());
+  }
+
+  @Test
+  public void testFieldOrder() {
+    authenticate(cachingProvider, tim);
+    JsonObject reordered = new JsonObject().put("password", "sausages").put("username", "tim");
+    assertTrue(authenticate(cachingProvider, reordered).succeeded());
+    assertEquals(1, provider.authentications.get());
+  }
+
+  @Test
+  public void testInvalidatePrincipal() {
+    User user = authenticate(cachingProvider, tim).result();
+    // another entry for the same principal
+    authenticate(cachingProvider, tim.copy().put("realm", "test"));
+    authenticate(cachingProvider, tom);
+    assertEquals(3, provider.authentications.get());
+    cachingProvider.invalidate(user.principal());
+    authenticate(cachingProvider, tim);
+    authenticate(cachingProvider, tim.copy().put("realm", "test"));
+    authenticate(cachingProvider, tom);
+    assertEquals(5, provider.authentications.get());
+  }
+
+  @Test
+  public void testInvalidateDuringAuthentication() {
+    provider.hold();
+    AtomicReference<AsyncResult<User>> result = new AtomicReference<>();
+    cachingProvider.authenticate(tim, result::set);
+    // the user read before the invalidation must not be cached
+    cachingProvider.invalidate(new JsonObject().put("username", "tim"));
+    provider.release();
+    assertTrue(result.get().succeeded());
+    authenticate(cachingProvider, tim);
+    assertEquals(2, provider.authentications.get());
+  }
+
+  @Test
+  public void testTimeToLive() {
+    cachingProvider.setTimeToLive(0);
+    authenticate(cachingProvider, tim);
+    authenticate(cachingProvider, tim);
+    assertEquals(2, provider.authentications.get());
+  }
+
+  @Test
+  public void testMaxSize() {
+    cachingProvider.setMaxSize(1);
+    authenticate(cachingProvider, tim);
+    authenticate(cachingProvider, tom);
+    authenticate(cachingProvider, tom);
+    assertEquals(2, provider.authentications.get());
+    // tim was evicted
+    User user = authenticate(cachingProvider, tim).result();
+    assertEquals(3, provider.authentications.get());
+    cachingProvider.invalidate(user.principal());
+    authenticate(cachingProvider, tim);
+    assertEquals(4, provider.authentications.get());
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    authenticate(cachingProvider, tim);
+    authenticate(cachingProvider, tom);
+    cachingProvider.invalidateAll();
+    authenticate(cachingProvider, tim);
+    authenticate(cachingProvider, tom);
+    assertEquals(4, provider.authentications.get());
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.CoalescingAuthProvider;
+import io.vertx.ext.auth.User;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CoalescingAuthProviderTest {
+
+  private final CountingAuthProvider provider = new CountingAuthProvider().addUser("tim", "sausages");
+  private final AuthProvider coalescingProvider = CoalescingAuthProvider.create(provider);
+  private final JsonObject tim = new JsonObject().put("username", "tim").put("password", "sausages");
+
+  @Test
+  public void testCoalesce() {
+    List<AsyncResult<User>> results = new ArrayList<>();
+    provider.hold();
+    for (int i = 0; i < 3; i++) {
+      coalescingProvider.authenticate(tim, results::add);
+    }
+    assertEquals(1, provider.authentications.get());
+    provider.release();
+    assertEquals(3, results.size());
+    for (AsyncResult<User> result : results) {
+      assertTrue(result.succeeded());
+    }
+
+    // nothing in flight anymore
+    coalescingProvider.authenticate(tim, results::add);
+    assertEquals(2, provider.authentications.get());
+  }
+
+  @Test
+  public void testDifferentCredentials() {
+    List<AsyncResult<User>> results = new ArrayList<>();
+    provider.hold();
+    coalescingProvider.authenticate(tim, results::add);
+    coalescingProvider.authenticate(tim.copy().put("password", "eggs"), results::add);
+    assertEquals(2, provider.authentications.get());
+    provider.release();
+    assertTrue(results.get(0).succeeded());
+    assertTrue(results.get(1).failed());
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthMetrics;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An in memory provider counting the authentications and the authority checks it serves. Authentications can be held
+ * back to keep them in flight.
+ */
+public class CountingAuthProvider implements AuthProvider {
+
+  final AtomicInteger authentications = new AtomicInteger();
+  final AtomicInteger checks = new AtomicInteger();
+
+  private final Map<String, String> passwords = new HashMap<>();
+  private final Map<String, Set<String>> authorities = new HashMap<>();
+  private final List<Runnable> held = new ArrayList<>();
+  private boolean holding;
+
+  CountingAuthProvider addUser(String username, String password, String... authorities) {
+    passwords.put(username, password);
+    this.authorities.put(username, new HashSet<>(Arrays.asList(authorities)));
+    return this;
+  }
+
+  /**
+   * Keep the next authentications in flight until {@link #release()} is called.
+   */
+  synchronized void hold() {
+    holding = true;
+  }
+
+  void release() {
+    List<Runnable> completions;
+    synchronized (this) {
+      holding = false;
+      completions = new ArrayList<>(held);
+      held.clear();
+    }
+    completions.forEach(Runnable::run);
+  }
+
+  /**
+   * @return the result of an authentication completing synchronously
+   */
+  static AsyncResult<User> authenticate(AuthProvider authProvider, JsonObject authInfo) {
+    AtomicReference<AsyncResult<User>> result = new AtomicReference<>();
+    authProvider.authenticate(authInfo, result::set);
+    return completed(result);
+  }
+
+  /**
+   * @return the result of an authority check completing synchronously
+   */
+  static AsyncResult<Boolean> isAuthorised(User user, String authority) {
+    AtomicReference<AsyncResult<Boolean>> result = new AtomicReference<>();
+    user.isAuthorised(authority, result::set);
+    return completed(result);
+  }
+
+  /**
+   * @return the result of authority checks completing synchronously
+   */
+  static AsyncResult<JsonObject> checkAuthorities(User user, List<String> authorities) {
+    AtomicReference<AsyncResult<JsonObject>> result = new AtomicReference<>();
+    user.checkAuthorities(authorities, result::set);
+    return completed(result);
+  }
+
+  private static <T> T completed(AtomicReference<T> result) {
+    if (result.get() == null) {
+      throw new AssertionError("Not completed");
+    }
+    return result.get();
+  }
+
+  @Override
+  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
+    authentications.incrementAndGet();
+    String username = authInfo.getString("username");
+    Runnable completion = () -> {
+      String password = passwords.get(username);
+      if (password != null && password.equals(authInfo.getString("password"))) {
+        resultHandler.handle(Future.succeededFuture(new CountingUser(username)));
+      } else {
+        resultHandler.handle(Future.failedFuture("Invalid username/password"));
+      }
+    };
+    synchronized (this) {
+      if (holding) {
+        held.add(completion);
+        return;
+      }
+    }
+    completion.run();
+  }
+
+  class CountingUser extends AbstractUser {
+
+    private final String username;
+
+    CountingUser(String username) {
+      this.username = username;
+    }
+
+    @Override
+    protected void doIsPermitted(String permission, Handler<AsyncResult<Boolean>> resultHandler) {
+      checks.incrementAndGet();
+      resultHandler.handle(Future.succeededFuture(authorities.get(username).contains(permission)));
+    }
+
+    @Override
+    protected AuthMetrics metrics() {
+      return AuthMetrics.metrics("test");
+    }
+
+    @Override
+    public JsonObject principal() {
+      return new JsonObject().put("username", username);
+    }
+
+    @Override
+    public void setAuthProvider(AuthProvider authProvider) {
+    }
+  }
+}
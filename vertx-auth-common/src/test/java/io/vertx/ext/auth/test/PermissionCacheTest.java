@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.PermissionCache;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static io.vertx.ext.auth.test.CountingAuthProvider.authenticate;
+import static io.vertx.ext.auth.test.CountingAuthProvider.isAuthorised;
+import static org.junit.Assert.*;
+
+public class PermissionCacheTest {
+
+  private final CountingAuthProvider provider = new CountingAuthProvider().addUser("tim", "sausages", "commit_code");
+  private final JsonObject tim = new JsonObject().put("username", "tim").put("password", "sausages");
+
+  @Test
+  public void testGrantedAndDeniedAreCached() {
+    AbstractUser user = (AbstractUser) authenticate(provider, tim).result();
+    assertTrue(isAuthorised(user, "commit_code").result());
+    assertFalse(isAuthorised(user, "eat_sandwich").result());
+    assertEquals(2, provider.checks.get());
+    assertTrue(isAuthorised(user, "commit_code").result());
+    assertFalse(isAuthorised(user, "eat_sandwich").result());
+    assertEquals(2, provider.checks.get());
+
+    user.clearCache();
+    assertFalse(isAuthorised(user, "eat_sandwich").result());
+    assertEquals(3, provider.checks.get());
+  }
+
+  @Test
+  public void testExpiry() throws Exception {
+    PermissionCache cache = PermissionCache.create(10, 60_000, 1);
+    cache.put("commit_code", true);
+    cache.put("eat_sandwich", false);
+    Thread.sleep(10);
+    // denied authorities expire first
+    assertEquals(Boolean.TRUE, cache.get("commit_code"));
+    assertNull(cache.get("eat_sandwich"));
+  }
+
+  @Test
+  public void testNoNegativeCaching() {
+    AbstractUser user = (AbstractUser) authenticate(provider, tim).result();
+    user.setPermissionCache(PermissionCache.create(10, 60_000, 0));
+    isAuthorised(user, "eat_sandwich");
+    isAuthorised(user, "eat_sandwich");
+    assertEquals(2, provider.checks.get());
+  }
+
+  @Test
+  public void testMaxSize() {
+    PermissionCache cache = PermissionCache.create(2, 60_000, 60_000);
+    for (int i = 0; i < 10; i++) {
+      cache.put("perm" + i, true);
+    }
+    assertTrue(cache.permitted().size() <= 2);
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    PermissionCache cache = PermissionCache.create(2, 60_000, 60_000);
+    cache.put("commit_code", true);
+    cache.put("merge_pr", true);
+    cache.get("commit_code");
+    cache.put("eat_sandwich", false);
+    assertEquals(Boolean.TRUE, cache.get("commit_code"));
+    assertNull(cache.get("merge_pr"));
+    assertEquals(Boolean.FALSE, cache.get("eat_sandwich"));
+  }
+
+  @Test
+  public void testPermittedOnlyHoldsGrants() {
+    PermissionCache cache = PermissionCache.create();
+    cache.put("commit_code", true);
+    cache.put("eat_sandwich", false);
+    assertEquals(Collections.singleton("commit_code"), cache.permitted());
+  }
+}
@@ -36,9 +36,36 @@ public class JDBCAuthOptionsConverter {
     if (json.getValue("datasourceName") instanceof String) {
       obj.setDatasourceName((String)json.getValue("datasourceName"));
     }
+    if (json.getValue("hashingPoolSize") instanceof Number) {
+      obj.setHashingPoolSize(((Number)json.getValue("hashingPoolSize")).intValue());
+    }
+    if (json.getValue("hashingQueueSize") instanceof Number) {
+      obj.setHashingQueueSize(((Number)json.getValue("hashingQueueSize")).intValue());
+    }
+    if (json.getValue("permissionsBatchQuery") instanceof String) {
+      obj.setPermissionsBatchQuery((String)json.getValue("permissionsBatchQuery"));
+    }
     if (json.getValue("permissionsQuery") instanceof String) {
       obj.setPermissionsQuery((String)json.getValue("permissionsQuery"));
     }
+    if (json.getValue("pipelined") instanceof Boolean) {
+      obj.setPipelined((Boolean)json.getValue("pipelined"));
+    }
+    if (json.getValue("prefetchAuthorities") instanceof Boolean) {
+      obj.setPrefetchAuthorities((Boolean)json.getValue("prefetchAuthorities"));
+    }
+    if (json.getValue("rehashBatchSize") instanceof Number) {
+      obj.setRehashBatchSize(((Number)json.getValue("rehashBatchSize")).intValue());
+    }
+    if (json.getValue("rehashInterval") instanceof Number) {
+      obj.setRehashInterval(((Number)json.getValue("rehashInterval")).longValue());
+    }
+    if (json.getValue("rehashQuery") instanceof String) {
+      obj.setRehashQuery((String)json.getValue("rehashQuery"));
+    }
+    if (json.getValue("rolesBatchQuery") instanceof String) {
+      obj.setRolesBatchQuery((String)json.getValue("rolesBatchQuery"));
+    }
     if (json.getValue("rolesPrefix") instanceof String) {
       obj.setRolesPrefix((String)json.getValue("rolesPrefix"));
     }
@@ -48,6 +75,27 @@ public class JDBCAuthOptionsConverter {
     if (json.getValue("shared") instanceof Boolean) {
       obj.setShared((Boolean)json.getValue("shared"));
     }
+    if (json.getValue("snapshot") instanceof Boolean) {
+      obj.setSnapshot((Boolean)json.getValue("snapshot"));
+    }
+    if (json.getValue("snapshotChangedUsersQuery") instanceof String) {
+      obj.setSnapshotChangedUsersQuery((String)json.getValue("snapshotChangedUsersQuery"));
+    }
+    if (json.getValue("snapshotRefreshInterval") instanceof Number) {
+      obj.setSnapshotRefreshInterval(((Number)json.getValue("snapshotRefreshInterval")).longValue());
+    }
+    if (json.getValue("statementCacheSize") instanceof Number) {
+      obj.setStatementCacheSize(((Number)json.getValue("statementCacheSize")).intValue());
+    }
+    if (json.getValue("usernameFilterFpp") instanceof Number) {
+      obj.setUsernameFilterFpp(((Number)json.getValue("usernameFilterFpp")).doubleValue());
+    }
+    if (json.getValue("usernameFilterSize") instanceof Number) {
+      obj.setUsernameFilterSize(((Number)json.getValue("usernameFilterSize")).longValue());
+    }
+    if (json.getValue("usernamesQuery") instanceof String) {
+      obj.setUsernamesQuery((String)json.getValue("usernamesQuery"));
+    }
   }
 
   public static void toJson(JDBCAuthOptions obj, JsonObject json) {
@@ -60,9 +108,24 @@ public class JDBCAuthOptionsConverter {
     if (obj.getDatasourceName() != null) {
       json.put("datasourceName", obj.getDatasourceName());
     }
+    json.put("hashingPoolSize", obj.getHashingPoolSize());
+    json.put("hashingQueueSize", obj.getHashingQueueSize());
+    if (obj.getPermissionsBatchQuery() != null) {
+      json.put("permissionsBatchQuery", obj.getPermissionsBatchQuery());
+    }
     if (obj.getPermissionsQuery() != null) {
       json.put("permissionsQuery", obj.getPermissionsQuery());
     }
+    json.put("pipelined", obj.isPipelined());
+    json.put("prefetchAuthorities", obj.isPrefetchAuthorities());
+    json.put("rehashBatchSize", obj.getRehashBatchSize());
+    json.put("rehashInterval", obj.getRehashInterval());
+    if (obj.getRehashQuery() != null) {
+      json.put("rehashQuery", obj.getRehashQuery());
+    }
+    if (obj.getRolesBatchQuery() != null) {
+      json.put("rolesBatchQuery", obj.getRolesBatchQuery());
+    }
     if (obj.getRolesPrefix() != null) {
       json.put("rolesPrefix", obj.getRolesPrefix());
     }
@@ -70,5 +133,16 @@ public class JDBCAuthOptionsConverter {
       json.put("rolesQuery", obj.getRolesQuery());
     }
     json.put("shared", obj.isShared());
+    json.put("snapshot", obj.isSnapshot());
+    if (obj.getSnapshotChangedUsersQuery() != null) {
+      json.put("snapshotChangedUsersQuery", obj.getSnapshotChangedUsersQuery());
+    }
+    json.put("snapshotRefreshInterval", obj.getSnapshotRefreshInterval());
+    json.put("statementCacheSize", obj.getStatementCacheSize());
+    json.put("usernameFilterFpp", obj.getUsernameFilterFpp());
+    json.put("usernameFilterSize", obj.getUsernameFilterSize());
+    if (obj.getUsernamesQuery() != null) {
+      json.put("usernamesQuery", obj.getUsernamesQuery());
+    }
   }
 }
\ No newline at end of file
@@ -20,6 +20,11 @@ import java.util.Map;
 import io.vertx.lang.rxjava.InternalHelper;
 import rx.Observable;
 import io.vertx.rxjava.ext.jdbc.JDBCClient;
+import io.vertx.rxjava.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.rxjava.ext.auth.AuthWorkerPool;
 import io.vertx.rxjava.ext.auth.AuthProvider;
 
 /**
@@ -82,6 +87,32 @@ public class JDBCAuth extends AuthProvider {
     return ret;
   }
 
+  /**
+   * Set the query checking the roles asked for in an authority check, taking the username followed by the roles in
+   * place of a <code>(...)</code> placeholder, e.g. <code>ROLE IN (...)</code>, and returning those the user has. It defaults to
+   * {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth} as long as the roles query is not overridden, otherwise all the roles of the
+   * user are read with the roles query.
+   * @param rolesBatchQuery the roles batch query
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setRolesBatchQuery(String rolesBatchQuery) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setRolesBatchQuery(rolesBatchQuery));
+    return ret;
+  }
+
+  /**
+   * Set the query checking the permissions asked for in an authority check, taking the username followed by the
+   * permissions in place of a <code>(...)</code> placeholder, and returning those the user has. It defaults to
+   * {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth} as long as the permissions query is not overridden, otherwise all the
+   * permissions of the user are read with the permissions query.
+   * @param permissionsBatchQuery the permissions batch query
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setPermissionsBatchQuery(String permissionsBatchQuery) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setPermissionsBatchQuery(permissionsBatchQuery));
+    return ret;
+  }
+
   /**
    * Set the role prefix to distinguish from permissions when checking for isPermitted requests.
    * @param rolePrefix a Prefix e.g.: "role:"
@@ -92,6 +123,200 @@ public class JDBCAuth extends AuthProvider {
     return ret;
   }
 
+  /**
+   * Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+   * the default SHA-512 strategy but would block the event loop with a slow hash.
+   * @param hashingPool the pool, or <code>null</code> to hash on the calling thread
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setHashingPool(AuthWorkerPool hashingPool) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setHashingPool((io.vertx.ext.auth.AuthWorkerPool) hashingPool.getDelegate()));
+    return ret;
+  }
+
+  /**
+   * Set the query replacing the password hash of a user after a successful authentication, when the hash strategy
+   * reports it as outdated. The query takes the new hash, the username and the old hash, the latter so a password
+   * changed in the meantime is not overwritten. It defaults to {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth} as long as the
+   * authentication query is not overridden, otherwise hashes are only rewritten once a rehash query is set.
+   * @param rehashQuery the rehash query, or <code>null</code> to never rewrite hashes
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setRehashQuery(String rehashQuery) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setRehashQuery(rehashQuery));
+    return ret;
+  }
+
+  /**
+   * Set how fast outdated hashes are rewritten: they are queued and written in the background, at most
+   * <code>batchSize</code> of them every <code>interval</code> milliseconds, so a migration is spread over normal traffic.
+   * @param batchSize the maximum number of hashes written at once
+   * @param interval the minimum time between two batches, in milliseconds
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setRehashRate(int batchSize, long interval) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setRehashRate(batchSize, interval));
+    return ret;
+  }
+
+  /**
+   * Set whether the roles and permissions of a user are loaded when it authenticates, on the same connection as the
+   * authentication query. The authority checks of the user are then answered from memory, without a query per check,
+   * but do not see changes made to the roles and permissions after the login.
+   * @param prefetchAuthorities whether to load the roles and permissions at login
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setPrefetchAuthorities(boolean prefetchAuthorities) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setPrefetchAuthorities(prefetchAuthorities));
+    return ret;
+  }
+
+  /**
+   * Set whether an authentication borrows a single connection for all its queries. The credentials are read on that
+   * connection and the password is verified while it is held, then only for a valid password are the roles and
+   * permissions read on it, before it is given back to the pool. The authority checks of the user are then answered
+   * from memory. Unlike {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth#setPrefetchAuthorities}, which reads the roles and permissions along with the
+   * credentials, a wrong password never costs more than the credentials query, at the price of holding the
+   * connection while the password is hashed.
+   * @param pipelined whether to run the queries of an authentication on one connection
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setPipelined(boolean pipelined) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setPipelined(pipelined));
+    return ret;
+  }
+
+  /**
+   * Set the queries loading a snapshot. Use this if you want to override the default snapshot queries.
+   * @param usersQuery the query returning the username followed by the columns of the authentication query, for every user
+   * @param rolesQuery the query returning the username and the role, for every role of every user
+   * @param permissionsQuery the query returning the role and the permission, for every permission of every role
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setSnapshotQueries(String usersQuery, String rolesQuery, String permissionsQuery) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setSnapshotQueries(usersQuery, rolesQuery, permissionsQuery));
+    return ret;
+  }
+
+  /**
+   * Set the queries reading the users changed since the previous refresh of a snapshot, taking the usernames in place
+   * of a <code>(...)</code> placeholder, e.g. <code>USERNAME IN (...)</code>. They return the same columns as the snapshot users
+   * and roles queries and default to {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth} and
+   * {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth} as long as those are not overridden, otherwise each changed user is
+   * read with the authentication and roles queries.
+   * @param usersBatchQuery the query returning the username followed by the columns of the authentication query, for each of the users
+   * @param rolesBatchQuery the query returning the username and the role, for every role of each of the users
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setSnapshotBatchQueries(String usersBatchQuery, String rolesBatchQuery) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setSnapshotBatchQueries(usersBatchQuery, rolesBatchQuery));
+    return ret;
+  }
+
+  /**
+   * Set how a loaded snapshot is kept up to date. Every <code>refreshInterval</code> milliseconds the
+   * <code>changedUsersQuery</code> is run with the time of the previous refresh in milliseconds since the epoch and returns
+   * the names of the users changed since. Their credentials and roles are read again with the snapshot batch queries,
+   * see {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth#setSnapshotBatchQueries}, users that no longer exist are removed, and the permissions
+   * of the roles are read again in full.
+   * @param changedUsersQuery the query returning the changed users, or <code>null</code> to never refresh
+   * @param refreshInterval the time between two refreshes, in milliseconds
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setSnapshotRefresh(String changedUsersQuery, long refreshInterval) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setSnapshotRefresh(changedUsersQuery, refreshInterval));
+    return ret;
+  }
+
+  /**
+   * Load the users, their roles and the permissions of the roles in memory. Once loaded, authentications and
+   * authority checks are served from the snapshot without any query, and the snapshot is refreshed in the
+   * background as set by {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth#setSnapshotRefresh}. Until then the database is queried as usual.
+   * @param vertx the Vert.x instance scheduling the refreshes
+   * @param resultHandler called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and an estimate of the heap <code>footprint</code> in bytes
+   */
+  public void loadSnapshot(Vertx vertx, Handler<AsyncResult<JsonObject>> resultHandler) { 
+    this.delegate.loadSnapshot((io.vertx.core.Vertx) vertx.getDelegate(), resultHandler);
+  }
+
+  /**
+   * Load the users, their roles and the permissions of the roles in memory. Once loaded, authentications and
+   * authority checks are served from the snapshot without any query, and the snapshot is refreshed in the
+   * background as set by {@link io.vertx.ext.auth.jdbc.JDBCAuth#setSnapshotRefresh}. Until then the database is queried as usual.
+   * @param vertx the Vert.x instance scheduling the refreshes
+   * @return 
+   */
+  public Observable<JsonObject> loadSnapshotObservable(Vertx vertx) { 
+    io.vertx.rx.java.ObservableFuture<JsonObject> resultHandler = io.vertx.rx.java.RxHelper.observableFuture();
+    loadSnapshot(vertx, resultHandler.toHandler());
+    return resultHandler;
+  }
+
+  /**
+   * Set the query loading the usernames in the username filter. Use this if you want to override the default
+   * usernames query. The query takes no parameter and returns the username of every user, its rows are streamed so
+   * they are never all held in memory.
+   * @param usernamesQuery the usernames query
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setUsernamesQuery(String usernamesQuery) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setUsernamesQuery(usernamesQuery));
+    return ret;
+  }
+
+  /**
+   * Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+   * username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+   * users. The filter is only used once loaded with {@link io.vertx.rxjava.ext.auth.jdbc.JDBCAuth#loadUsernameFilter}.
+   * <p>
+   * A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+   * @param expectedUsers the number of users the filter is sized for, or <code>0</code> to not filter usernames
+   * @param fpp the rate of unknown usernames still queried once that many users are known
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setUsernameFilter(long expectedUsers, double fpp) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.setUsernameFilter(expectedUsers, fpp));
+    return ret;
+  }
+
+  /**
+   * Load the username filter, or build it again, with the usernames query. The current filter, if any, keeps being
+   * used until the load completes.
+   * @param resultHandler called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and the <code>footprint</code> of the filter in bytes
+   */
+  public void loadUsernameFilter(Handler<AsyncResult<JsonObject>> resultHandler) { 
+    this.delegate.loadUsernameFilter(resultHandler);
+  }
+
+  /**
+   * Load the username filter, or build it again, with the usernames query. The current filter, if any, keeps being
+   * used until the load completes.
+   * @return 
+   */
+  public Observable<JsonObject> loadUsernameFilterObservable() { 
+    io.vertx.rx.java.ObservableFuture<JsonObject> resultHandler = io.vertx.rx.java.RxHelper.observableFuture();
+    loadUsernameFilter(resultHandler.toHandler());
+    return resultHandler;
+  }
+
+  /**
+   * Add a user to the username filter once it is stored, so it can log in before the filter is built again.
+   * @param username the username
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth addUsername(String username) { 
+    JDBCAuth ret= JDBCAuth.newInstance(this.delegate.addUsername(username));
+    return ret;
+  }
+
+  /**
+   * Stop refreshing the snapshot and drop it, the database is queried again. When the snapshot was loaded by a
+   * verticle, Vert.x also cancels the refreshes once the verticle is undeployed.
+   */
+  public void close() { 
+    this.delegate.close();
+  }
+
 
   public static JDBCAuth newInstance(io.vertx.ext.auth.jdbc.JDBCAuth arg) {
     return arg != null ? new JDBCAuth(arg) : null;
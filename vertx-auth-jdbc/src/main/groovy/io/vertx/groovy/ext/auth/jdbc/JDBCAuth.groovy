@@ -19,6 +19,11 @@ import groovy.transform.CompileStatic
 import io.vertx.lang.groovy.InternalHelper
 import io.vertx.core.json.JsonObject
 import io.vertx.groovy.ext.jdbc.JDBCClient
+import io.vertx.groovy.core.Vertx
+import io.vertx.core.json.JsonObject
+import io.vertx.core.AsyncResult
+import io.vertx.core.Handler
+import io.vertx.groovy.ext.auth.AuthWorkerPool
 import io.vertx.groovy.ext.auth.AuthProvider
 /**
  * Factory interface for creating {@link io.vertx.groovy.ext.auth.AuthProvider} instances that use the Vert.x JDBC client
@@ -69,6 +74,30 @@ public class JDBCAuth extends AuthProvider {
     def ret= InternalHelper.safeCreate(this.delegate.setPermissionsQuery(permissionsQuery), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
     return ret;
   }
+  /**
+   * Set the query checking the roles asked for in an authority check, taking the username followed by the roles in
+   * place of a <code>(...)</code> placeholder, e.g. <code>ROLE IN (...)</code>, and returning those the user has. It defaults to
+   * {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth} as long as the roles query is not overridden, otherwise all the roles of the
+   * user are read with the roles query.
+   * @param rolesBatchQuery the roles batch query
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setRolesBatchQuery(String rolesBatchQuery) {
+    def ret= InternalHelper.safeCreate(this.delegate.setRolesBatchQuery(rolesBatchQuery), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set the query checking the permissions asked for in an authority check, taking the username followed by the
+   * permissions in place of a <code>(...)</code> placeholder, and returning those the user has. It defaults to
+   * {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth} as long as the permissions query is not overridden, otherwise all the
+   * permissions of the user are read with the permissions query.
+   * @param permissionsBatchQuery the permissions batch query
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setPermissionsBatchQuery(String permissionsBatchQuery) {
+    def ret= InternalHelper.safeCreate(this.delegate.setPermissionsBatchQuery(permissionsBatchQuery), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
   /**
    * Set the role prefix to distinguish from permissions when checking for isPermitted requests.
    * @param rolePrefix a Prefix e.g.: "role:"
@@ -78,4 +107,180 @@ public class JDBCAuth extends AuthProvider {
     def ret= InternalHelper.safeCreate(this.delegate.setRolePrefix(rolePrefix), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
     return ret;
   }
+  /**
+   * Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+   * the default SHA-512 strategy but would block the event loop with a slow hash.
+   * @param hashingPool the pool, or <code>null</code> to hash on the calling thread
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setHashingPool(AuthWorkerPool hashingPool) {
+    def ret= InternalHelper.safeCreate(this.delegate.setHashingPool((io.vertx.ext.auth.AuthWorkerPool)hashingPool.getDelegate()), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set the query replacing the password hash of a user after a successful authentication, when the hash strategy
+   * reports it as outdated. The query takes the new hash, the username and the old hash, the latter so a password
+   * changed in the meantime is not overwritten. It defaults to {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth} as long as the
+   * authentication query is not overridden, otherwise hashes are only rewritten once a rehash query is set.
+   * @param rehashQuery the rehash query, or <code>null</code> to never rewrite hashes
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setRehashQuery(String rehashQuery) {
+    def ret= InternalHelper.safeCreate(this.delegate.setRehashQuery(rehashQuery), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set how fast outdated hashes are rewritten: they are queued and written in the background, at most
+   * <code>batchSize</code> of them every <code>interval</code> milliseconds, so a migration is spread over normal traffic.
+   * @param batchSize the maximum number of hashes written at once
+   * @param interval the minimum time between two batches, in milliseconds
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setRehashRate(int batchSize, long interval) {
+    def ret= InternalHelper.safeCreate(this.delegate.setRehashRate(batchSize, interval), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set whether the roles and permissions of a user are loaded when it authenticates, on the same connection as the
+   * authentication query. The authority checks of the user are then answered from memory, without a query per check,
+   * but do not see changes made to the roles and permissions after the login.
+   * @param prefetchAuthorities whether to load the roles and permissions at login
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setPrefetchAuthorities(boolean prefetchAuthorities) {
+    def ret= InternalHelper.safeCreate(this.delegate.setPrefetchAuthorities(prefetchAuthorities), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set whether an authentication borrows a single connection for all its queries. The credentials are read on that
+   * connection and the password is verified while it is held, then only for a valid password are the roles and
+   * permissions read on it, before it is given back to the pool. The authority checks of the user are then answered
+   * from memory. Unlike {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth#setPrefetchAuthorities}, which reads the roles and permissions along with the
+   * credentials, a wrong password never costs more than the credentials query, at the price of holding the
+   * connection while the password is hashed.
+   * @param pipelined whether to run the queries of an authentication on one connection
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setPipelined(boolean pipelined) {
+    def ret= InternalHelper.safeCreate(this.delegate.setPipelined(pipelined), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set the queries loading a snapshot. Use this if you want to override the default snapshot queries.
+   * @param usersQuery the query returning the username followed by the columns of the authentication query, for every user
+   * @param rolesQuery the query returning the username and the role, for every role of every user
+   * @param permissionsQuery the query returning the role and the permission, for every permission of every role
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setSnapshotQueries(String usersQuery, String rolesQuery, String permissionsQuery) {
+    def ret= InternalHelper.safeCreate(this.delegate.setSnapshotQueries(usersQuery, rolesQuery, permissionsQuery), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set the queries reading the users changed since the previous refresh of a snapshot, taking the usernames in place
+   * of a <code>(...)</code> placeholder, e.g. <code>USERNAME IN (...)</code>. They return the same columns as the snapshot users
+   * and roles queries and default to {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth} and
+   * {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth} as long as those are not overridden, otherwise each changed user is
+   * read with the authentication and roles queries.
+   * @param usersBatchQuery the query returning the username followed by the columns of the authentication query, for each of the users
+   * @param rolesBatchQuery the query returning the username and the role, for every role of each of the users
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setSnapshotBatchQueries(String usersBatchQuery, String rolesBatchQuery) {
+    def ret= InternalHelper.safeCreate(this.delegate.setSnapshotBatchQueries(usersBatchQuery, rolesBatchQuery), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set how a loaded snapshot is kept up to date. Every <code>refreshInterval</code> milliseconds the
+   * <code>changedUsersQuery</code> is run with the time of the previous refresh in milliseconds since the epoch and returns
+   * the names of the users changed since. Their credentials and roles are read again with the snapshot batch queries,
+   * see {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth#setSnapshotBatchQueries}, users that no longer exist are removed, and the permissions
+   * of the roles are read again in full.
+   * @param changedUsersQuery the query returning the changed users, or <code>null</code> to never refresh
+   * @param refreshInterval the time between two refreshes, in milliseconds
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setSnapshotRefresh(String changedUsersQuery, long refreshInterval) {
+    def ret= InternalHelper.safeCreate(this.delegate.setSnapshotRefresh(changedUsersQuery, refreshInterval), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Load the users, their roles and the permissions of the roles in memory. Once loaded, authentications and
+   * authority checks are served from the snapshot without any query, and the snapshot is refreshed in the
+   * background as set by {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth#setSnapshotRefresh}. Until then the database is queried as usual.
+   * @param vertx the Vert.x instance scheduling the refreshes
+   * @param resultHandler called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and an estimate of the heap <code>footprint</code> in bytes
+   */
+  public void loadSnapshot(Vertx vertx, Handler<AsyncResult<Map<String, Object>>> resultHandler) {
+    this.delegate.loadSnapshot((io.vertx.core.Vertx)vertx.getDelegate(), new Handler<AsyncResult<io.vertx.core.json.JsonObject>>() {
+      public void handle(AsyncResult<io.vertx.core.json.JsonObject> event) {
+        AsyncResult<Map<String, Object>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<Map<String, Object>>result((Map<String, Object>)InternalHelper.wrapObject(event.result()))
+        } else {
+          f = InternalHelper.<Map<String, Object>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+  }
+  /**
+   * Set the query loading the usernames in the username filter. Use this if you want to override the default
+   * usernames query. The query takes no parameter and returns the username of every user, its rows are streamed so
+   * they are never all held in memory.
+   * @param usernamesQuery the usernames query
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setUsernamesQuery(String usernamesQuery) {
+    def ret= InternalHelper.safeCreate(this.delegate.setUsernamesQuery(usernamesQuery), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+   * username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+   * users. The filter is only used once loaded with {@link io.vertx.groovy.ext.auth.jdbc.JDBCAuth#loadUsernameFilter}.
+   * <p>
+   * A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+   * @param expectedUsers the number of users the filter is sized for, or <code>0</code> to not filter usernames
+   * @param fpp the rate of unknown usernames still queried once that many users are known
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth setUsernameFilter(long expectedUsers, double fpp) {
+    def ret= InternalHelper.safeCreate(this.delegate.setUsernameFilter(expectedUsers, fpp), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Load the username filter, or build it again, with the usernames query. The current filter, if any, keeps being
+   * used until the load completes.
+   * @param resultHandler called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and the <code>footprint</code> of the filter in bytes
+   */
+  public void loadUsernameFilter(Handler<AsyncResult<Map<String, Object>>> resultHandler) {
+    this.delegate.loadUsernameFilter(new Handler<AsyncResult<io.vertx.core.json.JsonObject>>() {
+      public void handle(AsyncResult<io.vertx.core.json.JsonObject> event) {
+        AsyncResult<Map<String, Object>> f
+        if (event.succeeded()) {
+          f = InternalHelper.<Map<String, Object>>result((Map<String, Object>)InternalHelper.wrapObject(event.result()))
+        } else {
+          f = InternalHelper.<Map<String, Object>>failure(event.cause())
+        }
+        resultHandler.handle(f)
+      }
+    });
+  }
+  /**
+   * Add a user to the username filter once it is stored, so it can log in before the filter is built again.
+   * @param username the username
+   * @return a reference to this for fluency
+   */
+  public JDBCAuth addUsername(String username) {
+    def ret= InternalHelper.safeCreate(this.delegate.addUsername(username), io.vertx.groovy.ext.auth.jdbc.JDBCAuth.class);
+    return ret;
+  }
+  /**
+   * Stop refreshing the snapshot and drop it, the database is queried again. When the snapshot was loaded by a
+   * verticle, Vert.x also cancels the refreshes once the verticle is undeployed.
+   */
+  public void close() {
+    this.delegate.close();
+  }
 }
@@ -18,7 +18,12 @@ package io.vertx.ext.auth.jdbc;
 
 import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.auth.jdbc.impl.JDBCAuthImpl;
 import io.vertx.ext.jdbc.JDBCClient;
 
@@ -45,11 +50,83 @@ public interface JDBCAuth extends AuthProvider {
    */
   String DEFAULT_PERMISSIONS_QUERY = "SELECT PERM FROM ROLES_PERMS RP, USER_ROLES UR WHERE UR.USERNAME = ? AND UR.ROLE = RP.ROLE";
 
+  /**
+   * The default query checking several roles of the user at once, the {@code (...)} placeholder is replaced by a
+   * parameter per role
+   */
+  String DEFAULT_ROLES_BATCH_QUERY = "SELECT ROLE FROM USER_ROLES WHERE USERNAME = ? AND ROLE IN (...)";
+
+  /**
+   * The default query checking several permissions of the user at once, the {@code (...)} placeholder is replaced by a
+   * parameter per permission
+   */
+  String DEFAULT_PERMISSIONS_BATCH_QUERY =
+    "SELECT PERM FROM ROLES_PERMS RP, USER_ROLES UR WHERE UR.USERNAME = ? AND UR.ROLE = RP.ROLE AND RP.PERM IN (...)";
+
+  /**
+   * The default query replacing an outdated password hash, taking the new hash, the username and the old hash
+   */
+  String DEFAULT_REHASH_QUERY = "UPDATE USER SET PASSWORD = ? WHERE USERNAME = ? AND PASSWORD = ?";
+
+  /**
+   * The default query loading the credentials of all the users in a snapshot, the username followed by the columns of
+   * the authentication query
+   */
+  String DEFAULT_SNAPSHOT_USERS_QUERY = "SELECT USERNAME, PASSWORD, PASSWORD_SALT FROM USER";
+
+  /**
+   * The default query loading the roles of all the users in a snapshot
+   */
+  String DEFAULT_SNAPSHOT_ROLES_QUERY = "SELECT USERNAME, ROLE FROM USER_ROLES";
+
+  /**
+   * The default query loading the permissions of all the roles in a snapshot
+   */
+  String DEFAULT_SNAPSHOT_PERMISSIONS_QUERY = "SELECT ROLE, PERM FROM ROLES_PERMS";
+
+  /**
+   * The default query reading the credentials of the users changed since the previous refresh of a snapshot, the
+   * {@code (...)} placeholder is replaced by a parameter per user
+   */
+  String DEFAULT_SNAPSHOT_USERS_BATCH_QUERY =
+    "SELECT USERNAME, PASSWORD, PASSWORD_SALT FROM USER WHERE USERNAME IN (...)";
+
+  /**
+   * The default query reading the roles of the users changed since the previous refresh of a snapshot, the
+   * {@code (...)} placeholder is replaced by a parameter per user
+   */
+  String DEFAULT_SNAPSHOT_ROLES_BATCH_QUERY = "SELECT USERNAME, ROLE FROM USER_ROLES WHERE USERNAME IN (...)";
+
+  /**
+   * The default query loading the usernames in a username filter
+   */
+  String DEFAULT_USERNAMES_QUERY = "SELECT USERNAME FROM USER";
+
   /**
    * The default role prefix
    */
   String DEFAULT_ROLE_PREFIX = "role:";
 
+  /**
+   * The default maximum number of hashes rewritten at once
+   */
+  int DEFAULT_REHASH_BATCH_SIZE = 50;
+
+  /**
+   * The default minimum time between two batches of rewritten hashes, in milliseconds
+   */
+  long DEFAULT_REHASH_INTERVAL = 1000;
+
+  /**
+   * The default time between two refreshes of a snapshot, in milliseconds
+   */
+  long DEFAULT_SNAPSHOT_REFRESH_INTERVAL = 60000;
+
+  /**
+   * The default rate of unknown usernames a username filter lets through
+   */
+  double DEFAULT_USERNAME_FILTER_FPP = 0.01;
+
   /**
    * Create a JDBC auth provider implementation
    *
@@ -81,6 +158,28 @@ public interface JDBCAuth extends AuthProvider {
    */
   JDBCAuth setPermissionsQuery(String permissionsQuery);
 
+  /**
+   * Set the query checking the roles asked for in an authority check, taking the username followed by the roles in
+   * place of a {@code (...)} placeholder, e.g. {@code ROLE IN (...)}, and returning those the user has. It defaults to
+   * {@link #DEFAULT_ROLES_BATCH_QUERY} as long as the roles query is not overridden, otherwise all the roles of the
+   * user are read with the roles query.
+   *
+   * @param rolesBatchQuery  the roles batch query
+   * @return  a reference to this for fluency
+   */
+  JDBCAuth setRolesBatchQuery(String rolesBatchQuery);
+
+  /**
+   * Set the query checking the permissions asked for in an authority check, taking the username followed by the
+   * permissions in place of a {@code (...)} placeholder, and returning those the user has. It defaults to
+   * {@link #DEFAULT_PERMISSIONS_BATCH_QUERY} as long as the permissions query is not overridden, otherwise all the
+   * permissions of the user are read with the permissions query.
+   *
+   * @param permissionsBatchQuery  the permissions batch query
+   * @return  a reference to this for fluency
+   */
+  JDBCAuth setPermissionsBatchQuery(String permissionsBatchQuery);
+
   /**
    * Set the role prefix to distinguish from permissions when checking for isPermitted requests.
    * @param rolePrefix a Prefix e.g.: "role:"
@@ -96,4 +195,152 @@ public interface JDBCAuth extends AuthProvider {
   @GenIgnore
   JDBCAuth setHashStrategy(JDBCHashStrategy strategy);
 
+  /**
+   * Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+   * the default SHA-512 strategy but would block the event loop with a slow hash.
+   *
+   * @param hashingPool  the pool, or {@code null} to hash on the calling thread
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setHashingPool(AuthWorkerPool hashingPool);
+
+  /**
+   * Set the query replacing the password hash of a user after a successful authentication, when the hash strategy
+   * reports it as outdated. The query takes the new hash, the username and the old hash, the latter so a password
+   * changed in the meantime is not overwritten. It defaults to {@link #DEFAULT_REHASH_QUERY} as long as the
+   * authentication query is not overridden, otherwise hashes are only rewritten once a rehash query is set.
+   *
+   * @param rehashQuery  the rehash query, or {@code null} to never rewrite hashes
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setRehashQuery(String rehashQuery);
+
+  /**
+   * Set how fast outdated hashes are rewritten: they are queued and written in the background, at most
+   * {@code batchSize} of them every {@code interval} milliseconds, so a migration is spread over normal traffic.
+   *
+   * @param batchSize  the maximum number of hashes written at once
+   * @param interval  the minimum time between two batches, in milliseconds
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setRehashRate(int batchSize, long interval);
+
+  /**
+   * Set whether the roles and permissions of a user are loaded when it authenticates, on the same connection as the
+   * authentication query. The authority checks of the user are then answered from memory, without a query per check,
+   * but do not see changes made to the roles and permissions after the login.
+   *
+   * @param prefetchAuthorities  whether to load the roles and permissions at login
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setPrefetchAuthorities(boolean prefetchAuthorities);
+
+  /**
+   * Set whether an authentication borrows a single connection for all its queries. The credentials are read on that
+   * connection and the password is verified while it is held, then only for a valid password are the roles and
+   * permissions read on it, before it is given back to the pool. The authority checks of the user are then answered
+   * from memory. Unlike {@link #setPrefetchAuthorities(boolean)}, which reads the roles and permissions along with the
+   * credentials, a wrong password never costs more than the credentials query, at the price of holding the
+   * connection while the password is hashed.
+   *
+   * @param pipelined  whether to run the queries of an authentication on one connection
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setPipelined(boolean pipelined);
+
+  /**
+   * Set the queries loading a snapshot. Use this if you want to override the default snapshot queries.
+   *
+   * @param usersQuery  the query returning the username followed by the columns of the authentication query, for
+   *                    every user
+   * @param rolesQuery  the query returning the username and the role, for every role of every user
+   * @param permissionsQuery  the query returning the role and the permission, for every permission of every role
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setSnapshotQueries(String usersQuery, String rolesQuery, String permissionsQuery);
+
+  /**
+   * Set the queries reading the users changed since the previous refresh of a snapshot, taking the usernames in place
+   * of a {@code (...)} placeholder, e.g. {@code USERNAME IN (...)}. They return the same columns as the snapshot users
+   * and roles queries and default to {@link #DEFAULT_SNAPSHOT_USERS_BATCH_QUERY} and
+   * {@link #DEFAULT_SNAPSHOT_ROLES_BATCH_QUERY} as long as those are not overridden, otherwise each changed user is
+   * read with the authentication and roles queries.
+   *
+   * @param usersBatchQuery  the query returning the username followed by the columns of the authentication query, for
+   *                         each of the users
+   * @param rolesBatchQuery  the query returning the username and the role, for every role of each of the users
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setSnapshotBatchQueries(String usersBatchQuery, String rolesBatchQuery);
+
+  /**
+   * Set how a loaded snapshot is kept up to date. Every {@code refreshInterval} milliseconds the
+   * {@code changedUsersQuery} is run with the time of the previous refresh in milliseconds since the epoch and returns
+   * the names of the users changed since. Their credentials and roles are read again with the snapshot batch queries,
+   * see {@link #setSnapshotBatchQueries(String, String)}, users that no longer exist are removed, and the permissions
+   * of the roles are read again in full.
+   *
+   * @param changedUsersQuery  the query returning the changed users, or {@code null} to never refresh
+   * @param refreshInterval  the time between two refreshes, in milliseconds
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setSnapshotRefresh(String changedUsersQuery, long refreshInterval);
+
+  /**
+   * Load the users, their roles and the permissions of the roles in memory. Once loaded, authentications and
+   * authority checks are served from the snapshot without any query, and the snapshot is refreshed in the
+   * background as set by {@link #setSnapshotRefresh(String, long)}. Until then the database is queried as usual.
+   *
+   * @param vertx  the Vert.x instance scheduling the refreshes
+   * @param resultHandler  called once loaded with the number of {@code users}, the {@code loadTime} in milliseconds
+   *                       and an estimate of the heap {@code footprint} in bytes
+   */
+  void loadSnapshot(Vertx vertx, Handler<AsyncResult<JsonObject>> resultHandler);
+
+  /**
+   * Set the query loading the usernames in the username filter. Use this if you want to override the default
+   * usernames query. The query takes no parameter and returns the username of every user, its rows are streamed so
+   * they are never all held in memory.
+   *
+   * @param usernamesQuery  the usernames query
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setUsernamesQuery(String usernamesQuery);
+
+  /**
+   * Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+   * username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+   * users. The filter is only used once loaded with {@link #loadUsernameFilter(Handler)}.
+   * <p>
+   * A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+   *
+   * @param expectedUsers  the number of users the filter is sized for, or {@code 0} to not filter usernames
+   * @param fpp  the rate of unknown usernames still queried once that many users are known
+   * @return a reference to this for fluency
+   */
+  JDBCAuth setUsernameFilter(long expectedUsers, double fpp);
+
+  /**
+   * Load the username filter, or build it again, with the usernames query. The current filter, if any, keeps being
+   * used until the load completes.
+   *
+   * @param resultHandler  called once loaded with the number of {@code users}, the {@code loadTime} in milliseconds
+   *                       and the {@code footprint} of the filter in bytes
+   */
+  void loadUsernameFilter(Handler<AsyncResult<JsonObject>> resultHandler);
+
+  /**
+   * Add a user to the username filter once it is stored, so it can log in before the filter is built again.
+   *
+   * @param username  the username
+   * @return a reference to this for fluency
+   */
+  JDBCAuth addUsername(String username);
+
+  /**
+   * Stop refreshing the snapshot and drop it, the database is queried again. When the snapshot was loaded by a
+   * verticle, Vert.x also cancels the refreshes once the verticle is undeployed.
+   */
+  void close();
+
 }
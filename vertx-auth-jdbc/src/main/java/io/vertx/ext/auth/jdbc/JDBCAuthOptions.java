@@ -18,6 +18,9 @@ package io.vertx.ext.auth.jdbc;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.jdbc.JDBCClient;
 
 /**
@@ -28,23 +31,63 @@ import io.vertx.ext.jdbc.JDBCClient;
 @DataObject(generateConverter = true)
 public class JDBCAuthOptions implements io.vertx.ext.auth.AuthOptions {
 
+  private static final Logger log = LoggerFactory.getLogger(JDBCAuthOptions.class);
+
   private boolean shared;
   private String datasourceName;
   private String authenticationQuery;
   private String rolesQuery;
   private String permissionsQuery;
+  private String rolesBatchQuery;
+  private String permissionsBatchQuery;
   private String rolesPrefix;
   private JsonObject config;
+  private int hashingPoolSize;
+  private int hashingQueueSize;
+  private String rehashQuery;
+  private int rehashBatchSize;
+  private long rehashInterval;
+  private boolean prefetchAuthorities;
+  private boolean pipelined;
+  private int statementCacheSize;
+  private boolean snapshot;
+  private String snapshotChangedUsersQuery;
+  private long snapshotRefreshInterval;
+  private long usernameFilterSize;
+  private double usernameFilterFpp;
+  private String usernamesQuery;
 
   public JDBCAuthOptions() {
     this.shared = true;
     this.config = null;
+    this.hashingPoolSize = 0;
+    this.hashingQueueSize = AuthWorkerPool.DEFAULT_MAX_QUEUE_SIZE;
+    this.rehashBatchSize = JDBCAuth.DEFAULT_REHASH_BATCH_SIZE;
+    this.rehashInterval = JDBCAuth.DEFAULT_REHASH_INTERVAL;
+    this.snapshotRefreshInterval = JDBCAuth.DEFAULT_SNAPSHOT_REFRESH_INTERVAL;
+    this.usernameFilterFpp = JDBCAuth.DEFAULT_USERNAME_FILTER_FPP;
   }
 
   public JDBCAuthOptions(JDBCAuthOptions that) {
     shared = that.shared;
     datasourceName = that.datasourceName;
     config = that.config != null ? that.config.copy() : null;
+    hashingPoolSize = that.hashingPoolSize;
+    hashingQueueSize = that.hashingQueueSize;
+    rehashQuery = that.rehashQuery;
+    rehashBatchSize = that.rehashBatchSize;
+    rehashInterval = that.rehashInterval;
+    prefetchAuthorities = that.prefetchAuthorities;
+    pipelined = that.pipelined;
+    statementCacheSize = that.statementCacheSize;
+    snapshot = that.snapshot;
+    snapshotChangedUsersQuery = that.snapshotChangedUsersQuery;
+    snapshotRefreshInterval = that.snapshotRefreshInterval;
+    usernameFilterSize = that.usernameFilterSize;
+    usernameFilterFpp = that.usernameFilterFpp;
+    usernamesQuery = that.usernamesQuery;
+    rolesBatchQuery = that.rolesBatchQuery;
+    permissionsBatchQuery = that.permissionsBatchQuery;
   }
 
   public JDBCAuthOptions(JsonObject json) {
@@ -59,6 +102,13 @@ public class JDBCAuthOptions implements io.vertx.ext.auth.AuthOptions {
 
   @Override
   public JDBCAuth createProvider(Vertx vertx) {
+    JsonObject config = this.config;
+    if (statementCacheSize > 0) {
+      config = config != null ? config.copy() : new JsonObject();
+      if (!config.containsKey("max_statements_per_connection")) {
+        config.put("max_statements_per_connection", statementCacheSize);
+      }
+    }
     JDBCClient client;
     if (shared) {
       if (datasourceName != null) {
@@ -79,9 +129,46 @@ public class JDBCAuthOptions implements io.vertx.ext.auth.AuthOptions {
     if (permissionsQuery != null) {
       auth.setPermissionsQuery(permissionsQuery);
     }
+    if (rolesBatchQuery != null) {
+      auth.setRolesBatchQuery(rolesBatchQuery);
+    }
+    if (permissionsBatchQuery != null) {
+      auth.setPermissionsBatchQuery(permissionsBatchQuery);
+    }
     if (rolesPrefix != null) {
       auth.setRolePrefix(rolesPrefix);
     }
+    if (hashingPoolSize > 0) {
+      auth.setHashingPool(
+        AuthWorkerPool.createShared(vertx, "vertx-auth-jdbc-hashing", hashingPoolSize, hashingQueueSize));
+    }
+    if (rehashQuery != null) {
+      auth.setRehashQuery(rehashQuery);
+    }
+    auth.setRehashRate(rehashBatchSize, rehashInterval);
+    auth.setPrefetchAuthorities(prefetchAuthorities);
+    auth.setPipelined(pipelined);
+    if (snapshot) {
+      auth.setSnapshotRefresh(snapshotChangedUsersQuery, snapshotRefreshInterval);
+      // the database is queried until the snapshot is loaded
+      auth.loadSnapshot(vertx, ar -> {
+        if (ar.failed()) {
+          log.warn("Could not load the credential snapshot", ar.cause());
+        }
+      });
+    }
+    if (usernameFilterSize > 0) {
+      if (usernamesQuery != null) {
+        auth.setUsernamesQuery(usernamesQuery);
+      }
+      auth.setUsernameFilter(usernameFilterSize, usernameFilterFpp);
+      // every username might exist until the filter is loaded
+      auth.loadUsernameFilter(ar -> {
+        if (ar.failed()) {
+          log.warn("Could not load the username filter", ar.cause());
+        }
+      });
+    }
     return auth;
   }
 
@@ -175,6 +262,38 @@ public class JDBCAuthOptions implements io.vertx.ext.auth.AuthOptions {
     return this;
   }
 
+  public String getRolesBatchQuery() {
+    return rolesBatchQuery;
+  }
+
+  /**
+   * Set the query checking several roles at once, the {@code (...)} placeholder taking the roles. Use this along with
+   * an overridden roles query, the default one only applies to the default roles query.
+   *
+   * @param rolesBatchQuery the roles batch query
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setRolesBatchQuery(String rolesBatchQuery) {
+    this.rolesBatchQuery = rolesBatchQuery;
+    return this;
+  }
+
+  public String getPermissionsBatchQuery() {
+    return permissionsBatchQuery;
+  }
+
+  /**
+   * Set the query checking several permissions at once, the {@code (...)} placeholder taking the permissions. Use this
+   * along with an overridden permissions query, the default one only applies to the default permissions query.
+   *
+   * @param permissionsBatchQuery the permissions batch query
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setPermissionsBatchQuery(String permissionsBatchQuery) {
+    this.permissionsBatchQuery = permissionsBatchQuery;
+    return this;
+  }
+
   public String getRolesPrefix() {
     return rolesPrefix;
   }
@@ -189,4 +308,224 @@ public class JDBCAuthOptions implements io.vertx.ext.auth.AuthOptions {
     this.rolesPrefix = rolesPrefix;
     return this;
   }
+
+  public int getHashingPoolSize() {
+    return hashingPoolSize;
+  }
+
+  /**
+   * Set the number of threads hashing passwords, off the event loop. The default {@code 0} hashes them on the calling
+   * thread.
+   *
+   * @param hashingPoolSize the number of hashing threads
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setHashingPoolSize(int hashingPoolSize) {
+    this.hashingPoolSize = hashingPoolSize;
+    return this;
+  }
+
+  public int getHashingQueueSize() {
+    return hashingQueueSize;
+  }
+
+  /**
+   * Set how many passwords can wait for a hashing thread, further authentications fail until the backlog drains.
+   *
+   * @param hashingQueueSize the maximum number of waiting passwords
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setHashingQueueSize(int hashingQueueSize) {
+    this.hashingQueueSize = hashingQueueSize;
+    return this;
+  }
+
+  public String getRehashQuery() {
+    return rehashQuery;
+  }
+
+  /**
+   * Set the query replacing an outdated password hash after a successful authentication. It takes the new hash, the
+   * username and the old hash. Set it along with an overridden authentication query, the default one only applies to
+   * the default authentication query.
+   *
+   * @param rehashQuery the rehash query
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setRehashQuery(String rehashQuery) {
+    this.rehashQuery = rehashQuery;
+    return this;
+  }
+
+  public int getRehashBatchSize() {
+    return rehashBatchSize;
+  }
+
+  /**
+   * Set the maximum number of outdated password hashes rewritten at once.
+   *
+   * @param rehashBatchSize the batch size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setRehashBatchSize(int rehashBatchSize) {
+    this.rehashBatchSize = rehashBatchSize;
+    return this;
+  }
+
+  public long getRehashInterval() {
+    return rehashInterval;
+  }
+
+  /**
+   * Set the minimum time between two batches of rewritten password hashes, in milliseconds.
+   *
+   * @param rehashInterval the interval
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setRehashInterval(long rehashInterval) {
+    this.rehashInterval = rehashInterval;
+    return this;
+  }
+
+  public boolean isPrefetchAuthorities() {
+    return prefetchAuthorities;
+  }
+
+  /**
+   * Set whether the roles and permissions of a user are loaded at login, so its authority checks need no query.
+   *
+   * @param prefetchAuthorities whether to load the roles and permissions at login
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setPrefetchAuthorities(boolean prefetchAuthorities) {
+    this.prefetchAuthorities = prefetchAuthorities;
+    return this;
+  }
+
+  public boolean isPipelined() {
+    return pipelined;
+  }
+
+  /**
+   * Set whether an authentication reads the credentials on a single connection, verifies the password while holding
+   * it and only then reads the roles and permissions of the user on it, instead of borrowing one from the pool for
+   * each query.
+   *
+   * @param pipelined whether to run the queries of an authentication on one connection
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setPipelined(boolean pipelined) {
+    this.pipelined = pipelined;
+    return this;
+  }
+
+  public int getStatementCacheSize() {
+    return statementCacheSize;
+  }
+
+  /**
+   * Set how many prepared statements each connection of the pool keeps for reuse, as the
+   * {@code max_statements_per_connection} setting of the JDBC client unless the config already has one. The default
+   * {@code 0} leaves the config unchanged.
+   *
+   * @param statementCacheSize the number of statements cached per connection
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setStatementCacheSize(int statementCacheSize) {
+    this.statementCacheSize = statementCacheSize;
+    return this;
+  }
+
+  public boolean isSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Set whether the users, roles and permissions are loaded in memory when the provider is created, authentications
+   * and authority checks are then served without any query.
+   *
+   * @param snapshot whether to load a snapshot
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setSnapshot(boolean snapshot) {
+    this.snapshot = snapshot;
+    return this;
+  }
+
+  public String getSnapshotChangedUsersQuery() {
+    return snapshotChangedUsersQuery;
+  }
+
+  /**
+   * Set the query returning the names of the users changed since the time it is given, in milliseconds since the
+   * epoch. Without it the snapshot is never refreshed.
+   *
+   * @param snapshotChangedUsersQuery the changed users query
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setSnapshotChangedUsersQuery(String snapshotChangedUsersQuery) {
+    this.snapshotChangedUsersQuery = snapshotChangedUsersQuery;
+    return this;
+  }
+
+  public long getSnapshotRefreshInterval() {
+    return snapshotRefreshInterval;
+  }
+
+  /**
+   * Set the time between two refreshes of the snapshot, in milliseconds.
+   *
+   * @param snapshotRefreshInterval the interval
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setSnapshotRefreshInterval(long snapshotRefreshInterval) {
+    this.snapshotRefreshInterval = snapshotRefreshInterval;
+    return this;
+  }
+
+  public long getUsernameFilterSize() {
+    return usernameFilterSize;
+  }
+
+  /**
+   * Set the number of users the username filter is sized for. Logins with a username missing from the filter are
+   * rejected without any query. The default {@code 0} does not filter usernames.
+   *
+   * @param usernameFilterSize the expected number of users
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setUsernameFilterSize(long usernameFilterSize) {
+    this.usernameFilterSize = usernameFilterSize;
+    return this;
+  }
+
+  public double getUsernameFilterFpp() {
+    return usernameFilterFpp;
+  }
+
+  /**
+   * Set the rate of unknown usernames the username filter lets through to the database.
+   *
+   * @param usernameFilterFpp the false positive rate
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setUsernameFilterFpp(double usernameFilterFpp) {
+    this.usernameFilterFpp = usernameFilterFpp;
+    return this;
+  }
+
+  public String getUsernamesQuery() {
+    return usernamesQuery;
+  }
+
+  /**
+   * Set the query loading every username in the username filter.
+   *
+   * @param usernamesQuery the usernames query
+   * @return a reference to this, so the API can be used fluently
+   */
+  public JDBCAuthOptions setUsernamesQuery(String usernamesQuery) {
+    this.usernamesQuery = usernamesQuery;
+    return this;
+  }
 }
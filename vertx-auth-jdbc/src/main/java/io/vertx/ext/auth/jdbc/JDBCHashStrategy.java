@@ -17,6 +17,11 @@
 package io.vertx.ext.auth.jdbc;
 
 import io.vertx.core.json.JsonArray;
+import io.vertx.ext.auth.PasswordHasher;
+import io.vertx.ext.auth.jdbc.impl.PasswordHasherStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 
 /**
  * Determines how the hashing is computed in the implementation
@@ -27,6 +32,18 @@ import io.vertx.core.json.JsonArray;
  */
 public interface JDBCHashStrategy {
 
+  /**
+   * Create a strategy storing self-describing hashes produced by a {@link PasswordHasher} in the password column,
+   * the salt being part of the hash. Rows still holding a SHA-512 hash of the salt column and the password, as
+   * stored by the default strategy, remain valid.
+   *
+   * @param hasher  the hasher
+   * @return the strategy
+   */
+  static JDBCHashStrategy create(PasswordHasher hasher) {
+    return new PasswordHasherStrategy(hasher);
+  }
+
   /**
    * Compute the hashed password given the unhashed password and the salt
    * @param password  the unhashed password
@@ -48,4 +65,31 @@ public interface JDBCHashStrategy {
    * @return  the salt
    */
   String getSalt(JsonArray row);
+
+  /**
+   * Check a password against the result of the authentication query. The default implementation compares the
+   * stored hash with {@link #computeHash(String, String)} in constant time.
+   *
+   * @param password  the unhashed password
+   * @param row  the row
+   * @return  whether the password matches
+   */
+  default boolean verify(String password, JsonArray row) {
+    String stored = getHashedStoredPwd(row);
+    String computed = computeHash(password, getSalt(row));
+    return stored != null && computed != null
+      && MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), computed.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Whether the stored hash of a successfully authenticated user should be replaced with a new one computed by
+   * {@link #computeHash(String, String)}, e.g. because it was produced with an older algorithm or weaker parameters.
+   * The default implementation never asks for a rehash.
+   *
+   * @param row  the row
+   * @return  whether the password should be hashed again
+   */
+  default boolean needsRehash(JsonArray row) {
+    return false;
+  }
 }
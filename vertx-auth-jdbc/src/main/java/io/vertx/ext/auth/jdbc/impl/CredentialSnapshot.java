@@ -0,0 +1,216 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.jdbc.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.sql.ResultSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable copy of the users, their roles and the permissions of the roles. Updates build a new snapshot, so
+ * readers never see a partial refresh.
+ * <p>
+ * The role names are shared between all the users and each user only keeps an array of them, the permissions are
+ * kept once per role and only put together for a user when it logs in.
+ */
+final class CredentialSnapshot {
+
+  private static final String[] NO_ROLES = new String[0];
+
+  // the username is followed by the columns of the authentication query
+  private final Map<String, JsonArray> credentials;
+  private final Map<String, String[]> roles;
+  private final Map<String, Set<String>> permissions;
+
+  private CredentialSnapshot(Map<String, JsonArray> credentials, Map<String, String[]> roles,
+                             Map<String, Set<String>> permissions) {
+    this.credentials = credentials;
+    this.roles = roles;
+    this.permissions = permissions;
+  }
+
+  /**
+   * @param users  the username followed by the columns of the authentication query, for each user
+   * @param userRoles  the username and a role, for each role of each user
+   * @param rolePermissions  the role and a permission, for each permission of each role
+   */
+  static CredentialSnapshot load(ResultSet users, ResultSet userRoles, ResultSet rolePermissions) {
+    Map<String, String> names = new HashMap<>();
+    Map<String, JsonArray> credentials = new HashMap<>(users.getNumRows() * 4 / 3 + 1);
+    for (JsonArray row : users.getResults()) {
+      credentials.put(row.getString(0), columns(row));
+    }
+
+    Map<String, List<String>> grouped = new HashMap<>();
+    for (JsonArray row : userRoles.getResults()) {
+      grouped.computeIfAbsent(row.getString(0), k -> new ArrayList<>(2)).add(intern(names, row.getString(1)));
+    }
+    Map<String, String[]> roles = new HashMap<>(grouped.size() * 4 / 3 + 1);
+    for (Map.Entry<String, List<String>> entry : grouped.entrySet()) {
+      roles.put(entry.getKey(), entry.getValue().toArray(NO_ROLES));
+    }
+
+    return new CredentialSnapshot(credentials, roles, permissions(rolePermissions, names));
+  }
+
+  /**
+   * @param changed  the users that changed, mapped to their credentials or {@code null} when they were deleted
+   * @param changedRoles  the roles of the users that changed
+   * @param rolePermissions  the role and a permission, for each permission of each role
+   * @return a new snapshot with the changes applied
+   */
+  CredentialSnapshot update(Map<String, JsonArray> changed, Map<String, List<String>> changedRoles,
+                            ResultSet rolePermissions) {
+    // share the role names with the current snapshot
+    Map<String, String> names = new HashMap<>();
+    for (String role : permissions.keySet()) {
+      names.put(role, role);
+    }
+    Map<String, JsonArray> credentials = new HashMap<>(this.credentials);
+    Map<String, String[]> roles = new HashMap<>(this.roles);
+    for (Map.Entry<String, JsonArray> entry : changed.entrySet()) {
+      String username = entry.getKey();
+      if (entry.getValue() == null) {
+        credentials.remove(username);
+        roles.remove(username);
+        continue;
+      }
+      credentials.put(username, entry.getValue());
+      List<String> userRoles = changedRoles.get(username);
+      if (userRoles == null || userRoles.isEmpty()) {
+        roles.remove(username);
+      } else {
+        String[] array = new String[userRoles.size()];
+        for (int i = 0; i < array.length; i++) {
+          array[i] = intern(names, userRoles.get(i));
+        }
+        roles.put(username, array);
+      }
+    }
+    return new CredentialSnapshot(credentials, roles, permissions(rolePermissions, names));
+  }
+
+  /**
+   * @param written  the parameters of the rehash query for each rewritten hash, the new hash, the username and the
+   *                 old hash
+   * @return a new snapshot with the old hashes replaced, for the users still holding them
+   */
+  CredentialSnapshot rehashed(List<JsonArray> written) {
+    Map<String, JsonArray> credentials = new HashMap<>(this.credentials);
+    for (JsonArray params : written) {
+      JsonArray columns = credentials.get(params.getString(1));
+      if (columns == null) {
+        continue;
+      }
+      int index = columns.getList().indexOf(params.getString(2));
+      if (index != -1) {
+        JsonArray copy = columns.copy();
+        copy.getList().set(index, params.getString(0));
+        credentials.put(params.getString(1), copy);
+      }
+    }
+    return new CredentialSnapshot(credentials, roles, permissions);
+  }
+
+  /**
+   * @return the columns of the authentication query for the user, or {@code null} for an unknown user
+   */
+  JsonArray credentials(String username) {
+    return credentials.get(username);
+  }
+
+  Set<String> roles(String username) {
+    String[] userRoles = roles.getOrDefault(username, NO_ROLES);
+    Set<String> set = new HashSet<>(userRoles.length * 4 / 3 + 1);
+    Collections.addAll(set, userRoles);
+    return set;
+  }
+
+  Set<String> permissions(String username) {
+    Set<String> set = new HashSet<>();
+    for (String role : roles.getOrDefault(username, NO_ROLES)) {
+      set.addAll(permissions.getOrDefault(role, Collections.emptySet()));
+    }
+    return set;
+  }
+
+  int size() {
+    return credentials.size();
+  }
+
+  /**
+   * @return an estimate of the heap used by the snapshot in bytes, counting 16 bytes per object header, 8 per
+   * reference and one byte per character
+   */
+  long footprint() {
+    long bytes = 0;
+    Set<String> shared = new HashSet<>();
+    for (Map.Entry<String, JsonArray> entry : credentials.entrySet()) {
+      // hash map entry, json array and its list
+      bytes += 48 + 32 + 40 + 8L * entry.getValue().size() + string(entry.getKey());
+      for (Object column : entry.getValue()) {
+        bytes += column instanceof String ? string((String) column) : 16;
+      }
+    }
+    for (String[] userRoles : roles.values()) {
+      bytes += 48 + 16 + 8L * userRoles.length;
+      Collections.addAll(shared, userRoles);
+    }
+    for (Map.Entry<String, Set<String>> entry : permissions.entrySet()) {
+      shared.add(entry.getKey());
+      // a hash set is a hash map, with an entry per element
+      bytes += 48 + 64 + 48L * entry.getValue().size();
+      for (String permission : entry.getValue()) {
+        bytes += string(permission);
+      }
+    }
+    for (String name : shared) {
+      bytes += string(name);
+    }
+    return bytes;
+  }
+
+  private static long string(String s) {
+    return 40 + s.length();
+  }
+
+  /**
+   * @return the columns of the authentication query in a row of the users query, i.e. without the username
+   */
+  static JsonArray columns(JsonArray row) {
+    return new JsonArray(new ArrayList<>(row.getList().subList(1, row.size())));
+  }
+
+  private static String intern(Map<String, String> names, String name) {
+    return names.computeIfAbsent(name, k -> k);
+  }
+
+  private static Map<String, Set<String>> permissions(ResultSet rolePermissions, Map<String, String> names) {
+    Map<String, Set<String>> permissions = new HashMap<>();
+    for (JsonArray row : rolePermissions.getResults()) {
+      permissions.computeIfAbsent(intern(names, row.getString(0)), k -> new HashSet<>()).add(row.getString(1));
+    }
+    return permissions;
+  }
+}
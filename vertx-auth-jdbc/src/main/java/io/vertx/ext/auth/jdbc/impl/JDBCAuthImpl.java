@@ -18,25 +18,40 @@ package io.vertx.ext.auth.jdbc.impl;
 
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
-import io.vertx.core.VertxException;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.auth.AuthMetrics;
 import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.impl.BatchingWriter;
+import io.vertx.ext.auth.impl.BloomFilter;
+import io.vertx.ext.auth.impl.UsernameFilter;
+import io.vertx.ext.auth.impl.hash.SaltedDigest;
 import io.vertx.ext.auth.jdbc.JDBCAuth;
 import io.vertx.ext.auth.jdbc.JDBCHashStrategy;
 import io.vertx.ext.jdbc.JDBCClient;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLConnection;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 
 /**
@@ -47,19 +62,52 @@ public class JDBCAuthImpl implements AuthProvider, JDBCAuth {
 
   private static final Logger log = LoggerFactory.getLogger(JDBCAuthImpl.class);
 
+  private static final int MAX_PENDING_REHASHES = 10000;
+
+  // beyond that many parameters some databases reject an IN list
+  private static final int MAX_BATCH_SIZE = 1000;
+
   private JDBCClient client;
   private String authenticateQuery = DEFAULT_AUTHENTICATE_QUERY;
   private String rolesQuery = DEFAULT_ROLES_QUERY;
   private String permissionsQuery = DEFAULT_PERMISSIONS_QUERY;
+  private String rolesBatchQuery;
+  private String permissionsBatchQuery;
   private String rolePrefix = DEFAULT_ROLE_PREFIX;
   private JDBCHashStrategy strategy = new DefaultHashStrategy();
+  private AuthWorkerPool hashingPool;
+  private String rehashQuery = DEFAULT_REHASH_QUERY;
+  private int rehashBatchSize = DEFAULT_REHASH_BATCH_SIZE;
+  private long rehashInterval = DEFAULT_REHASH_INTERVAL;
+  private BatchingWriter<String, JsonArray> rehashWriter;
+  private boolean prefetchAuthorities;
+  private boolean pipelined;
+  private String snapshotUsersQuery = DEFAULT_SNAPSHOT_USERS_QUERY;
+  private String snapshotRolesQuery = DEFAULT_SNAPSHOT_ROLES_QUERY;
+  private String snapshotPermissionsQuery = DEFAULT_SNAPSHOT_PERMISSIONS_QUERY;
+  private String snapshotUsersBatchQuery;
+  private String snapshotRolesBatchQuery;
+  private String changedUsersQuery;
+  private long snapshotRefreshInterval;
+  private volatile CredentialSnapshot snapshot;
+  // time of the previous refresh, in milliseconds since the epoch
+  private volatile long snapshotSince;
+  // bumped by every load and close, a refresh started before is dropped
+  private long snapshotLoads;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private Vertx snapshotVertx;
+  private long snapshotTimer = -1;
+  private String usernamesQuery = DEFAULT_USERNAMES_QUERY;
+  private volatile UsernameFilter usernameFilter;
+  private final AuthMetrics metrics = AuthMetrics.metrics("jdbc");
 
   public JDBCAuthImpl(JDBCClient client) {
     this.client = client;
   }
 
   @Override
-  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
+  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> handler) {
+    Handler<AsyncResult<User>> resultHandler = metrics.authentication(handler);
 
     String username = authInfo.getString("username");
     if (username == null) {
@@ -71,35 +119,143 @@ public class JDBCAuthImpl implements AuthProvider, JDBCAuth {
       resultHandler.handle(Future.failedFuture("authInfo must contain password in 'password' field"));
       return;
     }
-    executeQuery(authenticateQuery, new JsonArray().add(username), resultHandler, rs -> {
+    final UsernameFilter usernameFilter = this.usernameFilter;
+    if (usernameFilter != null && !usernameFilter.mightExist(username)) {
+      resultHandler.handle(Future.failedFuture("Invalid username/password"));
+      return;
+    }
+    final CredentialSnapshot snapshot = this.snapshot;
+    if (snapshot != null) {
+      JsonArray row = snapshot.credentials(username);
+      if (row == null) {
+        resultHandler.handle(Future.failedFuture("Invalid username/password"));
+      } else {
+        verify(row, username, password, snapshot.roles(username), snapshot.permissions(username), resultHandler);
+      }
+      return;
+    }
 
-      switch (rs.getNumRows()) {
-        case 0: {
-          // Unknown user/password
-          resultHandler.handle(Future.failedFuture("Invalid username/password"));
-          break;
+    JsonArray params = new JsonArray().add(username);
+    if (pipelined) {
+      authenticatePipelined(params, username, password, resultHandler);
+    } else if (prefetchAuthorities) {
+      // the roles and permissions come with the credentials, on the same connection
+      executeQueries(Arrays.asList(authenticateQuery, rolesQuery, permissionsQuery), params, resultHandler, rss ->
+        authenticate(rss.get(0), username, password, JDBCUser.toSet(rss.get(1)), JDBCUser.toSet(rss.get(2)), resultHandler));
+    } else {
+      executeQuery(authenticateQuery, params, resultHandler, rs ->
+        authenticate(rs, username, password, null, null, resultHandler));
+    }
+  }
+
+  /**
+   * Authenticate on a single connection borrowed for this call: the password is verified while the connection is held
+   * and only then are the roles and permissions read on it, so a wrong password costs no more than the credentials
+   * query.
+   */
+  private void authenticatePipelined(JsonArray params, String username, String password,
+                                     Handler<AsyncResult<User>> resultHandler) {
+    metrics.connectionAcquired();
+    client.getConnection(res -> {
+      if (res.failed()) {
+        metrics.backendError(res.cause());
+        resultHandler.handle(Future.failedFuture(res.cause()));
+        return;
+      }
+      SQLConnection conn = res.result();
+      conn.queryWithParams(authenticateQuery, params, authRes -> {
+        if (authRes.failed()) {
+          conn.close(closeRes -> {});
+          metrics.backendError(authRes.cause());
+          resultHandler.handle(Future.failedFuture(authRes.cause()));
+          return;
         }
-        case 1: {
-          JsonArray row = rs.getResults().get(0);
-          String hashedStoredPwd = strategy.getHashedStoredPwd(row);
-          String salt = strategy.getSalt(row);
-          String hashedPassword = strategy.computeHash(password, salt);
-          if (hashedStoredPwd.equals(hashedPassword)) {
-            resultHandler.handle(Future.succeededFuture(new JDBCUser(username, this, rolePrefix)));
-          } else {
+        if (authRes.result().getNumRows() != 1) {
+          // unknown user, or several of them
+          conn.close(closeRes -> {});
+          authenticate(authRes.result(), username, password, null, null, resultHandler);
+          return;
+        }
+        JsonArray row = authRes.result().getResults().get(0);
+        final JDBCHashStrategy strategy = this.strategy;
+        hashing(() -> strategy.verify(password, row), verifyRes -> {
+          if (verifyRes.failed()) {
+            conn.close(closeRes -> {});
+            resultHandler.handle(Future.failedFuture(verifyRes.cause()));
+          } else if (!verifyRes.result()) {
+            conn.close(closeRes -> {});
             resultHandler.handle(Future.failedFuture("Invalid username/password"));
+          } else {
+            readAuthorities(conn, params, authoritiesRes -> {
+              conn.close(closeRes -> {});
+              if (authoritiesRes.failed()) {
+                metrics.backendError(authoritiesRes.cause());
+                resultHandler.handle(Future.failedFuture(authoritiesRes.cause()));
+              } else {
+                List<ResultSet> rss = authoritiesRes.result();
+                verified(strategy, row, username, password, JDBCUser.toSet(rss.get(0)), JDBCUser.toSet(rss.get(1)),
+                  resultHandler);
+              }
+            });
           }
-          break;
-        }
-        default: {
-          // More than one row returned!
-          resultHandler.handle(Future.failedFuture("Failure in authentication"));
-          break;
-        }
+        });
+      });
+    });
+  }
+
+  /**
+   * Read the roles and permissions of a user on a connection already borrowed.
+   */
+  private void readAuthorities(SQLConnection conn, JsonArray params, Handler<AsyncResult<List<ResultSet>>> handler) {
+    // once for the roles query and once for the permissions query
+    metrics.connectionReused();
+    metrics.connectionReused();
+    executeQueries(conn, Arrays.asList(rolesQuery, permissionsQuery), 0, Arrays.asList(params, params),
+      new ArrayList<>(2), handler);
+  }
+
+  private void authenticate(ResultSet rs, String username, String password, Set<String> roles,
+                            Set<String> permissions, Handler<AsyncResult<User>> resultHandler) {
+    switch (rs.getNumRows()) {
+      case 0: {
+        // Unknown user/password
+        resultHandler.handle(Future.failedFuture("Invalid username/password"));
+        break;
+      }
+      case 1: {
+        verify(rs.getResults().get(0), username, password, roles, permissions, resultHandler);
+        break;
+      }
+      default: {
+        // More than one row returned!
+        resultHandler.handle(Future.failedFuture("Failure in authentication"));
+        break;
+      }
+    }
+  }
+
+  private void verify(JsonArray row, String username, String password, Set<String> roles, Set<String> permissions,
+                      Handler<AsyncResult<User>> resultHandler) {
+    final JDBCHashStrategy strategy = this.strategy;
+    hashing(() -> strategy.verify(password, row), verifyRes -> {
+      if (verifyRes.failed()) {
+        resultHandler.handle(Future.failedFuture(verifyRes.cause()));
+      } else if (verifyRes.result()) {
+        verified(strategy, row, username, password, roles, permissions, resultHandler);
+      } else {
+        resultHandler.handle(Future.failedFuture("Invalid username/password"));
       }
     });
   }
 
+  private void verified(JDBCHashStrategy strategy, JsonArray row, String username, String password, Set<String> roles,
+                        Set<String> permissions, Handler<AsyncResult<User>> resultHandler) {
+    resultHandler.handle(Future.succeededFuture(new JDBCUser(username, this, rolePrefix, roles, permissions)));
+    if (rehashQuery() != null && strategy.needsRehash(row)) {
+      rehash(strategy, username, password, row);
+    }
+  }
+
   @Override
   public JDBCAuth setAuthenticationQuery(String authenticationQuery) {
     this.authenticateQuery = authenticationQuery;
@@ -118,6 +274,18 @@ public class JDBCAuthImpl implements AuthProvider, JDBCAuth {
     return this;
   }
 
+  @Override
+  public JDBCAuth setRolesBatchQuery(String rolesBatchQuery) {
+    this.rolesBatchQuery = rolesBatchQuery;
+    return this;
+  }
+
+  @Override
+  public JDBCAuth setPermissionsBatchQuery(String permissionsBatchQuery) {
+    this.permissionsBatchQuery = permissionsBatchQuery;
+    return this;
+  }
+
   @Override
   public JDBCAuth setRolePrefix(String rolePrefix) {
     this.rolePrefix = rolePrefix;
@@ -130,47 +298,546 @@ public class JDBCAuthImpl implements AuthProvider, JDBCAuth {
     return this;
   }
 
+  @Override
+  public JDBCAuth setHashingPool(AuthWorkerPool hashingPool) {
+    this.hashingPool = hashingPool;
+    return this;
+  }
+
+  @Override
+  public JDBCAuth setRehashQuery(String rehashQuery) {
+    this.rehashQuery = rehashQuery;
+    return this;
+  }
+
+  @Override
+  public synchronized JDBCAuth setRehashRate(int batchSize, long interval) {
+    if (batchSize < 1 || interval < 1) {
+      throw new IllegalArgumentException("batchSize and interval must be > 0");
+    }
+    this.rehashBatchSize = batchSize;
+    this.rehashInterval = interval;
+    this.rehashWriter = null;
+    return this;
+  }
+
+  @Override
+  public JDBCAuth setPrefetchAuthorities(boolean prefetchAuthorities) {
+    this.prefetchAuthorities = prefetchAuthorities;
+    return this;
+  }
+
+  @Override
+  public JDBCAuth setPipelined(boolean pipelined) {
+    this.pipelined = pipelined;
+    return this;
+  }
+
+  @Override
+  public JDBCAuth setSnapshotQueries(String usersQuery, String rolesQuery, String permissionsQuery) {
+    this.snapshotUsersQuery = usersQuery;
+    this.snapshotRolesQuery = rolesQuery;
+    this.snapshotPermissionsQuery = permissionsQuery;
+    return this;
+  }
+
+  @Override
+  public JDBCAuth setSnapshotBatchQueries(String usersBatchQuery, String rolesBatchQuery) {
+    this.snapshotUsersBatchQuery = usersBatchQuery;
+    this.snapshotRolesBatchQuery = rolesBatchQuery;
+    return this;
+  }
+
+  @Override
+  public JDBCAuth setSnapshotRefresh(String changedUsersQuery, long refreshInterval) {
+    if (changedUsersQuery != null && refreshInterval < 1) {
+      throw new IllegalArgumentException("refreshInterval must be > 0");
+    }
+    this.changedUsersQuery = changedUsersQuery;
+    this.snapshotRefreshInterval = refreshInterval;
+    return this;
+  }
+
+  @Override
+  public synchronized void loadSnapshot(Vertx vertx, Handler<AsyncResult<JsonObject>> resultHandler) {
+    if (snapshotTimer != -1) {
+      snapshotVertx.cancelTimer(snapshotTimer);
+      snapshotTimer = -1;
+    }
+    final long start = System.currentTimeMillis();
+    executeQueries(Arrays.asList(snapshotUsersQuery, snapshotRolesQuery, snapshotPermissionsQuery), new JsonArray(),
+      resultHandler, rss -> {
+        final CredentialSnapshot loaded;
+        try {
+          loaded = CredentialSnapshot.load(rss.get(0), rss.get(1), rss.get(2));
+        } catch (RuntimeException e) {
+          resultHandler.handle(Future.failedFuture(e));
+          return;
+        }
+        synchronized (this) {
+          snapshotLoads++;
+          snapshotSince = start;
+          snapshot = loaded;
+        }
+
+        final JsonObject stats = new JsonObject()
+          .put("users", loaded.size())
+          .put("loadTime", System.currentTimeMillis() - start)
+          .put("footprint", loaded.footprint());
+        log.info("Loaded credential snapshot " + stats.encode());
+
+        synchronized (this) {
+          if (changedUsersQuery != null) {
+            snapshotVertx = vertx;
+            snapshotTimer = vertx.setPeriodic(snapshotRefreshInterval, id -> refreshSnapshot());
+          }
+        }
+        resultHandler.handle(Future.succeededFuture(stats));
+      });
+  }
+
+  @Override
+  public synchronized void close() {
+    if (snapshotTimer != -1) {
+      snapshotVertx.cancelTimer(snapshotTimer);
+      snapshotTimer = -1;
+    }
+    snapshotLoads++;
+    snapshot = null;
+  }
+
+  @Override
+  public JDBCAuth setUsernamesQuery(String usernamesQuery) {
+    this.usernamesQuery = usernamesQuery;
+    return this;
+  }
+
+  @Override
+  public JDBCAuth setUsernameFilter(long expectedUsers, double fpp) {
+    this.usernameFilter = expectedUsers > 0 ? new UsernameFilter(expectedUsers, fpp) : null;
+    return this;
+  }
+
+  @Override
+  public void loadUsernameFilter(Handler<AsyncResult<JsonObject>> resultHandler) {
+    final UsernameFilter usernameFilter = this.usernameFilter;
+    if (usernameFilter == null) {
+      resultHandler.handle(Future.failedFuture("No username filter was set"));
+      return;
+    }
+    final String query = usernamesQuery;
+    final long start = System.currentTimeMillis();
+    metrics.connectionAcquired();
+    client.getConnection(res -> {
+      if (res.failed()) {
+        metrics.backendError(res.cause());
+        resultHandler.handle(Future.failedFuture(res.cause()));
+        return;
+      }
+      SQLConnection conn = res.result();
+      BloomFilter loading = usernameFilter.load();
+      conn.queryStream(query, streamRes -> {
+        if (streamRes.failed()) {
+          conn.close(closeRes -> {});
+          metrics.backendError(streamRes.cause());
+          resultHandler.handle(Future.failedFuture(streamRes.cause()));
+          return;
+        }
+        final long[] count = {0};
+        streamRes.result()
+          .handler(row -> {
+            usernameFilter.put(loading, row.getString(0));
+            count[0]++;
+          })
+          .exceptionHandler(t -> {
+            conn.close(closeRes -> {});
+            metrics.backendError(t);
+            resultHandler.handle(Future.failedFuture(t));
+          })
+          .endHandler(v -> {
+            conn.close(closeRes -> {});
+            usernameFilter.loaded(loading);
+            final JsonObject stats = new JsonObject()
+              .put("users", count[0])
+              .put("loadTime", System.currentTimeMillis() - start)
+              .put("footprint", loading.sizeInBytes());
+            log.info("Loaded username filter " + stats.encode());
+            resultHandler.handle(Future.succeededFuture(stats));
+          });
+      });
+    });
+  }
+
+  @Override
+  public JDBCAuth addUsername(String username) {
+    final UsernameFilter usernameFilter = this.usernameFilter;
+    if (usernameFilter != null) {
+      usernameFilter.add(username);
+    }
+    return this;
+  }
+
+  /**
+   * Read again the users changed since the previous refresh and swap in a new snapshot. A refresh is skipped while the
+   * previous one is still running.
+   */
+  private void refreshSnapshot() {
+    final long loads;
+    synchronized (this) {
+      loads = snapshotLoads;
+    }
+    final String query = changedUsersQuery;
+    if (snapshot == null || query == null || !refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    final long start = System.currentTimeMillis();
+    metrics.connectionAcquired();
+    client.getConnection(res -> {
+      if (res.failed()) {
+        refreshing.set(false);
+        metrics.backendError(res.cause());
+        log.warn("Could not refresh the credential snapshot", res.cause());
+        return;
+      }
+      SQLConnection conn = res.result();
+      refreshSnapshot(conn, query, ar -> {
+        conn.close(closeRes -> {});
+        if (ar.succeeded()) {
+          synchronized (this) {
+            // unless closed or loaded again in the meantime, the changes go on top of the rewritten hashes
+            if (snapshot != null && snapshotLoads == loads) {
+              snapshotSince = start;
+              snapshot = ar.result().apply(snapshot);
+            }
+          }
+        } else {
+          metrics.backendError(ar.cause());
+          log.warn("Could not refresh the credential snapshot", ar.cause());
+        }
+        refreshing.set(false);
+      });
+    });
+  }
+
+  /**
+   * Read the changed users, a batch of them at a time with the snapshot batch queries or one by one with the
+   * authentication and roles queries when those were overridden without batch queries.
+   */
+  private void refreshSnapshot(SQLConnection conn, String query,
+                               Handler<AsyncResult<UnaryOperator<CredentialSnapshot>>> resultHandler) {
+    conn.queryWithParams(query, new JsonArray().add(snapshotSince), changedRes -> {
+      if (changedRes.failed()) {
+        resultHandler.handle(Future.failedFuture(changedRes.cause()));
+        return;
+      }
+      // a user changed several times is listed once
+      Set<String> distinct = new LinkedHashSet<>();
+      for (JsonArray row : changedRes.result().getResults()) {
+        distinct.add(row.getString(0));
+      }
+      List<String> usernames = new ArrayList<>(distinct);
+      Map<String, JsonArray> changed = new HashMap<>();
+      Map<String, List<String>> changedRoles = new HashMap<>();
+      Handler<AsyncResult<Void>> readHandler = ar -> {
+        if (ar.failed()) {
+          resultHandler.handle(Future.failedFuture(ar.cause()));
+          return;
+        }
+        conn.query(snapshotPermissionsQuery, permissionsRes -> {
+          if (permissionsRes.failed()) {
+            resultHandler.handle(Future.failedFuture(permissionsRes.cause()));
+            return;
+          }
+          ResultSet rolePermissions = permissionsRes.result();
+          resultHandler.handle(Future.succeededFuture(
+            current -> current.update(changed, changedRoles, rolePermissions)));
+        });
+      };
+      if (getSnapshotUsersBatchQuery(1) != null && getSnapshotRolesBatchQuery(1) != null) {
+        readUserBatches(conn, usernames, 0, changed, changedRoles, readHandler);
+      } else {
+        readUsers(conn, usernames, 0, changed, changedRoles, readHandler);
+      }
+    });
+  }
+
+  private void readUserBatches(SQLConnection conn, List<String> usernames, int from, Map<String, JsonArray> changed,
+                               Map<String, List<String>> changedRoles, Handler<AsyncResult<Void>> resultHandler) {
+    if (from == usernames.size()) {
+      resultHandler.handle(Future.succeededFuture());
+      return;
+    }
+    List<String> batch = usernames.subList(from, Math.min(from + MAX_BATCH_SIZE, usernames.size()));
+    JsonArray params = new JsonArray(new ArrayList<>(batch));
+    conn.queryWithParams(getSnapshotUsersBatchQuery(batch.size()), params, usersRes -> {
+      if (usersRes.failed()) {
+        resultHandler.handle(Future.failedFuture(usersRes.cause()));
+        return;
+      }
+      // no credentials for a deleted user
+      for (String username : batch) {
+        changed.put(username, null);
+      }
+      for (JsonArray row : usersRes.result().getResults()) {
+        changed.put(row.getString(0), CredentialSnapshot.columns(row));
+        addUsername(row.getString(0));
+      }
+      conn.queryWithParams(getSnapshotRolesBatchQuery(batch.size()), params, rolesRes -> {
+        if (rolesRes.failed()) {
+          resultHandler.handle(Future.failedFuture(rolesRes.cause()));
+          return;
+        }
+        for (JsonArray row : rolesRes.result().getResults()) {
+          changedRoles.computeIfAbsent(row.getString(0), k -> new ArrayList<>(2)).add(row.getString(1));
+        }
+        readUserBatches(conn, usernames, from + batch.size(), changed, changedRoles, resultHandler);
+      });
+    });
+  }
+
+  private void readUsers(SQLConnection conn, List<String> usernames, int index, Map<String, JsonArray> changed,
+                         Map<String, List<String>> changedRoles, Handler<AsyncResult<Void>> resultHandler) {
+    if (index == usernames.size()) {
+      resultHandler.handle(Future.succeededFuture());
+      return;
+    }
+    String username = usernames.get(index);
+    JsonArray params = new JsonArray().add(username);
+    conn.queryWithParams(authenticateQuery, params, credentialsRes -> {
+      if (credentialsRes.failed()) {
+        resultHandler.handle(Future.failedFuture(credentialsRes.cause()));
+        return;
+      }
+      ResultSet rs = credentialsRes.result();
+      // no credentials for a deleted user
+      if (rs.getNumRows() == 1) {
+        changed.put(username, rs.getResults().get(0));
+        addUsername(username);
+      } else {
+        changed.put(username, null);
+      }
+      conn.queryWithParams(rolesQuery, params, rolesRes -> {
+        if (rolesRes.failed()) {
+          resultHandler.handle(Future.failedFuture(rolesRes.cause()));
+          return;
+        }
+        List<String> roles = new ArrayList<>();
+        for (JsonArray row : rolesRes.result().getResults()) {
+          roles.add(row.getString(0));
+        }
+        changedRoles.put(username, roles);
+        readUsers(conn, usernames, index + 1, changed, changedRoles, resultHandler);
+      });
+    });
+  }
+
+  /**
+   * Hash the password again and queue the new hash, replacing the stored one in the background.
+   */
+  private void rehash(JDBCHashStrategy strategy, String username, String password, JsonArray row) {
+    Context context = Vertx.currentContext();
+    if (context == null) {
+      return;
+    }
+    String stored = strategy.getHashedStoredPwd(row);
+    String salt = strategy.getSalt(row);
+    hashing(() -> strategy.computeHash(password, salt), res -> {
+      if (res.succeeded()) {
+        JsonArray params = new JsonArray().add(res.result()).add(username).add(stored);
+        if (!rehashWriter().submit(context.owner(), username, params)) {
+          log.debug("Too many pending hashes, not rewriting the hash of " + username);
+        }
+      } else {
+        log.debug("Could not rehash the password of " + username, res.cause());
+      }
+    });
+  }
+
+  /**
+   * @return the rehash query, or {@code null} when hashes are not rewritten. The default rehash query only applies to
+   * the default authentication query, an overridden query reads another table and has to come with its own.
+   */
+  private String rehashQuery() {
+    final String rehashQuery = this.rehashQuery;
+    if (DEFAULT_REHASH_QUERY.equals(rehashQuery) && !DEFAULT_AUTHENTICATE_QUERY.equals(authenticateQuery)) {
+      return null;
+    }
+    return rehashQuery;
+  }
+
+  private synchronized BatchingWriter<String, JsonArray> rehashWriter() {
+    if (rehashWriter == null) {
+      rehashWriter = new BatchingWriter<>(rehashBatchSize, rehashInterval, MAX_PENDING_REHASHES, this::writeHashes);
+    }
+    return rehashWriter;
+  }
+
+  private void writeHashes(Map<String, JsonArray> batch, Handler<AsyncResult<Void>> resultHandler) {
+    String query = rehashQuery();
+    if (query == null) {
+      resultHandler.handle(Future.succeededFuture());
+      return;
+    }
+    metrics.connectionAcquired();
+    client.getConnection(res -> {
+      if (res.succeeded()) {
+        SQLConnection conn = res.result();
+        List<JsonArray> written = new ArrayList<>();
+        writeHashes(conn, query, new ArrayList<>(batch.values()), 0, written, ar -> {
+          rehashed(written);
+          if (ar.failed()) {
+            metrics.backendError(ar.cause());
+            log.warn("Could not rewrite password hashes", ar.cause());
+          }
+          conn.close(closeRes -> {});
+          resultHandler.handle(ar);
+        });
+      } else {
+        metrics.backendError(res.cause());
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      }
+    });
+  }
+
+  private void writeHashes(SQLConnection conn, String query, List<JsonArray> params, int index, List<JsonArray> written,
+                           Handler<AsyncResult<Void>> resultHandler) {
+    if (index == params.size()) {
+      resultHandler.handle(Future.succeededFuture());
+      return;
+    }
+    conn.updateWithParams(query, params.get(index), updateRes -> {
+      if (updateRes.succeeded()) {
+        // nothing is updated when the hash was changed in the meantime
+        if (updateRes.result().getUpdated() > 0) {
+          written.add(params.get(index));
+        }
+        writeHashes(conn, query, params, index + 1, written, resultHandler);
+      } else {
+        resultHandler.handle(Future.failedFuture(updateRes.cause()));
+      }
+    });
+  }
+
+  /**
+   * Put the rewritten hashes in the snapshot, so they are not rewritten again at the next login.
+   */
+  private synchronized void rehashed(List<JsonArray> written) {
+    if (snapshot != null && !written.isEmpty()) {
+      snapshot = snapshot.rehashed(written);
+    }
+  }
+
+  /**
+   * Run some password hashing work, inline or on the hashing pool when there is one.
+   */
+  private <T> void hashing(Callable<T> task, Handler<AsyncResult<T>> resultHandler) {
+    final AuthWorkerPool hashingPool = this.hashingPool;
+    if (hashingPool == null) {
+      long start = System.nanoTime();
+      T result;
+      try {
+        result = task.call();
+      } catch (Exception e) {
+        resultHandler.handle(Future.failedFuture(e));
+        return;
+      } finally {
+        metrics.executionTime(System.nanoTime() - start);
+      }
+      resultHandler.handle(Future.succeededFuture(result));
+    } else {
+      hashingPool.execute(() -> {
+        long start = System.nanoTime();
+        try {
+          return task.call();
+        } finally {
+          metrics.workerTime(System.nanoTime() - start);
+        }
+      }, resultHandler);
+    }
+  }
+
   protected <T> void executeQuery(String query, JsonArray params, Handler<AsyncResult<T>> resultHandler,
                                 Consumer<ResultSet> resultSetConsumer) {
-    client.getConnection(res -> {
+    getConnection(res -> {
       if (res.succeeded()) {
         SQLConnection conn = res.result();
         conn.queryWithParams(query, params, queryRes -> {
+          conn.close(closeRes -> {});
           if (queryRes.succeeded()) {
             ResultSet rs = queryRes.result();
             resultSetConsumer.accept(rs);
           } else {
+            metrics.backendError(queryRes.cause());
             resultHandler.handle(Future.failedFuture(queryRes.cause()));
           }
+        });
+      } else {
+        metrics.backendError(res.cause());
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      }
+    });
+  }
+
+  /**
+   * Run several queries, all taking the same parameters, one after the other on a single connection.
+   */
+  protected <T> void executeQueries(List<String> queries, JsonArray params, Handler<AsyncResult<T>> resultHandler,
+                                    Consumer<List<ResultSet>> resultSetsConsumer) {
+    executeQueries(queries, Collections.nCopies(queries.size(), params), resultHandler, resultSetsConsumer);
+  }
+
+  /**
+   * Run several queries, each with its own parameters, one after the other on a single connection.
+   */
+  protected <T> void executeQueries(List<String> queries, List<JsonArray> params,
+                                    Handler<AsyncResult<T>> resultHandler,
+                                    Consumer<List<ResultSet>> resultSetsConsumer) {
+    getConnection(res -> {
+      if (res.succeeded()) {
+        SQLConnection conn = res.result();
+        executeQueries(conn, queries, 0, params, new ArrayList<>(queries.size()), ar -> {
           conn.close(closeRes -> {});
+          if (ar.succeeded()) {
+            resultSetsConsumer.accept(ar.result());
+          } else {
+            metrics.backendError(ar.cause());
+            resultHandler.handle(Future.failedFuture(ar.cause()));
+          }
         });
       } else {
+        metrics.backendError(res.cause());
         resultHandler.handle(Future.failedFuture(res.cause()));
       }
     });
   }
 
-  private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+  private void getConnection(Handler<AsyncResult<SQLConnection>> resultHandler) {
+    metrics.connectionAcquired();
+    client.getConnection(resultHandler);
+  }
 
-  public static String bytesToHex(byte[] bytes) {
-    char[] chars = new char[bytes.length * 2];
-    for (int i = 0; i < bytes.length; i++) {
-      int x = 0xFF & bytes[i];
-      chars[i * 2] = HEX_CHARS[x >>> 4];
-      chars[1 + i * 2] = HEX_CHARS[0x0F & x];
+  private void executeQueries(SQLConnection conn, List<String> queries, int index, List<JsonArray> params,
+                              List<ResultSet> resultSets, Handler<AsyncResult<List<ResultSet>>> resultHandler) {
+    if (index == queries.size()) {
+      resultHandler.handle(Future.succeededFuture(resultSets));
+      return;
     }
-    return new String(chars);
+    conn.queryWithParams(queries.get(index), params.get(index), queryRes -> {
+      if (queryRes.succeeded()) {
+        resultSets.add(queryRes.result());
+        executeQueries(conn, queries, index + 1, params, resultSets, resultHandler);
+      } else {
+        resultHandler.handle(Future.failedFuture(queryRes.cause()));
+      }
+    });
+  }
+
+  public static String bytesToHex(byte[] bytes) {
+    return SaltedDigest.bytesToHex(bytes);
   }
 
   public static String computeHash(String password, String salt, String algo) {
-    try {
-      MessageDigest md = MessageDigest.getInstance(algo);
-      String concat = (salt == null ? "" : salt) + password;
-      byte[] bHash = md.digest(concat.getBytes(StandardCharsets.UTF_8));
-      return bytesToHex(bHash);
-    } catch (NoSuchAlgorithmException e) {
-      throw new VertxException(e);
-    }
+    return SaltedDigest.computeHash(password, salt, algo);
   }
 
   String getRolesQuery() {
@@ -181,6 +848,61 @@ public class JDBCAuthImpl implements AuthProvider, JDBCAuth {
     return permissionsQuery;
   }
 
+  /**
+   * @return the roles batch query for that many roles, or {@code null} to read all the roles with the roles query
+   */
+  String getRolesBatchQuery(int size) {
+    return batchQuery(rolesBatchQuery, rolesQuery, DEFAULT_ROLES_QUERY, DEFAULT_ROLES_BATCH_QUERY, size);
+  }
+
+  /**
+   * @return the permissions batch query for that many permissions, or {@code null} to read all the permissions with
+   * the permissions query
+   */
+  String getPermissionsBatchQuery(int size) {
+    return batchQuery(permissionsBatchQuery, permissionsQuery, DEFAULT_PERMISSIONS_QUERY,
+      DEFAULT_PERMISSIONS_BATCH_QUERY, size);
+  }
+
+  /**
+   * @return the query reading the credentials of that many changed users, or {@code null} to read them one by one
+   */
+  private String getSnapshotUsersBatchQuery(int size) {
+    return batchQuery(snapshotUsersBatchQuery, snapshotUsersQuery, DEFAULT_SNAPSHOT_USERS_QUERY,
+      DEFAULT_SNAPSHOT_USERS_BATCH_QUERY, size);
+  }
+
+  /**
+   * @return the query reading the roles of that many changed users, or {@code null} to read them one by one
+   */
+  private String getSnapshotRolesBatchQuery(int size) {
+    return batchQuery(snapshotRolesBatchQuery, snapshotRolesQuery, DEFAULT_SNAPSHOT_ROLES_QUERY,
+      DEFAULT_SNAPSHOT_ROLES_BATCH_QUERY, size);
+  }
+
+  /**
+   * Expand the {@code (...)} placeholder of a batch query to a parameter per element. The default batch query only
+   * applies to the default query, an overridden query has to come with its own batch query.
+   */
+  private static String batchQuery(String batchQuery, String query, String defaultQuery, String defaultBatchQuery,
+                                   int size) {
+    if (batchQuery == null && defaultQuery.equals(query)) {
+      batchQuery = defaultBatchQuery;
+    }
+    if (batchQuery == null || size > MAX_BATCH_SIZE) {
+      return null;
+    }
+    StringBuilder params = new StringBuilder("(");
+    for (int i = 0; i < size; i++) {
+      params.append(i == 0 ? "?" : ", ?");
+    }
+    return batchQuery.replace("(...)", params.append(')'));
+  }
+
+  AuthMetrics getMetrics() {
+    return metrics;
+  }
+
   private class DefaultHashStrategy implements JDBCHashStrategy {
 
     @Override
@@ -197,6 +919,11 @@ public class JDBCAuthImpl implements AuthProvider, JDBCAuth {
     public String getSalt(JsonArray row) {
       return row.getString(1);
     }
+
+    @Override
+    public boolean verify(String password, JsonArray row) {
+      return SaltedDigest.verify(password, getSalt(row), getHashedStoredPwd(row), "SHA-512");
+    }
   }
 
 }
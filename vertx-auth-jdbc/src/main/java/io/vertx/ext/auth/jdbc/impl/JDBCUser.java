@@ -23,9 +23,19 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthMetrics;
 import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.sql.ResultSet;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  *
@@ -39,22 +49,119 @@ public class JDBCUser extends AbstractUser {
 
   private String rolePrefix;
 
+  // a negative int where earlier versions wrote the length of the username, so that their buffers stay readable
+  private static final int VERSION_1 = -1;
+
+  // loaded at login when prefetching, otherwise null and queried on each check
+  private Set<String> roles;
+  private Set<String> permissions;
+
   public JDBCUser() {
   }
 
   JDBCUser(String username, JDBCAuthImpl authProvider, String rolePrefix) {
+    this(username, authProvider, rolePrefix, null, null);
+  }
+
+  JDBCUser(String username, JDBCAuthImpl authProvider, String rolePrefix, Set<String> roles, Set<String> permissions) {
     this.username = username;
     this.authProvider = authProvider;
     this.rolePrefix = rolePrefix;
+    this.roles = roles;
+    this.permissions = permissions;
   }
 
   @Override
   public void doIsPermitted(String permissionOrRole, Handler<AsyncResult<Boolean>> resultHandler) {
+    if (roles != null) {
+      resultHandler.handle(Future.succeededFuture(has(permissionOrRole, roles, permissions)));
+      return;
+    }
     if (permissionOrRole != null && permissionOrRole.startsWith(rolePrefix)) {
-      hasRoleOrPermission(permissionOrRole.substring(rolePrefix.length()), authProvider.getRolesQuery(), resultHandler);
+      hasRoleOrPermission(permissionOrRole.substring(rolePrefix.length()), authProvider.getRolesBatchQuery(1),
+        authProvider.getRolesQuery(), resultHandler);
+    } else {
+      hasRoleOrPermission(permissionOrRole, authProvider.getPermissionsBatchQuery(1),
+        authProvider.getPermissionsQuery(), resultHandler);
+    }
+  }
+
+  @Override
+  protected void doIsPermitted(Set<String> permissionsOrRoles, Handler<AsyncResult<Map<String, Boolean>>> resultHandler) {
+    if (roles != null) {
+      resultHandler.handle(Future.succeededFuture(has(permissionsOrRoles, roles, permissions)));
+      return;
+    }
+    List<String> askedRoles = new ArrayList<>();
+    List<String> askedPermissions = new ArrayList<>();
+    for (String permissionOrRole : permissionsOrRoles) {
+      if (permissionOrRole != null && permissionOrRole.startsWith(rolePrefix)) {
+        askedRoles.add(permissionOrRole.substring(rolePrefix.length()));
+      } else {
+        askedPermissions.add(permissionOrRole);
+      }
+    }
+    // at most one query for the roles and one for the permissions, sharing the same connection, only returning the
+    // authorities asked for when there is a batch query
+    List<String> queries = new ArrayList<>(2);
+    List<JsonArray> params = new ArrayList<>(2);
+    if (!askedRoles.isEmpty()) {
+      addQuery(queries, params, authProvider.getRolesBatchQuery(askedRoles.size()), authProvider.getRolesQuery(),
+        askedRoles);
+    }
+    if (!askedPermissions.isEmpty()) {
+      addQuery(queries, params, authProvider.getPermissionsBatchQuery(askedPermissions.size()),
+        authProvider.getPermissionsQuery(), askedPermissions);
+    }
+    final boolean hasRoles = !askedRoles.isEmpty();
+    final boolean hasPermissions = !askedPermissions.isEmpty();
+    Consumer<List<ResultSet>> resultSetsConsumer = resultSets -> {
+      int idx = 0;
+      Set<String> roles = hasRoles ? toSet(resultSets.get(idx++)) : Collections.emptySet();
+      Set<String> permissions = hasPermissions ? toSet(resultSets.get(idx)) : Collections.emptySet();
+      resultHandler.handle(Future.succeededFuture(has(permissionsOrRoles, roles, permissions)));
+    };
+    if (queries.size() == 1) {
+      authProvider.executeQuery(queries.get(0), params.get(0), resultHandler,
+        rs -> resultSetsConsumer.accept(Collections.singletonList(rs)));
     } else {
-      hasRoleOrPermission(permissionOrRole, authProvider.getPermissionsQuery(), resultHandler);
+      authProvider.executeQueries(queries, params, resultHandler, resultSetsConsumer);
+    }
+  }
+
+  /**
+   * Add the batch query for some authorities with their parameters or, without one, the query reading them all.
+   */
+  private void addQuery(List<String> queries, List<JsonArray> params, String batchQuery, String query,
+                        List<String> authorities) {
+    JsonArray queryParams = new JsonArray().add(username);
+    if (batchQuery != null) {
+      authorities.forEach(queryParams::add);
+      queries.add(batchQuery);
+    } else {
+      queries.add(query);
+    }
+    params.add(queryParams);
+  }
+
+  private Map<String, Boolean> has(Set<String> permissionsOrRoles, Set<String> roles, Set<String> permissions) {
+    Map<String, Boolean> results = new HashMap<>();
+    for (String permissionOrRole : permissionsOrRoles) {
+      results.put(permissionOrRole, has(permissionOrRole, roles, permissions));
     }
+    return results;
+  }
+
+  private boolean has(String permissionOrRole, Set<String> roles, Set<String> permissions) {
+    if (permissionOrRole != null && permissionOrRole.startsWith(rolePrefix)) {
+      return roles.contains(permissionOrRole.substring(rolePrefix.length()));
+    }
+    return permissions.contains(permissionOrRole);
+  }
+
+  @Override
+  protected AuthMetrics metrics() {
+    return authProvider != null ? authProvider.getMetrics() : super.metrics();
   }
 
   @Override
@@ -77,18 +184,26 @@ public class JDBCUser extends AbstractUser {
   @Override
   public void writeToBuffer(Buffer buff) {
     super.writeToBuffer(buff);
-    byte[] bytes = username.getBytes(StandardCharsets.UTF_8);
-    buff.appendInt(bytes.length);
-    buff.appendBytes(bytes);
-
-    bytes = rolePrefix.getBytes(StandardCharsets.UTF_8);
-    buff.appendInt(bytes.length);
-    buff.appendBytes(bytes);
+    buff.appendInt(VERSION_1);
+    writeString(buff, username);
+    writeString(buff, rolePrefix);
+    // presence flag of the prefetched authorities
+    if (roles != null) {
+      buff.appendByte((byte) 1);
+      writeStringSet(buff, roles);
+      writeStringSet(buff, permissions);
+    } else {
+      buff.appendByte((byte) 0);
+    }
   }
 
   @Override
   public int readFromBuffer(int pos, Buffer buffer) {
     pos = super.readFromBuffer(pos, buffer);
+    boolean versioned = buffer.getInt(pos) == VERSION_1;
+    if (versioned) {
+      pos += 4;
+    }
     int len = buffer.getInt(pos);
     pos += 4;
     byte[] bytes = buffer.getBytes(pos, pos + len);
@@ -101,11 +216,53 @@ public class JDBCUser extends AbstractUser {
     rolePrefix = new String(bytes, StandardCharsets.UTF_8);
     pos += len;
 
+    if (versioned) {
+      boolean prefetched = buffer.getByte(pos) == 1;
+      pos++;
+      if (prefetched) {
+        roles = new HashSet<>();
+        pos = readStringSet(buffer, roles, pos);
+        permissions = new HashSet<>();
+        pos = readStringSet(buffer, permissions, pos);
+      }
+    }
     return pos;
   }
 
-  private void hasRoleOrPermission(String roleOrPermission, String query, Handler<AsyncResult<Boolean>> resultHandler) {
-    authProvider.executeQuery(query, new JsonArray().add(username), resultHandler, rs -> {
+  private static void writeString(Buffer buff, String str) {
+    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    buff.appendInt(bytes.length);
+    buff.appendBytes(bytes);
+  }
+
+  private static void writeStringSet(Buffer buff, Set<String> set) {
+    buff.appendInt(set.size());
+    for (String entry : set) {
+      writeString(buff, entry);
+    }
+  }
+
+  private static int readStringSet(Buffer buffer, Set<String> set, int pos) {
+    int num = buffer.getInt(pos);
+    pos += 4;
+    for (int i = 0; i < num; i++) {
+      int len = buffer.getInt(pos);
+      pos += 4;
+      set.add(new String(buffer.getBytes(pos, pos + len), StandardCharsets.UTF_8));
+      pos += len;
+    }
+    return pos;
+  }
+
+  private void hasRoleOrPermission(String roleOrPermission, String batchQuery, String query,
+                                   Handler<AsyncResult<Boolean>> resultHandler) {
+    JsonArray params = new JsonArray().add(username);
+    if (batchQuery != null) {
+      // only returns the role or permission, if the user has it
+      query = batchQuery;
+      params.add(roleOrPermission);
+    }
+    authProvider.executeQuery(query, params, resultHandler, rs -> {
       boolean has = false;
       for (JsonArray result : rs.getResults()) {
         String theRoleOrPermission = result.getString(0);
@@ -120,4 +277,12 @@ public class JDBCUser extends AbstractUser {
       }
     });
   }
+
+  static Set<String> toSet(ResultSet rs) {
+    Set<String> set = new HashSet<>();
+    for (JsonArray result : rs.getResults()) {
+      set.add(result.getString(0));
+    }
+    return set;
+  }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.jdbc.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.auth.PasswordHasher;
+import io.vertx.ext.auth.impl.hash.SaltedDigest;
+import io.vertx.ext.auth.jdbc.JDBCHashStrategy;
+
+/**
+ * A {@link JDBCHashStrategy} delegating to a {@link PasswordHasher}, that still accepts the SHA-512 hashes of the
+ * default strategy.
+ */
+public class PasswordHasherStrategy implements JDBCHashStrategy {
+
+  private final PasswordHasher hasher;
+
+  public PasswordHasherStrategy(PasswordHasher hasher) {
+    this.hasher = hasher;
+  }
+
+  public PasswordHasher getHasher() {
+    return hasher;
+  }
+
+  /**
+   * Hash a password for a new row, the salt is ignored as the hash embeds its own.
+   */
+  @Override
+  public String computeHash(String password, String salt) {
+    return hasher.hash(password);
+  }
+
+  @Override
+  public String getHashedStoredPwd(JsonArray row) {
+    return row.getString(0);
+  }
+
+  @Override
+  public String getSalt(JsonArray row) {
+    return row.size() > 1 ? row.getString(1) : null;
+  }
+
+  @Override
+  public boolean verify(String password, JsonArray row) {
+    String stored = getHashedStoredPwd(row);
+    if (hasher.matches(stored)) {
+      return hasher.verify(password, stored);
+    }
+    return SaltedDigest.verify(password, getSalt(row), stored, "SHA-512");
+  }
+
+  @Override
+  public boolean needsRehash(JsonArray row) {
+    String stored = getHashedStoredPwd(row);
+    return stored != null && (!hasher.matches(stored) || hasher.needsRehash(stored));
+  }
+}
@@ -63,6 +63,27 @@
  * If you want to override this behaviour you can do so by providing an alternative hash strategy and setting it with
  * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setHashStrategy(JDBCHashStrategy)}.
  *
+ * To use a slow, self-describing hash such as bcrypt or Argon2id, create the strategy from a
+ * {@link io.vertx.ext.auth.PasswordHasher}. The hash, salt included, is then stored in the password column, while rows
+ * still holding a SHA-512 hash and its salt keep working:
+ *
+ * [source,java]
+ * ----
+ * authProvider.setHashStrategy(JDBCHashStrategy.create(PasswordHasher.create("argon2id")));
+ * ----
+ *
+ * Such a strategy reports the SHA-512 hashes, and the hashes made with weaker parameters than the current ones, as
+ * outdated. When a user with an outdated hash authenticates, the password is hashed again and the new hash is written
+ * in the background with {@link io.vertx.ext.auth.jdbc.JDBCAuth#DEFAULT_REHASH_QUERY} or the query given to
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setRehashQuery(String)}, so the table migrates over normal traffic. The
+ * writes are batched and rate limited with {@link io.vertx.ext.auth.jdbc.JDBCAuth#setRehashRate(int, long)}.
+ *
+ * Passwords are hashed on the calling thread, i.e. the event loop. When using a slow hash, give the provider a
+ * dedicated pool with {@link io.vertx.ext.auth.jdbc.JDBCAuth#setHashingPool(io.vertx.ext.auth.AuthWorkerPool)}: the
+ * pool is bounded, once its queue is full further authentications fail until it catches up. Use
+ * {@link io.vertx.ext.auth.AuthWorkerPool#createShared} so the providers of a Vert.x instance share the same threads,
+ * as the `hashingPoolSize` option does, and close the pool once the provider is no longer used.
+ *
  * WARNING: It is advised to always store your passwords as hashes in your database tables which have been created
  * with a salt which should be stored in the row too. A strong hashing algorithm should be used. It is strongly advised
  * never to store your passwords as plain text.
@@ -100,6 +121,66 @@
  *
  * The default role prefix is `role:`. You can change this with {@link io.vertx.ext.auth.jdbc.JDBCAuth#setRolePrefix(java.lang.String)}.
  *
+ * A check only asks the database for the roles or permissions checked, with the
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#DEFAULT_ROLES_BATCH_QUERY} and
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#DEFAULT_PERMISSIONS_BATCH_QUERY} queries, whose `(...)` placeholder takes a
+ * parameter per authority. Checking several authorities at once, with
+ * {@link io.vertx.ext.auth.User#checkAuthorities}, runs at most one roles and one permissions query. When the roles
+ * or permissions query is overridden, provide the matching query with
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setRolesBatchQuery(java.lang.String)} or
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setPermissionsBatchQuery(java.lang.String)}, otherwise all the roles or
+ * permissions of the user are read.
+ *
+ * Each check runs a roles or permissions query. When the authorities of a user are checked often, call
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setPrefetchAuthorities(boolean)} to load them at login instead, on the same
+ * connection as the authentication query: the checks are then answered from memory, including by copies of the user
+ * deserialized from a clustered session, but do not see changes made after the login.
+ *
+ * Every query borrows a connection from the pool and gives it back. With
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setPipelined(boolean)} an authentication borrows a single connection, reads
+ * the credentials on it and verifies the password while holding it. Only when the password is valid are the roles
+ * and permissions of the user read on the same connection, so a request goes through the pool once and a wrong
+ * password, e.g. during credential stuffing, costs a single query. The `connections` section of the
+ * {@link io.vertx.ext.auth.AuthMetrics} of the provider counts the connections borrowed and reused.
+ *
+ * == Serving credentials from memory
+ *
+ * When the user tables are small enough to fit in memory, {@link io.vertx.ext.auth.jdbc.JDBCAuth#loadSnapshot} reads
+ * the users, their roles and the permissions of the roles once and serves authentications and authority checks from
+ * that snapshot, without any query. Role names are shared between users, so the snapshot is mostly made of the
+ * usernames and password hashes. The result of the load reports the number of users, the time it took and an
+ * estimate of the heap it uses.
+ *
+ * The snapshot is kept up to date with
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setSnapshotRefresh(java.lang.String, long)}: a query returns the users
+ * changed since the previous refresh, e.g. from an update timestamp column, and only those users are read again, up
+ * to a thousand of them per query, see {@link io.vertx.ext.auth.jdbc.JDBCAuth#setSnapshotBatchQueries}. The new
+ * snapshot replaces the previous one at once, so an authentication never sees a partial refresh. A password hash
+ * rewritten after a login is put in the snapshot as well. The same can be configured with the `snapshot`,
+ * `snapshotChangedUsersQuery` and `snapshotRefreshInterval` options.
+ *
+ * == Rejecting unknown usernames
+ *
+ * When the user table is too large for a snapshot, a Bloom filter of the known usernames still keeps credential
+ * stuffing with made up usernames away from the database. Size it with
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setUsernameFilter(long, double)}, about 1.2 bytes per user at a 1% false
+ * positive rate, so around 12MB for 10 million users, and load it with
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#loadUsernameFilter}: the rows of
+ * {@link io.vertx.ext.auth.jdbc.JDBCAuth#setUsernamesQuery(java.lang.String)} are streamed into the filter, so the
+ * usernames are never all held in memory. Once loaded, a login with a username missing from the filter fails without
+ * any query. The filter is off unless sized, and comes with two limitations:
+ *
+ * * users created afterwards must be added with {@link io.vertx.ext.auth.jdbc.JDBCAuth#addUsername(java.lang.String)}
+ * once stored, or they cannot log in until the filter is loaded again. The users read by a snapshot refresh are added
+ * too, so do not enable the filter when users are inserted in the table by other applications, unless a snapshot
+ * refresh or a periodic load picks them up
+ * * usernames are compared in lower case, which is fine with a case sensitive or a case insensitive collation, but a
+ * collation folding other differences, such as accents or trailing spaces, can match a username the filter rejects
+ *
+ * The same can be configured with the `usernameFilterSize`, `usernameFilterFpp` and `usernamesQuery` options.
+ *
+ * WARNING: an unknown username is rejected faster than a wrong password, which tells whether an account exists.
+ *
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
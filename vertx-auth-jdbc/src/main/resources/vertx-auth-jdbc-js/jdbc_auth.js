@@ -17,6 +17,8 @@
 /** @module vertx-auth-jdbc-js/jdbc_auth */
 var utils = require('vertx-js/util/utils');
 var JDBCClient = require('vertx-jdbc-js/jdbc_client');
+var Vertx = require('vertx-js/vertx');
+var AuthWorkerPool = require('vertx-auth-common-js/auth_worker_pool');
 var AuthProvider = require('vertx-auth-common-js/auth_provider');
 
 var io = Packages.io;
@@ -75,6 +77,40 @@ var JDBCAuth = function(j_val) {
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
+  /**
+   Set the query checking the roles asked for in an authority check, taking the username followed by the roles in
+   place of a <code>(...)</code> placeholder, e.g. <code>ROLE IN (...)</code>, and returning those the user has. It defaults to
+   DEFAULT_ROLES_BATCH_QUERY as long as the roles query is not overridden, otherwise all the roles of the
+   user are read with the roles query.
+
+   @public
+   @param rolesBatchQuery {string} the roles batch query 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setRolesBatchQuery = function(rolesBatchQuery) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'string') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setRolesBatchQuery(java.lang.String)"](rolesBatchQuery), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the query checking the permissions asked for in an authority check, taking the username followed by the
+   permissions in place of a <code>(...)</code> placeholder, and returning those the user has. It defaults to
+   DEFAULT_PERMISSIONS_BATCH_QUERY as long as the permissions query is not overridden, otherwise all the
+   permissions of the user are read with the permissions query.
+
+   @public
+   @param permissionsBatchQuery {string} the permissions batch query 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setPermissionsBatchQuery = function(permissionsBatchQuery) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'string') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setPermissionsBatchQuery(java.lang.String)"](permissionsBatchQuery), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
   /**
    Set the role prefix to distinguish from permissions when checking for isPermitted requests.
 
@@ -89,6 +125,248 @@ var JDBCAuth = function(j_val) {
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
+  /**
+   Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+   the default SHA-512 strategy but would block the event loop with a slow hash.
+
+   @public
+   @param hashingPool {AuthWorkerPool} the pool, or <code>null</code> to hash on the calling thread 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setHashingPool = function(hashingPool) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._jdel) {
+      return utils.convReturnVertxGen(j_jDBCAuth["setHashingPool(io.vertx.ext.auth.AuthWorkerPool)"](hashingPool._jdel), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the query replacing the password hash of a user after a successful authentication, when the hash strategy
+   reports it as outdated. The query takes the new hash, the username and the old hash, the latter so a password
+   changed in the meantime is not overwritten. It defaults to DEFAULT_REHASH_QUERY as long as the
+   authentication query is not overridden, otherwise hashes are only rewritten once a rehash query is set.
+
+   @public
+   @param rehashQuery {string} the rehash query, or <code>null</code> to never rewrite hashes 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setRehashQuery = function(rehashQuery) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'string') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setRehashQuery(java.lang.String)"](rehashQuery), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set how fast outdated hashes are rewritten: they are queued and written in the background, at most
+   <code>batchSize</code> of them every <code>interval</code> milliseconds, so a migration is spread over normal traffic.
+
+   @public
+   @param batchSize {number} the maximum number of hashes written at once 
+   @param interval {number} the minimum time between two batches, in milliseconds 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setRehashRate = function(batchSize, interval) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] ==='number' && typeof __args[1] ==='number') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setRehashRate(int,long)"](batchSize, interval), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set whether the roles and permissions of a user are loaded when it authenticates, on the same connection as the
+   authentication query. The authority checks of the user are then answered from memory, without a query per check,
+   but do not see changes made to the roles and permissions after the login.
+
+   @public
+   @param prefetchAuthorities {boolean} whether to load the roles and permissions at login 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setPrefetchAuthorities = function(prefetchAuthorities) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] ==='boolean') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setPrefetchAuthorities(boolean)"](prefetchAuthorities), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set whether an authentication borrows a single connection for all its queries. The credentials are read on that
+   connection and the password is verified while it is held, then only for a valid password are the roles and
+   permissions read on it, before it is given back to the pool. The authority checks of the user are then answered
+   from memory. Unlike {@link JDBCAuth#setPrefetchAuthorities}, which reads the roles and permissions along with the
+   credentials, a wrong password never costs more than the credentials query, at the price of holding the
+   connection while the password is hashed.
+
+   @public
+   @param pipelined {boolean} whether to run the queries of an authentication on one connection 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setPipelined = function(pipelined) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] ==='boolean') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setPipelined(boolean)"](pipelined), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the queries loading a snapshot. Use this if you want to override the default snapshot queries.
+
+   @public
+   @param usersQuery {string} the query returning the username followed by the columns of the authentication query, for every user 
+   @param rolesQuery {string} the query returning the username and the role, for every role of every user 
+   @param permissionsQuery {string} the query returning the role and the permission, for every permission of every role 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setSnapshotQueries = function(usersQuery, rolesQuery, permissionsQuery) {
+    var __args = arguments;
+    if (__args.length === 3 && typeof __args[0] === 'string' && typeof __args[1] === 'string' && typeof __args[2] === 'string') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setSnapshotQueries(java.lang.String,java.lang.String,java.lang.String)"](usersQuery, rolesQuery, permissionsQuery), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the queries reading the users changed since the previous refresh of a snapshot, taking the usernames in place
+   of a <code>(...)</code> placeholder, e.g. <code>USERNAME IN (...)</code>. They return the same columns as the snapshot users
+   and roles queries and default to DEFAULT_SNAPSHOT_USERS_BATCH_QUERY and
+   DEFAULT_SNAPSHOT_ROLES_BATCH_QUERY as long as those are not overridden, otherwise each changed user is
+   read with the authentication and roles queries.
+
+   @public
+   @param usersBatchQuery {string} the query returning the username followed by the columns of the authentication query, for each of the users 
+   @param rolesBatchQuery {string} the query returning the username and the role, for every role of each of the users 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setSnapshotBatchQueries = function(usersBatchQuery, rolesBatchQuery) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] === 'string') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setSnapshotBatchQueries(java.lang.String,java.lang.String)"](usersBatchQuery, rolesBatchQuery), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set how a loaded snapshot is kept up to date. Every <code>refreshInterval</code> milliseconds the
+   <code>changedUsersQuery</code> is run with the time of the previous refresh in milliseconds since the epoch and returns
+   the names of the users changed since. Their credentials and roles are read again with the snapshot batch queries,
+   see {@link JDBCAuth#setSnapshotBatchQueries}, users that no longer exist are removed, and the permissions
+   of the roles are read again in full.
+
+   @public
+   @param changedUsersQuery {string} the query returning the changed users, or <code>null</code> to never refresh 
+   @param refreshInterval {number} the time between two refreshes, in milliseconds 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setSnapshotRefresh = function(changedUsersQuery, refreshInterval) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] ==='number') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setSnapshotRefresh(java.lang.String,long)"](changedUsersQuery, refreshInterval), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Load the users, their roles and the permissions of the roles in memory. Once loaded, authentications and
+   authority checks are served from the snapshot without any query, and the snapshot is refreshed in the
+   background as set by {@link JDBCAuth#setSnapshotRefresh}. Until then the database is queried as usual.
+
+   @public
+   @param vertx {Vertx} the Vert.x instance scheduling the refreshes 
+   @param resultHandler {function} called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and an estimate of the heap <code>footprint</code> in bytes 
+   */
+  this.loadSnapshot = function(vertx, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'object' && __args[0]._jdel && typeof __args[1] === 'function') {
+      j_jDBCAuth["loadSnapshot(io.vertx.core.Vertx,io.vertx.core.Handler)"](vertx._jdel, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convReturnJson(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the query loading the usernames in the username filter. Use this if you want to override the default
+   usernames query. The query takes no parameter and returns the username of every user, its rows are streamed so
+   they are never all held in memory.
+
+   @public
+   @param usernamesQuery {string} the usernames query 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setUsernamesQuery = function(usernamesQuery) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'string') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setUsernamesQuery(java.lang.String)"](usernamesQuery), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+   username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+   users. The filter is only used once loaded with {@link JDBCAuth#loadUsernameFilter}.
+   <p>
+   A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+
+   @public
+   @param expectedUsers {number} the number of users the filter is sized for, or <code>0</code> to not filter usernames 
+   @param fpp {number} the rate of unknown usernames still queried once that many users are known 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.setUsernameFilter = function(expectedUsers, fpp) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] ==='number' && typeof __args[1] ==='number') {
+      return utils.convReturnVertxGen(j_jDBCAuth["setUsernameFilter(long,double)"](expectedUsers, fpp), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Load the username filter, or build it again, with the usernames query. The current filter, if any, keeps being
+   used until the load completes.
+
+   @public
+   @param resultHandler {function} called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and the <code>footprint</code> of the filter in bytes 
+   */
+  this.loadUsernameFilter = function(resultHandler) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'function') {
+      j_jDBCAuth["loadUsernameFilter(io.vertx.core.Handler)"](function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convReturnJson(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Add a user to the username filter once it is stored, so it can log in before the filter is built again.
+
+   @public
+   @param username {string} the username 
+   @return {JDBCAuth} a reference to this for fluency
+   */
+  this.addUsername = function(username) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'string') {
+      return utils.convReturnVertxGen(j_jDBCAuth["addUsername(java.lang.String)"](username), JDBCAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Stop refreshing the snapshot and drop it, the database is queried again. When the snapshot was loaded by a
+   verticle, Vert.x also cancels the refreshes once the verticle is undeployed.
+
+   @public
+
+   */
+  this.close = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      j_jDBCAuth["close()"]();
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
   // A reference to the underlying Java delegate
   // NOTE! This is an internal API and must not be used in user code.
   // If you rely on this property your code is likely to break if we change it / remove it without warning.
@@ -1,4 +1,6 @@
 require 'vertx-jdbc/jdbc_client'
+require 'vertx/vertx'
+require 'vertx-auth-common/auth_worker_pool'
 require 'vertx-auth-common/auth_provider'
 require 'vertx/util/utils.rb'
 # Generated from io.vertx.ext.auth.jdbc.JDBCAuth
@@ -52,6 +54,30 @@ module VertxAuthJdbc
       end
       raise ArgumentError, "Invalid arguments when calling set_permissions_query(permissionsQuery)"
     end
+    #  Set the query checking the roles asked for in an authority check, taking the username followed by the roles in
+    #  place of a <code>(...)</code> placeholder, e.g. <code>ROLE IN (...)</code>, and returning those the user has. It defaults to
+    #  DEFAULT_ROLES_BATCH_QUERY as long as the roles query is not overridden, otherwise all the roles of the
+    #  user are read with the roles query.
+    # @param [String] rolesBatchQuery the roles batch query
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_roles_batch_query(rolesBatchQuery=nil)
+      if rolesBatchQuery.class == String && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setRolesBatchQuery, [Java::java.lang.String.java_class]).call(rolesBatchQuery),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_roles_batch_query(rolesBatchQuery)"
+    end
+    #  Set the query checking the permissions asked for in an authority check, taking the username followed by the
+    #  permissions in place of a <code>(...)</code> placeholder, and returning those the user has. It defaults to
+    #  DEFAULT_PERMISSIONS_BATCH_QUERY as long as the permissions query is not overridden, otherwise all the
+    #  permissions of the user are read with the permissions query.
+    # @param [String] permissionsBatchQuery the permissions batch query
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_permissions_batch_query(permissionsBatchQuery=nil)
+      if permissionsBatchQuery.class == String && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setPermissionsBatchQuery, [Java::java.lang.String.java_class]).call(permissionsBatchQuery),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_permissions_batch_query(permissionsBatchQuery)"
+    end
     #  Set the role prefix to distinguish from permissions when checking for isPermitted requests.
     # @param [String] rolePrefix a Prefix e.g.: "role:"
     # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
@@ -61,5 +87,167 @@ module VertxAuthJdbc
       end
       raise ArgumentError, "Invalid arguments when calling set_role_prefix(rolePrefix)"
     end
+    #  Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+    #  the default SHA-512 strategy but would block the event loop with a slow hash.
+    # @param [::VertxAuthCommon::AuthWorkerPool] hashingPool the pool, or <code>null</code> to hash on the calling thread
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_hashing_pool(hashingPool=nil)
+      if hashingPool.class.method_defined?(:j_del) && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setHashingPool, [Java::IoVertxExtAuth::AuthWorkerPool.java_class]).call(hashingPool.j_del),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_hashing_pool(hashingPool)"
+    end
+    #  Set the query replacing the password hash of a user after a successful authentication, when the hash strategy
+    #  reports it as outdated. The query takes the new hash, the username and the old hash, the latter so a password
+    #  changed in the meantime is not overwritten. It defaults to DEFAULT_REHASH_QUERY as long as the
+    #  authentication query is not overridden, otherwise hashes are only rewritten once a rehash query is set.
+    # @param [String] rehashQuery the rehash query, or <code>null</code> to never rewrite hashes
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_rehash_query(rehashQuery=nil)
+      if rehashQuery.class == String && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setRehashQuery, [Java::java.lang.String.java_class]).call(rehashQuery),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_rehash_query(rehashQuery)"
+    end
+    #  Set how fast outdated hashes are rewritten: they are queued and written in the background, at most
+    #  <code>batchSize</code> of them every <code>interval</code> milliseconds, so a migration is spread over normal traffic.
+    # @param [Fixnum] batchSize the maximum number of hashes written at once
+    # @param [Fixnum] interval the minimum time between two batches, in milliseconds
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_rehash_rate(batchSize=nil,interval=nil)
+      if batchSize.class == Fixnum && interval.class == Fixnum && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setRehashRate, [Java::int.java_class,Java::long.java_class]).call(batchSize,interval),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_rehash_rate(batchSize,interval)"
+    end
+    #  Set whether the roles and permissions of a user are loaded when it authenticates, on the same connection as the
+    #  authentication query. The authority checks of the user are then answered from memory, without a query per check,
+    #  but do not see changes made to the roles and permissions after the login.
+    # @param [true,false] prefetchAuthorities whether to load the roles and permissions at login
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_prefetch_authorities(prefetchAuthorities=nil)
+      if (prefetchAuthorities.class == TrueClass || prefetchAuthorities.class == FalseClass) && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setPrefetchAuthorities, [Java::boolean.java_class]).call(prefetchAuthorities),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_prefetch_authorities(prefetchAuthorities)"
+    end
+    #  Set whether an authentication borrows a single connection for all its queries. The credentials are read on that
+    #  connection and the password is verified while it is held, then only for a valid password are the roles and
+    #  permissions read on it, before it is given back to the pool. The authority checks of the user are then answered
+    #  from memory. Unlike {::VertxAuthJdbc::JDBCAuth#set_prefetch_authorities}, which reads the roles and permissions along with the
+    #  credentials, a wrong password never costs more than the credentials query, at the price of holding the
+    #  connection while the password is hashed.
+    # @param [true,false] pipelined whether to run the queries of an authentication on one connection
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_pipelined(pipelined=nil)
+      if (pipelined.class == TrueClass || pipelined.class == FalseClass) && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setPipelined, [Java::boolean.java_class]).call(pipelined),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_pipelined(pipelined)"
+    end
+    #  Set the queries loading a snapshot. Use this if you want to override the default snapshot queries.
+    # @param [String] usersQuery the query returning the username followed by the columns of the authentication query, for every user
+    # @param [String] rolesQuery the query returning the username and the role, for every role of every user
+    # @param [String] permissionsQuery the query returning the role and the permission, for every permission of every role
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_snapshot_queries(usersQuery=nil,rolesQuery=nil,permissionsQuery=nil)
+      if usersQuery.class == String && rolesQuery.class == String && permissionsQuery.class == String && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setSnapshotQueries, [Java::java.lang.String.java_class,Java::java.lang.String.java_class,Java::java.lang.String.java_class]).call(usersQuery,rolesQuery,permissionsQuery),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_snapshot_queries(usersQuery,rolesQuery,permissionsQuery)"
+    end
+    #  Set the queries reading the users changed since the previous refresh of a snapshot, taking the usernames in place
+    #  of a <code>(...)</code> placeholder, e.g. <code>USERNAME IN (...)</code>. They return the same columns as the snapshot users
+    #  and roles queries and default to DEFAULT_SNAPSHOT_USERS_BATCH_QUERY and
+    #  DEFAULT_SNAPSHOT_ROLES_BATCH_QUERY as long as those are not overridden, otherwise each changed user is
+    #  read with the authentication and roles queries.
+    # @param [String] usersBatchQuery the query returning the username followed by the columns of the authentication query, for each of the users
+    # @param [String] rolesBatchQuery the query returning the username and the role, for every role of each of the users
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_snapshot_batch_queries(usersBatchQuery=nil,rolesBatchQuery=nil)
+      if usersBatchQuery.class == String && rolesBatchQuery.class == String && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setSnapshotBatchQueries, [Java::java.lang.String.java_class,Java::java.lang.String.java_class]).call(usersBatchQuery,rolesBatchQuery),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_snapshot_batch_queries(usersBatchQuery,rolesBatchQuery)"
+    end
+    #  Set how a loaded snapshot is kept up to date. Every <code>refreshInterval</code> milliseconds the
+    #  <code>changedUsersQuery</code> is run with the time of the previous refresh in milliseconds since the epoch and returns
+    #  the names of the users changed since. Their credentials and roles are read again with the snapshot batch queries,
+    #  see {::VertxAuthJdbc::JDBCAuth#set_snapshot_batch_queries}, users that no longer exist are removed, and the permissions
+    #  of the roles are read again in full.
+    # @param [String] changedUsersQuery the query returning the changed users, or <code>null</code> to never refresh
+    # @param [Fixnum] refreshInterval the time between two refreshes, in milliseconds
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_snapshot_refresh(changedUsersQuery=nil,refreshInterval=nil)
+      if changedUsersQuery.class == String && refreshInterval.class == Fixnum && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setSnapshotRefresh, [Java::java.lang.String.java_class,Java::long.java_class]).call(changedUsersQuery,refreshInterval),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_snapshot_refresh(changedUsersQuery,refreshInterval)"
+    end
+    #  Load the users, their roles and the permissions of the roles in memory. Once loaded, authentications and
+    #  authority checks are served from the snapshot without any query, and the snapshot is refreshed in the
+    #  background as set by {::VertxAuthJdbc::JDBCAuth#set_snapshot_refresh}. Until then the database is queried as usual.
+    # @param [::Vertx::Vertx] vertx the Vert.x instance scheduling the refreshes
+    # @yield called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and an estimate of the heap <code>footprint</code> in bytes
+    # @return [void]
+    def load_snapshot(vertx=nil)
+      if vertx.class.method_defined?(:j_del) && block_given?
+        return @j_del.java_method(:loadSnapshot, [Java::IoVertxCore::Vertx.java_class,Java::IoVertxCore::Handler.java_class]).call(vertx.j_del,(Proc.new { |ar| yield(ar.failed ? ar.cause : nil, ar.succeeded ? ar.result != nil ? JSON.parse(ar.result.encode) : nil : nil) }))
+      end
+      raise ArgumentError, "Invalid arguments when calling load_snapshot(vertx)"
+    end
+    #  Set the query loading the usernames in the username filter. Use this if you want to override the default
+    #  usernames query. The query takes no parameter and returns the username of every user, its rows are streamed so
+    #  they are never all held in memory.
+    # @param [String] usernamesQuery the usernames query
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_usernames_query(usernamesQuery=nil)
+      if usernamesQuery.class == String && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setUsernamesQuery, [Java::java.lang.String.java_class]).call(usernamesQuery),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_usernames_query(usernamesQuery)"
+    end
+    #  Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+    #  username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+    #  users. The filter is only used once loaded with {::VertxAuthJdbc::JDBCAuth#load_username_filter}.
+    #  <p>
+    #  A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+    # @param [Fixnum] expectedUsers the number of users the filter is sized for, or <code>0</code> to not filter usernames
+    # @param [Float] fpp the rate of unknown usernames still queried once that many users are known
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def set_username_filter(expectedUsers=nil,fpp=nil)
+      if expectedUsers.class == Fixnum && fpp.class == Float && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setUsernameFilter, [Java::long.java_class,Java::double.java_class]).call(expectedUsers,::Vertx::Util::Utils.to_double(fpp)),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_username_filter(expectedUsers,fpp)"
+    end
+    #  Load the username filter, or build it again, with the usernames query. The current filter, if any, keeps being
+    #  used until the load completes.
+    # @yield called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and the <code>footprint</code> of the filter in bytes
+    # @return [void]
+    def load_username_filter
+      if block_given?
+        return @j_del.java_method(:loadUsernameFilter, [Java::IoVertxCore::Handler.java_class]).call((Proc.new { |ar| yield(ar.failed ? ar.cause : nil, ar.succeeded ? ar.result != nil ? JSON.parse(ar.result.encode) : nil : nil) }))
+      end
+      raise ArgumentError, "Invalid arguments when calling load_username_filter()"
+    end
+    #  Add a user to the username filter once it is stored, so it can log in before the filter is built again.
+    # @param [String] username the username
+    # @return [::VertxAuthJdbc::JDBCAuth] a reference to this for fluency
+    def add_username(username=nil)
+      if username.class == String && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:addUsername, [Java::java.lang.String.java_class]).call(username),::VertxAuthJdbc::JDBCAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling add_username(username)"
+    end
+    #  Stop refreshing the snapshot and drop it, the database is queried again. When the snapshot was loaded by a
+    #  verticle, Vert.x also cancels the refreshes once the verticle is undeployed.
+    # @return [void]
+    def close
+      if !block_given?
+        return @j_del.java_method(:close, []).call()
+      end
+      raise ArgumentError, "Invalid arguments when calling close()"
+    end
   end
 end
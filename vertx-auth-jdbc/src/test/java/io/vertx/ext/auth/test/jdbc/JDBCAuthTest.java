@@ -16,11 +16,20 @@
 
 package io.vertx.ext.auth.test.jdbc;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.AuthMetrics;
+import io.vertx.ext.auth.AuthWorkerPool;
+import io.vertx.ext.auth.PasswordHasher;
 import io.vertx.ext.auth.jdbc.JDBCAuth;
+import io.vertx.ext.auth.jdbc.JDBCHashStrategy;
 import io.vertx.ext.auth.jdbc.impl.JDBCAuthImpl;
+import io.vertx.ext.auth.jdbc.impl.JDBCUser;
 import io.vertx.ext.jdbc.JDBCClient;
+import io.vertx.ext.sql.ResultSet;
 import io.vertx.test.core.VertxTestBase;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -29,6 +38,9 @@ import java.security.SecureRandom;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -37,13 +49,23 @@ public class JDBCAuthTest extends VertxTestBase {
 
   static final List<String> SQL = new ArrayList<>();
 
+  // cheap parameters, only the formats matter here
+  static final PasswordHasher[] HASHERS = {
+    PasswordHasher.pbkdf2("sha512", 1000),
+    PasswordHasher.scrypt(10, 8, 1),
+    PasswordHasher.bcrypt(4),
+    PasswordHasher.argon2id(64, 1, 2)
+  };
+
   static {
     SQL.add("drop table if exists user;");
     SQL.add("drop table if exists user_roles;");
     SQL.add("drop table if exists roles_perms;");
+    SQL.add("drop table if exists user_changes;");
     SQL.add("create table user (username varchar(255), password varchar(255), password_salt varchar(255) );");
     SQL.add("create table user_roles (username varchar(255), role varchar(255));");
     SQL.add("create table roles_perms (role varchar(255), perm varchar(255));");
+    SQL.add("create table user_changes (username varchar(255), changed bigint);");
 
     SQL.add("insert into user values ('tim', 'EC0D6302E35B7E792DF9DA4A5FE0DB3B90FCAB65A6215215771BF96D498A01DA8234769E1CE8269A105E9112F374FDAB2158E7DA58CDC1348A732351C38E12A0', 'C59EB438D1E24CACA2B1A48BC129348589D49303858E493FBE906A9158B7D5DC');");
     SQL.add("insert into user_roles values ('tim', 'dev');");
@@ -52,6 +74,20 @@ public class JDBCAuthTest extends VertxTestBase {
     SQL.add("insert into roles_perms values ('dev', 'eat_pizza');");
     SQL.add("insert into roles_perms values ('admin', 'merge_pr');");
 
+    // a copy of tim whose hash gets upgraded
+    SQL.add("insert into user values ('upgraded', 'EC0D6302E35B7E792DF9DA4A5FE0DB3B90FCAB65A6215215771BF96D498A01DA8234769E1CE8269A105E9112F374FDAB2158E7DA58CDC1348A732351C38E12A0', 'C59EB438D1E24CACA2B1A48BC129348589D49303858E493FBE906A9158B7D5DC');");
+
+    // a copy of tim whose hash gets upgraded while served from a snapshot
+    SQL.add("insert into user select 'snapshot', password, password_salt from user where username = 'tim';");
+
+    // another copy of tim, only rehashed by the tests through the second set of tables
+    SQL.add("insert into user values ('legacy', 'EC0D6302E35B7E792DF9DA4A5FE0DB3B90FCAB65A6215215771BF96D498A01DA8234769E1CE8269A105E9112F374FDAB2158E7DA58CDC1348A732351C38E12A0', 'C59EB438D1E24CACA2B1A48BC129348589D49303858E493FBE906A9158B7D5DC');");
+
+    // users named after the algorithm of their password hash
+    for (PasswordHasher hasher : HASHERS) {
+      SQL.add("insert into user values ('" + hasher.id() + "', '" + hasher.hash("sausages") + "', null);");
+    }
+
     // and a second set of tables with slight differences
 
     SQL.add("drop table if exists user2;");
@@ -68,6 +104,11 @@ public class JDBCAuthTest extends VertxTestBase {
     SQL.add("insert into roles_perms2 values ('dev', 'eat_pizza');");
     SQL.add("insert into roles_perms2 values ('admin', 'merge_pr');");
 
+    SQL.add("insert into user2 select * from user where username in ('upgraded', 'legacy');");
+    for (PasswordHasher hasher : HASHERS) {
+      SQL.add("insert into user2 select * from user where username = '" + hasher.id() + "';");
+    }
+
   }
 
   @BeforeClass
@@ -207,4 +248,442 @@ public class JDBCAuthTest extends VertxTestBase {
     }));
     await();
   }
+
+  protected JDBCAuth createCountingProvider(AtomicInteger queries) {
+    return new JDBCAuthImpl(JDBCClient.createNonShared(vertx, config())) {
+      @Override
+      protected <T> void executeQuery(String query, JsonArray params, Handler<AsyncResult<T>> resultHandler,
+                                      Consumer<ResultSet> resultSetConsumer) {
+        queries.incrementAndGet();
+        super.executeQuery(query, params, resultHandler, resultSetConsumer);
+      }
+
+      @Override
+      protected <T> void executeQueries(List<String> sql, List<JsonArray> params,
+                                        Handler<AsyncResult<T>> resultHandler,
+                                        Consumer<List<ResultSet>> resultSetsConsumer) {
+        queries.incrementAndGet();
+        super.executeQueries(sql, params, resultHandler, resultSetsConsumer);
+      }
+    };
+  }
+
+  @Test
+  public void testCheckAuthorities() {
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "tim").put("password", "sausages");
+    authProvider.authenticate(authInfo, onSuccess(user -> {
+      assertNotNull(user);
+      user.checkAuthorities(Arrays.asList("role:dev", "role:manager", "commit_code", "eat_sandwich"), onSuccess(res -> {
+        assertEquals(4, res.size());
+        assertTrue(res.getBoolean("role:dev"));
+        assertFalse(res.getBoolean("role:manager"));
+        assertTrue(res.getBoolean("commit_code"));
+        assertFalse(res.getBoolean("eat_sandwich"));
+        user.isAuthorisedAll(Arrays.asList("role:dev", "merge_pr"), onSuccess(all -> {
+          assertTrue(all);
+          user.isAuthorisedAny(Arrays.asList("role:manager", "eat_sandwich"), onSuccess(any -> {
+            assertFalse(any);
+            testComplete();
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testBatchQueries() {
+    List<String> sql = new ArrayList<>();
+    JDBCAuth batchProvider = new JDBCAuthImpl(JDBCClient.createNonShared(vertx, config())) {
+      @Override
+      protected <T> void executeQuery(String query, JsonArray params, Handler<AsyncResult<T>> resultHandler,
+                                      Consumer<ResultSet> resultSetConsumer) {
+        sql.add(query);
+        super.executeQuery(query, params, resultHandler, resultSetConsumer);
+      }
+    };
+    // an overridden roles query without a batch query is still used
+    batchProvider.setRolesQuery("SELECT ROLE FROM USER_ROLES2 WHERE USER_NAME = ?");
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "tim").put("password", "sausages");
+    batchProvider.authenticate(authInfo, onSuccess(user -> {
+      sql.clear();
+      user.checkAuthorities(Arrays.asList("commit_code", "merge_pr", "eat_sandwich"), onSuccess(res -> {
+        assertTrue(res.getBoolean("commit_code"));
+        assertTrue(res.getBoolean("merge_pr"));
+        assertFalse(res.getBoolean("eat_sandwich"));
+        assertEquals(1, sql.size());
+        assertTrue(sql.get(0).endsWith("IN (?, ?, ?)"));
+        sql.clear();
+        user.checkAuthorities(Arrays.asList("role:dev", "role:manager"), onSuccess(roles -> {
+          assertTrue(roles.getBoolean("role:dev"));
+          assertFalse(roles.getBoolean("role:manager"));
+          assertEquals(Collections.singletonList("SELECT ROLE FROM USER_ROLES2 WHERE USER_NAME = ?"), sql);
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testPrefetchAuthorities() {
+    AtomicInteger queries = new AtomicInteger();
+    JDBCAuth countingProvider = createCountingProvider(queries);
+    countingProvider.setPrefetchAuthorities(true);
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "tim").put("password", "sausages");
+    countingProvider.authenticate(authInfo, onSuccess(user -> {
+      // a single round trip for the credentials, the roles and the permissions
+      assertEquals(1, queries.get());
+      user.checkAuthorities(Arrays.asList("role:dev", "role:manager", "merge_pr", "eat_sandwich"), onSuccess(res -> {
+        assertTrue(res.getBoolean("role:dev"));
+        assertFalse(res.getBoolean("role:manager"));
+        assertTrue(res.getBoolean("merge_pr"));
+        assertFalse(res.getBoolean("eat_sandwich"));
+
+        // the prefetched authorities are serialized with the user, the copy answers without querying
+        Buffer buffer = Buffer.buffer();
+        ((JDBCUser) user).writeToBuffer(buffer);
+        JDBCUser copy = new JDBCUser();
+        assertEquals(buffer.length(), copy.readFromBuffer(0, buffer));
+        copy.setAuthProvider(countingProvider);
+        copy.isAuthorised("commit_code", onSuccess(has -> {
+          assertTrue(has);
+          copy.isAuthorised("role:manager", onSuccess(manager -> {
+            assertFalse(manager);
+            assertEquals(1, queries.get());
+            testComplete();
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testReadEarlierBufferFormat() {
+    // the cached permissions, then the username and the role prefix, without version marker
+    Buffer buffer = Buffer.buffer().appendInt(1).appendInt(8).appendString("merge_pr")
+      .appendInt(3).appendString("tim").appendInt(5).appendString("role:");
+    JDBCUser user = new JDBCUser();
+    assertEquals(buffer.length(), user.readFromBuffer(0, buffer));
+    user.setAuthProvider(authProvider);
+    assertEquals("tim", user.principal().getString("username"));
+    user.isAuthorised("merge_pr", onSuccess(cached -> {
+      assertTrue(cached);
+      user.isAuthorised("role:dev", onSuccess(has -> {
+        assertTrue(has);
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testHashingPool() {
+    AuthWorkerPool pool = AuthWorkerPool.create("test-hashing", 1, 1);
+    authProvider.setHashingPool(pool);
+    // keep the thread busy and the queue full
+    CountDownLatch blocked = new CountDownLatch(1);
+    for (int i = 0; i < 2; i++) {
+      pool.execute(() -> {
+        blocked.await();
+        return null;
+      }, ar -> {});
+    }
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "tim").put("password", "sausages");
+    authProvider.authenticate(authInfo, onFailure(err -> {
+      assertTrue(err.getMessage().contains("saturated"));
+      blocked.countDown();
+      authProvider.authenticate(authInfo, onSuccess(user -> {
+        assertNotNull(user);
+        assertFalse(Thread.currentThread().getName().startsWith("test-hashing"));
+        pool.close();
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testPasswordHasher() {
+    PasswordHasher hasher = PasswordHasher.composite(HASHERS[0], Arrays.copyOfRange(HASHERS, 1, HASHERS.length));
+    assertFalse(hasher.needsRehash(HASHERS[0].hash("sausages")));
+    assertTrue(hasher.needsRehash(HASHERS[2].hash("sausages")));
+    authProvider.setHashStrategy(JDBCHashStrategy.create(hasher));
+    // the legacy SHA-512 user and one user per algorithm, then a bad password
+    waitFor(HASHERS.length + 2);
+    authProvider.authenticate(new JsonObject().put("username", "tim").put("password", "sausages"),
+      onSuccess(user -> complete()));
+    for (PasswordHasher h : HASHERS) {
+      authProvider.authenticate(new JsonObject().put("username", h.id()).put("password", "sausages"),
+        onSuccess(user -> complete()));
+    }
+    authProvider.authenticate(new JsonObject().put("username", HASHERS[2].id()).put("password", "eggs"),
+      onFailure(err -> {
+        assertEquals("Invalid username/password", err.getMessage());
+        complete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testRehashOnLogin() {
+    authProvider.setHashStrategy(JDBCHashStrategy.create(HASHERS[0]));
+    authProvider.setRehashRate(10, 1);
+    JsonObject authInfo = new JsonObject().put("username", "upgraded").put("password", "sausages");
+    authProvider.authenticate(authInfo, onSuccess(user -> {
+      vertx.setPeriodic(10, id -> {
+        String stored = storedPassword("upgraded");
+        if (stored.startsWith("$" + HASHERS[0].id() + "$")) {
+          vertx.cancelTimer(id);
+          // the new hash still authenticates
+          authProvider.authenticate(authInfo, onSuccess(upgraded -> testComplete()));
+        }
+      });
+    }));
+    await();
+  }
+
+  @Test
+  public void testNoDefaultRehashWithOverriddenQuery() {
+    // legacy is in both tables, with the same hash, and authenticated from the second one
+    String stored = storedPassword("select password from user where username = ?", "legacy");
+    JDBCAuth overridden = JDBCAuth.create(JDBCClient.createNonShared(vertx, config()))
+      .setAuthenticationQuery(OverrideSQLTest.AUTHENTICATION_QUERY_OVERRIDE)
+      .setHashStrategy(JDBCHashStrategy.create(HASHERS[0]))
+      .setRehashRate(10, 1);
+    JsonObject authInfo = new JsonObject().put("username", "legacy").put("password", "sausages");
+    overridden.authenticate(authInfo, onSuccess(user -> {
+      vertx.setTimer(200, id -> {
+        // the default rehash query would have rewritten the first table
+        assertEquals(stored, storedPassword("select password from user where username = ?", "legacy"));
+        assertEquals(stored, storedPassword(OverrideSQLTest.STORED_PASSWORD_QUERY_OVERRIDE, "legacy"));
+        testComplete();
+      });
+    }));
+    await();
+  }
+
+  @Test
+  public void testSnapshot() {
+    AtomicInteger queries = new AtomicInteger();
+    JDBCAuth snapshotProvider = createCountingProvider(queries)
+      .setSnapshotRefresh("select username from user_changes where changed >= ?", 20);
+    snapshotProvider.loadSnapshot(vertx, onSuccess(stats -> {
+      assertTrue(stats.getInteger("users") > 1);
+      assertTrue(stats.getLong("footprint") > 0);
+      int count = queries.get();
+      JsonObject authInfo = new JsonObject().put("username", "tim").put("password", "sausages");
+      snapshotProvider.authenticate(authInfo, onSuccess(user -> {
+        user.checkAuthorities(Arrays.asList("role:dev", "merge_pr", "eat_sandwich"), onSuccess(res -> {
+          assertTrue(res.getBoolean("role:dev"));
+          assertTrue(res.getBoolean("merge_pr"));
+          assertFalse(res.getBoolean("eat_sandwich"));
+          // served from memory
+          assertEquals(count, queries.get());
+
+          // users added after the load are picked up by a refresh, in one batch
+          for (String username : Arrays.asList("tom", "tam")) {
+            execute("insert into user select '" + username + "', password, password_salt from user " +
+              "where username = 'tim'");
+            execute("insert into user_roles values ('" + username + "', 'admin')");
+            execute("insert into user_changes values ('" + username + "', " + System.currentTimeMillis() + ")");
+          }
+          JsonObject tom = new JsonObject().put("username", "tom").put("password", "sausages");
+          JsonObject tam = new JsonObject().put("username", "tam").put("password", "sausages");
+          vertx.setPeriodic(20, id -> snapshotProvider.authenticate(tom, ar -> {
+            if (ar.succeeded()) {
+              vertx.cancelTimer(id);
+              ar.result().isAuthorised("merge_pr", onSuccess(has -> {
+                assertTrue(has);
+                snapshotProvider.authenticate(tam, onSuccess(other -> {
+                  other.isAuthorised("role:admin", onSuccess(hasRole -> {
+                    assertTrue(hasRole);
+                    testComplete();
+                  }));
+                }));
+              }));
+            }
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testSnapshotRehash() {
+    JDBCAuth snapshotProvider = createCountingProvider(new AtomicInteger())
+      .setHashStrategy(JDBCHashStrategy.create(HASHERS[0]))
+      .setRehashRate(10, 1);
+    String query = "select password from user where username = ?";
+    JsonObject authInfo = new JsonObject().put("username", "snapshot").put("password", "sausages");
+    snapshotProvider.loadSnapshot(vertx, onSuccess(stats -> {
+      snapshotProvider.authenticate(authInfo, onSuccess(user -> {
+        vertx.setPeriodic(10, id -> {
+          if (storedPassword(query, "snapshot").startsWith("$" + HASHERS[0].id() + "$")) {
+            vertx.cancelTimer(id);
+            // the snapshot holds the new hash, so the next login does not rewrite it again
+            JsonObject before = AuthMetrics.snapshot().getJsonObject("jdbc");
+            snapshotProvider.authenticate(authInfo, onSuccess(upgraded -> vertx.setTimer(100, id2 -> {
+              JsonObject after = AuthMetrics.snapshot().getJsonObject("jdbc");
+              assertEquals(0, delta(before, after, "connections", "acquired"));
+              testComplete();
+            })));
+          }
+        });
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testCloseSnapshot() {
+    AtomicInteger queries = new AtomicInteger();
+    JDBCAuth snapshotProvider = createCountingProvider(queries)
+      .setSnapshotRefresh("select username from user_changes where changed >= ?", 20);
+    snapshotProvider.loadSnapshot(vertx, onSuccess(stats -> {
+      snapshotProvider.close();
+      int count = queries.get();
+      JsonObject authInfo = new JsonObject().put("username", "tim").put("password", "sausages");
+      // the snapshot was dropped, so the database is queried again
+      snapshotProvider.authenticate(authInfo, onSuccess(user -> {
+        assertEquals(count + 1, queries.get());
+        // and no refresh borrows a connection anymore
+        JsonObject before = AuthMetrics.snapshot().getJsonObject("jdbc");
+        vertx.setTimer(100, id -> {
+          JsonObject after = AuthMetrics.snapshot().getJsonObject("jdbc");
+          assertEquals(0, delta(before, after, "connections", "acquired"));
+          testComplete();
+        });
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testUsernameFilter() {
+    AtomicInteger queries = new AtomicInteger();
+    JDBCAuth filteredProvider = createCountingProvider(queries)
+      .setUsernameFilter(1000, 0.001);
+    filteredProvider.loadUsernameFilter(onSuccess(stats -> {
+      assertTrue(stats.getLong("users") > 2);
+      assertTrue(stats.getLong("footprint") > 0);
+      JsonObject unknown = new JsonObject().put("username", "nobody").put("password", "sausages");
+      filteredProvider.authenticate(unknown, onFailure(err -> {
+        // rejected without any query
+        assertEquals(0, queries.get());
+        filteredProvider.addUsername("nobody");
+        filteredProvider.authenticate(unknown, onFailure(err2 -> {
+          assertEquals(1, queries.get());
+          // a case insensitive collation could match it, so it is left to the database
+          JsonObject upper = new JsonObject().put("username", "TIM").put("password", "sausages");
+          filteredProvider.authenticate(upper, ar -> {
+            assertEquals(2, queries.get());
+            JsonObject tim = new JsonObject().put("username", "tim").put("password", "sausages");
+            filteredProvider.authenticate(tim, onSuccess(user -> {
+              assertNotNull(user);
+              testComplete();
+            }));
+          });
+        }));
+      }));
+    }));
+    await();
+  }
+
+  private static void execute(String sql) {
+    try (Connection conn = DriverManager.getConnection(config().getString("url"))) {
+      conn.createStatement().execute(sql);
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * @return the query reading the stored password of a user in the tables of the provider
+   */
+  protected String storedPasswordQuery() {
+    return "select password from user where username = ?";
+  }
+
+  private String storedPassword(String username) {
+    return storedPassword(storedPasswordQuery(), username);
+  }
+
+  private static String storedPassword(String query, String username) {
+    try (Connection conn = DriverManager.getConnection(config().getString("url"))) {
+      java.sql.PreparedStatement stmt = conn.prepareStatement(query);
+      stmt.setString(1, username);
+      java.sql.ResultSet rs = stmt.executeQuery();
+      rs.next();
+      return rs.getString(1);
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  @Test
+  public void testMetrics() {
+    JsonObject before = AuthMetrics.metrics("jdbc").toJson();
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "tim").put("password", "sausages");
+    authProvider.authenticate(authInfo, onSuccess(user -> {
+      user.isAuthorised("commit_code", onSuccess(has -> {
+        user.isAuthorised("commit_code", onSuccess(cached -> {
+          JsonObject after = AuthMetrics.snapshot().getJsonObject("jdbc");
+          assertEquals(1, delta(before, after, "authentication", "succeeded"));
+          assertEquals(2, delta(before, after, "authorisation", "succeeded"));
+          assertEquals(1, delta(before, after, "cache", "hits"));
+          assertEquals(1, delta(before, after, "cache", "misses"));
+          assertEquals(0L, (long) after.getJsonObject("authentication").getLong("inFlight"));
+          assertTrue(after.getJsonObject("authentication").getJsonObject("latency").getLong("count") > 0);
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testPipelined() {
+    AtomicInteger queries = new AtomicInteger();
+    JDBCAuth pipelinedProvider = createCountingProvider(queries).setPipelined(true);
+    JsonObject authInfo = new JsonObject();
+    authInfo.put("username", "tim").put("password", "sausages");
+    JsonObject before = AuthMetrics.metrics("jdbc").toJson();
+    pipelinedProvider.authenticate(authInfo, onSuccess(user -> {
+      user.isAuthorised("role:dev", onSuccess(hasRole -> {
+        assertTrue(hasRole);
+        user.isAuthorised("commit_code", onSuccess(hasPermission -> {
+          assertTrue(hasPermission);
+          // one connection borrowed for the whole request, the checks are answered from memory
+          JsonObject after = AuthMetrics.metrics("jdbc").toJson();
+          assertEquals(1, delta(before, after, "connections", "acquired"));
+          assertEquals(2, delta(before, after, "connections", "reused"));
+          assertEquals(0, queries.get());
+          // an unknown user or a wrong password only costs the credentials query
+          JsonObject unknown = new JsonObject().put("username", "nobody").put("password", "sausages");
+          pipelinedProvider.authenticate(unknown, onFailure(err -> {
+            JsonObject wrong = new JsonObject().put("username", "tim").put("password", "eggs");
+            pipelinedProvider.authenticate(wrong, onFailure(err2 -> {
+              JsonObject last = AuthMetrics.metrics("jdbc").toJson();
+              assertEquals(2, delta(after, last, "connections", "acquired"));
+              assertEquals(0, delta(after, last, "connections", "reused"));
+              testComplete();
+            }));
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  private static long delta(JsonObject before, JsonObject after, String group, String name) {
+    return after.getJsonObject(group).getLong(name) - before.getJsonObject(group).getLong(name);
+  }
 }
@@ -24,6 +24,8 @@ public class OverrideSQLTest extends JDBCAuthTest {
   static final String AUTHENTICATION_QUERY_OVERRIDE = "select pwd, pwd_salt from user2 where user_name = ?";
   static final String PERMISSIONS_QUERY_OVERRIDE = "select perm from roles_perms2 rp, user_roles2 ur where ur.user_name = ? and ur.role = rp.role";
   static final String ROLES_QUERY_OVERRIDE = "select role from user_roles2 where user_name = ?";
+  static final String REHASH_QUERY_OVERRIDE = "update user2 set pwd = ? where user_name = ? and pwd = ?";
+  static final String STORED_PASSWORD_QUERY_OVERRIDE = "select pwd from user2 where user_name = ?";
 
   @Override
   public void setUp() throws Exception {
@@ -31,6 +33,12 @@ public class OverrideSQLTest extends JDBCAuthTest {
 
     authProvider.setAuthenticationQuery(AUTHENTICATION_QUERY_OVERRIDE)
       .setPermissionsQuery(PERMISSIONS_QUERY_OVERRIDE)
-      .setRolesQuery(ROLES_QUERY_OVERRIDE);
+      .setRolesQuery(ROLES_QUERY_OVERRIDE)
+      .setRehashQuery(REHASH_QUERY_OVERRIDE);
+  }
+
+  @Override
+  protected String storedPasswordQuery() {
+    return STORED_PASSWORD_QUERY_OVERRIDE;
   }
 }
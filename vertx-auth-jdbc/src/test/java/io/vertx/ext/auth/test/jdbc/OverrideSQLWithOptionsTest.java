@@ -32,6 +32,12 @@ public class OverrideSQLWithOptionsTest extends JDBCAuthTest {
         setAuthenticationQuery(OverrideSQLTest.AUTHENTICATION_QUERY_OVERRIDE).
         setPermissionsQuery(OverrideSQLTest.PERMISSIONS_QUERY_OVERRIDE).
         setRolesQuery(OverrideSQLTest.ROLES_QUERY_OVERRIDE).
+        setRehashQuery(OverrideSQLTest.REHASH_QUERY_OVERRIDE).
         createProvider(vertx);
   }
+
+  @Override
+  protected String storedPasswordQuery() {
+    return OverrideSQLTest.STORED_PASSWORD_QUERY_OVERRIDE;
+  }
 }
@@ -21,7 +21,10 @@ import io.vertx.lang.rxjava.InternalHelper;
 import rx.Observable;
 import io.vertx.rxjava.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.AsyncResult;
 import io.vertx.ext.auth.jwt.JWTOptions;
+import io.vertx.core.Handler;
+import io.vertx.rxjava.ext.auth.AuthWorkerPool;
 import io.vertx.rxjava.ext.auth.AuthProvider;
 
 /**
@@ -66,6 +69,54 @@ public class JWTAuth extends AuthProvider {
     return ret;
   }
 
+  /**
+   * Generate a new JWT token, on the crypto pool when the algorithm is <code>RS*</code> or <code>ES*</code> and a pool is set.
+   * The claims are copied, the object passed is not modified.
+   * @param claims Json with user defined claims for a list of official claims
+   * @param options extra options for the generation
+   * @param resultHandler the handler called with the JWT encoded token
+   */
+  public void generateToken(JsonObject claims, JWTOptions options, Handler<AsyncResult<String>> resultHandler) { 
+    this.delegate.generateToken(claims, options, resultHandler);
+  }
+
+  /**
+   * Generate a new JWT token, on the crypto pool when the algorithm is <code>RS*</code> or <code>ES*</code> and a pool is set.
+   * The claims are copied, the object passed is not modified.
+   * @param claims Json with user defined claims for a list of official claims
+   * @param options extra options for the generation
+   * @return 
+   */
+  public Observable<String> generateTokenObservable(JsonObject claims, JWTOptions options) { 
+    io.vertx.rx.java.ObservableFuture<String> resultHandler = io.vertx.rx.java.RxHelper.observableFuture();
+    generateToken(claims, options, resultHandler.toHandler());
+    return resultHandler;
+  }
+
+  /**
+   * Set the pool the <code>RS*</code> and <code>ES*</code> signatures are computed and verified on. By default they run on the
+   * calling thread, where an RSA signature can block the event loop for milliseconds. <code>HS*</code> tokens are always
+   * handled inline.
+   * @param cryptoPool the pool, or <code>null</code> to run on the calling thread
+   * @return a reference to this for fluency
+   */
+  public JWTAuth setCryptoPool(AuthWorkerPool cryptoPool) { 
+    JWTAuth ret= JWTAuth.newInstance(this.delegate.setCryptoPool((io.vertx.ext.auth.AuthWorkerPool) cryptoPool.getDelegate()));
+    return ret;
+  }
+
+  /**
+   * Stop the background work started from the config: the JWK Set reloads, the purges of the revocation list and the
+   * revocation consumer. The crypto pool created from the config is released, a pool set with
+   * {@link io.vertx.rxjava.ext.auth.jwt.JWTAuth#setCryptoPool} is left open. Tokens can still be verified after that.
+   * <p>
+   * When the provider is created by a verticle, Vert.x also cancels the reloads and the purges and unregisters the
+   * consumer once the verticle is undeployed, call this method to release the crypto pool as well.
+   */
+  public void close() { 
+    this.delegate.close();
+  }
+
 
   public static JWTAuth newInstance(io.vertx.ext.auth.jwt.JWTAuth arg) {
     return arg != null ? new JWTAuth(arg) : null;
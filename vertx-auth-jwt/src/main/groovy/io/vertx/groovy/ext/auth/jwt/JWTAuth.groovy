@@ -20,7 +20,10 @@ import io.vertx.lang.groovy.InternalHelper
 import io.vertx.core.json.JsonObject
 import io.vertx.groovy.core.Vertx
 import io.vertx.core.json.JsonObject
+import io.vertx.core.AsyncResult
 import io.vertx.ext.auth.jwt.JWTOptions
+import io.vertx.core.Handler
+import io.vertx.groovy.ext.auth.AuthWorkerPool
 import io.vertx.groovy.ext.auth.AuthProvider
 /**
  * Factory interface for creating JWT based {@link io.vertx.groovy.ext.auth.AuthProvider} instances.
@@ -55,4 +58,36 @@ public class JWTAuth extends AuthProvider {
     def ret = this.delegate.generateToken(claims != null ? new io.vertx.core.json.JsonObject(claims) : null, options != null ? new io.vertx.ext.auth.jwt.JWTOptions(new io.vertx.core.json.JsonObject(options)) : null);
     return ret;
   }
+  /**
+   * Generate a new JWT token, on the crypto pool when the algorithm is <code>RS*</code> or <code>ES*</code> and a pool is set.
+   * The claims are copied, the object passed is not modified.
+   * @param claims Json with user defined claims for a list of official claims
+   * @param options extra options for the generation (see <a href="../../../../../../../../cheatsheet/JWTOptions.html">JWTOptions</a>)
+   * @param resultHandler the handler called with the JWT encoded token
+   */
+  public void generateToken(Map<String, Object> claims, Map<String, Object> options, Handler<AsyncResult<String>> resultHandler) {
+    this.delegate.generateToken(claims != null ? new io.vertx.core.json.JsonObject(claims) : null, options != null ? new io.vertx.ext.auth.jwt.JWTOptions(new io.vertx.core.json.JsonObject(options)) : null, resultHandler);
+  }
+  /**
+   * Set the pool the <code>RS*</code> and <code>ES*</code> signatures are computed and verified on. By default they run on the
+   * calling thread, where an RSA signature can block the event loop for milliseconds. <code>HS*</code> tokens are always
+   * handled inline.
+   * @param cryptoPool the pool, or <code>null</code> to run on the calling thread
+   * @return a reference to this for fluency
+   */
+  public JWTAuth setCryptoPool(AuthWorkerPool cryptoPool) {
+    def ret= InternalHelper.safeCreate(this.delegate.setCryptoPool((io.vertx.ext.auth.AuthWorkerPool)cryptoPool.getDelegate()), io.vertx.groovy.ext.auth.jwt.JWTAuth.class);
+    return ret;
+  }
+  /**
+   * Stop the background work started from the config: the JWK Set reloads, the purges of the revocation list and the
+   * revocation consumer. The crypto pool created from the config is released, a pool set with
+   * {@link io.vertx.groovy.ext.auth.jwt.JWTAuth#setCryptoPool} is left open. Tokens can still be verified after that.
+   * <p>
+   * When the provider is created by a verticle, Vert.x also cancels the reloads and the purges and unregisters the
+   * consumer once the verticle is undeployed, call this method to release the crypto pool as well.
+   */
+  public void close() {
+    this.delegate.close();
+  }
 }
@@ -17,9 +17,12 @@
 package io.vertx.ext.auth.jwt;
 
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.auth.jwt.impl.JWTAuthProviderImpl;
 
 /**
@@ -51,4 +54,34 @@ public interface JWTAuth extends AuthProvider {
    * @return JWT encoded token
    */
   String generateToken(JsonObject claims, JWTOptions options);
+
+  /**
+   * Generate a new JWT token, on the crypto pool when the algorithm is {@code RS*} or {@code ES*} and a pool is set.
+   * The claims are copied, the object passed is not modified.
+   *
+   * @param claims Json with user defined claims for a list of official claims
+   * @param options extra options for the generation
+   * @param resultHandler the handler called with the JWT encoded token
+   */
+  void generateToken(JsonObject claims, JWTOptions options, Handler<AsyncResult<String>> resultHandler);
+
+  /**
+   * Set the pool the {@code RS*} and {@code ES*} signatures are computed and verified on. By default they run on the
+   * calling thread, where an RSA signature can block the event loop for milliseconds. {@code HS*} tokens are always
+   * handled inline.
+   *
+   * @param cryptoPool  the pool, or {@code null} to run on the calling thread
+   * @return a reference to this for fluency
+   */
+  JWTAuth setCryptoPool(AuthWorkerPool cryptoPool);
+
+  /**
+   * Stop the background work started from the config: the JWK Set reloads, the purges of the revocation list and the
+   * revocation consumer. The crypto pool created from the config is released, a pool set with
+   * {@link #setCryptoPool(AuthWorkerPool)} is left open. Tokens can still be verified after that.
+   * <p>
+   * When the provider is created by a verticle, Vert.x also cancels the reloads and the purges and unregisters the
+   * consumer once the verticle is undeployed, call this method to release the crypto pool as well.
+   */
+  void close();
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.jwt.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * base64url codec (RFC 4648 section 5) that reads a range of a byte array and writes into a caller supplied buffer,
+ * so token segments can be encoded and decoded without slicing the token or allocating the result.
+ *
+ * Padding is optional but, when present, must complete the final 4 character unit, the same rules applied by
+ * {@link java.util.Base64#getUrlDecoder()}.
+ */
+final class Base64Url {
+
+  private static final byte[] ENCODE =
+    "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] ALPHABET = new byte[128];
+
+  static {
+    Arrays.fill(ALPHABET, (byte) -1);
+    for (int i = 0; i < 26; i++) {
+      ALPHABET['A' + i] = (byte) i;
+      ALPHABET['a' + i] = (byte) (26 + i);
+    }
+    for (int i = 0; i < 10; i++) {
+      ALPHABET['0' + i] = (byte) (52 + i);
+    }
+    ALPHABET['-'] = 62;
+    ALPHABET['_'] = 63;
+  }
+
+  private Base64Url() {
+  }
+
+  /**
+   * Number of characters produced by encoding {@code length} bytes with padding.
+   */
+  static int encodedLength(int length) {
+    return (length + 2) / 3 * 4;
+  }
+
+  /**
+   * Encodes {@code length} bytes of {@code src} starting at {@code offset}, with padding, into {@code dst} at
+   * {@code position}, which must have room for {@link #encodedLength(int)} more bytes.
+   *
+   * @return the position in {@code dst} after the last written character
+   */
+  static int encode(byte[] src, int offset, int length, byte[] dst, int position) {
+    final int end = offset + length;
+    final int full = offset + length / 3 * 3;
+    int i = offset;
+    while (i < full) {
+      int bits = (src[i++] & 0xff) << 16 | (src[i++] & 0xff) << 8 | (src[i++] & 0xff);
+      dst[position++] = ENCODE[bits >>> 18];
+      dst[position++] = ENCODE[(bits >>> 12) & 0x3f];
+      dst[position++] = ENCODE[(bits >>> 6) & 0x3f];
+      dst[position++] = ENCODE[bits & 0x3f];
+    }
+    if (i < end) {
+      int bits = (src[i++] & 0xff) << 16;
+      boolean two = i < end;
+      if (two) {
+        bits |= (src[i] & 0xff) << 8;
+      }
+      dst[position++] = ENCODE[bits >>> 18];
+      dst[position++] = ENCODE[(bits >>> 12) & 0x3f];
+      dst[position++] = two ? ENCODE[(bits >>> 6) & 0x3f] : (byte) '=';
+      dst[position++] = '=';
+    }
+    return position;
+  }
+
+  /**
+   * Upper bound of the number of bytes produced by decoding {@code length} characters.
+   */
+  static int maxDecodedLength(int length) {
+    return length / 4 * 3 + 2;
+  }
+
+  /**
+   * Decodes {@code length} characters of {@code src} starting at {@code offset} into {@code dst}, which must hold at
+   * least {@link #maxDecodedLength(int)} bytes.
+   *
+   * @return the number of bytes written to {@code dst}
+   * @throws IllegalArgumentException if the input is not valid base64url
+   */
+  static int decode(byte[] src, int offset, int length, byte[] dst) {
+    int end = offset + length;
+    int padding = 0;
+    while (end > offset && src[end - 1] == '=' && padding < 2) {
+      end--;
+      padding++;
+    }
+    if (padding > 0 && length % 4 != 0) {
+      throw new IllegalArgumentException("Input byte array has wrong 4-byte ending unit");
+    }
+    if ((end - offset) % 4 == 1) {
+      throw new IllegalArgumentException("Last unit does not have at least 2 bits available");
+    }
+
+    int written = 0;
+    int bits = 0;
+    int count = 0;
+    for (int i = offset; i < end; i++) {
+      int c = src[i];
+      int v = c >= 0 ? ALPHABET[c] : -1;
+      if (v < 0) {
+        throw new IllegalArgumentException("Illegal base64url character " + Integer.toHexString(c & 0xff));
+      }
+      bits = (bits << 6) | v;
+      if (++count == 4) {
+        dst[written++] = (byte) (bits >> 16);
+        dst[written++] = (byte) (bits >> 8);
+        dst[written++] = (byte) bits;
+        bits = 0;
+        count = 0;
+      }
+    }
+
+    // trailing partial unit: 2 characters carry 1 byte, 3 characters carry 2 bytes
+    if (count == 2) {
+      dst[written++] = (byte) (bits >> 4);
+    } else if (count == 3) {
+      dst[written++] = (byte) (bits >> 10);
+      dst[written++] = (byte) (bits >> 2);
+    }
+
+    return written;
+  }
+}
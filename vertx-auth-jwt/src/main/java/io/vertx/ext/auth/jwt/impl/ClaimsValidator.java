@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.jwt.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable claim validation rules, compiled once from a JSON object so checking a token only compares a few
+ * fields. The recognized keys are:
+ *
+ * <ul>
+ *   <li>{@code ignoreExpiration}: do not check {@code exp}</li>
+ *   <li>{@code leeway}: clock skew tolerated on {@code exp}, {@code iat} and {@code nbf}, in seconds</li>
+ *   <li>{@code audience}: array of accepted audiences, at least one must be in {@code aud}</li>
+ *   <li>{@code issuer}: the expected {@code iss}</li>
+ *   <li>{@code requiredClaims}: array of registered claims ({@code exp}, {@code iat}, {@code nbf}, {@code iss},
+ *   {@code aud}, {@code sub}, {@code jti}) that must be present</li>
+ * </ul>
+ */
+final class ClaimsValidator {
+
+  private final boolean ignoreExpiration;
+  private final long leeway;
+  private final Set<String> audiences;
+  private final String audienceError;
+  private final String issuer;
+  private final int required;
+
+  ClaimsValidator(JsonObject options) {
+    ignoreExpiration = options.getBoolean("ignoreExpiration", false);
+    leeway = options.getLong("leeway", 0L);
+    if (leeway < 0) {
+      throw new IllegalArgumentException("leeway must be >= 0");
+    }
+
+    if (options.containsKey("audience")) {
+      JsonArray audience = options.getJsonArray("audience", new JsonArray());
+      audiences = new HashSet<>();
+      for (Object value : audience) {
+        audiences.add(String.valueOf(value));
+      }
+      audienceError = "Invalid JWT audient. expected: " + audience.encode();
+    } else {
+      audiences = null;
+      audienceError = null;
+    }
+
+    issuer = options.getString("issuer");
+
+    int mask = 0;
+    for (Object claim : options.getJsonArray("requiredClaims", new JsonArray())) {
+      int bit = JWTClaims.bit(String.valueOf(claim));
+      if (bit == 0) {
+        throw new IllegalArgumentException("Unsupported required claim: " + claim);
+      }
+      mask |= bit;
+    }
+    required = mask;
+  }
+
+  /**
+   * @param now the current time, in seconds since the epoch
+   * @return the reason the claims are rejected or null if they are valid
+   */
+  String validate(JWTClaims claims, long now) {
+    if ((claims.present & required) != required) {
+      return "Invalid JWT token: missing required claims";
+    }
+
+    if (claims.exp != null && !ignoreExpiration) {
+      if (now - leeway >= claims.exp) {
+        return "Expired JWT token: exp <= now";
+      }
+    }
+
+    // issue at must be in the past
+    if (claims.iat != null && claims.iat > now + leeway) {
+      return "Invalid JWT token: iat > now";
+    }
+
+    // not before must be after now
+    if (claims.nbf != null && claims.nbf > now + leeway) {
+      return "Invalid JWT token: nbf > now";
+    }
+
+    if (audiences != null && !containsAny(claims)) {
+      return audienceError;
+    }
+
+    if (issuer != null && !issuer.equals(claims.iss)) {
+      return "Invalid JWT issuer";
+    }
+
+    return null;
+  }
+
+  private boolean containsAny(JWTClaims claims) {
+    for (String aud : claims.aud) {
+      if (audiences.contains(aud)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -30,84 +30,269 @@ public interface Crypto {
   byte[] sign(byte[] payload);
 
   boolean verify(byte[] signature, byte[] payload);
+
+  /**
+   * Signs a range of {@code payload}, so the signing input can be built in a reused buffer.
+   */
+  default byte[] sign(byte[] payload, int offset, int length) {
+    return sign(Arrays.copyOfRange(payload, offset, offset + length));
+  }
+
+  /**
+   * Verifies a signature held in a range of {@code signature} over a range of {@code payload}, so a token can be
+   * checked in place without copying its segments.
+   */
+  default boolean verify(byte[] signature, int signatureOffset, int signatureLength, byte[] payload, int offset, int length) {
+    return verify(
+      Arrays.copyOfRange(signature, signatureOffset, signatureOffset + signatureLength),
+      Arrays.copyOfRange(payload, offset, offset + length));
+  }
 }
 
 /**
- * MAC based Crypto implementation
+ * MAC based Crypto implementation.
+ *
+ * {@link Mac} is stateful and not thread safe, so every thread works on its own instance initialized with the key.
  * @author Paulo Lopes
  */
 final class CryptoMac implements Crypto {
-  private final Mac mac;
+  private final ThreadLocal<Mac> mac;
 
-  CryptoMac(final Mac mac) {
-    this.mac = mac;
+  CryptoMac(final Key key) {
+    this.mac = ThreadLocal.withInitial(() -> {
+      try {
+        Mac mac = Mac.getInstance(key.getAlgorithm());
+        mac.init(key);
+        return mac;
+      } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    // fail fast when the key cannot be used
+    this.mac.get();
   }
 
   @Override
   public byte[] sign(byte[] payload) {
-    return mac.doFinal(payload);
+    return mac.get().doFinal(payload);
+  }
+
+  @Override
+  public byte[] sign(byte[] payload, int offset, int length) {
+    final Mac mac = this.mac.get();
+    mac.update(payload, offset, length);
+    return mac.doFinal();
   }
 
   @Override
   public boolean verify(byte[] signature, byte[] payload) {
-    return Arrays.equals(signature, mac.doFinal(payload));
+    return Arrays.equals(signature, mac.get().doFinal(payload));
+  }
+
+  @Override
+  public boolean verify(byte[] signature, int signatureOffset, int signatureLength, byte[] payload, int offset, int length) {
+    final Mac mac = this.mac.get();
+    mac.update(payload, offset, length);
+    final byte[] expected = mac.doFinal();
+    if (expected.length != signatureLength) {
+      return false;
+    }
+    // constant time comparison
+    int diff = 0;
+    for (int i = 0; i < signatureLength; i++) {
+      diff |= expected[i] ^ signature[signatureOffset + i];
+    }
+    return diff == 0;
   }
 }
 
 
 /**
- * Signature based Crypto implementation
+ * Signature based Crypto implementation.
+ *
+ * {@link Signature} is stateful and not thread safe, so every thread keeps its own signer and verifier. Both are
+ * initialized once, {@link Signature#sign()} and {@link Signature#verify(byte[])} reset them to that state.
  * @author Paulo Lopes
  */
 final class CryptoSignature implements Crypto {
-  private final Signature sig;
-  private final PrivateKey privateKey;
-  private final X509Certificate certificate;
+  private final ThreadLocal<Signature> signer;
+  private final ThreadLocal<Signature> verifier;
+  // length of a JOSE (R || S) ECDSA signature, 0 for DER encoded signatures
+  private final int rawLength;
 
   CryptoSignature(final String algorithm, final X509Certificate certificate, final PrivateKey privateKey) {
-    this.certificate = certificate;
-    this.privateKey = privateKey;
+    this(resolve(algorithm, certificate), certificate.getPublicKey(), privateKey, 0);
+  }
+
+  /**
+   * @param publicKey  the key verifying signatures
+   * @param privateKey the key creating signatures, null if this instance can only verify
+   * @param rawLength  for ECDSA keys, the length of the signature in the JOSE format (R and S concatenated) or 0 to
+   *                   use DER encoded signatures
+   */
+  CryptoSignature(final String algorithm, final PublicKey publicKey, final PrivateKey privateKey, final int rawLength) {
+    this.rawLength = rawLength;
+
+    this.signer = ThreadLocal.withInitial(() -> {
+      if (privateKey == null) {
+        throw new RuntimeException("Private key not available");
+      }
+      try {
+        Signature sig = Signature.getInstance(algorithm);
+        sig.initSign(privateKey);
+        return sig;
+      } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+        throw new RuntimeException(e);
+      }
+    });
 
-    Signature signature;
+    this.verifier = ThreadLocal.withInitial(() -> {
+      try {
+        Signature sig = Signature.getInstance(algorithm);
+        sig.initVerify(publicKey);
+        return sig;
+      } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
+  private static String resolve(final String algorithm, final X509Certificate certificate) {
     try {
       // use default
-      signature = Signature.getInstance(algorithm);
+      Signature.getInstance(algorithm);
+      return algorithm;
     } catch (NoSuchAlgorithmException e) {
       // fallback
       try {
-        signature = Signature.getInstance(certificate.getSigAlgName());
+        Signature.getInstance(certificate.getSigAlgName());
+        return certificate.getSigAlgName();
       } catch (NoSuchAlgorithmException e1) {
         // error
         throw new RuntimeException(e);
       }
     }
-
-    this.sig = signature;
   }
 
   @Override
   public byte[] sign(byte[] payload) {
+    return sign(payload, 0, payload.length);
+  }
+
+  @Override
+  public byte[] sign(byte[] payload, int offset, int length) {
     try {
-      sig.initSign(privateKey);
-      sig.update(payload);
-      return sig.sign();
-    } catch (SignatureException | InvalidKeyException e) {
+      final Signature sig = signer.get();
+      sig.update(payload, offset, length);
+      final byte[] signature = sig.sign();
+      return rawLength == 0 ? signature : ECDSA.toJOSE(signature, rawLength);
+    } catch (SignatureException e) {
+      // the instance state is unknown after a failure, start over on the next call
+      signer.remove();
       throw new RuntimeException(e);
     }
   }
 
   @Override
   public boolean verify(byte[] signature, byte[] payload) {
+    return verify(signature, 0, signature.length, payload, 0, payload.length);
+  }
+
+  @Override
+  public boolean verify(byte[] signature, int signatureOffset, int signatureLength, byte[] payload, int offset, int length) {
+    if (rawLength != 0) {
+      if (signatureLength != rawLength) {
+        return false;
+      }
+      signature = ECDSA.toDER(signature, signatureOffset, signatureLength);
+      signatureOffset = 0;
+      signatureLength = signature.length;
+    }
     try {
-      sig.initVerify(certificate);
-      sig.update(payload);
-      return sig.verify(signature);
-    } catch (SignatureException | InvalidKeyException e) {
+      final Signature sig = verifier.get();
+      sig.update(payload, offset, length);
+      return sig.verify(signature, signatureOffset, signatureLength);
+    } catch (SignatureException e) {
+      // the instance state is unknown after a failure, start over on the next call
+      verifier.remove();
       throw new RuntimeException(e);
     }
   }
 }
 
+/**
+ * Conversion between the DER encoding of ECDSA signatures used by {@link Signature} and the fixed length
+ * concatenation of R and S mandated by JWS (RFC 7518 section 3.4).
+ */
+final class ECDSA {
+
+  private ECDSA() {
+  }
+
+  static byte[] toDER(byte[] raw, int offset, int length) {
+    final int half = length / 2;
+    final byte[] r = integer(raw, offset, half);
+    final byte[] s = integer(raw, offset + half, half);
+    final int content = 2 + r.length + 2 + s.length;
+    final int header = content < 128 ? 2 : 3;
+
+    final byte[] der = new byte[header + content];
+    int pos = 0;
+    der[pos++] = 0x30;
+    if (header == 3) {
+      der[pos++] = (byte) 0x81;
+    }
+    der[pos++] = (byte) content;
+    der[pos++] = 0x02;
+    der[pos++] = (byte) r.length;
+    System.arraycopy(r, 0, der, pos, r.length);
+    pos += r.length;
+    der[pos++] = 0x02;
+    der[pos++] = (byte) s.length;
+    System.arraycopy(s, 0, der, pos, s.length);
+    return der;
+  }
+
+  static byte[] toJOSE(byte[] der, int length) {
+    final int half = length / 2;
+    final byte[] raw = new byte[length];
+    // skip the SEQUENCE tag and its length
+    int pos = der[1] == (byte) 0x81 ? 3 : 2;
+    for (int i = 0; i < 2; i++) {
+      if (der[pos++] != 0x02) {
+        throw new RuntimeException("Invalid ECDSA signature");
+      }
+      int len = der[pos++] & 0xff;
+      // drop the sign byte, then right align the value
+      int start = pos;
+      int n = len;
+      while (n > half && der[start] == 0) {
+        start++;
+        n--;
+      }
+      if (n > half) {
+        throw new RuntimeException("Invalid ECDSA signature");
+      }
+      System.arraycopy(der, start, raw, i * half + half - n, n);
+      pos += len;
+    }
+    return raw;
+  }
+
+  // minimal two's complement representation of an unsigned big endian integer
+  private static byte[] integer(byte[] src, int offset, int length) {
+    int start = offset;
+    int end = offset + length;
+    while (start < end - 1 && src[start] == 0) {
+      start++;
+    }
+    boolean pad = (src[start] & 0x80) != 0;
+    byte[] value = new byte[end - start + (pad ? 1 : 0)];
+    System.arraycopy(src, start, value, pad ? 1 : 0, end - start);
+    return value;
+  }
+}
+
 final class CryptoNone implements Crypto {
   private static final byte[] NOOP = new byte[0];
 
@@ -116,8 +301,18 @@ final class CryptoNone implements Crypto {
       return NOOP;
     }
 
+  @Override
+  public byte[] sign(byte[] payload, int offset, int length) {
+    return NOOP;
+  }
+
   @Override
   public boolean verify(byte[] signature, byte[] payload) {
       return true;
     }
+
+  @Override
+  public boolean verify(byte[] signature, int signatureOffset, int signatureLength, byte[] payload, int offset, int length) {
+    return true;
+  }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.jwt.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.security.*;
+import java.security.spec.*;
+import java.util.Base64;
+
+/**
+ * A key of a JSON Web Key Set (RFC 7517) bound to a single JWS algorithm. Supports {@code oct} (HS*), {@code RSA}
+ * (RS*) and {@code EC} (ES*) keys; RSA and EC keys carrying the private parameter {@code d} can also sign.
+ *
+ * Instances are immutable, a key removed from the set is replaced by a copy that expires at the end of the grace
+ * period.
+ */
+final class JWK {
+
+  final String kid;
+  final String alg;
+  final Crypto crypto;
+  final long expiresAt;
+
+  private JWK(String kid, String alg, Crypto crypto, long expiresAt) {
+    this.kid = kid;
+    this.alg = alg;
+    this.crypto = crypto;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * @return a copy of this key that is no longer valid after the given time
+   */
+  JWK retire(long expiresAt) {
+    return new JWK(kid, alg, crypto, expiresAt);
+  }
+
+  boolean retired() {
+    return expiresAt != Long.MAX_VALUE;
+  }
+
+  boolean expired(long now) {
+    return now >= expiresAt;
+  }
+
+  /**
+   * Parses a single key of a JWK Set.
+   *
+   * @throws RuntimeException when the key is incomplete or of an unsupported type
+   */
+  static JWK parse(JsonObject json) {
+    final String kid = json.getString("kid");
+    if (kid == null) {
+      throw new RuntimeException("Missing kid");
+    }
+
+    final String kty = json.getString("kty");
+    if (kty == null) {
+      throw new RuntimeException("Missing kty");
+    }
+
+    try {
+      switch (kty) {
+        case "oct": {
+          String alg = json.getString("alg", "HS256");
+          if (!alg.startsWith("HS")) {
+            throw new RuntimeException("Algorithm " + alg + " does not match kty " + kty);
+          }
+          return new JWK(kid, alg, new CryptoMac(new SecretKeySpec(decode(json, "k"), "HmacSHA" + alg.substring(2))),
+            Long.MAX_VALUE);
+        }
+        case "RSA": {
+          String alg = json.getString("alg", "RS256");
+          if (!alg.startsWith("RS")) {
+            throw new RuntimeException("Algorithm " + alg + " does not match kty " + kty);
+          }
+          KeyFactory kf = KeyFactory.getInstance("RSA");
+          BigInteger n = integer(json, "n");
+          PublicKey publicKey = kf.generatePublic(new RSAPublicKeySpec(n, integer(json, "e")));
+          PrivateKey privateKey = json.containsKey("d") ? kf.generatePrivate(new RSAPrivateKeySpec(n, integer(json, "d"))) : null;
+          return new JWK(kid, alg,
+            new CryptoSignature("SHA" + alg.substring(2) + "withRSA", publicKey, privateKey, 0), Long.MAX_VALUE);
+        }
+        case "EC": {
+          final String crv = json.getString("crv");
+          final String alg;
+          final String curve;
+          final int length;
+          if ("P-256".equals(crv)) {
+            alg = "ES256";
+            curve = "secp256r1";
+            length = 64;
+          } else if ("P-384".equals(crv)) {
+            alg = "ES384";
+            curve = "secp384r1";
+            length = 96;
+          } else if ("P-521".equals(crv)) {
+            alg = "ES512";
+            curve = "secp521r1";
+            length = 132;
+          } else {
+            throw new RuntimeException("Unsupported curve " + crv);
+          }
+          if (!alg.equals(json.getString("alg", alg))) {
+            throw new RuntimeException("Algorithm " + json.getString("alg") + " does not match curve " + crv);
+          }
+          AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+          parameters.init(new ECGenParameterSpec(curve));
+          ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+          KeyFactory kf = KeyFactory.getInstance("EC");
+          PublicKey publicKey = kf.generatePublic(new ECPublicKeySpec(new ECPoint(integer(json, "x"), integer(json, "y")), spec));
+          PrivateKey privateKey = json.containsKey("d") ? kf.generatePrivate(new ECPrivateKeySpec(integer(json, "d"), spec)) : null;
+          // JWS carries ECDSA signatures as the concatenation of R and S instead of DER
+          return new JWK(kid, alg,
+            new CryptoSignature("SHA" + alg.substring(2) + "withECDSA", publicKey, privateKey, length), Long.MAX_VALUE);
+        }
+        default:
+          throw new RuntimeException("Unsupported kty " + kty);
+      }
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static byte[] decode(JsonObject json, String name) {
+    String value = json.getString(name);
+    if (value == null) {
+      throw new RuntimeException("Missing " + name);
+    }
+    return Base64.getUrlDecoder().decode(value);
+  }
+
+  private static BigInteger integer(JsonObject json, String name) {
+    return new BigInteger(1, decode(json, name));
+  }
+}
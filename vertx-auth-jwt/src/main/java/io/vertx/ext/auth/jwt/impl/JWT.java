@@ -15,16 +15,22 @@
  */
 package io.vertx.ext.auth.jwt.impl;
 
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.EncodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
-import javax.crypto.Mac;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.security.cert.X509Certificate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * JWT and JWS implementation draft-ietf-oauth-json-web-token-32.
@@ -36,23 +42,39 @@ public final class JWT {
   private static final Charset UTF8 = StandardCharsets.UTF_8;
   private static final Logger log = LoggerFactory.getLogger(JWT.class);
   private static final JsonObject EMPTY = new JsonObject();
+  private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[1024]);
+  private static final ThreadLocal<byte[]> SIGN_BUFFER = ThreadLocal.withInitial(() -> new byte[1024]);
+  private static final int MAX_CACHED_HEADERS = 64;
+  private static final ConcurrentMap<String, byte[]> HEADER_SEGMENTS = new ConcurrentHashMap<>();
 
   private final Map<String, Crypto> CRYPTO_MAP;
+  // keys of the JWK Set by kid, replaced as a whole on every reload so readers never lock
+  private volatile Map<String, JWK> KID_MAP = Collections.emptyMap();
+  private volatile long retiredKeysExpireAt = Long.MAX_VALUE;
   private final boolean unsecure;
 
   public JWT(final KeyStore keyStore, final char[] keyStorePassword) {
+    this(keyStore, keyStorePassword, keyStore == null);
+  }
+
+  /**
+   * @param keyStore the key store with keys named after the algorithms, may be null when keys are only loaded from a
+   *                 JWK Set
+   * @param unsecure when true signatures are not required
+   */
+  public JWT(final KeyStore keyStore, final char[] keyStorePassword, final boolean unsecure) {
 
     Map<String, Crypto> tmp = new HashMap<>();
 
-    unsecure = keyStore == null;
+    this.unsecure = unsecure;
 
-    if (!unsecure) {
+    if (keyStore != null) {
       // load MACs
       for (String alg : Arrays.<String>asList("HS256", "HS384", "HS512")) {
         try {
-          Mac mac = getMac(keyStore, keyStorePassword, alg);
-          if (mac != null) {
-            tmp.put(alg, new CryptoMac(mac));
+          Key secretKey = getSecretKey(keyStore, keyStorePassword, alg);
+          if (secretKey != null) {
+            tmp.put(alg, new CryptoMac(secretKey));
           } else {
             log.info(alg + " not available");
           }
@@ -94,26 +116,16 @@ public final class JWT {
   }
 
   /**
-   * Creates a new Message Authentication Code
+   * Loads the secret key of a Message Authentication Code
    *
    * @param keyStore a valid JKS
    * @param alias    algorithm to use e.g.: HmacSHA256
-   * @return Mac implementation
+   * @return the key or null when the key store does not have the requested algorithm
    */
-  private Mac getMac(final KeyStore keyStore, final char[] keyStorePassword, final String alias) {
+  private Key getSecretKey(final KeyStore keyStore, final char[] keyStorePassword, final String alias) {
     try {
-      final Key secretKey = keyStore.getKey(alias, keyStorePassword);
-      
-      // key store does not have the requested algorithm
-      if (secretKey == null) {
-        return null;
-      }
-
-      Mac mac = Mac.getInstance(secretKey.getAlgorithm());
-      mac.init(secretKey);
-
-      return mac;
-    } catch (NoSuchAlgorithmException | InvalidKeyException | UnrecoverableKeyException | KeyStoreException e) {
+      return keyStore.getKey(alias, keyStorePassword);
+    } catch (NoSuchAlgorithmException | UnrecoverableKeyException | KeyStoreException e) {
       throw new RuntimeException(e);
     }
   }
@@ -136,56 +148,194 @@ public final class JWT {
     }
   }
 
-  public JsonObject decode(final String token) {
-    String[] segments = token.split("\\.");
-    if (segments.length != 3) {
+  /**
+   * Replaces the keys of the JWK Set. Keys missing from the new set keep verifying until the grace period elapses, so
+   * tokens signed just before a rotation stay valid.
+   *
+   * @param jwks        the JWK Set, {@code {"keys": [...]}}
+   * @param gracePeriod how long retired keys remain valid, in milliseconds
+   */
+  public synchronized void loadJWKSet(final JsonObject jwks, final long gracePeriod) {
+    final long now = System.currentTimeMillis();
+    final Map<String, JWK> keys = new HashMap<>();
+
+    final JsonArray set = jwks.getJsonArray("keys");
+    if (set == null) {
+      throw new RuntimeException("Not a JWK Set, keys is missing");
+    }
+
+    for (Object key : set) {
+      if (!(key instanceof JsonObject)) {
+        continue;
+      }
+      JsonObject json = (JsonObject) key;
+      // keys meant for encryption are of no use here
+      if (!"sig".equals(json.getString("use", "sig"))) {
+        continue;
+      }
+      try {
+        JWK jwk = JWK.parse(json);
+        keys.put(jwk.kid, jwk);
+      } catch (RuntimeException e) {
+        log.warn("Skipping JWK " + json.getString("kid") + ": " + e.getMessage());
+      }
+    }
+
+    for (JWK previous : KID_MAP.values()) {
+      if (!keys.containsKey(previous.kid)) {
+        if (!previous.retired()) {
+          keys.put(previous.kid, previous.retire(now + gracePeriod));
+        } else if (!previous.expired(now)) {
+          keys.put(previous.kid, previous);
+        }
+      }
+    }
+
+    long retiredUntil = Long.MAX_VALUE;
+    for (JWK jwk : keys.values()) {
+      if (jwk.retired()) {
+        retiredUntil = Math.min(retiredUntil, jwk.expiresAt);
+      }
+    }
+
+    KID_MAP = Collections.unmodifiableMap(keys);
+    retiredKeysExpireAt = retiredUntil;
+  }
+
+  /**
+   * @return when the first key retired from the JWK Set stops verifying, in milliseconds since the epoch, or
+   * {@link Long#MAX_VALUE} when no key is retired
+   */
+  public long retiredKeysExpireAt() {
+    return retiredKeysExpireAt;
+  }
+
+  /**
+   * Looks up the key of a token, first by key id in the JWK Set then by algorithm in the key store.
+   */
+  private Crypto getCrypto(final String alg, final String kid) {
+    if (kid != null) {
+      JWK jwk = KID_MAP.get(kid);
+      if (jwk != null && !jwk.expired(System.currentTimeMillis())) {
+        // a key is bound to a single algorithm
+        return jwk.alg.equals(alg) ? jwk.crypto : null;
+      }
+    }
+    return CRYPTO_MAP.get(alg);
+  }
+
+  /**
+   * @return the algorithm named in the header of a token, which is not verified
+   */
+  public String algorithm(final String token) {
+    final int first = token.indexOf('.');
+    if (first == -1) {
       throw new RuntimeException("Not enough or too many segments");
     }
+    final byte[] header = token.substring(0, first).getBytes(StandardCharsets.ISO_8859_1);
+    return parseSegment(header, 0, header.length).getString("alg");
+  }
 
-    // All segment should be base64
-    String headerSeg = segments[0];
-    String payloadSeg = segments[1];
-    String signatureSeg = segments[2];
+  /**
+   * @return whether the algorithm signs with a public key pair, orders of magnitude slower than a MAC
+   */
+  public static boolean isAsymmetric(final String algorithm) {
+    return algorithm != null && (algorithm.startsWith("RS") || algorithm.startsWith("ES"));
+  }
 
-    if ("".equals(signatureSeg) && !unsecure) {
+  public JsonObject decode(final String token) {
+    // tokens are base64url segments joined by dots, so they are always ASCII
+    final byte[] bytes = token.getBytes(StandardCharsets.ISO_8859_1);
+    return decode(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Decodes and verifies a token held in a range of an ASCII byte array. The separators are located in a single
+   * scan, the signature is verified over the original bytes and segments are base64url decoded into a reused
+   * per-thread buffer, so no intermediate strings are created.
+   */
+  public JsonObject decode(final byte[] token, final int offset, final int length) {
+    final long payload = verify(token, offset, length);
+    return parseSegment(token, (int) (payload >>> 32), (int) payload);
+  }
+
+  /**
+   * Decodes and verifies a token, the payload is only scanned for the claims needed to validate it.
+   *
+   * @param permissionsClaimKey the name of the claim holding the permissions
+   */
+  public JWTClaims decodeClaims(final String token, final String permissionsClaimKey) {
+    final byte[] bytes = token.getBytes(StandardCharsets.ISO_8859_1);
+    final long payload = verify(bytes, 0, bytes.length);
+    final int start = (int) (payload >>> 32);
+    final int end = (int) payload;
+
+    byte[] json = scratch(Base64Url.maxDecodedLength(end - start));
+    int length = Base64Url.decode(bytes, start, end - start, json);
+    // the claims keep the payload, so it cannot stay in the shared buffer
+    return JWTClaims.parse(Arrays.copyOf(json, length), permissionsClaimKey);
+  }
+
+  /**
+   * Checks the structure, header and signature of a token.
+   *
+   * @return the start (high 32 bits) and end (low 32 bits) of the payload segment
+   */
+  private long verify(final byte[] token, final int offset, final int length) {
+    final int end = offset + length;
+
+    int first = -1;
+    int second = -1;
+    for (int i = offset; i < end; i++) {
+      if (token[i] == '.') {
+        if (first == -1) {
+          first = i;
+        } else if (second == -1) {
+          second = i;
+        } else {
+          throw new RuntimeException("Not enough or too many segments");
+        }
+      }
+    }
+
+    if (second == -1) {
+      throw new RuntimeException("Not enough or too many segments");
+    }
+
+    if (second + 1 == end && !unsecure) {
       throw new RuntimeException("Signature is required");
     }
 
-    // base64 decode and parse JSON
-    JsonObject header = new JsonObject(new String(base64urlDecode(headerSeg), UTF8));
-    JsonObject payload = new JsonObject(new String(base64urlDecode(payloadSeg), UTF8));
+    JsonObject header = parseSegment(token, offset, first);
 
-    Crypto crypto = CRYPTO_MAP.get(header.getString("alg"));
+    Crypto crypto = getCrypto(header.getString("alg"), header.getString("kid"));
 
     if (crypto == null) {
       throw new RuntimeException("Algorithm not supported");
     }
 
-    // verify signature. `sign` will return base64 string.
-    String signingInput = headerSeg + "." + payloadSeg;
+    // verify signature over the signing input "header.payload" as it appears in the token
+    byte[] signature = scratch(Base64Url.maxDecodedLength(end - second - 1));
+    int signatureLength = Base64Url.decode(token, second + 1, end - second - 1, signature);
 
-    if (!crypto.verify(base64urlDecode(signatureSeg), signingInput.getBytes(UTF8))) {
+    if (!crypto.verify(signature, 0, signatureLength, token, offset, second - offset)) {
       throw new RuntimeException("Signature verification failed");
     }
 
-    return payload;
+    return ((long) (first + 1) << 32) | second;
   }
 
   public String sign(JsonObject payload, JsonObject options) {
     final String algorithm = options.getString("algorithm", "HS256");
 
-    Crypto crypto = CRYPTO_MAP.get(algorithm);
+    final JsonObject customHeader = options.getJsonObject("header");
+
+    Crypto crypto = getCrypto(algorithm, customHeader == null ? null : customHeader.getString("kid"));
 
     if (crypto == null) {
       throw new RuntimeException("Algorithm not supported");
     }
 
-    // header, typ is fixed value.
-    JsonObject header = new JsonObject()
-            .mergeIn(options.getJsonObject("header", EMPTY))
-            .put("typ", "JWT")
-            .put("alg", algorithm);
-
     // NumericDate is a number is seconds since 1st Jan 1970 in UTC
     long timestamp = System.currentTimeMillis() / 1000;
 
@@ -218,23 +368,89 @@ public final class JWT {
     }
 
     // create segments, all segment should be base64 string
-    String headerSegment = base64urlEncode(header.encode());
-    String payloadSegment = base64urlEncode(payload.encode());
-    String signingInput = headerSegment + "." + payloadSegment;
-    String signSegment = base64urlEncode(crypto.sign(signingInput.getBytes(UTF8)));
+    final byte[] headerSegment = headerSegment(algorithm, customHeader);
+    final byte[] json;
+    try {
+      json = Json.mapper.writeValueAsBytes(payload.getMap());
+    } catch (IOException e) {
+      throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+    }
+
+    // the signing input is built in place and the signature appended to it
+    byte[] token = signBuffer(headerSegment.length + 1 + Base64Url.encodedLength(json.length));
+
+    System.arraycopy(headerSegment, 0, token, 0, headerSegment.length);
+    int length = headerSegment.length;
+    token[length++] = '.';
+    length = Base64Url.encode(json, 0, json.length, token, length);
 
-    return headerSegment + "." + payloadSegment + "." + signSegment;
+    final byte[] signature = crypto.sign(token, 0, length);
+
+    token = signBuffer(length + 1 + Base64Url.encodedLength(signature.length));
+    token[length++] = '.';
+    length = Base64Url.encode(signature, 0, signature.length, token, length);
+
+    return new String(token, 0, length, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * @return the per-thread signing buffer, grown to at least {@code size} bytes keeping its content
+   */
+  private static byte[] signBuffer(int size) {
+    byte[] buffer = SIGN_BUFFER.get();
+    if (buffer.length < size) {
+      buffer = Arrays.copyOf(buffer, Math.max(size, buffer.length * 2));
+      SIGN_BUFFER.set(buffer);
+    }
+    return buffer;
   }
 
-  private static byte[] base64urlDecode(String str) {
-    return Base64.getUrlDecoder().decode(str.getBytes(UTF8));
+  /**
+   * The header only depends on the algorithm and the custom header fields, so its encoded segment is computed once
+   * per combination. Custom headers beyond {@link #MAX_CACHED_HEADERS} distinct ones are encoded on every call.
+   */
+  private static byte[] headerSegment(final String algorithm, final JsonObject customHeader) {
+    final String key = customHeader == null || customHeader.isEmpty() ? algorithm : algorithm + customHeader.encode();
+    byte[] segment = HEADER_SEGMENTS.get(key);
+    if (segment == null) {
+      // header, typ is fixed value.
+      JsonObject header = new JsonObject()
+              .mergeIn(customHeader == null ? EMPTY : customHeader)
+              .put("typ", "JWT")
+              .put("alg", algorithm);
+
+      byte[] json = header.encode().getBytes(UTF8);
+      segment = new byte[Base64Url.encodedLength(json.length)];
+      Base64Url.encode(json, 0, json.length, segment, 0);
+
+      if (HEADER_SEGMENTS.size() < MAX_CACHED_HEADERS) {
+        HEADER_SEGMENTS.putIfAbsent(key, segment);
+      }
+    }
+    return segment;
   }
 
-  private static String base64urlEncode(String str) {
-    return base64urlEncode(str.getBytes(UTF8));
+  /**
+   * base64url decodes the segment between {@code start} (inclusive) and {@code end} (exclusive) and parses it as a
+   * JSON object.
+   */
+  @SuppressWarnings("unchecked")
+  private static JsonObject parseSegment(byte[] token, int start, int end) {
+    byte[] json = scratch(Base64Url.maxDecodedLength(end - start));
+    int length = Base64Url.decode(token, start, end - start, json);
+    try {
+      return new JsonObject(Json.mapper.readValue(json, 0, length, Map.class));
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode:" + e.getMessage());
+    }
   }
 
-  private static String base64urlEncode(byte[] bytes) {
-    return Base64.getUrlEncoder().encodeToString(bytes);
+  private static byte[] scratch(int size) {
+    byte[] buffer = SCRATCH.get();
+    if (buffer.length < size) {
+      buffer = new byte[Math.max(size, buffer.length * 2)];
+      SCRATCH.set(buffer);
+    }
+    return buffer;
   }
 }
@@ -19,9 +19,14 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.auth.AuthMetrics;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.auth.jwt.JWTOptions;
@@ -33,24 +38,64 @@ import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
-import java.util.Collections;
 
 /**
  * @author Paulo Lopes
  */
 public class JWTAuthProviderImpl implements JWTAuth {
 
-  private static final JsonObject EMPTY_OBJECT = new JsonObject();
-  private static final JsonArray EMPTY_ARRAY = new JsonArray();
+  private static final String[] VALIDATION_KEYS = {"ignoreExpiration", "leeway", "audience", "issuer", "requiredClaims"};
+
+  static final String METRICS_NAME = "jwt";
+
+  // how long keys removed from a JWK Set keep verifying, in milliseconds
+  static final long DEFAULT_JWKS_GRACE_PERIOD = 5 * 60 * 1000;
+
+  static final int DEFAULT_REVOCATION_MAX_ENTRIES = 1000000;
+  static final long DEFAULT_REVOCATION_PURGE_INTERVAL = 60 * 1000;
+
+  private static final Logger log = LoggerFactory.getLogger(JWTAuthProviderImpl.class);
 
   private final JWT jwt;
 
   private final String permissionsClaimKey;
 
+  private final VerifiedTokenCache verifiedTokens;
+
+  private final JsonObject validation;
+  private final ClaimsValidator validator;
+
+  private final RevocationList revocations;
+
+  private volatile AuthWorkerPool cryptoPool;
+
+  // the background work started from the config, released by close(), guarded by this
+  private final Vertx vertx;
+  private long jwksReloadTimer = -1;
+  private long revocationPurgeTimer = -1;
+  private MessageConsumer<JsonObject> revocationConsumer;
+  private AuthWorkerPool ownCryptoPool;
+
+  private final AuthMetrics metrics = AuthMetrics.metrics(METRICS_NAME);
+
   public JWTAuthProviderImpl(Vertx vertx, JsonObject config) {
+    this.vertx = vertx;
     this.permissionsClaimKey = config.getString("permissionsClaimKey", "permissions");
 
+    final int verifiedTokenCacheSize = config.getInteger("verifiedTokenCacheSize", 0);
+    this.verifiedTokens = verifiedTokenCacheSize > 0 ? new VerifiedTokenCache(verifiedTokenCacheSize) : null;
+
+    // claim validation rules are compiled once
+    this.validation = new JsonObject();
+    for (String key : VALIDATION_KEYS) {
+      if (config.containsKey(key)) {
+        validation.put(key, config.getValue(key));
+      }
+    }
+    this.validator = new ClaimsValidator(validation);
+
     final JsonObject keyStore = config.getJsonObject("keyStore");
+    final JsonObject jwks = config.getJsonObject("jwks");
 
     try {
       if (keyStore != null) {
@@ -64,84 +109,288 @@ public class JWTAuthProviderImpl implements JWTAuth {
 
         this.jwt = new JWT(ks, keyStore.getString("password").toCharArray());
       } else {
-        this.jwt = new JWT(null, null);
+        // a JWK Set on its own is as secure as a key store
+        this.jwt = new JWT(null, null, jwks == null);
       }
 
     } catch (KeyStoreException | IOException | CertificateException | NoSuchAlgorithmException e) {
       throw new RuntimeException(e);
     }
+
+    if (jwks != null) {
+      final String path = jwks.getString("path");
+      final long gracePeriod = jwks.getLong("gracePeriod", DEFAULT_JWKS_GRACE_PERIOD);
+      final long reloadInterval = jwks.getLong("reloadInterval", 0L);
+
+      loadJWKSet(new JsonObject(vertx.fileSystem().readFileBlocking(path).toString()), gracePeriod);
+
+      if (reloadInterval > 0) {
+        // verifying threads keep using the current keys until the new set is swapped in
+        jwksReloadTimer = vertx.setPeriodic(reloadInterval, id -> vertx.fileSystem().readFile(path, read -> {
+          if (read.failed()) {
+            log.warn("Failed to reload JWK Set " + path, read.cause());
+            metrics.backendError(read.cause());
+            return;
+          }
+          try {
+            loadJWKSet(new JsonObject(read.result().toString()), gracePeriod);
+          } catch (RuntimeException e) {
+            log.warn("Failed to reload JWK Set " + path, e);
+            metrics.backendError(e);
+          }
+        }));
+      }
+    }
+
+    final int cryptoPoolSize = config.getInteger("cryptoPoolSize", 0);
+    if (cryptoPoolSize > 0) {
+      this.ownCryptoPool = AuthWorkerPool.createShared(vertx, "vertx-auth-jwt-crypto", cryptoPoolSize,
+          config.getInteger("cryptoQueueSize", AuthWorkerPool.DEFAULT_MAX_QUEUE_SIZE));
+      this.cryptoPool = ownCryptoPool;
+    }
+
+    final JsonObject revocation = config.getJsonObject("revocation");
+    if (revocation != null) {
+      this.revocations = new RevocationList(revocation.getInteger("maxEntries", DEFAULT_REVOCATION_MAX_ENTRIES));
+
+      final String path = revocation.getString("path");
+      if (path != null) {
+        for (Object entry : new JsonArray(vertx.fileSystem().readFileBlocking(path).toString())) {
+          if (entry instanceof JsonObject) {
+            revoke((JsonObject) entry);
+          }
+        }
+      }
+
+      final String address = revocation.getString("address");
+      if (address != null) {
+        revocationConsumer = vertx.eventBus().<JsonObject>consumer(address, message -> revoke(message.body()));
+      }
+
+      final long purgeInterval = revocation.getLong("purgeInterval", DEFAULT_REVOCATION_PURGE_INTERVAL);
+      revocationPurgeTimer = vertx.setPeriodic(purgeInterval,
+          id -> revocations.purge(System.currentTimeMillis() / 1000));
+    } else {
+      this.revocations = null;
+    }
+  }
+
+  /**
+   * Swaps in new keys, the tokens verified with the previous ones are verified again.
+   */
+  private void loadJWKSet(JsonObject jwks, long gracePeriod) {
+    jwt.loadJWKSet(jwks, gracePeriod);
+    if (verifiedTokens != null) {
+      verifiedTokens.clear();
+    }
   }
 
   @Override
-  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
+  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> handler) {
+    final Handler<AsyncResult<User>> resultHandler = metrics.authentication(handler);
     try {
-      final JsonObject payload = jwt.decode(authInfo.getString("jwt"));
-
-      final JsonObject options = authInfo.getJsonObject("options", EMPTY_OBJECT);
-
       // All dates in JWT are of type NumericDate
       // a NumericDate is: numeric value representing the number of seconds from 1970-01-01T00:00:00Z UTC until
       // the specified UTC date/time, ignoring leap seconds
       final long now = System.currentTimeMillis() / 1000;
+      final String token = authInfo.getString("jwt");
 
-      if (payload.containsKey("exp") && !options.getBoolean("ignoreExpiration", false)) {
-        if (now >= payload.getLong("exp")) {
-          resultHandler.handle(Future.failedFuture("Expired JWT token: exp <= now"));
+      String key = null;
+      long generation = 0;
+      if (verifiedTokens != null) {
+        generation = verifiedTokens.generation();
+        key = verifiedTokens.key(token);
+        JWTClaims claims = key != null ? verifiedTokens.get(key, token, now) : null;
+        if (claims != null) {
+          metrics.cacheHit();
+          validate(claims, authInfo, now, resultHandler);
           return;
         }
+        metrics.cacheMiss();
       }
 
-      if (payload.containsKey("iat")) {
-        Long iat = payload.getLong("iat");
-        // issue at must be in the past
-        if (iat > now) {
-          resultHandler.handle(Future.failedFuture("Invalid JWT token: iat > now"));
-          return;
-        }
+      final String cacheKey = key;
+      final long cacheGeneration = generation;
+      final AuthWorkerPool cryptoPool = this.cryptoPool;
+      if (cryptoPool != null && JWT.isAsymmetric(jwt.algorithm(token))) {
+        cryptoPool.execute(() -> {
+          long start = System.nanoTime();
+          try {
+            return jwt.decodeClaims(token, permissionsClaimKey);
+          } finally {
+            metrics.workerTime(System.nanoTime() - start);
+          }
+        }, decoded -> {
+          if (decoded.failed()) {
+            resultHandler.handle(Future.failedFuture(decoded.cause()));
+            return;
+          }
+          verified(token, cacheKey, cacheGeneration, decoded.result(), authInfo, now, resultHandler);
+        });
+        return;
       }
 
-      if (payload.containsKey("nbf")) {
-        Long nbf = payload.getLong("nbf");
-        // not before must be after now
-        if (nbf > now) {
-          resultHandler.handle(Future.failedFuture("Invalid JWT token: nbf > now"));
-          return;
-        }
+      final long start = System.nanoTime();
+      final JWTClaims claims;
+      try {
+        claims = jwt.decodeClaims(token, permissionsClaimKey);
+      } finally {
+        metrics.executionTime(System.nanoTime() - start);
       }
+      verified(token, cacheKey, cacheGeneration, claims, authInfo, now, resultHandler);
 
-      if (options.containsKey("audience")) {
-        JsonArray audiences = options.getJsonArray("audience", EMPTY_ARRAY);
-        JsonArray target = payload.getJsonArray("aud", EMPTY_ARRAY);
+    } catch (RuntimeException e) {
+      resultHandler.handle(Future.failedFuture(e));
+    }
+  }
 
-        if (Collections.disjoint(audiences.getList(), target.getList())) {
-          resultHandler.handle(Future.failedFuture("Invalid JWT audient. expected: " + audiences.encode()));
-          return;
-        }
+  /**
+   * Caches freshly verified claims before validating them.
+   */
+  private void verified(String token, String cacheKey, long cacheGeneration, JWTClaims claims, JsonObject authInfo,
+                        long now, Handler<AsyncResult<User>> resultHandler) {
+    if (cacheKey != null) {
+      // while keys are retiring, the token may have been verified with one of them
+      final long keysExpireAt = jwt.retiredKeysExpireAt();
+      verifiedTokens.put(cacheKey, token, claims, cacheGeneration,
+          keysExpireAt == Long.MAX_VALUE ? Long.MAX_VALUE : keysExpireAt / 1000);
+    }
+    validate(claims, authInfo, now, resultHandler);
+  }
+
+  /**
+   * Checks the claims of a verified token, they are checked on every authentication even when the token was cached.
+   */
+  private void validate(JWTClaims claims, JsonObject authInfo, long now, Handler<AsyncResult<User>> resultHandler) {
+    try {
+      // options given with the auth info are compiled on every call, configure them on the provider instead
+      final JsonObject options = authInfo.getJsonObject("options");
+      final ClaimsValidator validator = options == null ? this.validator : new ClaimsValidator(validation.copy().mergeIn(options));
+
+      final String error = validator.validate(claims, now);
+      if (error != null) {
+        resultHandler.handle(Future.failedFuture(error));
+        return;
       }
 
-      if (options.containsKey("issuer")) {
-        if (!options.getString("issuer").equals(payload.getString("iss"))) {
-          resultHandler.handle(Future.failedFuture("Invalid JWT issuer"));
-          return;
-        }
+      if (revocations != null && revocations.isRevoked(claims, now)) {
+        resultHandler.handle(Future.failedFuture("Revoked JWT token"));
+        return;
       }
 
-      resultHandler.handle(Future.succeededFuture(new JWTUser(payload, permissionsClaimKey)));
+      resultHandler.handle(Future.succeededFuture(new JWTUser(claims)));
 
     } catch (RuntimeException e) {
       resultHandler.handle(Future.failedFuture(e));
     }
   }
 
+  /**
+   * Adds an entry of the revocation list, either {@code {"jti": ..., "exp": ...}} or
+   * {@code {"sub": ..., "exp": ..., "revokedAt": ...}} where {@code exp} is the expiration of the last token the entry
+   * applies to and the optional {@code revokedAt} defaults to now.
+   */
+  private void revoke(JsonObject entry) {
+    final long now = System.currentTimeMillis() / 1000;
+    final Long exp = entry.getLong("exp");
+    final String jti = entry.getString("jti");
+    final String sub = entry.getString("sub");
+
+    if (exp == null || (jti == null && sub == null)) {
+      log.warn("Ignoring invalid revocation " + entry.encode());
+      return;
+    }
+
+    boolean added = true;
+    if (jti != null) {
+      added = revocations.revokeId(jti, exp, now);
+    }
+    if (sub != null) {
+      added &= revocations.revokeSubject(sub, exp, entry.getLong("revokedAt", now), now);
+    }
+    if (!added) {
+      log.error("Revocation list is full, ignoring " + entry.encode());
+    }
+  }
+
   @Override
   public String generateToken(JsonObject claims, final JWTOptions options) {
     final JsonObject jsonOptions = options.toJson();
+    return jwt.sign(withPermissions(claims, jsonOptions), jsonOptions);
+  }
+
+  @Override
+  public void generateToken(JsonObject claims, JWTOptions options, Handler<AsyncResult<String>> resultHandler) {
+    final JsonObject jsonOptions = options.toJson();
+    final JsonObject payload;
+    try {
+      payload = withPermissions(claims.copy(), jsonOptions);
+    } catch (RuntimeException e) {
+      resultHandler.handle(Future.failedFuture(e));
+      return;
+    }
+
+    final AuthWorkerPool cryptoPool = this.cryptoPool;
+    if (cryptoPool != null && JWT.isAsymmetric(jsonOptions.getString("algorithm", "HS256"))) {
+      cryptoPool.execute(() -> {
+        long start = System.nanoTime();
+        try {
+          return jwt.sign(payload, jsonOptions);
+        } finally {
+          metrics.workerTime(System.nanoTime() - start);
+        }
+      }, resultHandler);
+      return;
+    }
+
+    final long start = System.nanoTime();
+    final String token;
+    try {
+      token = jwt.sign(payload, jsonOptions);
+    } catch (RuntimeException e) {
+      resultHandler.handle(Future.failedFuture(e));
+      return;
+    } finally {
+      metrics.executionTime(System.nanoTime() - start);
+    }
+    resultHandler.handle(Future.succeededFuture(token));
+  }
+
+  @Override
+  public JWTAuth setCryptoPool(AuthWorkerPool cryptoPool) {
+    this.cryptoPool = cryptoPool;
+    return this;
+  }
 
+  @Override
+  public synchronized void close() {
+    if (jwksReloadTimer != -1) {
+      vertx.cancelTimer(jwksReloadTimer);
+      jwksReloadTimer = -1;
+    }
+    if (revocationPurgeTimer != -1) {
+      vertx.cancelTimer(revocationPurgeTimer);
+      revocationPurgeTimer = -1;
+    }
+    if (revocationConsumer != null) {
+      revocationConsumer.unregister();
+      revocationConsumer = null;
+    }
+    if (ownCryptoPool != null) {
+      if (cryptoPool == ownCryptoPool) {
+        // verify on the calling thread from now on
+        cryptoPool = null;
+      }
+      ownCryptoPool.close();
+      ownCryptoPool = null;
+    }
+  }
+
+  private JsonObject withPermissions(JsonObject claims, JsonObject jsonOptions) {
     // we do some "enhancement" of the claims to support roles and permissions
     if (jsonOptions.containsKey("permissions") && !claims.containsKey(permissionsClaimKey)) {
       claims.put(permissionsClaimKey, jsonOptions.getJsonArray("permissions"));
     }
-
-    return jwt.sign(claims, options.toJson());
+    return claims;
   }
 }
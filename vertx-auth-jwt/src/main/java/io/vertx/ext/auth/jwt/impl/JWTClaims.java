@@ -0,0 +1,242 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.jwt.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lazy view of a verified JWT payload. The registered claims needed to validate a token and the permissions claim
+ * are pulled with a streaming parser, every other claim is skipped over and only materialized, from the retained
+ * payload bytes, when {@link #json()} is called.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class JWTClaims {
+
+  // registered claims tracked in the presence mask
+  static final int EXP = 1;
+  static final int IAT = 1 << 1;
+  static final int NBF = 1 << 2;
+  static final int ISS = 1 << 3;
+  static final int AUD = 1 << 4;
+  static final int SUB = 1 << 5;
+  static final int JTI = 1 << 6;
+
+  private final byte[] payload;
+
+  final int present;
+
+  final Long exp;
+  final Long iat;
+  final Long nbf;
+  final String iss;
+  final String sub;
+  final String jti;
+  final List<String> aud;
+  final Set<String> permissions;
+
+  private JWTClaims(byte[] payload, int present, Long exp, Long iat, Long nbf, String iss, String sub, String jti, List<String> aud,
+                    Set<String> permissions) {
+    this.payload = payload;
+    this.present = present;
+    this.exp = exp;
+    this.iat = iat;
+    this.nbf = nbf;
+    this.iss = iss;
+    this.sub = sub;
+    this.jti = jti;
+    this.aud = aud;
+    this.permissions = permissions;
+  }
+
+  /**
+   * @return the presence mask bit of a registered claim or 0 if the claim is not tracked
+   */
+  static int bit(String claim) {
+    switch (claim) {
+      case "exp":
+        return EXP;
+      case "iat":
+        return IAT;
+      case "nbf":
+        return NBF;
+      case "iss":
+        return ISS;
+      case "aud":
+        return AUD;
+      case "sub":
+        return SUB;
+      case "jti":
+        return JTI;
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * @return a new JSON object with all the claims
+   */
+  @SuppressWarnings("unchecked")
+  public JsonObject json() {
+    try {
+      return new JsonObject(Json.mapper.readValue(payload, Map.class));
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode:" + e.getMessage());
+    }
+  }
+
+  /**
+   * @param payload             the decoded payload, kept by the returned instance
+   * @param permissionsClaimKey the name of the claim holding the permissions
+   */
+  static JWTClaims parse(byte[] payload, String permissionsClaimKey) {
+    Long exp = null;
+    Long iat = null;
+    Long nbf = null;
+    String iss = null;
+    String sub = null;
+    String jti = null;
+    List<String> aud = Collections.emptyList();
+    Set<String> permissions = Collections.emptySet();
+    int present = 0;
+
+    try (JsonParser parser = Json.mapper.getFactory().createParser(payload)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new DecodeException("Failed to decode: payload is not a JSON object");
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.getCurrentName();
+        final JsonToken token = parser.nextToken();
+
+        if (name.equals(permissionsClaimKey)) {
+          // an array of permissions or a single delimited string such as an OAuth2 scope
+          permissions = token == JsonToken.VALUE_STRING ? permissions(parser.getText()) : permissions(strings(parser, token));
+          continue;
+        }
+
+        present |= bit(name);
+
+        switch (name) {
+          case "exp":
+            exp = numericDate(parser, token, name);
+            break;
+          case "iat":
+            iat = numericDate(parser, token, name);
+            break;
+          case "nbf":
+            nbf = numericDate(parser, token, name);
+            break;
+          case "iss":
+            iss = token == JsonToken.VALUE_STRING ? parser.getText() : skip(parser);
+            break;
+          case "sub":
+            sub = token == JsonToken.VALUE_STRING ? parser.getText() : skip(parser);
+            break;
+          case "jti":
+            jti = token == JsonToken.VALUE_STRING ? parser.getText() : skip(parser);
+            break;
+          case "aud":
+            // a single audience can be a plain string
+            aud = strings(parser, token);
+            break;
+          default:
+            parser.skipChildren();
+        }
+      }
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode:" + e.getMessage());
+    }
+
+    return new JWTClaims(payload, present, exp, iat, nbf, iss, sub, jti, aud, permissions);
+  }
+
+  /**
+   * @return an immutable set of the permissions in a space delimited string
+   */
+  static Set<String> permissions(String scope) {
+    final Set<String> permissions = new HashSet<>();
+    final int length = scope.length();
+    int start = 0;
+    for (int i = 0; i <= length; i++) {
+      if (i == length || Character.isWhitespace(scope.charAt(i))) {
+        if (i > start) {
+          permissions.add(scope.substring(start, i));
+        }
+        start = i + 1;
+      }
+    }
+    return Collections.unmodifiableSet(permissions);
+  }
+
+  /**
+   * @return an immutable set of the given permissions
+   */
+  static Set<String> permissions(Collection<?> values) {
+    final Set<String> permissions = new HashSet<>();
+    for (Object value : values) {
+      if (value instanceof String) {
+        permissions.add((String) value);
+      }
+    }
+    return Collections.unmodifiableSet(permissions);
+  }
+
+  private static Long numericDate(JsonParser parser, JsonToken token, String name) throws IOException {
+    if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+      throw new DecodeException("Invalid JWT token: " + name + " is not a NumericDate");
+    }
+    return parser.getLongValue();
+  }
+
+  private static List<String> strings(JsonParser parser, JsonToken token) throws IOException {
+    if (token == JsonToken.VALUE_STRING) {
+      return Collections.singletonList(parser.getText());
+    }
+    if (token != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return Collections.emptyList();
+    }
+    final List<String> values = new ArrayList<>();
+    JsonToken element;
+    while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+      if (element == JsonToken.VALUE_STRING) {
+        values.add(parser.getText());
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return Collections.unmodifiableList(values);
+  }
+
+  private static <T> T skip(JsonParser parser) throws IOException {
+    parser.skipChildren();
+    return null;
+  }
+}
@@ -24,9 +24,16 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthMetrics;
 import io.vertx.ext.auth.AuthProvider;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Paulo Lopes
@@ -35,8 +42,10 @@ public class JWTUser extends AbstractUser {
 
   private static final Logger log = LoggerFactory.getLogger(JWTUser.class);
 
+  private JWTClaims claims;
   private JsonObject jwtToken;
-  private JsonArray permissions;
+  // immutable, built once so every authority check is a hash lookup
+  private Set<String> permissions = Collections.emptySet();
 
   public JWTUser() {
     // required if the object is serialized, however this is not a good idea
@@ -46,11 +55,27 @@ public class JWTUser extends AbstractUser {
 
   public JWTUser(JsonObject jwtToken, String permissionsClaimKey) {
     this.jwtToken = jwtToken;
-    this.permissions = jwtToken.getJsonArray(permissionsClaimKey, null);
+    this.permissions = permissions(jwtToken.getValue(permissionsClaimKey));
+  }
+
+  /**
+   * Creates a user from verified claims, the principal is only materialized when {@link #principal()} is called.
+   */
+  public JWTUser(JWTClaims claims) {
+    this.claims = claims;
+    this.permissions = claims.permissions;
+  }
+
+  @Override
+  protected AuthMetrics metrics() {
+    return AuthMetrics.metrics(JWTAuthProviderImpl.METRICS_NAME);
   }
 
   @Override
   public JsonObject principal() {
+    if (jwtToken == null && claims != null) {
+      jwtToken = claims.json();
+    }
     return jwtToken;
   }
 
@@ -61,27 +86,45 @@ public class JWTUser extends AbstractUser {
 
   @Override
   public void doIsPermitted(String permission, Handler<AsyncResult<Boolean>> handler) {
-    if (permissions != null) {
-      for (Object jwtPermission : permissions) {
-        if (permission.equals(jwtPermission)) {
-          handler.handle(Future.succeededFuture(true));
-          return;
-        }
-      }
+    if (permissions.contains(permission)) {
+      handler.handle(Future.succeededFuture(true));
+      return;
     }
 
     log.debug("User has no permission [" + permission + "]");
     handler.handle(Future.succeededFuture(false));
   }
 
+  @Override
+  protected void doIsPermitted(Set<String> permissions, Handler<AsyncResult<Map<String, Boolean>>> handler) {
+    Map<String, Boolean> results = new HashMap<>();
+    for (String permission : permissions) {
+      results.put(permission, this.permissions.contains(permission));
+    }
+    handler.handle(Future.succeededFuture(results));
+  }
+
+  private static Set<String> permissions(Object claim) {
+    if (claim instanceof String) {
+      return JWTClaims.permissions((String) claim);
+    }
+    if (claim instanceof JsonArray) {
+      return JWTClaims.permissions(((JsonArray) claim).getList());
+    }
+    if (claim instanceof List) {
+      return JWTClaims.permissions((List<?>) claim);
+    }
+    return Collections.emptySet();
+  }
+
   @Override
   public void writeToBuffer(Buffer buff) {
     super.writeToBuffer(buff);
-    byte[] bytes = jwtToken.encode().getBytes(StandardCharsets.UTF_8);
+    byte[] bytes = principal().encode().getBytes(StandardCharsets.UTF_8);
     buff.appendInt(bytes.length);
     buff.appendBytes(bytes);
 
-    bytes = permissions.encode().getBytes(StandardCharsets.UTF_8);
+    bytes = new JsonArray(new ArrayList<>(permissions)).encode().getBytes(StandardCharsets.UTF_8);
     buff.appendInt(bytes.length);
     buff.appendBytes(bytes);
   }
@@ -98,7 +141,7 @@ public class JWTUser extends AbstractUser {
     len = buffer.getInt(pos);
     pos += 4;
     bytes = buffer.getBytes(pos, pos + len);
-    permissions = new JsonArray(new String(bytes, StandardCharsets.UTF_8));
+    permissions = permissions(new JsonArray(new String(bytes, StandardCharsets.UTF_8)));
     pos += len;
 
     return pos;
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.jwt.impl;
+
+import io.vertx.ext.auth.impl.BloomFilter;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Revoked token ids ({@code jti}) and subjects ({@code sub}), each kept until the {@code exp} of the last token it
+ * applies to. A revoked subject rejects the tokens issued at or before the revocation.
+ * <p>
+ * Lookups go through a {@link BloomFilter} first, so the common case of a token that was not revoked is answered
+ * without locking. Possible matches are confirmed against the ids themselves, so a token is never rejected because
+ * of a hash collision. At most {@code maxEntries} ids and subjects are kept. Expired entries are dropped by
+ * {@link #purge(long)}, which also rebuilds the filter as Bloom filters cannot forget values.
+ */
+final class RevocationList {
+
+  private static final double FPP = 0.01;
+  private static final long SUBJECT = 0x5bd1e9955bd1e995L;
+
+  private final int maxEntries;
+  private volatile BloomFilter filter;
+
+  // guarded by this
+  private final Map<String, Entry> ids = new HashMap<>();
+  private final Map<String, Entry> subjects = new HashMap<>();
+
+  RevocationList(int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be > 0");
+    }
+    this.maxEntries = maxEntries;
+    this.filter = new BloomFilter(maxEntries, FPP);
+  }
+
+  /**
+   * @return false if the list is full
+   */
+  boolean revokeId(String jti, long exp, long now) {
+    return revoke(ids, jti, key(jti, false), exp, now, now);
+  }
+
+  /**
+   * @return false if the list is full
+   */
+  boolean revokeSubject(String sub, long exp, long revokedAt, long now) {
+    return revoke(subjects, sub, key(sub, true), exp, revokedAt, now);
+  }
+
+  boolean isRevoked(JWTClaims claims, long now) {
+    final BloomFilter filter = this.filter;
+
+    if (claims.jti != null && filter.mightContain(key(claims.jti, false)) && revokedAt(ids, claims.jti, now) != -1) {
+      return true;
+    }
+
+    if (claims.sub != null && filter.mightContain(key(claims.sub, true))) {
+      long revokedAt = revokedAt(subjects, claims.sub, now);
+      // tokens without iat cannot prove they were issued after the revocation
+      return revokedAt != -1 && (claims.iat == null || claims.iat <= revokedAt);
+    }
+
+    return false;
+  }
+
+  synchronized int size() {
+    return ids.size() + subjects.size();
+  }
+
+  /**
+   * Drops the entries expired at {@code now}.
+   *
+   * @return the number of dropped entries
+   */
+  synchronized int purge(long now) {
+    int expired = purge(ids, now) + purge(subjects, now);
+    if (expired == 0) {
+      return 0;
+    }
+
+    final BloomFilter rebuilt = new BloomFilter(maxEntries, FPP);
+    for (String jti : ids.keySet()) {
+      rebuilt.put(key(jti, false));
+    }
+    for (String sub : subjects.keySet()) {
+      rebuilt.put(key(sub, true));
+    }
+    filter = rebuilt;
+    return expired;
+  }
+
+  private static int purge(Map<String, Entry> entries, long now) {
+    int expired = 0;
+    for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+      if (it.next().expiration <= now) {
+        it.remove();
+        expired++;
+      }
+    }
+    return expired;
+  }
+
+  private synchronized boolean revoke(Map<String, Entry> entries, String id, long key, long exp, long revokedAt,
+                                      long now) {
+    if (exp <= now) {
+      // the tokens are already expired
+      return true;
+    }
+
+    Entry entry = entries.get(id);
+    if (entry != null) {
+      entry.expiration = Math.max(entry.expiration, exp);
+      entry.revokedAt = Math.max(entry.revokedAt, revokedAt);
+      return true;
+    }
+
+    if (size() >= maxEntries) {
+      return false;
+    }
+
+    entries.put(id, new Entry(exp, revokedAt));
+    filter.put(key);
+    return true;
+  }
+
+  /**
+   * @return the revocation time of the entry or -1 if there is no such entry or it has expired
+   */
+  private synchronized long revokedAt(Map<String, Entry> entries, String id, long now) {
+    Entry entry = entries.get(id);
+    if (entry != null && entry.expiration > now) {
+      return entry.revokedAt;
+    }
+    return -1;
+  }
+
+  private static long key(String id, boolean subject) {
+    return BloomFilter.hash(id) ^ (subject ? SUBJECT : 0);
+  }
+
+  private static final class Entry {
+
+    long expiration;
+    long revokedAt;
+
+    Entry(long expiration, long revokedAt) {
+      this.expiration = expiration;
+      this.revokedAt = revokedAt;
+    }
+  }
+}
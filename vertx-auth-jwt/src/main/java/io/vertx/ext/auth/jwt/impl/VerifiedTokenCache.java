@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.auth.jwt.impl;
+
+import io.vertx.ext.auth.impl.AuthInfoDigest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded map of the claims of tokens whose signature was already verified. Entries are keyed by a keyed hash of the
+ * signature segment, which is short and unique to the signed content, and keep the signing input (header and
+ * payload) that a hit must match, so a known signature cannot be paired with another payload. The signature itself is
+ * never kept, hence neither is a usable token. Entries only live until the token's {@code exp} claim or until the key
+ * that verified it is no longer valid, whichever comes first. Tokens without an expiration or a signature are not
+ * cached.
+ * <p>
+ * The entries are spread over segments by key, each one an LRU map with its own lock, so concurrent authentications
+ * seldom contend and the least recently used token of a segment, rather than of the whole cache, is evicted.
+ */
+final class VerifiedTokenCache {
+
+  private static final int MAX_SEGMENTS = 16;
+
+  private final AuthInfoDigest digest = new AuthInfoDigest();
+  private final Segment[] segments;
+  // bumped on every clear, before the segments are emptied
+  private final AtomicLong generation = new AtomicLong();
+
+  VerifiedTokenCache(final int maxSize) {
+    int count = 1;
+    while (count < MAX_SEGMENTS && count * 2 <= maxSize) {
+      count *= 2;
+    }
+    this.segments = new Segment[count];
+    for (int i = 0; i < count; i++) {
+      segments[i] = new Segment((maxSize + count - 1) / count);
+    }
+  }
+
+  /**
+   * @return the key of the token, or null when it is not signed and must not be cached
+   */
+  String key(String token) {
+    final int dot = token.lastIndexOf('.');
+    if (dot < 0 || dot == token.length() - 1) {
+      return null;
+    }
+    return digest.digest(token.substring(dot + 1));
+  }
+
+  /**
+   * @param now the current time, in seconds since the epoch
+   * @return the verified claims or null when the token is unknown or expired
+   */
+  JWTClaims get(String key, String token, long now) {
+    final Segment segment = segment(key);
+    synchronized (segment) {
+      Entry entry = segment.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (now >= entry.expiresAt) {
+        segment.remove(key);
+        return null;
+      }
+      final String signingInput = entry.signingInput;
+      if (token.length() <= signingInput.length() || token.charAt(signingInput.length()) != '.'
+          || !token.startsWith(signingInput)) {
+        // same signature, other content
+        return null;
+      }
+      return entry.claims;
+    }
+  }
+
+  /**
+   * @return the generation to pass to {@link #put}, read before the token is verified
+   */
+  long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Caches the claims of a token, unless the cache was cleared since it was verified.
+   *
+   * @param generation the generation read before the token was verified
+   * @param keysExpireAt the time the keys verifying the token may stop being valid, in seconds since the epoch
+   */
+  void put(String key, String token, JWTClaims claims, long generation, long keysExpireAt) {
+    if (claims.exp != null) {
+      final Entry entry = new Entry(token.substring(0, token.lastIndexOf('.')), claims,
+          Math.min(claims.exp, keysExpireAt));
+      final Segment segment = segment(key);
+      synchronized (segment) {
+        // a clear bumps the generation before emptying this segment, under the same lock
+        if (generation == this.generation.get()) {
+          segment.put(key, entry);
+        }
+      }
+    }
+  }
+
+  /**
+   * Forgets every token, once the keys they were verified with changed.
+   */
+  void clear() {
+    generation.incrementAndGet();
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  private Segment segment(String key) {
+    return segments[key.hashCode() & (segments.length - 1)];
+  }
+
+  private static final class Segment extends LinkedHashMap<String, Entry> {
+    private final int maxSize;
+
+    Segment(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+      return size() > maxSize;
+    }
+  }
+
+  private static final class Entry {
+    final String signingInput;
+    final JWTClaims claims;
+    final long expiresAt;
+
+    Entry(String signingInput, JWTClaims claims, long expiresAt) {
+      this.signingInput = signingInput;
+      this.claims = claims;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
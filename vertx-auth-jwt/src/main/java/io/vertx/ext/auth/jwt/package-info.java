@@ -80,6 +80,26 @@
  * TODO show example of authentication and authorisation with JWT and explain how the permission string passed
  * in authorisation maps to the claims in the JW token
  *
+ * === Validating claims
+ *
+ * Besides the signature, `exp`, `iat` and `nbf` are always checked. Further rules are given in the provider
+ * configuration and compiled once, so validating a token only compares a few fields:
+ *
+ * `issuer`:: the expected `iss`
+ * `audience`:: array of accepted audiences, at least one of them must be in `aud`
+ * `leeway`:: clock skew tolerated when checking `exp`, `iat` and `nbf`, in seconds
+ * `ignoreExpiration`:: do not reject expired tokens
+ * `requiredClaims`:: array of registered claims (`exp`, `iat`, `nbf`, `iss`, `aud`, `sub`, `jti`) that must be present
+ *
+ * The same keys can still be given per authentication in an `options` object next to the `jwt`. They override the
+ * provider configuration, but are compiled on every call.
+ *
+ * === Permissions
+ *
+ * The permissions of a user are read from the `permissions` claim, or the claim named by `permissionsClaimKey` in the
+ * configuration. The claim can be an array of strings or a single space delimited string such as an OAuth2 `scope`.
+ * The permissions are put in a set once, when the token is verified, so each authority check is a hash lookup.
+ *
  * === The JWT keystore file
  *
  * This auth provider requires a keystore in the classpath or in the filesystem with either a {@link javax.crypto.Mac}
@@ -102,6 +122,80 @@
  * When no keystore is provided the implementation falls back in unsecure mode and signatures will not be verified, this
  * is useful for the cases where the payload if signed and or encrypted by external means.
  *
+ * === Loading keys from a JWK Set
+ *
+ * Keys can also be loaded from a JSON Web Key Set (RFC 7517) file, instead of or in addition to the keystore. The keys
+ * are indexed by their `kid` and a token whose header carries a `kid` is verified with that key; tokens without one
+ * use the keystore keys as before. `oct` (`HS*`), `RSA` (`RS*`) and `EC` (`ES*`) keys are supported, each key is
+ * bound to its `alg` (or the default of its type) and RSA and EC keys can only sign when they include the private
+ * parameter `d`. As mandated by JWS, ECDSA signatures made with these keys use the concatenation of R and S.
+ *
+ * ----
+ * {
+ *   "jwks": {
+ *     "path": "jwks.json",
+ *     "reloadInterval": 60000,
+ *     "gracePeriod": 300000
+ *   }
+ * }
+ * ----
+ *
+ * When `reloadInterval` (milliseconds) is set the file is read again periodically and the new set replaces the
+ * current one atomically, verification never waits for a reload. Keys that disappear from the set keep verifying for
+ * `gracePeriod` milliseconds (5 minutes by default), so tokens signed with the previous key remain valid while the
+ * rotation completes. To sign with a specific key add its `kid` to the token header with
+ * {@link io.vertx.ext.auth.jwt.JWTOptions#addHeader(java.lang.String, java.lang.String)}.
+ *
+ * === Caching verified tokens
+ *
+ * Clients usually send the same token on every request until it expires. Verifying an `RS*` or `ES*` signature is
+ * relatively expensive, so the provider can remember the tokens it already verified by setting
+ * `verifiedTokenCacheSize` in the configuration to the maximum number of tokens to keep (the default, `0`, disables
+ * the cache). A cached token is neither decoded nor verified again, but its `exp`, `iat` and `nbf` claims and the
+ * `audience` and `issuer` options are checked on every authentication. Entries are dropped when the token expires,
+ * tokens without an `exp` claim are not cached. The size is approximate: the
+ * least recently used tokens are evicted per segment of the cache, so that concurrent authentications seldom
+ * contend. The cache is emptied every time the JWK Set is reloaded, and while a
+ * key is retiring no entry outlives its grace period.
+ *
+ * === Offloading RSA and ECDSA
+ *
+ * Signing or verifying an `RS*` or `ES*` token takes from a fraction of a millisecond to several milliseconds with
+ * large RSA keys, all of it on the calling thread, i.e. the event loop. Give the provider a dedicated pool with
+ * {@link io.vertx.ext.auth.jwt.JWTAuth#setCryptoPool(io.vertx.ext.auth.AuthWorkerPool)} or the `cryptoPoolSize` and
+ * `cryptoQueueSize` config properties to run that work on it: the pool is bounded, once its queue is full further
+ * authentications fail until it catches up, and the pool of the config properties is shared by the providers of a
+ * Vert.x instance. Use the asynchronous
+ * {@link io.vertx.ext.auth.jwt.JWTAuth#generateToken(io.vertx.core.json.JsonObject, io.vertx.ext.auth.jwt.JWTOptions, io.vertx.core.Handler)}
+ * to sign on the pool as well. `HS*` tokens and tokens found in the verified token cache never leave the calling
+ * thread, as handing them over would cost more than the MAC itself.
+ *
+ * === Revoking tokens
+ *
+ * Tokens can be revoked before they expire by their id (`jti`) or by subject (`sub`), in which case every token of
+ * that subject issued at or before the revocation is rejected, as well as its tokens without an `iat` claim. The
+ * revocations are kept in memory, so checking them needs no round trip to a backend:
+ *
+ * ----
+ * {
+ *   "revocation": {
+ *     "path": "revoked.json",
+ *     "address": "jwt.revocations",
+ *     "maxEntries": 1000000
+ *   }
+ * }
+ * ----
+ *
+ * `path` is a JSON array read once at startup and `address` an event bus address where new revocations can be sent
+ * later, both using entries such as `{"jti": "...", "exp": ...}` or `{"sub": "...", "exp": ..., "revokedAt": ...}`.
+ * `exp` is the expiration of the last token the entry applies to, in seconds since the epoch, and once it has passed
+ * the entry is dropped since the tokens are rejected anyway. `revokedAt` defaults to the time the entry is received.
+ *
+ * Memory is bounded by `maxEntries` (1000000 by default). The ids are kept as they are, so that a token is only
+ * rejected when its `jti` or `sub` matches exactly, and each entry takes around a hundred bytes on top of the id
+ * itself. A Bloom filter in front of them answers for the tokens that were not revoked. Entries received when the
+ * list is full are logged and ignored.
+ *
  * === Generate a new Keystore file
  *
  * The only required tool to generate a keystore file is `keytool`, you can now specify which algorithms you need by
@@ -17,6 +17,7 @@
 /** @module vertx-auth-jwt-js/jwt_auth */
 var utils = require('vertx-js/util/utils');
 var Vertx = require('vertx-js/vertx');
+var AuthWorkerPool = require('vertx-auth-common-js/auth_worker_pool');
 var AuthProvider = require('vertx-auth-common-js/auth_provider');
 
 var io = Packages.io;
@@ -42,10 +43,52 @@ var JWTAuth = function(j_val) {
    @param options {Object} extra options for the generation 
    @return {string} JWT encoded token
    */
-  this.generateToken = function(claims, options) {
+  this.generateToken = function(claims, options, resultHandler) {
     var __args = arguments;
     if (__args.length === 2 && (typeof __args[0] === 'object' && __args[0] != null) && (typeof __args[1] === 'object' && __args[1] != null)) {
       return j_jWTAuth["generateToken(io.vertx.core.json.JsonObject,io.vertx.ext.auth.jwt.JWTOptions)"](utils.convParamJsonObject(claims), options != null ? new JWTOptions(new JsonObject(JSON.stringify(options))) : null);
+    } else if (__args.length === 3 && (typeof __args[0] === 'object' && __args[0] != null) && (typeof __args[1] === 'object' && __args[1] != null) && typeof __args[2] === 'function') {
+      j_jWTAuth["generateToken(io.vertx.core.json.JsonObject,io.vertx.ext.auth.jwt.JWTOptions,io.vertx.core.Handler)"](utils.convParamJsonObject(claims), options != null ? new JWTOptions(new JsonObject(JSON.stringify(options))) : null, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(ar.result(), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the pool the <code>RS*</code> and <code>ES*</code> signatures are computed and verified on. By default they run on the
+   calling thread, where an RSA signature can block the event loop for milliseconds. <code>HS*</code> tokens are always
+   handled inline.
+
+   @public
+   @param cryptoPool {AuthWorkerPool} the pool, or <code>null</code> to run on the calling thread 
+   @return {JWTAuth} a reference to this for fluency
+   */
+  this.setCryptoPool = function(cryptoPool) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._jdel) {
+      return utils.convReturnVertxGen(j_jWTAuth["setCryptoPool(io.vertx.ext.auth.AuthWorkerPool)"](cryptoPool._jdel), JWTAuth);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Stop the background work started from the config: the JWK Set reloads, the purges of the revocation list and the
+   revocation consumer. The crypto pool created from the config is released, a pool set with
+   {@link JWTAuth#setCryptoPool} is left open. Tokens can still be verified after that.
+   <p>
+   When the provider is created by a verticle, Vert.x also cancels the reloads and the purges and unregisters the
+   consumer once the verticle is undeployed, call this method to release the crypto pool as well.
+
+   @public
+
+   */
+  this.close = function() {
+    var __args = arguments;
+    if (__args.length === 0) {
+      j_jWTAuth["close()"]();
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
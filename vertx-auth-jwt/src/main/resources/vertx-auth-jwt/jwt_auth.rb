@@ -1,4 +1,5 @@
 require 'vertx/vertx'
+require 'vertx-auth-common/auth_worker_pool'
 require 'vertx-auth-common/auth_provider'
 require 'vertx/util/utils.rb'
 # Generated from io.vertx.ext.auth.jwt.JWTAuth
@@ -33,8 +34,34 @@ module VertxAuthJwt
     def generate_token(claims=nil,options=nil)
       if claims.class == Hash && options.class == Hash && !block_given?
         return @j_del.java_method(:generateToken, [Java::IoVertxCoreJson::JsonObject.java_class,Java::IoVertxExtAuthJwt::JWTOptions.java_class]).call(::Vertx::Util::Utils.to_json_object(claims),Java::IoVertxExtAuthJwt::JWTOptions.new(::Vertx::Util::Utils.to_json_object(options)))
+      elsif claims.class == Hash && options.class == Hash && block_given?
+        return @j_del.java_method(:generateToken, [Java::IoVertxCoreJson::JsonObject.java_class,Java::IoVertxExtAuthJwt::JWTOptions.java_class,Java::IoVertxCore::Handler.java_class]).call(::Vertx::Util::Utils.to_json_object(claims),Java::IoVertxExtAuthJwt::JWTOptions.new(::Vertx::Util::Utils.to_json_object(options)),(Proc.new { |ar| yield(ar.failed ? ar.cause : nil, ar.succeeded ? ar.result : nil) }))
       end
       raise ArgumentError, "Invalid arguments when calling generate_token(claims,options)"
     end
+    #  Set the pool the <code>RS*</code> and <code>ES*</code> signatures are computed and verified on. By default they run on the
+    #  calling thread, where an RSA signature can block the event loop for milliseconds. <code>HS*</code> tokens are always
+    #  handled inline.
+    # @param [::VertxAuthCommon::AuthWorkerPool] cryptoPool the pool, or <code>null</code> to run on the calling thread
+    # @return [::VertxAuthJwt::JWTAuth] a reference to this for fluency
+    def set_crypto_pool(cryptoPool=nil)
+      if cryptoPool.class.method_defined?(:j_del) && !block_given?
+        return ::Vertx::Util::Utils.safe_create(@j_del.java_method(:setCryptoPool, [Java::IoVertxExtAuth::AuthWorkerPool.java_class]).call(cryptoPool.j_del),::VertxAuthJwt::JWTAuth)
+      end
+      raise ArgumentError, "Invalid arguments when calling set_crypto_pool(cryptoPool)"
+    end
+    #  Stop the background work started from the config: the JWK Set reloads, the purges of the revocation list and the
+    #  revocation consumer. The crypto pool created from the config is released, a pool set with
+    #  {::VertxAuthJwt::JWTAuth#set_crypto_pool} is left open. Tokens can still be verified after that.
+    #  <p>
+    #  When the provider is created by a verticle, Vert.x also cancels the reloads and the purges and unregisters the
+    #  consumer once the verticle is undeployed, call this method to release the crypto pool as well.
+    # @return [void]
+    def close
+      if !block_given?
+        return @j_del.java_method(:close, []).call()
+      end
+      raise ArgumentError, "Invalid arguments when calling close()"
+    end
   end
 end
@@ -18,12 +18,30 @@ package io.vertx.ext.auth.test.jwt;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthMetrics;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.auth.jwt.JWTOptions;
 import io.vertx.test.core.VertxTestBase;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 public class JWTAuthProviderTest extends VertxTestBase {
 
   protected JWTAuth authProvider;
@@ -67,6 +85,370 @@ public class JWTAuthProviderTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testTamperedJWT() {
+    // same header and signature, payload segment altered
+    int dot = JWT_VALID.indexOf('.');
+    String tampered = JWT_VALID.substring(0, dot + 1) + "X" + JWT_VALID.substring(dot + 2);
+    authProvider.authenticate(new JsonObject().put("jwt", tampered), onFailure(thr -> {
+      assertNotNull(thr);
+      // and a token with an extra segment
+      authProvider.authenticate(new JsonObject().put("jwt", JWT_VALID + ".abc"), onFailure(thr2 -> {
+        assertNotNull(thr2);
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testUnsecuredJWT() {
+    authProvider = JWTAuth.create(vertx, new JsonObject());
+
+    // "none" produces an empty signature segment
+    String token = authProvider.generateToken(new JsonObject().put("sub", "Paulo"), new JWTOptions().setAlgorithm("none"));
+    assertTrue(token.endsWith("."));
+
+    authProvider.authenticate(new JsonObject().put("jwt", token), onSuccess(res -> {
+      assertEquals("Paulo", res.principal().getString("sub"));
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testConcurrentSignAndVerify() throws Exception {
+    final int threads = 8;
+    final int iterations = 200;
+    final String[] algorithms = {"HS256", "HS384", "HS512"};
+
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final CountDownLatch latch = new CountDownLatch(threads * iterations);
+
+    for (int t = 0; t < threads; t++) {
+      final String subject = "user-" + t;
+      new Thread(() -> {
+        for (int i = 0; i < iterations; i++) {
+          // an RSA token now and then, signing is too slow to do it on every iteration
+          final String algorithm = i % 50 == 0 ? "RS256" : algorithms[i % algorithms.length];
+          try {
+            String token = authProvider.generateToken(new JsonObject().put("sub", subject), new JWTOptions().setAlgorithm(algorithm));
+            authProvider.authenticate(new JsonObject().put("jwt", token), res -> {
+              if (res.failed()) {
+                failure.compareAndSet(null, res.cause());
+              } else if (!subject.equals(res.result().principal().getString("sub"))) {
+                failure.compareAndSet(null, new AssertionError("Wrong subject " + res.result().principal()));
+              }
+              latch.countDown();
+            });
+          } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+            latch.countDown();
+          }
+        }
+      }).start();
+    }
+
+    assertTrue(latch.await(60, TimeUnit.SECONDS));
+    assertNull(failure.get());
+  }
+
+  @Test
+  public void testVerifiedTokenCache() {
+    authProvider = JWTAuth.create(vertx, getConfig().put("verifiedTokenCacheSize", 10));
+
+    final String token = authProvider.generateToken(new JsonObject().put("sub", "Paulo"),
+        new JWTOptions().setExpiresInMinutes(5L).setIssuer("https://vertx.io"));
+    // same signature, different payload
+    final String forged = token.substring(0, token.indexOf('.') + 1)
+        + Base64.getUrlEncoder().encodeToString(new JsonObject().put("sub", "admin").put("exp", System.currentTimeMillis() / 1000 + 300).encode().getBytes())
+        + token.substring(token.lastIndexOf('.'));
+
+    final JsonObject before = AuthMetrics.metrics("jwt").toJson();
+
+    authProvider.authenticate(new JsonObject().put("jwt", token), onSuccess(user -> {
+      authProvider.authenticate(new JsonObject().put("jwt", token), onSuccess(cached -> {
+        assertEquals(user.principal(), cached.principal());
+
+        JsonObject after = AuthMetrics.metrics("jwt").toJson();
+        assertEquals(1, delta(before, after, "cache", "hits"));
+        assertEquals(1, delta(before, after, "cache", "misses"));
+
+        // the claims are checked on every hit
+        JsonObject badIssuer = new JsonObject().put("jwt", token).put("options", new JsonObject().put("issuer", "https://auth0.io"));
+        authProvider.authenticate(badIssuer, onFailure(thr -> {
+          authProvider.authenticate(new JsonObject().put("jwt", forged), onFailure(thr2 -> testComplete()));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testJWKSetRotation() throws Exception {
+    final Path jwks = Files.createTempFile("jwks", ".json");
+    jwks.toFile().deleteOnExit();
+    Files.write(jwks, jwkSet(octKey("k1")).getBytes(StandardCharsets.UTF_8));
+
+    authProvider = JWTAuth.create(vertx, new JsonObject().put("jwks", new JsonObject()
+        .put("path", jwks.toString())
+        .put("reloadInterval", 50)
+        .put("gracePeriod", 60000)));
+
+    final String old = authProvider.generateToken(new JsonObject().put("sub", "Paulo"), new JWTOptions().addHeader("kid", "k1"));
+
+    authProvider.authenticate(new JsonObject().put("jwt", old), onSuccess(user -> {
+      try {
+        // rotate, k1 is no longer published
+        Files.write(jwks, jwkSet(octKey("k2")).getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        fail(e.getMessage());
+      }
+      vertx.setPeriodic(20, id -> {
+        final String fresh;
+        try {
+          fresh = authProvider.generateToken(new JsonObject().put("sub", "Paulo"), new JWTOptions().addHeader("kid", "k2"));
+        } catch (RuntimeException e) {
+          // not reloaded yet
+          return;
+        }
+        vertx.cancelTimer(id);
+        authProvider.authenticate(new JsonObject().put("jwt", fresh), onSuccess(res -> {
+          // the retired key still verifies during the grace period
+          authProvider.authenticate(new JsonObject().put("jwt", old), onSuccess(res2 -> testComplete()));
+        }));
+      });
+    }));
+    await();
+  }
+
+  @Test
+  public void testVerifiedTokenCacheAfterRotation() throws Exception {
+    final Path jwks = Files.createTempFile("jwks", ".json");
+    jwks.toFile().deleteOnExit();
+    Files.write(jwks, jwkSet(octKey("k1")).getBytes(StandardCharsets.UTF_8));
+
+    authProvider = JWTAuth.create(vertx, new JsonObject()
+        .put("verifiedTokenCacheSize", 10)
+        .put("jwks", new JsonObject()
+            .put("path", jwks.toString())
+            .put("reloadInterval", 50)
+            .put("gracePeriod", 300)));
+
+    final String old = authProvider.generateToken(new JsonObject().put("sub", "Paulo"),
+        new JWTOptions().setExpiresInMinutes(5L).addHeader("kid", "k1"));
+
+    authProvider.authenticate(new JsonObject().put("jwt", old), onSuccess(user -> {
+      try {
+        // rotate, k1 is no longer published
+        Files.write(jwks, jwkSet(octKey("k2")).getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        fail(e.getMessage());
+      }
+      vertx.setPeriodic(20, id -> {
+        try {
+          authProvider.generateToken(new JsonObject().put("sub", "Paulo"), new JWTOptions().addHeader("kid", "k2"));
+        } catch (RuntimeException e) {
+          // not reloaded yet
+          return;
+        }
+        vertx.cancelTimer(id);
+        // verified again with the retired key, then cached no longer than the grace period
+        authProvider.authenticate(new JsonObject().put("jwt", old), onSuccess(res -> {
+          vertx.setTimer(500, id2 -> authProvider.authenticate(new JsonObject().put("jwt", old), onFailure(err -> {
+            assertEquals("Algorithm not supported", err.getMessage());
+            testComplete();
+          })));
+        }));
+      });
+    }));
+    await();
+  }
+
+  @Test
+  public void testJWKSetPublicKey() throws Exception {
+    final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    final KeyPair keyPair = generator.generateKeyPair();
+    final RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+
+    final Path jwks = Files.createTempFile("jwks", ".json");
+    jwks.toFile().deleteOnExit();
+    Files.write(jwks, jwkSet(new JsonObject()
+        .put("kty", "RSA")
+        .put("kid", "issuer-1")
+        .put("use", "sig")
+        .put("n", base64url(publicKey.getModulus()))
+        .put("e", base64url(publicKey.getPublicExponent()))).getBytes(StandardCharsets.UTF_8));
+
+    authProvider = JWTAuth.create(vertx, new JsonObject().put("jwks", new JsonObject().put("path", jwks.toString())));
+
+    // a token issued somewhere else, unpadded as most issuers do
+    final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    final String signingInput =
+        encoder.encodeToString(new JsonObject().put("alg", "RS256").put("kid", "issuer-1").encode().getBytes(StandardCharsets.UTF_8)) + "." +
+        encoder.encodeToString(new JsonObject().put("sub", "Paulo").encode().getBytes(StandardCharsets.UTF_8));
+    final Signature signature = Signature.getInstance("SHA256withRSA");
+    signature.initSign(keyPair.getPrivate());
+    signature.update(signingInput.getBytes(StandardCharsets.UTF_8));
+    final String token = signingInput + "." + encoder.encodeToString(signature.sign());
+
+    authProvider.authenticate(new JsonObject().put("jwt", token), onSuccess(user -> {
+      assertEquals("Paulo", user.principal().getString("sub"));
+      // the public key cannot sign
+      try {
+        authProvider.generateToken(new JsonObject(), new JWTOptions().setAlgorithm("RS256").addHeader("kid", "issuer-1"));
+        fail();
+      } catch (RuntimeException e) {
+        testComplete();
+      }
+    }));
+    await();
+  }
+
+  @Test
+  public void testClaimsAreMaterializedOnDemand() {
+    final JsonObject profile = new JsonObject()
+        .put("name", "Paulo")
+        .put("groups", new JsonArray().add(new JsonObject().put("id", 1).put("tags", new JsonArray().add("x"))));
+
+    // a single audience as a plain string, permissions after a nested claim
+    final String token = authProvider.generateToken(new JsonObject()
+        .put("profile", profile)
+        .put("aud", "a")
+        .put("permissions", new JsonArray().add("read")), new JWTOptions().setExpiresInMinutes(5L));
+
+    final JsonObject authInfo = new JsonObject()
+        .put("jwt", token)
+        .put("options", new JsonObject().put("audience", new JsonArray().add("a")));
+
+    authProvider.authenticate(authInfo, onSuccess(user -> {
+      user.isAuthorised("read", onSuccess(hasPermission -> {
+        assertTrue(hasPermission);
+        assertEquals(profile, user.principal().getJsonObject("profile"));
+        assertSame(user.principal(), user.principal());
+
+        // registered claims of the wrong type are rejected
+        String bad = authProvider.generateToken(new JsonObject().put("nbf", "tomorrow"), new JWTOptions());
+        authProvider.authenticate(new JsonObject().put("jwt", bad), onFailure(thr -> testComplete()));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testConfiguredValidation() {
+    authProvider = JWTAuth.create(vertx, getConfig()
+        .put("issuer", "https://vertx.io")
+        .put("audience", new JsonArray().add("b"))
+        .put("leeway", 60)
+        .put("requiredClaims", new JsonArray().add("sub").add("exp")));
+
+    // expired 30 seconds ago, within the leeway
+    final String token = authProvider.generateToken(new JsonObject().put("sub", "Paulo"),
+        new JWTOptions().setIssuer("https://vertx.io").addAudience("a").addAudience("b").setExpiresInSeconds(-30L));
+    final String noSubject = authProvider.generateToken(new JsonObject(),
+        new JWTOptions().setIssuer("https://vertx.io").addAudience("b").setExpiresInMinutes(5L));
+    final String otherIssuer = authProvider.generateToken(new JsonObject().put("sub", "Paulo"),
+        new JWTOptions().setIssuer("https://auth0.io").addAudience("b").setExpiresInMinutes(5L));
+
+    authProvider.authenticate(new JsonObject().put("jwt", token), onSuccess(user -> {
+      authProvider.authenticate(new JsonObject().put("jwt", noSubject), onFailure(thr -> {
+        authProvider.authenticate(new JsonObject().put("jwt", otherIssuer), onFailure(thr2 -> {
+          // options given with the auth info take precedence
+          JsonObject authInfo = new JsonObject().put("jwt", otherIssuer).put("options", new JsonObject().put("issuer", "https://auth0.io"));
+          authProvider.authenticate(authInfo, onSuccess(res -> testComplete()));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testRevocation() throws Exception {
+    final long now = System.currentTimeMillis() / 1000;
+    final Path revoked = Files.createTempFile("revoked", ".json");
+    revoked.toFile().deleteOnExit();
+    Files.write(revoked, new JsonArray()
+        .add(new JsonObject().put("sub", "Julien").put("exp", now + 600).put("revokedAt", now))
+        .encode().getBytes(StandardCharsets.UTF_8));
+
+    authProvider = JWTAuth.create(vertx, getConfig().put("revocation", new JsonObject()
+        .put("path", revoked.toString())
+        .put("address", "jwt.revocations")));
+
+    final String julien = authProvider.generateToken(new JsonObject().put("sub", "Julien"), new JWTOptions().setExpiresInMinutes(5L));
+    final String paulo = authProvider.generateToken(new JsonObject().put("sub", "Paulo").put("jti", "t1"), new JWTOptions().setExpiresInMinutes(5L));
+
+    authProvider.authenticate(new JsonObject().put("jwt", julien), onFailure(thr -> {
+      authProvider.authenticate(new JsonObject().put("jwt", paulo), onSuccess(user -> {
+        vertx.eventBus().send("jwt.revocations", new JsonObject().put("jti", "t1").put("exp", now + 600));
+        vertx.setPeriodic(20, id -> authProvider.authenticate(new JsonObject().put("jwt", paulo), res -> {
+          if (res.failed()) {
+            vertx.cancelTimer(id);
+            testComplete();
+          }
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    final long now = System.currentTimeMillis() / 1000;
+    authProvider = JWTAuth.create(vertx, getConfig().put("revocation", new JsonObject()
+        .put("address", "jwt.closed.revocations")
+        .put("purgeInterval", 10)));
+    authProvider.close();
+
+    final String token = authProvider.generateToken(new JsonObject().put("sub", "Paulo").put("jti", "t2"), new JWTOptions());
+    // nobody listens to revocations anymore
+    vertx.eventBus().send("jwt.closed.revocations", new JsonObject().put("jti", "t2").put("exp", now + 600));
+    vertx.setTimer(100, id -> authProvider.authenticate(new JsonObject().put("jwt", token), onSuccess(user -> {
+      assertNotNull(user);
+      testComplete();
+    })));
+    await();
+  }
+
+  @Test
+  public void testCryptoPool() {
+    final String rs256 = authProvider.generateToken(new JsonObject().put("sub", "Paulo"), new JWTOptions().setAlgorithm("RS256"));
+    final String hs256 = authProvider.generateToken(new JsonObject().put("sub", "Paulo"), new JWTOptions());
+
+    final AuthWorkerPool pool = AuthWorkerPool.create("test-crypto", 1, 1);
+    authProvider.setCryptoPool(pool);
+    // keep the thread busy and the queue full
+    final CountDownLatch blocked = new CountDownLatch(1);
+    for (int i = 0; i < 2; i++) {
+      pool.execute(() -> {
+        blocked.await();
+        return null;
+      }, ar -> {});
+    }
+
+    vertx.runOnContext(v -> {
+      authProvider.authenticate(new JsonObject().put("jwt", rs256), onFailure(err -> {
+        assertTrue(err.getMessage().contains("saturated"));
+        assertEquals(1, pool.rejectedCount());
+        // HS256 tokens never go through the pool
+        authProvider.authenticate(new JsonObject().put("jwt", hs256), onSuccess(user -> {
+          blocked.countDown();
+          authProvider.generateToken(new JsonObject().put("sub", "Julien"), new JWTOptions().setAlgorithm("RS256"), onSuccess(token -> {
+            assertFalse(Thread.currentThread().getName().startsWith("test-crypto"));
+            authProvider.authenticate(new JsonObject().put("jwt", token), onSuccess(julien -> {
+              assertEquals("Julien", julien.principal().getString("sub"));
+              pool.close();
+              testComplete();
+            }));
+          }));
+        }));
+      }));
+    });
+    await();
+  }
+
   @Test
   public void testJWTValidPermission() {
     JsonObject authInfo = new JsonObject().put("jwt", JWT_VALID);
@@ -95,6 +477,21 @@ public class JWTAuthProviderTest extends VertxTestBase {
     await();
   }
 
+  @Test
+  public void testScopePermissions() {
+    authProvider = JWTAuth.create(vertx, getConfig().put("permissionsClaimKey", "scope"));
+
+    final String token = authProvider.generateToken(new JsonObject().put("scope", "read  write\tadmin"), new JWTOptions());
+
+    authProvider.authenticate(new JsonObject().put("jwt", token), onSuccess(user -> {
+      user.checkAuthorities(Arrays.asList("read", "write", "admin", "wri", ""), onSuccess(results -> {
+        assertEquals(new JsonObject().put("read", true).put("write", true).put("admin", true).put("wri", false).put("", false), results);
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
   @Test
   public void testGenerateNewToken() {
 
@@ -116,6 +513,21 @@ public class JWTAuthProviderTest extends VertxTestBase {
     assertEquals(JWT_VALID, token);
   }
 
+  @Test
+  public void testCustomHeader() {
+    for (int i = 0; i < 2; i++) {
+      // header segments are cached per algorithm and custom header
+      String plain = authProvider.generateToken(new JsonObject(), new JWTOptions());
+      String custom = authProvider.generateToken(new JsonObject(), new JWTOptions().setAlgorithm("HS512").addHeader("cty", "JWT"));
+
+      assertEquals(new JsonObject().put("typ", "JWT").put("alg", "HS256"), header(plain));
+      assertEquals(new JsonObject().put("cty", "JWT").put("typ", "JWT").put("alg", "HS512"), header(custom));
+    }
+    authProvider.authenticate(new JsonObject().put("jwt", authProvider.generateToken(new JsonObject(),
+        new JWTOptions().addHeader("cty", "JWT"))), onSuccess(user -> testComplete()));
+    await();
+  }
+
   @Test
   public void testTokenWithoutTimestamp() {
     JsonObject payload = new JsonObject()
@@ -299,4 +711,35 @@ public class JWTAuthProviderTest extends VertxTestBase {
     }));
     await();
   }
+
+  private static JsonObject header(String token) {
+    return new JsonObject(new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8));
+  }
+
+  private static JsonObject octKey(String kid) {
+    byte[] secret = new byte[32];
+    new SecureRandom().nextBytes(secret);
+    return new JsonObject().put("kty", "oct").put("kid", kid).put("alg", "HS256").put("k", Base64.getUrlEncoder().encodeToString(secret));
+  }
+
+  private static String jwkSet(JsonObject... keys) {
+    JsonArray array = new JsonArray();
+    for (JsonObject key : keys) {
+      array.add(key);
+    }
+    return new JsonObject().put("keys", array).encode();
+  }
+
+  private static String base64url(BigInteger value) {
+    byte[] bytes = value.toByteArray();
+    // drop the sign byte
+    if (bytes[0] == 0 && bytes.length > 1) {
+      bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  private static long delta(JsonObject before, JsonObject after, String group, String name) {
+    return after.getJsonObject(group).getLong(name) - before.getJsonObject(group).getLong(name);
+  }
 }
\ No newline at end of file
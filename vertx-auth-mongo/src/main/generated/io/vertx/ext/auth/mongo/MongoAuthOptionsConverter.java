@@ -36,12 +36,24 @@ public class MongoAuthOptionsConverter {
     if (json.getValue("datasourceName") instanceof String) {
       obj.setDatasourceName((String)json.getValue("datasourceName"));
     }
+    if (json.getValue("hashingPoolSize") instanceof Number) {
+      obj.setHashingPoolSize(((Number)json.getValue("hashingPoolSize")).intValue());
+    }
+    if (json.getValue("hashingQueueSize") instanceof Number) {
+      obj.setHashingQueueSize(((Number)json.getValue("hashingQueueSize")).intValue());
+    }
     if (json.getValue("passwordField") instanceof String) {
       obj.setPasswordField((String)json.getValue("passwordField"));
     }
     if (json.getValue("permissionField") instanceof String) {
       obj.setPermissionField((String)json.getValue("permissionField"));
     }
+    if (json.getValue("rehashBatchSize") instanceof Number) {
+      obj.setRehashBatchSize(((Number)json.getValue("rehashBatchSize")).intValue());
+    }
+    if (json.getValue("rehashInterval") instanceof Number) {
+      obj.setRehashInterval(((Number)json.getValue("rehashInterval")).longValue());
+    }
     if (json.getValue("roleField") instanceof String) {
       obj.setRoleField((String)json.getValue("roleField"));
     }
@@ -60,6 +72,12 @@ public class MongoAuthOptionsConverter {
     if (json.getValue("usernameField") instanceof String) {
       obj.setUsernameField((String)json.getValue("usernameField"));
     }
+    if (json.getValue("usernameFilterFpp") instanceof Number) {
+      obj.setUsernameFilterFpp(((Number)json.getValue("usernameFilterFpp")).doubleValue());
+    }
+    if (json.getValue("usernameFilterSize") instanceof Number) {
+      obj.setUsernameFilterSize(((Number)json.getValue("usernameFilterSize")).longValue());
+    }
   }
 
   public static void toJson(MongoAuthOptions obj, JsonObject json) {
@@ -72,12 +90,16 @@ public class MongoAuthOptionsConverter {
     if (obj.getDatasourceName() != null) {
       json.put("datasourceName", obj.getDatasourceName());
     }
+    json.put("hashingPoolSize", obj.getHashingPoolSize());
+    json.put("hashingQueueSize", obj.getHashingQueueSize());
     if (obj.getPasswordField() != null) {
       json.put("passwordField", obj.getPasswordField());
     }
     if (obj.getPermissionField() != null) {
       json.put("permissionField", obj.getPermissionField());
     }
+    json.put("rehashBatchSize", obj.getRehashBatchSize());
+    json.put("rehashInterval", obj.getRehashInterval());
     if (obj.getRoleField() != null) {
       json.put("roleField", obj.getRoleField());
     }
@@ -94,5 +116,7 @@ public class MongoAuthOptionsConverter {
     if (obj.getUsernameField() != null) {
       json.put("usernameField", obj.getUsernameField());
     }
+    json.put("usernameFilterFpp", obj.getUsernameFilterFpp());
+    json.put("usernameFilterSize", obj.getUsernameFilterSize());
   }
 }
\ No newline at end of file
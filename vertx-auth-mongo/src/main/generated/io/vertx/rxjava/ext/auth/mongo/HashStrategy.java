@@ -99,6 +99,31 @@ public class HashStrategy {
     return ret;
   }
 
+  /**
+   * Check a password against the one stored for a user. The default implementation compares the stored password with
+   * {@link io.vertx.rxjava.ext.auth.mongo.HashStrategy#computeHash} in constant time. When an implementation verifies without calling
+   * {@link io.vertx.rxjava.ext.auth.mongo.HashStrategy#computeHash}, like the default strategy, a subclass overriding one must override both.
+   * @param password the unhashed password
+   * @param user the user
+   * @return whether the password matches
+   */
+  public boolean verify(String password, User user) { 
+    boolean ret = this.delegate.verify(password, (io.vertx.ext.auth.User) user.getDelegate());
+    return ret;
+  }
+
+  /**
+   * Whether the stored password of a successfully authenticated user should be replaced with a new hash computed by
+   * {@link io.vertx.rxjava.ext.auth.mongo.HashStrategy#computeHash}, e.g. because it was produced with an older algorithm or weaker parameters.
+   * The default implementation never asks for a rehash.
+   * @param user the user
+   * @return whether the password should be hashed again
+   */
+  public boolean needsRehash(User user) { 
+    boolean ret = this.delegate.needsRehash((io.vertx.ext.auth.User) user.getDelegate());
+    return ret;
+  }
+
 
   public static HashStrategy newInstance(io.vertx.ext.auth.mongo.HashStrategy arg) {
     return arg != null ? new HashStrategy(arg) : null;
@@ -24,6 +24,7 @@ import io.vertx.rxjava.ext.mongo.MongoClient;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.rxjava.ext.auth.AuthWorkerPool;
 import io.vertx.rxjava.ext.auth.AuthProvider;
 
 /**
@@ -244,6 +245,67 @@ public class MongoAuth extends AuthProvider {
     return ret;
   }
 
+  /**
+   * Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+   * the default SHA-512 strategy but would block the event loop with a slow hash.
+   * @param hashingPool the pool, or <code>null</code> to hash on the calling thread
+   * @return the current instance itself for fluent calls
+   */
+  public MongoAuth setHashingPool(AuthWorkerPool hashingPool) { 
+    this.delegate.setHashingPool((io.vertx.ext.auth.AuthWorkerPool) hashingPool.getDelegate());
+    return this;
+  }
+
+  /**
+   * Set how fast outdated password hashes are rewritten. When the {@link io.vertx.rxjava.ext.auth.mongo.HashStrategy} reports the stored hash of a
+   * successfully authenticated user as outdated, the password is hashed again and the new hash is queued, then written
+   * in the background, at most <code>batchSize</code> of them every <code>interval</code> milliseconds, so a migration is spread
+   * over normal traffic.
+   * @param batchSize the maximum number of hashes written at once
+   * @param interval the minimum time between two batches, in milliseconds
+   * @return the current instance itself for fluent calls
+   */
+  public MongoAuth setRehashRate(int batchSize, long interval) { 
+    this.delegate.setRehashRate(batchSize, interval);
+    return this;
+  }
+
+  /**
+   * Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+   * username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+   * users. The filter is only used once loaded with {@link io.vertx.rxjava.ext.auth.mongo.MongoAuth#loadUsernameFilter}, the users inserted with
+   * {@link io.vertx.rxjava.ext.auth.mongo.MongoAuth#insertUser} are added to it.
+   * <p>
+   * A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+   * @param expectedUsers the number of users the filter is sized for, or <code>0</code> to not filter usernames
+   * @param fpp the rate of unknown usernames still queried once that many users are known
+   * @return the current instance itself for fluent calls
+   */
+  public MongoAuth setUsernameFilter(long expectedUsers, double fpp) { 
+    this.delegate.setUsernameFilter(expectedUsers, fpp);
+    return this;
+  }
+
+  /**
+   * Load the username filter, or build it again, from the usernames of the collection, a page at a time in
+   * ascending order. The current filter, if any, keeps being used until the load completes.
+   * @param resultHandler called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and the <code>footprint</code> of the filter in bytes
+   */
+  public void loadUsernameFilter(Handler<AsyncResult<JsonObject>> resultHandler) { 
+    this.delegate.loadUsernameFilter(resultHandler);
+  }
+
+  /**
+   * Load the username filter, or build it again, from the usernames of the collection, a page at a time in
+   * ascending order. The current filter, if any, keeps being used until the load completes.
+   * @return 
+   */
+  public Observable<JsonObject> loadUsernameFilterObservable() { 
+    io.vertx.rx.java.ObservableFuture<JsonObject> resultHandler = io.vertx.rx.java.RxHelper.observableFuture();
+    loadUsernameFilter(resultHandler.toHandler());
+    return resultHandler;
+  }
+
   /**
    * Insert a new user into mongo in the convenient way
    * @param username the username to be set
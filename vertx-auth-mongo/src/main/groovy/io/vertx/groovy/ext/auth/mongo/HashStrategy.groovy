@@ -84,4 +84,27 @@ public class HashStrategy {
     def ret = this.delegate.getSaltStyle();
     return ret;
   }
+  /**
+   * Check a password against the one stored for a user. The default implementation compares the stored password with
+   * {@link io.vertx.groovy.ext.auth.mongo.HashStrategy#computeHash} in constant time. When an implementation verifies without calling
+   * {@link io.vertx.groovy.ext.auth.mongo.HashStrategy#computeHash}, like the default strategy, a subclass overriding one must override both.
+   * @param password the unhashed password
+   * @param user the user
+   * @return whether the password matches
+   */
+  public boolean verify(String password, User user) {
+    def ret = this.delegate.verify(password, (io.vertx.ext.auth.User)user.getDelegate());
+    return ret;
+  }
+  /**
+   * Whether the stored password of a successfully authenticated user should be replaced with a new hash computed by
+   * {@link io.vertx.groovy.ext.auth.mongo.HashStrategy#computeHash}, e.g. because it was produced with an older algorithm or weaker parameters.
+   * The default implementation never asks for a rehash.
+   * @param user the user
+   * @return whether the password should be hashed again
+   */
+  public boolean needsRehash(User user) {
+    def ret = this.delegate.needsRehash((io.vertx.ext.auth.User)user.getDelegate());
+    return ret;
+  }
 }
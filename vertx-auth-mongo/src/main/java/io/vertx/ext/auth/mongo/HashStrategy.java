@@ -16,9 +16,15 @@
 
 package io.vertx.ext.auth.mongo;
 
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.ext.auth.PasswordHasher;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.mongo.impl.PasswordHasherStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 
 /**
  * Determines how the hashing is computed in the implementation You can implement this to provide a different hashing
@@ -29,6 +35,19 @@ import io.vertx.ext.auth.User;
 @VertxGen
 public interface HashStrategy {
 
+  /**
+   * Create a strategy storing self-describing hashes produced by a {@link PasswordHasher} in the password field, the
+   * salt being part of the hash. Users still holding a hash of the default strategy remain valid.
+   *
+   * @param hasher
+   *          the hasher
+   * @return the strategy
+   */
+  @GenIgnore
+  static HashStrategy create(PasswordHasher hasher) {
+    return new PasswordHasherStrategy(hasher);
+  }
+
   /**
    * Compute the hashed password given the unhashed password and the user
    * 
@@ -85,4 +104,35 @@ public interface HashStrategy {
    */
   HashSaltStyle getSaltStyle();
 
+  /**
+   * Check a password against the one stored for a user. The default implementation compares the stored password with
+   * {@link #computeHash(String, User)} in constant time. When an implementation verifies without calling
+   * {@link #computeHash(String, User)}, like the default strategy, a subclass overriding one must override both.
+   *
+   * @param password
+   *          the unhashed password
+   * @param user
+   *          the user
+   * @return whether the password matches
+   */
+  default boolean verify(String password, User user) {
+    String stored = getStoredPwd(user);
+    String computed = computeHash(password, user);
+    return stored != null && computed != null
+      && MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), computed.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Whether the stored password of a successfully authenticated user should be replaced with a new hash computed by
+   * {@link #computeHash(String, User)}, e.g. because it was produced with an older algorithm or weaker parameters.
+   * The default implementation never asks for a rehash.
+   *
+   * @param user
+   *          the user
+   * @return whether the password should be hashed again
+   */
+  default boolean needsRehash(User user) {
+    return false;
+  }
+
 }
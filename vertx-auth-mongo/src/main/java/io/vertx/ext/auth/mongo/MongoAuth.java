@@ -22,6 +22,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.mongo.impl.MongoAuthImpl;
 import io.vertx.ext.mongo.MongoClient;
@@ -83,11 +84,69 @@ public interface MongoAuth extends AuthProvider {
    */
   String PROPERTY_SALT_STYLE = "saltStyle";
 
+  /**
+   * The property name to be used to set the number of threads hashing passwords, {@code 0} hashes them on the calling
+   * thread
+   *
+   * @see #setHashingPool(AuthWorkerPool)
+   */
+  String PROPERTY_HASHING_POOL_SIZE = "hashingPoolSize";
+
+  /**
+   * The property name to be used to set the maximum number of passwords waiting for a hashing thread
+   */
+  String PROPERTY_HASHING_QUEUE_SIZE = "hashingQueueSize";
+
+  /**
+   * The property name to be used to set the maximum number of outdated password hashes rewritten at once
+   *
+   * @see #setRehashRate(int, long)
+   */
+  String PROPERTY_REHASH_BATCH_SIZE = "rehashBatchSize";
+
+  /**
+   * The property name to be used to set the minimum time between two batches of rewritten password hashes, in
+   * milliseconds
+   *
+   * @see #setRehashRate(int, long)
+   */
+  String PROPERTY_REHASH_INTERVAL = "rehashInterval";
+
+  /**
+   * The property name to be used to set the number of users the username filter is sized for, {@code 0} does not
+   * filter usernames. The filter is loaded when the provider is created.
+   *
+   * @see #setUsernameFilter(long, double)
+   */
+  String PROPERTY_USERNAME_FILTER_SIZE = "usernameFilterSize";
+
+  /**
+   * The property name to be used to set the rate of unknown usernames the username filter lets through
+   *
+   * @see #setUsernameFilter(long, double)
+   */
+  String PROPERTY_USERNAME_FILTER_FPP = "usernameFilterFpp";
+
   /**
    * The default name of the collection to be used
    */
   String DEFAULT_COLLECTION_NAME = "user";
 
+  /**
+   * The default maximum number of outdated password hashes rewritten at once
+   */
+  int DEFAULT_REHASH_BATCH_SIZE = 50;
+
+  /**
+   * The default minimum time between two batches of rewritten password hashes, in milliseconds
+   */
+  long DEFAULT_REHASH_INTERVAL = 1000;
+
+  /**
+   * The default rate of unknown usernames the username filter lets through
+   */
+  double DEFAULT_USERNAME_FILTER_FPP = 0.01;
+
   /**
    * The default name of the property for the username, like it is stored in mongodb
    */
@@ -315,6 +374,59 @@ public interface MongoAuth extends AuthProvider {
    */
   HashStrategy getHashStrategy();
 
+  /**
+   * Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+   * the default SHA-512 strategy but would block the event loop with a slow hash.
+   *
+   * @param hashingPool
+   *          the pool, or {@code null} to hash on the calling thread
+   * @return the current instance itself for fluent calls
+   */
+  @Fluent
+  MongoAuth setHashingPool(AuthWorkerPool hashingPool);
+
+  /**
+   * Set how fast outdated password hashes are rewritten. When the {@link HashStrategy} reports the stored hash of a
+   * successfully authenticated user as outdated, the password is hashed again and the new hash is queued, then written
+   * in the background, at most {@code batchSize} of them every {@code interval} milliseconds, so a migration is spread
+   * over normal traffic.
+   *
+   * @param batchSize
+   *          the maximum number of hashes written at once
+   * @param interval
+   *          the minimum time between two batches, in milliseconds
+   * @return the current instance itself for fluent calls
+   */
+  @Fluent
+  MongoAuth setRehashRate(int batchSize, long interval);
+
+  /**
+   * Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+   * username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+   * users. The filter is only used once loaded with {@link #loadUsernameFilter(Handler)}, the users inserted with
+   * {@link #insertUser(String, String, List, List, Handler)} are added to it.
+   * <p>
+   * A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+   *
+   * @param expectedUsers
+   *          the number of users the filter is sized for, or {@code 0} to not filter usernames
+   * @param fpp
+   *          the rate of unknown usernames still queried once that many users are known
+   * @return the current instance itself for fluent calls
+   */
+  @Fluent
+  MongoAuth setUsernameFilter(long expectedUsers, double fpp);
+
+  /**
+   * Load the username filter, or build it again, from the usernames of the collection, a page at a time in
+   * ascending order. The current filter, if any, keeps being used until the load completes.
+   *
+   * @param resultHandler
+   *          called once loaded with the number of {@code users}, the {@code loadTime} in milliseconds and the
+   *          {@code footprint} of the filter in bytes
+   */
+  void loadUsernameFilter(Handler<AsyncResult<JsonObject>> resultHandler);
+
   /**
    * Insert a new user into mongo in the convenient way
    * 
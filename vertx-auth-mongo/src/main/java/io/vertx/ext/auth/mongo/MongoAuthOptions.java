@@ -18,6 +18,7 @@ package io.vertx.ext.auth.mongo;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.mongo.MongoClient;
 
 /**
@@ -39,6 +40,12 @@ public class MongoAuthOptions implements io.vertx.ext.auth.AuthOptions {
   private String saltField;
   private HashSaltStyle saltStyle;
   private JsonObject config;
+  private int hashingPoolSize;
+  private int hashingQueueSize;
+  private int rehashBatchSize;
+  private long rehashInterval;
+  private long usernameFilterSize;
+  private double usernameFilterFpp;
 
   public MongoAuthOptions() {
     shared = false;
@@ -51,6 +58,11 @@ public class MongoAuthOptions implements io.vertx.ext.auth.AuthOptions {
     usernameCredentialField = MongoAuth.DEFAULT_CREDENTIAL_USERNAME_FIELD;
     saltField = MongoAuth.DEFAULT_SALT_FIELD;
     saltStyle = null;
+    hashingPoolSize = 0;
+    hashingQueueSize = AuthWorkerPool.DEFAULT_MAX_QUEUE_SIZE;
+    rehashBatchSize = MongoAuth.DEFAULT_REHASH_BATCH_SIZE;
+    rehashInterval = MongoAuth.DEFAULT_REHASH_INTERVAL;
+    usernameFilterFpp = MongoAuth.DEFAULT_USERNAME_FILTER_FPP;
   }
 
   public MongoAuthOptions(MongoAuthOptions that) {
@@ -66,6 +78,12 @@ public class MongoAuthOptions implements io.vertx.ext.auth.AuthOptions {
     saltField = that.saltField;
     saltStyle = that.saltStyle;
     config = that.config != null ? that.config.copy() : null;
+    hashingPoolSize = that.hashingPoolSize;
+    hashingQueueSize = that.hashingQueueSize;
+    rehashBatchSize = that.rehashBatchSize;
+    rehashInterval = that.rehashInterval;
+    usernameFilterSize = that.usernameFilterSize;
+    usernameFilterFpp = that.usernameFilterFpp;
   }
 
   public MongoAuthOptions(JsonObject json) {
@@ -259,4 +277,96 @@ public class MongoAuthOptions implements io.vertx.ext.auth.AuthOptions {
     this.saltStyle = saltStyle;
     return this;
   }
+
+  public int getHashingPoolSize() {
+    return hashingPoolSize;
+  }
+
+  /**
+   * The number of threads hashing passwords, off the event loop. The default {@code 0} hashes them on the calling
+   * thread.
+   *
+   * @param hashingPoolSize the number of hashing threads
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthOptions setHashingPoolSize(int hashingPoolSize) {
+    this.hashingPoolSize = hashingPoolSize;
+    return this;
+  }
+
+  public int getHashingQueueSize() {
+    return hashingQueueSize;
+  }
+
+  /**
+   * How many passwords can wait for a hashing thread, further authentications fail until the backlog drains.
+   *
+   * @param hashingQueueSize the maximum number of waiting passwords
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthOptions setHashingQueueSize(int hashingQueueSize) {
+    this.hashingQueueSize = hashingQueueSize;
+    return this;
+  }
+
+  public int getRehashBatchSize() {
+    return rehashBatchSize;
+  }
+
+  /**
+   * The maximum number of outdated password hashes rewritten at once.
+   *
+   * @param rehashBatchSize the batch size
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthOptions setRehashBatchSize(int rehashBatchSize) {
+    this.rehashBatchSize = rehashBatchSize;
+    return this;
+  }
+
+  public long getRehashInterval() {
+    return rehashInterval;
+  }
+
+  /**
+   * The minimum time between two batches of rewritten password hashes, in milliseconds.
+   *
+   * @param rehashInterval the interval
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthOptions setRehashInterval(long rehashInterval) {
+    this.rehashInterval = rehashInterval;
+    return this;
+  }
+
+  public long getUsernameFilterSize() {
+    return usernameFilterSize;
+  }
+
+  /**
+   * The number of users the username filter is sized for. Logins with a username missing from the filter are rejected
+   * without any query. The default {@code 0} does not filter usernames.
+   *
+   * @param usernameFilterSize the expected number of users
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthOptions setUsernameFilterSize(long usernameFilterSize) {
+    this.usernameFilterSize = usernameFilterSize;
+    return this;
+  }
+
+  public double getUsernameFilterFpp() {
+    return usernameFilterFpp;
+  }
+
+  /**
+   * The rate of unknown usernames the username filter lets through to the database.
+   *
+   * @param usernameFilterFpp the false positive rate
+   * @return a reference to this, so the API can be used fluently
+   */
+  public MongoAuthOptions setUsernameFilterFpp(double usernameFilterFpp) {
+    this.usernameFilterFpp = usernameFilterFpp;
+    return this;
+  }
 }
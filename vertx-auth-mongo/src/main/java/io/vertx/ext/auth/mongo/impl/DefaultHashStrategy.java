@@ -16,14 +16,11 @@
 
 package io.vertx.ext.auth.mongo.impl;
 
-import io.vertx.core.VertxException;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.impl.hash.SaltedDigest;
 import io.vertx.ext.auth.mongo.HashSaltStyle;
 import io.vertx.ext.auth.mongo.HashStrategy;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Random;
 
@@ -34,8 +31,6 @@ import java.util.Random;
  */
 
 public class DefaultHashStrategy implements HashStrategy {
-  private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
-
   private HashSaltStyle saltStyle;
   // Used only if SaltStyle#External is used
   private String externalSalt;
@@ -71,7 +66,26 @@ public class DefaultHashStrategy implements HashStrategy {
     case COLUMN:
     case EXTERNAL:
       String salt = getSalt(user);
-      return computeHash(password, salt, "SHA-512");
+      return SaltedDigest.computeHash(password, salt, "SHA-512");
+    default:
+      throw new UnsupportedOperationException("Not existing, saltstyle " + saltStyle);
+    }
+  }
+
+  /**
+   * Check a password the way {@link #computeHash(String, User)} of this class hashes it, without allocating. The
+   * stored password, the salt and the salt style are read through their accessors, subclasses hashing differently
+   * must override this method as well.
+   */
+  @Override
+  public boolean verify(String password, User user) {
+    HashSaltStyle saltStyle = getSaltStyle();
+    switch (saltStyle) {
+    case NO_SALT:
+      return SaltedDigest.equal(getStoredPwd(user), password);
+    case COLUMN:
+    case EXTERNAL:
+      return SaltedDigest.verify(password, getSalt(user), getStoredPwd(user), "SHA-512");
     default:
       throw new UnsupportedOperationException("Not existing, saltstyle " + saltStyle);
     }
@@ -127,17 +141,6 @@ public class DefaultHashStrategy implements HashStrategy {
     return saltStyle;
   }
 
-  private String computeHash(String password, String salt, String algo) {
-    try {
-      MessageDigest md = MessageDigest.getInstance(algo);
-      String concat = (salt == null ? "" : salt) + password;
-      byte[] bHash = md.digest(concat.getBytes(StandardCharsets.UTF_8));
-      return bytesToHex(bHash);
-    } catch (NoSuchAlgorithmException e) {
-      throw new VertxException(e);
-    }
-  }
-
   /**
    * Generate a salt
    * 
@@ -147,17 +150,7 @@ public class DefaultHashStrategy implements HashStrategy {
     final Random r = new SecureRandom();
     byte[] salt = new byte[32];
     r.nextBytes(salt);
-    return bytesToHex(salt);
-  }
-
-  private static String bytesToHex(byte[] bytes) {
-    char[] chars = new char[bytes.length * 2];
-    for (int i = 0; i < bytes.length; i++) {
-      int x = 0xFF & bytes[i];
-      chars[i * 2] = HEX_CHARS[x >>> 4];
-      chars[1 + i * 2] = HEX_CHARS[0x0F & x];
-    }
-    return new String(chars);
+    return SaltedDigest.bytesToHex(salt);
   }
 
   /*
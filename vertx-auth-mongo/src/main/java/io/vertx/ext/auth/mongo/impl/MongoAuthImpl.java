@@ -17,20 +17,31 @@
 package io.vertx.ext.auth.mongo.impl;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.auth.AuthMetrics;
+import io.vertx.ext.auth.AuthWorkerPool;
 import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.impl.BatchingWriter;
+import io.vertx.ext.auth.impl.BloomFilter;
+import io.vertx.ext.auth.impl.UsernameFilter;
 import io.vertx.ext.auth.mongo.AuthenticationException;
 import io.vertx.ext.auth.mongo.HashStrategy;
 import io.vertx.ext.auth.mongo.HashSaltStyle;
 import io.vertx.ext.auth.mongo.MongoAuth;
+import io.vertx.ext.mongo.FindOptions;
 import io.vertx.ext.mongo.MongoClient;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * An implementation of {@link MongoAuth}
@@ -39,6 +50,9 @@ import java.util.List;
  */
 public class MongoAuthImpl implements MongoAuth {
   private static final Logger log = LoggerFactory.getLogger(MongoAuthImpl.class);
+  private static final int MAX_PENDING_REHASHES = 10000;
+  private static final int USERNAMES_PAGE_SIZE = 10000;
+  static final String METRICS_NAME = "mongo";
   private MongoClient mongoClient;
   private String usernameField = DEFAULT_USERNAME_FIELD;
   private String passwordField = DEFAULT_PASSWORD_FIELD;
@@ -53,6 +67,16 @@ public class MongoAuthImpl implements MongoAuth {
 
   private HashStrategy hashStrategy;
 
+  private AuthWorkerPool hashingPool;
+
+  private int rehashBatchSize = DEFAULT_REHASH_BATCH_SIZE;
+  private long rehashInterval = DEFAULT_REHASH_INTERVAL;
+  private BatchingWriter<String, JsonObject[]> rehashWriter;
+
+  private volatile UsernameFilter usernameFilter;
+
+  private final AuthMetrics metrics = AuthMetrics.metrics(METRICS_NAME);
+
   /**
    * Creates a new instance
    * 
@@ -69,7 +93,8 @@ public class MongoAuthImpl implements MongoAuth {
   }
 
   @Override
-  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
+  public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> handler) {
+    Handler<AsyncResult<User>> resultHandler = metrics.authentication(handler);
     String username = authInfo.getString(this.usernameCredentialField);
     String password = authInfo.getString(this.passwordCredentialField);
 
@@ -82,6 +107,12 @@ public class MongoAuthImpl implements MongoAuth {
       resultHandler.handle((Future.failedFuture("Password must be set for authentication.")));
       return;
     }
+    final UsernameFilter usernameFilter = this.usernameFilter;
+    if (usernameFilter != null && !usernameFilter.mightExist(username)) {
+      String message = "No account found for user [" + username + "]";
+      resultHandler.handle(Future.failedFuture(new AuthenticationException(message)));
+      return;
+    }
     AuthToken token = new AuthToken(username, password);
 
     JsonObject query = createQuery(username);
@@ -89,9 +120,23 @@ public class MongoAuthImpl implements MongoAuth {
 
       try {
         if (res.succeeded()) {
-          User user = handleSelection(res, token);
-          resultHandler.handle(Future.succeededFuture(user));
+          MongoUser user = handleSelection(res, token);
+          examinePassword(user, token, passwordRes -> {
+            if (passwordRes.failed()) {
+              resultHandler.handle(Future.failedFuture(passwordRes.cause()));
+            } else if (passwordRes.result()) {
+              resultHandler.handle(Future.succeededFuture(user));
+              if (getHashStrategy().needsRehash(user)) {
+                rehash(user, token);
+              }
+            } else {
+              String message = "Invalid username/password [" + token.username + "]";
+              // log.warn(message);
+              resultHandler.handle(Future.failedFuture(new AuthenticationException(message)));
+            }
+          });
         } else {
+          metrics.backendError(res.cause());
           resultHandler.handle(Future.failedFuture(res.cause()));
         }
       } catch (Throwable e) {
@@ -114,13 +159,14 @@ public class MongoAuthImpl implements MongoAuth {
   }
 
   /**
-   * Examine the selection of found users and return one, if password is fitting,
+   * Examine the selection of found users and return the one matching the username, the password is checked by
+   * {@link #examinePassword(User, AuthToken, Handler)}
    * 
    * @param resultList
    * @param authToken
    * @return
    */
-  private User handleSelection(AsyncResult<List<JsonObject>> resultList, AuthToken authToken)
+  private MongoUser handleSelection(AsyncResult<List<JsonObject>> resultList, AuthToken authToken)
       throws AuthenticationException {
     switch (resultList.result().size()) {
     case 0: {
@@ -130,14 +176,7 @@ public class MongoAuthImpl implements MongoAuth {
     }
     case 1: {
       JsonObject json = resultList.result().get(0);
-      User user = new MongoUser(json, this);
-      if (examinePassword(user, authToken))
-        return user;
-      else {
-        String message = "Invalid username/password [" + authToken.username + "]";
-        // log.warn(message);
-        throw new AuthenticationException(message);
-      }
+      return new MongoUser(json, this);
     }
     default: {
       // More than one row returned!
@@ -174,10 +213,27 @@ public class MongoAuthImpl implements MongoAuth {
       principal.put(getSaltField(), DefaultHashStrategy.generateSalt());
     }
 
-    String cryptPassword = getHashStrategy().computeHash(password, user);
-    principal.put(getPasswordField(), cryptPassword);
+    final HashStrategy strategy = getHashStrategy();
+    hashing(() -> strategy.computeHash(password, user), hashRes -> {
+      if (hashRes.succeeded()) {
+        principal.put(getPasswordField(), hashRes.result());
+        mongoClient.save(getCollectionName(), user.principal(), saveRes -> {
+          if (saveRes.succeeded()) {
+            addUsername(username);
+          }
+          resultHandler.handle(saveRes);
+        });
+      } else {
+        resultHandler.handle(Future.failedFuture(hashRes.cause()));
+      }
+    });
+  }
 
-    mongoClient.save(getCollectionName(), user.principal(), resultHandler);
+  private void addUsername(String username) {
+    final UsernameFilter usernameFilter = this.usernameFilter;
+    if (usernameFilter != null) {
+      usernameFilter.add(username);
+    }
   }
 
   /**
@@ -185,12 +241,96 @@ public class MongoAuthImpl implements MongoAuth {
    * 
    * @param user
    * @param authToken
-   * @return
+   * @param resultHandler
+   */
+  private void examinePassword(User user, AuthToken authToken, Handler<AsyncResult<Boolean>> resultHandler) {
+    final HashStrategy strategy = getHashStrategy();
+    hashing(() -> strategy.verify(authToken.password, user), resultHandler);
+  }
+
+  /**
+   * Hash the password again and queue the new hash, replacing the stored one in the background
+   */
+  private void rehash(MongoUser user, AuthToken authToken) {
+    Context context = Vertx.currentContext();
+    if (context == null) {
+      return;
+    }
+    final HashStrategy strategy = getHashStrategy();
+    String stored = strategy.getStoredPwd(user);
+    hashing(() -> strategy.computeHash(authToken.password, user), res -> {
+      if (res.succeeded()) {
+        // only replace the hash that was verified, not a password changed in the meantime
+        JsonObject query = createQuery(authToken.username).put(getPasswordField(), stored);
+        JsonObject update = new JsonObject().put("$set", new JsonObject().put(getPasswordField(), res.result()));
+        if (!rehashWriter().submit(context.owner(), authToken.username, new JsonObject[] { query, update })) {
+          log.debug("Too many pending hashes, not rewriting the hash of " + authToken.username);
+        }
+      } else {
+        log.debug("Could not rehash the password of " + authToken.username, res.cause());
+      }
+    });
+  }
+
+  private synchronized BatchingWriter<String, JsonObject[]> rehashWriter() {
+    if (rehashWriter == null) {
+      rehashWriter = new BatchingWriter<>(rehashBatchSize, rehashInterval, MAX_PENDING_REHASHES, this::writeHashes);
+    }
+    return rehashWriter;
+  }
+
+  private void writeHashes(Map<String, JsonObject[]> batch, Handler<AsyncResult<Void>> resultHandler) {
+    writeHashes(new ArrayList<>(batch.values()), 0, ar -> {
+      if (ar.failed()) {
+        metrics.backendError(ar.cause());
+        log.warn("Could not rewrite password hashes", ar.cause());
+      }
+      resultHandler.handle(ar);
+    });
+  }
+
+  private void writeHashes(List<JsonObject[]> updates, int index, Handler<AsyncResult<Void>> resultHandler) {
+    if (index == updates.size()) {
+      resultHandler.handle(Future.succeededFuture());
+      return;
+    }
+    JsonObject[] update = updates.get(index);
+    mongoClient.update(getCollectionName(), update[0], update[1], res -> {
+      if (res.succeeded()) {
+        writeHashes(updates, index + 1, resultHandler);
+      } else {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+      }
+    });
+  }
+
+  /**
+   * Run some password hashing work, on the hashing pool if there is one
    */
-  private boolean examinePassword(User user, AuthToken authToken) {
-    String storedPassword = getHashStrategy().getStoredPwd(user);
-    String givenPassword = getHashStrategy().computeHash(authToken.password, user);
-    return storedPassword != null && storedPassword.equals(givenPassword);
+  private <T> void hashing(Callable<T> task, Handler<AsyncResult<T>> resultHandler) {
+    final AuthWorkerPool hashingPool = this.hashingPool;
+    if (hashingPool == null) {
+      long start = System.nanoTime();
+      T result;
+      try {
+        result = task.call();
+      } catch (Exception e) {
+        resultHandler.handle(Future.failedFuture(e));
+        return;
+      } finally {
+        metrics.executionTime(System.nanoTime() - start);
+      }
+      resultHandler.handle(Future.succeededFuture(result));
+    } else {
+      hashingPool.execute(() -> {
+        long start = System.nanoTime();
+        try {
+          return task.call();
+        } finally {
+          metrics.workerTime(System.nanoTime() - start);
+        }
+      }, resultHandler);
+    }
   }
 
   /**
@@ -243,6 +383,31 @@ public class MongoAuthImpl implements MongoAuth {
       getHashStrategy().setSaltStyle(HashSaltStyle.valueOf(saltstyle));
     }
 
+    Integer hashingPoolSize = config.getInteger(PROPERTY_HASHING_POOL_SIZE);
+    if (hashingPoolSize != null && hashingPoolSize > 0) {
+      int hashingQueueSize = config.getInteger(PROPERTY_HASHING_QUEUE_SIZE, AuthWorkerPool.DEFAULT_MAX_QUEUE_SIZE);
+      // the pool is shared by the providers of the Vert.x instance the provider is created from, if any
+      Context context = Vertx.currentContext();
+      setHashingPool(context != null
+          ? AuthWorkerPool.createShared(context.owner(), "vertx-auth-mongo-hashing", hashingPoolSize, hashingQueueSize)
+          : AuthWorkerPool.create("vertx-auth-mongo-hashing", hashingPoolSize, hashingQueueSize));
+    }
+
+    setRehashRate(config.getInteger(PROPERTY_REHASH_BATCH_SIZE, DEFAULT_REHASH_BATCH_SIZE),
+        config.getLong(PROPERTY_REHASH_INTERVAL, DEFAULT_REHASH_INTERVAL));
+
+    Long usernameFilterSize = config.getLong(PROPERTY_USERNAME_FILTER_SIZE);
+    if (usernameFilterSize != null && usernameFilterSize > 0) {
+      setUsernameFilter(usernameFilterSize,
+          config.getDouble(PROPERTY_USERNAME_FILTER_FPP, DEFAULT_USERNAME_FILTER_FPP));
+      // every username might exist until the filter is loaded
+      loadUsernameFilter(res -> {
+        if (res.failed()) {
+          log.warn("Could not load the username filter", res.cause());
+        }
+      });
+    }
+
   }
 
   /*
@@ -436,6 +601,89 @@ public class MongoAuthImpl implements MongoAuth {
     return hashStrategy;
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see io.vertx.ext.auth.mongo.MongoAuth#setHashingPool(io.vertx.ext.auth.AuthWorkerPool)
+   */
+  @Override
+  public MongoAuth setHashingPool(AuthWorkerPool hashingPool) {
+    this.hashingPool = hashingPool;
+    return this;
+  }
+
+  @Override
+  public synchronized MongoAuth setRehashRate(int batchSize, long interval) {
+    if (batchSize < 1 || interval < 1) {
+      throw new IllegalArgumentException("batchSize and interval must be > 0");
+    }
+    this.rehashBatchSize = batchSize;
+    this.rehashInterval = interval;
+    this.rehashWriter = null;
+    return this;
+  }
+
+  @Override
+  public MongoAuth setUsernameFilter(long expectedUsers, double fpp) {
+    this.usernameFilter = expectedUsers > 0 ? new UsernameFilter(expectedUsers, fpp) : null;
+    return this;
+  }
+
+  @Override
+  public void loadUsernameFilter(Handler<AsyncResult<JsonObject>> resultHandler) {
+    final UsernameFilter usernameFilter = this.usernameFilter;
+    if (usernameFilter == null) {
+      resultHandler.handle(Future.failedFuture("No username filter was set"));
+      return;
+    }
+    final long start = System.currentTimeMillis();
+    BloomFilter loading = usernameFilter.load();
+    readUsernames("", usernameFilter, loading, 0, res -> {
+      if (res.failed()) {
+        metrics.backendError(res.cause());
+        resultHandler.handle(Future.failedFuture(res.cause()));
+        return;
+      }
+      usernameFilter.loaded(loading);
+      final JsonObject stats = new JsonObject()
+          .put("users", res.result())
+          .put("loadTime", System.currentTimeMillis() - start)
+          .put("footprint", loading.sizeInBytes());
+      log.info("Loaded username filter " + stats.encode());
+      resultHandler.handle(Future.succeededFuture(stats));
+    });
+  }
+
+  /**
+   * Read the usernames a page at a time, so they are never all held in memory
+   */
+  private void readUsernames(String after, UsernameFilter usernameFilter, BloomFilter loading, long count,
+                             Handler<AsyncResult<Long>> resultHandler) {
+    final String field = usernameField;
+    JsonObject query = new JsonObject().put(field, new JsonObject().put("$gt", after));
+    FindOptions options = new FindOptions()
+        .setFields(new JsonObject().put(field, 1).put("_id", 0))
+        .setSort(new JsonObject().put(field, 1))
+        .setLimit(USERNAMES_PAGE_SIZE);
+    mongoClient.findWithOptions(collectionName, query, options, res -> {
+      if (res.failed()) {
+        resultHandler.handle(Future.failedFuture(res.cause()));
+        return;
+      }
+      List<JsonObject> users = res.result();
+      if (users.isEmpty()) {
+        resultHandler.handle(Future.succeededFuture(count));
+        return;
+      }
+      String last = null;
+      for (JsonObject user : users) {
+        last = user.getString(field);
+        usernameFilter.put(loading, last);
+      }
+      readUsernames(last, usernameFilter, loading, count + users.size(), resultHandler);
+    });
+  }
+
   /**
    * The incoming data from an authentication request
    * 
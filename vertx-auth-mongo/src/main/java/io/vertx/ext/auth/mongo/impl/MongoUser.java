@@ -22,10 +22,16 @@ import io.vertx.core.Handler;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthMetrics;
 import io.vertx.ext.auth.AuthProvider;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.mongo.MongoAuth;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * An implementation of {@link User} for use with {@link MongoAuth} is using the {@link JsonObject} which was loaded
  * from a MongoDb
@@ -64,11 +70,44 @@ public class MongoUser extends AbstractUser {
     }
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see io.vertx.ext.auth.AbstractUser#doIsPermitted(java.util.Set, io.vertx.core.Handler)
+   */
+  @Override
+  protected void doIsPermitted(Set<String> permissionsOrRoles, Handler<AsyncResult<Map<String, Boolean>>> resultHandler) {
+    try {
+      Set<Object> roles = toSet(principal.getJsonArray(mongoAuth.getRoleField()));
+      Set<Object> permissions = toSet(principal.getJsonArray(mongoAuth.getPermissionField()));
+      Map<String, Boolean> results = new HashMap<>();
+      for (String permissionOrRole : permissionsOrRoles) {
+        if (permissionOrRole != null && permissionOrRole.startsWith(MongoAuth.ROLE_PREFIX)) {
+          results.put(permissionOrRole, roles.contains(permissionOrRole.substring(MongoAuth.ROLE_PREFIX.length())));
+        } else {
+          results.put(permissionOrRole, permissions.contains(permissionOrRole));
+        }
+      }
+      resultHandler.handle(Future.succeededFuture(results));
+    } catch (Throwable e) {
+      resultHandler.handle(Future.failedFuture(e));
+    }
+  }
+
+  private static Set<Object> toSet(JsonArray array) {
+    return array != null ? new HashSet<>(array.getList()) : new HashSet<>();
+  }
+
   /*
    * (non-Javadoc)
    * 
    * @see io.vertx.ext.auth.User#principal()
    */
+  @Override
+  protected AuthMetrics metrics() {
+    return AuthMetrics.metrics(MongoAuthImpl.METRICS_NAME);
+  }
+
   @Override
   public JsonObject principal() {
     return principal;
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.mongo.impl;
+
+import io.vertx.ext.auth.PasswordHasher;
+import io.vertx.ext.auth.User;
+
+/**
+ * A {@link io.vertx.ext.auth.mongo.HashStrategy} delegating to a {@link PasswordHasher}, that still accepts the
+ * hashes of {@link DefaultHashStrategy} according to the configured salt style.
+ */
+public class PasswordHasherStrategy extends DefaultHashStrategy {
+
+  private final PasswordHasher hasher;
+
+  public PasswordHasherStrategy(PasswordHasher hasher) {
+    this.hasher = hasher;
+  }
+
+  public PasswordHasher getHasher() {
+    return hasher;
+  }
+
+  /**
+   * Hash a password for a new user, the salt of the user is ignored as the hash embeds its own.
+   */
+  @Override
+  public String computeHash(String password, User user) {
+    return hasher.hash(password);
+  }
+
+  @Override
+  public boolean verify(String password, User user) {
+    String stored = getStoredPwd(user);
+    if (hasher.matches(stored)) {
+      return hasher.verify(password, stored);
+    }
+    return super.verify(password, user);
+  }
+
+  @Override
+  public boolean needsRehash(User user) {
+    String stored = getStoredPwd(user);
+    return stored != null && (!hasher.matches(stored) || hasher.needsRehash(stored));
+  }
+}
@@ -92,6 +92,26 @@
  * If you want to override this behaviour you can do so by providing an alternative hash strategy and setting it with
  *  {@link io.vertx.ext.auth.mongo.MongoAuth#setHashStrategy(HashStrategy) }
  *
+ * To use a slow, self-describing hash such as bcrypt or Argon2id, create the strategy from a
+ * {@link io.vertx.ext.auth.PasswordHasher}. The hash, salt included, is then stored in the password field, while users
+ * still holding a hash of the default strategy keep working:
+ *
+ * [source,java]
+ * ----
+ * authProvider.setHashStrategy(HashStrategy.create(PasswordHasher.create("argon2id")));
+ * ----
+ *
+ * Such a strategy reports the hashes of the default strategy, and the hashes made with weaker parameters than the
+ * current ones, as outdated. When a user with an outdated hash authenticates, the password is hashed again and the
+ * new hash is written to the password field in the background, so the collection migrates over normal traffic. The
+ * writes are batched and rate limited with {@link io.vertx.ext.auth.mongo.MongoAuth#setRehashRate(int, long)}.
+ *
+ * Passwords are hashed on the calling thread, i.e. the event loop. When using a slow hash, give the provider a
+ * dedicated pool with {@link io.vertx.ext.auth.mongo.MongoAuth#setHashingPool(io.vertx.ext.auth.AuthWorkerPool)} or
+ * the `hashingPoolSize` config property: the pool is bounded, once its queue is full further authentications fail
+ * until it catches up. The pool of the config property is shared by the providers of a Vert.x instance when the
+ * provider is created on a Vert.x context.
+ *
  * WARNING: It is strongly advised to use the {@link io.vertx.ext.auth.mongo.HashSaltStyle#EXTERNAL} option.
  * The NO_SALT option is existing for development phase only and even the COLUMN option is not recommended, cause
  * salt and password are stored inside the same place!
@@ -109,6 +129,22 @@
  * {@link io.vertx.ext.auth.mongo.MongoAuth#setUsernameCredentialField(String) } and
  * {@link io.vertx.ext.auth.mongo.MongoAuth#setPasswordCredentialField(String) }
  *
+ * A Bloom filter of the known usernames keeps credential stuffing with made up usernames away from the database. Size
+ * it with {@link io.vertx.ext.auth.mongo.MongoAuth#setUsernameFilter(long, double)}, about 1.2 bytes per user at a 1%
+ * false positive rate, so around 12MB for 10 million users, and load it with
+ * {@link io.vertx.ext.auth.mongo.MongoAuth#loadUsernameFilter}, or set the `usernameFilterSize` and
+ * `usernameFilterFpp` config properties to load it when the provider is created. Once loaded, a login with a username
+ * missing from the filter fails without any query, and the users added with
+ * {@link io.vertx.ext.auth.mongo.MongoAuth#insertUser} are added to the filter. The filter is off unless sized, and
+ * comes with two limitations:
+ *
+ * * users inserted by other means cannot log in until the filter is loaded again, so do not enable the filter when
+ * other applications write to the collection, unless the filter is loaded again periodically
+ * * usernames are compared in lower case, which is fine with the default binary comparison or a case insensitive
+ * collation, but a collation folding other differences, such as accents, can match a username the filter rejects
+ *
+ * WARNING: an unknown username is rejected faster than a wrong password, which tells whether an account exists.
+ *
  * == Authorisation - Permission-Role Model
  *
  * Although Vert.x auth itself does not mandate any specific model of permissions (they are just opaque strings), this
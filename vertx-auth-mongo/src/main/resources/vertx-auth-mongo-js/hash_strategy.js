@@ -117,6 +117,39 @@ var HashStrategy = function(j_val) {
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
+  /**
+   Check a password against the one stored for a user. The default implementation compares the stored password with
+   {@link HashStrategy#computeHash} in constant time. When an implementation verifies without calling
+   {@link HashStrategy#computeHash}, like the default strategy, a subclass overriding one must override both.
+
+   @public
+   @param password {string} the unhashed password 
+   @param user {User} the user 
+   @return {boolean} whether the password matches
+   */
+  this.verify = function(password, user) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && __args[1]._jdel) {
+      return j_hashStrategy["verify(java.lang.String,io.vertx.ext.auth.User)"](password, user._jdel);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Whether the stored password of a successfully authenticated user should be replaced with a new hash computed by
+   {@link HashStrategy#computeHash}, e.g. because it was produced with an older algorithm or weaker parameters.
+   The default implementation never asks for a rehash.
+
+   @public
+   @param user {User} the user 
+   @return {boolean} whether the password should be hashed again
+   */
+  this.needsRehash = function(user) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._jdel) {
+      return j_hashStrategy["needsRehash(io.vertx.ext.auth.User)"](user._jdel);
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
   // A reference to the underlying Java delegate
   // NOTE! This is an internal API and must not be used in user code.
   // If you rely on this property your code is likely to break if we change it / remove it without warning.
@@ -18,6 +18,7 @@
 var utils = require('vertx-js/util/utils');
 var MongoClient = require('vertx-mongo-js/mongo_client');
 var HashStrategy = require('vertx-auth-mongo-js/hash_strategy');
+var AuthWorkerPool = require('vertx-auth-common-js/auth_worker_pool');
 var AuthProvider = require('vertx-auth-common-js/auth_provider');
 
 var io = Packages.io;
@@ -305,6 +306,82 @@ var MongoAuth = function(j_val) {
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
+  /**
+   Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+   the default SHA-512 strategy but would block the event loop with a slow hash.
+
+   @public
+   @param hashingPool {AuthWorkerPool} the pool, or <code>null</code> to hash on the calling thread 
+   @return {MongoAuth} the current instance itself for fluent calls
+   */
+  this.setHashingPool = function(hashingPool) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'object' && __args[0]._jdel) {
+      j_mongoAuth["setHashingPool(io.vertx.ext.auth.AuthWorkerPool)"](hashingPool._jdel);
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set how fast outdated password hashes are rewritten. When the {@link HashStrategy} reports the stored hash of a
+   successfully authenticated user as outdated, the password is hashed again and the new hash is queued, then written
+   in the background, at most <code>batchSize</code> of them every <code>interval</code> milliseconds, so a migration is spread
+   over normal traffic.
+
+   @public
+   @param batchSize {number} the maximum number of hashes written at once 
+   @param interval {number} the minimum time between two batches, in milliseconds 
+   @return {MongoAuth} the current instance itself for fluent calls
+   */
+  this.setRehashRate = function(batchSize, interval) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] ==='number' && typeof __args[1] ==='number') {
+      j_mongoAuth["setRehashRate(int,long)"](batchSize, interval);
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+   username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+   users. The filter is only used once loaded with {@link MongoAuth#loadUsernameFilter}, the users inserted with
+   {@link MongoAuth#insertUser} are added to it.
+   <p>
+   A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+
+   @public
+   @param expectedUsers {number} the number of users the filter is sized for, or <code>0</code> to not filter usernames 
+   @param fpp {number} the rate of unknown usernames still queried once that many users are known 
+   @return {MongoAuth} the current instance itself for fluent calls
+   */
+  this.setUsernameFilter = function(expectedUsers, fpp) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] ==='number' && typeof __args[1] ==='number') {
+      j_mongoAuth["setUsernameFilter(long,double)"](expectedUsers, fpp);
+      return that;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Load the username filter, or build it again, from the usernames of the collection, a page at a time in
+   ascending order. The current filter, if any, keeps being used until the load completes.
+
+   @public
+   @param resultHandler {function} called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and the <code>footprint</code> of the filter in bytes 
+   */
+  this.loadUsernameFilter = function(resultHandler) {
+    var __args = arguments;
+    if (__args.length === 1 && typeof __args[0] === 'function') {
+      j_mongoAuth["loadUsernameFilter(io.vertx.core.Handler)"](function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convReturnJson(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
   /**
    Insert a new user into mongo in the convenient way
 
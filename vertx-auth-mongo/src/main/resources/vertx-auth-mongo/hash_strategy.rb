@@ -70,5 +70,28 @@ module VertxAuthMongo
       end
       raise ArgumentError, "Invalid arguments when calling get_salt_style()"
     end
+    #  Check a password against the one stored for a user. The default implementation compares the stored password with
+    #  {::VertxAuthMongo::HashStrategy#compute_hash} in constant time. When an implementation verifies without calling
+    #  {::VertxAuthMongo::HashStrategy#compute_hash}, like the default strategy, a subclass overriding one must override both.
+    # @param [String] password the unhashed password
+    # @param [::VertxAuthCommon::User] user the user
+    # @return [true,false] whether the password matches
+    def verify(password=nil,user=nil)
+      if password.class == String && user.class.method_defined?(:j_del) && !block_given?
+        return @j_del.java_method(:verify, [Java::java.lang.String.java_class,Java::IoVertxExtAuth::User.java_class]).call(password,user.j_del)
+      end
+      raise ArgumentError, "Invalid arguments when calling verify(password,user)"
+    end
+    #  Whether the stored password of a successfully authenticated user should be replaced with a new hash computed by
+    #  {::VertxAuthMongo::HashStrategy#compute_hash}, e.g. because it was produced with an older algorithm or weaker parameters.
+    #  The default implementation never asks for a rehash.
+    # @param [::VertxAuthCommon::User] user the user
+    # @return [true,false] whether the password should be hashed again
+    def needs_rehash(user=nil)
+      if user.class.method_defined?(:j_del) && !block_given?
+        return @j_del.java_method(:needsRehash, [Java::IoVertxExtAuth::User.java_class]).call(user.j_del)
+      end
+      raise ArgumentError, "Invalid arguments when calling needs_rehash(user)"
+    end
   end
 end
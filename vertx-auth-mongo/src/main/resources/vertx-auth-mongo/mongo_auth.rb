@@ -1,5 +1,6 @@
 require 'vertx-mongo/mongo_client'
 require 'vertx-auth-mongo/hash_strategy'
+require 'vertx-auth-common/auth_worker_pool'
 require 'vertx-auth-common/auth_provider'
 require 'vertx/util/utils.rb'
 # Generated from io.vertx.ext.auth.mongo.MongoAuth
@@ -205,6 +206,57 @@ module VertxAuthMongo
       end
       raise ArgumentError, "Invalid arguments when calling get_hash_strategy()"
     end
+    #  Set the pool the passwords are hashed on. By default they are hashed on the calling thread, which is fine for
+    #  the default SHA-512 strategy but would block the event loop with a slow hash.
+    # @param [::VertxAuthCommon::AuthWorkerPool] hashingPool the pool, or <code>null</code> to hash on the calling thread
+    # @return [self]
+    def set_hashing_pool(hashingPool=nil)
+      if hashingPool.class.method_defined?(:j_del) && !block_given?
+        @j_del.java_method(:setHashingPool, [Java::IoVertxExtAuth::AuthWorkerPool.java_class]).call(hashingPool.j_del)
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling set_hashing_pool(hashingPool)"
+    end
+    #  Set how fast outdated password hashes are rewritten. When the {::VertxAuthMongo::HashStrategy} reports the stored hash of a
+    #  successfully authenticated user as outdated, the password is hashed again and the new hash is queued, then written
+    #  in the background, at most <code>batchSize</code> of them every <code>interval</code> milliseconds, so a migration is spread
+    #  over normal traffic.
+    # @param [Fixnum] batchSize the maximum number of hashes written at once
+    # @param [Fixnum] interval the minimum time between two batches, in milliseconds
+    # @return [self]
+    def set_rehash_rate(batchSize=nil,interval=nil)
+      if batchSize.class == Fixnum && interval.class == Fixnum && !block_given?
+        @j_del.java_method(:setRehashRate, [Java::int.java_class,Java::long.java_class]).call(batchSize,interval)
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling set_rehash_rate(batchSize,interval)"
+    end
+    #  Set the size of the username filter, a Bloom filter of the known usernames rejecting a login with an unknown
+    #  username without any query. It takes about 1.2 bytes per expected user at a 1% rate, about 12MB for 10 million
+    #  users. The filter is only used once loaded with {::VertxAuthMongo::MongoAuth#load_username_filter}, the users inserted with
+    #  {::VertxAuthMongo::MongoAuth#insert_user} are added to it.
+    #  <p>
+    #  A rejected login does not wait for the database, which tells apart an unknown username from a wrong password.
+    # @param [Fixnum] expectedUsers the number of users the filter is sized for, or <code>0</code> to not filter usernames
+    # @param [Float] fpp the rate of unknown usernames still queried once that many users are known
+    # @return [self]
+    def set_username_filter(expectedUsers=nil,fpp=nil)
+      if expectedUsers.class == Fixnum && fpp.class == Float && !block_given?
+        @j_del.java_method(:setUsernameFilter, [Java::long.java_class,Java::double.java_class]).call(expectedUsers,::Vertx::Util::Utils.to_double(fpp))
+        return self
+      end
+      raise ArgumentError, "Invalid arguments when calling set_username_filter(expectedUsers,fpp)"
+    end
+    #  Load the username filter, or build it again, from the usernames of the collection, a page at a time in
+    #  ascending order. The current filter, if any, keeps being used until the load completes.
+    # @yield called once loaded with the number of <code>users</code>, the <code>loadTime</code> in milliseconds and the <code>footprint</code> of the filter in bytes
+    # @return [void]
+    def load_username_filter
+      if block_given?
+        return @j_del.java_method(:loadUsernameFilter, [Java::IoVertxCore::Handler.java_class]).call((Proc.new { |ar| yield(ar.failed ? ar.cause : nil, ar.succeeded ? ar.result != nil ? JSON.parse(ar.result.encode) : nil : nil) }))
+      end
+      raise ArgumentError, "Invalid arguments when calling load_username_filter()"
+    end
     #  Insert a new user into mongo in the convenient way
     # @param [String] username the username to be set
     # @param [String] password the passsword in clear text, will be adapted following the definitions of the defined {::VertxAuthMongo::HashStrategy}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.mongo.test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthMetrics;
+import io.vertx.ext.auth.AuthWorkerPool;
+import io.vertx.ext.auth.PasswordHasher;
+import io.vertx.ext.auth.mongo.HashStrategy;
+import io.vertx.ext.auth.mongo.MongoAuth;
+import io.vertx.ext.mongo.MongoClient;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Testing MongoAuth with the password hashing on a worker pool, the inherited tests run through the pool
+ */
+public class MongoAuthHashingTest extends MongoAuthNO_SALTTest {
+
+  @Override
+  protected MongoAuth createProvider() throws Exception {
+    JsonObject config = new JsonObject();
+    config.put(MongoAuth.PROPERTY_COLLECTION_NAME, createCollectionName(MongoAuth.DEFAULT_COLLECTION_NAME));
+    config.put(MongoAuth.PROPERTY_HASHING_POOL_SIZE, 1);
+    config.put(MongoAuth.PROPERTY_REHASH_BATCH_SIZE, 10);
+    config.put(MongoAuth.PROPERTY_REHASH_INTERVAL, 1L);
+    return MongoAuth.create(getMongoClient(), config);
+  }
+
+  @Test
+  public void testHashingOnPool() {
+    long before = workerTimeCount();
+    authProvider.authenticate(createAuthInfo("tim", "sausages"), onSuccess(user -> {
+      assertTrue(workerTimeCount() > before);
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testHashingPoolSaturated() {
+    AuthWorkerPool pool = AuthWorkerPool.create("test-hashing", 1, 1);
+    authProvider.setHashingPool(pool);
+    // keep the thread busy and the queue full
+    CountDownLatch blocked = new CountDownLatch(1);
+    for (int i = 0; i < 2; i++) {
+      pool.execute(() -> {
+        blocked.await();
+        return null;
+      }, ar -> {});
+    }
+    authProvider.authenticate(createAuthInfo("tim", "sausages"), onFailure(err -> {
+      assertTrue(err.getMessage().contains("saturated"));
+      blocked.countDown();
+      authProvider.authenticate(createAuthInfo("tim", "sausages"), onSuccess(user -> {
+        assertNotNull(user);
+        pool.close();
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testRehashOnLogin() throws Exception {
+    MongoClient client = getMongoClient();
+    PasswordHasher hasher = PasswordHasher.pbkdf2("sha512", 1000);
+    HashStrategy strategy = HashStrategy.create(hasher);
+    strategy.setSaltStyle(authProvider.getHashStrategy().getSaltStyle());
+    authProvider.setHashStrategy(strategy);
+    JsonObject query = new JsonObject().put(authProvider.getUsernameField(), "tim");
+    authProvider.authenticate(createAuthInfo("tim", "sausages"), onSuccess(user -> {
+      vertx.setPeriodic(10, id -> client.find(authProvider.getCollectionName(), query, onSuccess(rows -> {
+        if (hasher.matches(rows.get(0).getString(authProvider.getPasswordField()))) {
+          vertx.cancelTimer(id);
+          // the new hash still authenticates
+          authProvider.authenticate(createAuthInfo("tim", "sausages"), onSuccess(upgraded -> testComplete()));
+        }
+      })));
+    }));
+    await();
+  }
+
+  private static long workerTimeCount() {
+    return AuthMetrics.metrics("mongo").toJson().getJsonObject("workerTime").getLong("count");
+  }
+}
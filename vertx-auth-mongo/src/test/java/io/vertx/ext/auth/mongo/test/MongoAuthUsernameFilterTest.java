@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.auth.mongo.test;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.mongo.AuthenticationException;
+import io.vertx.ext.auth.mongo.MongoAuth;
+import io.vertx.ext.auth.mongo.impl.MongoAuthImpl;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testing MongoAuth with a username filter, the inherited tests run with the filter in place
+ */
+public class MongoAuthUsernameFilterTest extends MongoAuthNO_SALTTest {
+
+  private final AtomicInteger queries = new AtomicInteger();
+
+  @Override
+  protected MongoAuth createProvider() throws Exception {
+    JsonObject config = new JsonObject();
+    config.put(MongoAuth.PROPERTY_COLLECTION_NAME, createCollectionName(MongoAuth.DEFAULT_COLLECTION_NAME));
+    config.put(MongoAuth.PROPERTY_USERNAME_FILTER_SIZE, 1000);
+    config.put(MongoAuth.PROPERTY_USERNAME_FILTER_FPP, 0.001);
+    return new MongoAuthImpl(getMongoClient(), config) {
+      @Override
+      protected JsonObject createQuery(String username) {
+        queries.incrementAndGet();
+        return super.createQuery(username);
+      }
+    };
+  }
+
+  @Test
+  public void testUnknownUsernameRejected() {
+    authProvider.loadUsernameFilter(onSuccess(stats -> {
+      assertTrue(stats.getLong("users") > 0);
+      assertTrue(stats.getLong("footprint") > 0);
+      queries.set(0);
+      authProvider.authenticate(createAuthInfo("nobody", "whatever"), onFailure(err -> {
+        assertTrue(err instanceof AuthenticationException);
+        // rejected without any query
+        assertEquals(0, queries.get());
+        authProvider.authenticate(createAuthInfo("tim", "sausages"), onSuccess(user -> {
+          assertEquals(1, queries.get());
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testUsernameCaseLeftToDatabase() {
+    authProvider.loadUsernameFilter(onSuccess(stats -> {
+      queries.set(0);
+      // a case insensitive comparison could match it, so it is left to the database
+      authProvider.authenticate(createAuthInfo("TIM", "sausages"), ar -> {
+        assertEquals(1, queries.get());
+        testComplete();
+      });
+    }));
+    await();
+  }
+
+  @Test
+  public void testUserInsertedElsewhere() throws Exception {
+    JsonObject config = new JsonObject().put(MongoAuth.PROPERTY_COLLECTION_NAME, authProvider.getCollectionName());
+    MongoAuth other = MongoAuth.create(getMongoClient(), config);
+    authProvider.loadUsernameFilter(onSuccess(stats -> {
+      other.insertUser("elsewhere", "pwd", null, null, onSuccess(id -> {
+        // unknown to the filter until it is loaded again
+        authProvider.authenticate(createAuthInfo("elsewhere", "pwd"), onFailure(err -> {
+          assertTrue(err instanceof AuthenticationException);
+          authProvider.loadUsernameFilter(onSuccess(reloaded -> {
+            assertEquals(stats.getLong("users") + 1, (long) reloaded.getLong("users"));
+            authProvider.authenticate(createAuthInfo("elsewhere", "pwd"), onSuccess(user -> {
+              assertNotNull(user);
+              testComplete();
+            }));
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testInsertedUserAdded() {
+    authProvider.loadUsernameFilter(onSuccess(stats -> {
+      authProvider.insertUser("newcomer", "pwd", null, null, onSuccess(id -> {
+        authProvider.authenticate(createAuthInfo("newcomer", "pwd"), onSuccess(user -> {
+          assertNotNull(user);
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+}
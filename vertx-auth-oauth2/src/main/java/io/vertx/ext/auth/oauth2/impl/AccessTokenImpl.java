@@ -25,10 +25,14 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthMetrics;
 import io.vertx.ext.auth.AuthProvider;
 import io.vertx.ext.auth.oauth2.AccessToken;
 
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Paulo Lopes
@@ -134,6 +138,20 @@ public class AccessTokenImpl extends AbstractUser implements AccessToken {
     resultHandler.handle(Future.succeededFuture(true));
   }
 
+  @Override
+  protected void doIsPermitted(Set<String> permissions, Handler<AsyncResult<Map<String, Boolean>>> resultHandler) {
+    Map<String, Boolean> results = new HashMap<>();
+    for (String permission : permissions) {
+      results.put(permission, true);
+    }
+    resultHandler.handle(Future.succeededFuture(results));
+  }
+
+  @Override
+  protected AuthMetrics metrics() {
+    return AuthMetrics.metrics(OAuth2AuthProviderImpl.METRICS_NAME);
+  }
+
   @Override
   public JsonObject principal() {
     return token;
@@ -22,6 +22,7 @@ import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthMetrics;
 
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
@@ -36,6 +37,8 @@ import java.util.Map;
  */
 public class OAuth2API {
 
+  private static final AuthMetrics metrics = AuthMetrics.metrics(OAuth2AuthProviderImpl.METRICS_NAME);
+
   public static void api(Vertx vertx, JsonObject config, HttpMethod method, String path, JsonObject params, Handler<AsyncResult<JsonObject>> callback) {
     final String url;
 
@@ -117,6 +120,9 @@ public class OAuth2API {
 
     HttpClientRequest request = client.request(method, uri, resp -> {
       if (resp.statusCode() >= 400) {
+        if (resp.statusCode() >= 500) {
+          metrics.backendError(new VertxException(resp.statusMessage()));
+        }
         callback.handle(Future.failedFuture(resp.statusMessage()));
         return;
       }
@@ -162,6 +168,11 @@ public class OAuth2API {
       });
     });
 
+    request.exceptionHandler(t -> {
+      metrics.backendError(t);
+      callback.handle(Future.failedFuture(t));
+    });
+
     // write the headers
     for (Map.Entry<String, ?> kv : headers) {
       request.putHeader(kv.getKey(), kv.getValue().toString());
@@ -20,6 +20,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthMetrics;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.oauth2.AccessToken;
 import io.vertx.ext.auth.oauth2.OAuth2Auth;
@@ -34,11 +35,15 @@ import io.vertx.ext.auth.oauth2.impl.flow.PasswordImpl;
  */
 public class OAuth2AuthProviderImpl implements OAuth2Auth {
 
+  static final String METRICS_NAME = "oauth2";
+
   private final Vertx vertx;
   private final JsonObject config;
 
   private final OAuth2Flow flow;
 
+  private final AuthMetrics metrics = AuthMetrics.metrics(METRICS_NAME);
+
   public OAuth2AuthProviderImpl(Vertx vertx, OAuth2FlowType flow, JsonObject config) {
     this.vertx = vertx;
     this.config = new JsonObject()
@@ -83,7 +88,7 @@ public class OAuth2AuthProviderImpl implements OAuth2Auth {
 
   @Override
   public void getToken(JsonObject params, Handler<AsyncResult<AccessToken>> handler) {
-    flow.getToken(params, handler);
+    flow.getToken(params, metrics.authentication(handler));
   }
 
   @Override
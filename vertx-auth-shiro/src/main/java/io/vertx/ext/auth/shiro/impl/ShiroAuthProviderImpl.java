@@ -21,6 +21,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthMetrics;
 import io.vertx.ext.auth.User;
 import io.vertx.ext.auth.shiro.ShiroAuth;
 import io.vertx.ext.auth.shiro.ShiroAuthOptions;
@@ -39,10 +40,13 @@ import org.apache.shiro.subject.support.DefaultSubjectContext;
  */
 public class ShiroAuthProviderImpl implements ShiroAuth {
 
+  static final String METRICS_NAME = "shiro";
+
   private Vertx vertx;
   private org.apache.shiro.mgt.SecurityManager securityManager;
   private String rolePrefix = DEFAULT_ROLE_PREFIX;
   private String realmName;
+  private final AuthMetrics metrics = AuthMetrics.metrics(METRICS_NAME);
 
   public static ShiroAuth create(Vertx vertx, ShiroAuthOptions options) {
     Realm realm;
@@ -68,18 +72,28 @@ public class ShiroAuthProviderImpl implements ShiroAuth {
   @Override
   public void authenticate(JsonObject authInfo, Handler<AsyncResult<User>> resultHandler) {
     vertx.executeBlocking(fut -> {
-      SubjectContext subjectContext = new DefaultSubjectContext();
-      Subject subject = securityManager.createSubject(subjectContext);
-      String username = authInfo.getString("username");
-      String password = authInfo.getString("password");
-      AuthenticationToken token = new UsernamePasswordToken(username, password);
+      long start = System.nanoTime();
       try {
-        subject.login(token);
-      } catch (AuthenticationException e) {
-        throw new VertxException(e);
+        SubjectContext subjectContext = new DefaultSubjectContext();
+        Subject subject = securityManager.createSubject(subjectContext);
+        String username = authInfo.getString("username");
+        String password = authInfo.getString("password");
+        AuthenticationToken token = new UsernamePasswordToken(username, password);
+        try {
+          subject.login(token);
+        } catch (AuthenticationException e) {
+          throw new VertxException(e);
+        }
+        fut.complete(new ShiroUser(vertx, securityManager, subject, rolePrefix));
+      } catch (VertxException e) {
+        throw e;
+      } catch (RuntimeException e) {
+        metrics.backendError(e);
+        throw e;
+      } finally {
+        metrics.workerTime(System.nanoTime() - start);
       }
-      fut.complete(new ShiroUser(vertx, securityManager, subject, rolePrefix));
-    }, resultHandler);
+    }, metrics.authentication(resultHandler));
   }
 
   @Override
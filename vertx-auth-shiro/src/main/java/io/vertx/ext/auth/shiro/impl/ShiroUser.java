@@ -22,6 +22,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.AbstractUser;
+import io.vertx.ext.auth.AuthMetrics;
 import io.vertx.ext.auth.AuthProvider;
 import org.apache.shiro.subject.PrincipalCollection;
 import org.apache.shiro.subject.SimplePrincipalCollection;
@@ -30,6 +31,9 @@ import org.apache.shiro.subject.SubjectContext;
 import org.apache.shiro.subject.support.DefaultSubjectContext;
 
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  *
@@ -57,11 +61,44 @@ public class ShiroUser extends AbstractUser {
 
   @Override
   protected void doIsPermitted(String permissionOrRole, Handler<AsyncResult<Boolean>> resultHandler) {
-    if (permissionOrRole.startsWith(rolePrefix)) {
-      vertx.executeBlocking(fut -> fut.complete(subject.hasRole(permissionOrRole.substring(rolePrefix.length()))), resultHandler);
-    } else {
-      vertx.executeBlocking(fut -> fut.complete(subject.isPermitted(permissionOrRole)), resultHandler);
-    }
+    vertx.executeBlocking(fut -> {
+      long start = System.nanoTime();
+      try {
+        if (permissionOrRole.startsWith(rolePrefix)) {
+          fut.complete(subject.hasRole(permissionOrRole.substring(rolePrefix.length())));
+        } else {
+          fut.complete(subject.isPermitted(permissionOrRole));
+        }
+      } finally {
+        metrics().workerTime(System.nanoTime() - start);
+      }
+    }, resultHandler);
+  }
+
+  @Override
+  protected void doIsPermitted(Set<String> permissionsOrRoles, Handler<AsyncResult<Map<String, Boolean>>> resultHandler) {
+    // a single trip to the worker pool for all the authorities
+    vertx.executeBlocking(fut -> {
+      long start = System.nanoTime();
+      try {
+        Map<String, Boolean> results = new HashMap<>();
+        for (String permissionOrRole : permissionsOrRoles) {
+          if (permissionOrRole.startsWith(rolePrefix)) {
+            results.put(permissionOrRole, subject.hasRole(permissionOrRole.substring(rolePrefix.length())));
+          } else {
+            results.put(permissionOrRole, subject.isPermitted(permissionOrRole));
+          }
+        }
+        fut.complete(results);
+      } finally {
+        metrics().workerTime(System.nanoTime() - start);
+      }
+    }, resultHandler);
+  }
+
+  @Override
+  protected AuthMetrics metrics() {
+    return AuthMetrics.metrics(ShiroAuthProviderImpl.METRICS_NAME);
   }
 
   @Override